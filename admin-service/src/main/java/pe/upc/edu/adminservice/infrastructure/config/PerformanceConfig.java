@@ -0,0 +1,43 @@
+package pe.upc.edu.adminservice.infrastructure.config;
+
+import de.codecentric.boot.admin.server.domain.entities.InstanceRepository;
+import de.codecentric.boot.admin.server.web.client.InstanceWebClient;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import pe.upc.edu.adminservice.infrastructure.performance.PerformanceScraper;
+import pe.upc.edu.adminservice.infrastructure.performance.PerformanceStore;
+
+import java.time.Clock;
+import java.time.Duration;
+
+/**
+ * Performance console: periodic Prometheus scrapes of the registered instances into bounded in-memory time series.
+ */
+@Configuration
+@ConditionalOnProperty(name = "performance.enabled", havingValue = "true", matchIfMissing = true)
+public class PerformanceConfig {
+
+    @Bean
+    public PerformanceStore performanceStore(
+            MeterRegistry meterRegistry,
+            @Value("${performance.step:30s}") Duration step,
+            @Value("${performance.retention:3h}") Duration retention,
+            @Value("${performance.max-series:200}") int maxSeries) {
+        return new PerformanceStore(step, retention, maxSeries, Clock.systemUTC(), meterRegistry);
+    }
+
+    @Bean
+    public PerformanceScraper performanceScraper(
+            InstanceRepository instanceRepository,
+            InstanceWebClient.Builder instanceWebClientBuilder,
+            PerformanceStore performanceStore,
+            MeterRegistry meterRegistry,
+            @Value("${performance.scrape-timeout:10s}") Duration timeout,
+            @Value("${performance.scrape-concurrency:8}") int concurrency) {
+        return new PerformanceScraper(instanceRepository, instanceWebClientBuilder.build(), performanceStore,
+                Clock.systemUTC(), timeout, concurrency, meterRegistry);
+    }
+}
@@ -0,0 +1,117 @@
+package pe.upc.edu.adminservice.infrastructure.performance;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Reads the {@code http_server_requests_seconds} histogram out of a Prometheus text scrape, one
+ * line at a time, into {@link RequestCounters} per endpoint ({@code "<METHOD> <uri>"}). The
+ * series of an endpoint (one per status, outcome and exception) are summed; responses with a 5xx
+ * status count as errors. Actuator requests, including the scrapes themselves, are left out.
+ */
+public class HttpServerRequestsParser {
+
+    static final String METRIC = "http_server_requests_seconds";
+    private static final String BUCKET = METRIC + "_bucket{";
+    private static final String COUNT = METRIC + "_count{";
+
+    private final Map<String, long[]> endpoints = new HashMap<>();
+    private String currentSeries;
+    private long previousCumulative;
+
+    public HttpServerRequestsParser accept(String line) {
+        boolean bucket = line.startsWith(BUCKET);
+        if (!bucket && !line.startsWith(COUNT)) {
+            return this;
+        }
+        int labelsStart = line.indexOf('{') + 1;
+        int labelsEnd = labelsEnd(line, labelsStart);
+        if (labelsEnd < 0) {
+            return this;
+        }
+        Map<String, String> labels = labels(line, labelsStart, labelsEnd);
+        String uri = labels.getOrDefault("uri", "UNKNOWN");
+        if (uri.startsWith("/actuator")) {
+            return this;
+        }
+        long value = value(line, labelsEnd + 1);
+        long[] counters = endpoints.computeIfAbsent(labels.getOrDefault("method", "UNKNOWN") + " " + uri,
+                endpoint -> RequestCounters.empty());
+        if (bucket) {
+            addBucket(counters, labels, value);
+        } else {
+            counters[RequestCounters.REQUESTS] += value;
+            if (labels.getOrDefault("status", "").startsWith("5")) {
+                counters[RequestCounters.ERRORS] += value;
+            }
+        }
+        return this;
+    }
+
+    public Map<String, long[]> endpoints() {
+        return endpoints;
+    }
+
+    private void addBucket(long[] counters, Map<String, String> labels, long cumulative) {
+        String le = labels.remove("le");
+        if (le == null) {
+            return;
+        }
+        // Las líneas de una serie llegan con `le` creciente: cada una aporta lo que sumó desde la anterior
+        String series = labels.toString();
+        if (!series.equals(currentSeries)) {
+            currentSeries = series;
+            previousCumulative = 0;
+        }
+        int index = "+Inf".equals(le) ? LatencyBuckets.COUNT - 1 : LatencyBuckets.indexOf(Double.parseDouble(le));
+        counters[RequestCounters.BUCKETS + index] += Math.max(0, cumulative - previousCumulative);
+        previousCumulative = cumulative;
+    }
+
+    private static int labelsEnd(String line, int from) {
+        boolean quoted = false;
+        for (int i = from; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (c == '\\') {
+                i++;
+            } else if (c == '"') {
+                quoted = !quoted;
+            } else if (c == '}' && !quoted) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static Map<String, String> labels(String line, int from, int to) {
+        Map<String, String> labels = new HashMap<>();
+        int i = from;
+        while (i < to) {
+            int equals = line.indexOf('=', i);
+            if (equals < 0 || equals >= to) {
+                break;
+            }
+            String name = line.substring(i, equals).trim();
+            var value = new StringBuilder();
+            int j = equals + 2;
+            for (; j < to && line.charAt(j) != '"'; j++) {
+                char c = line.charAt(j);
+                if (c == '\\' && j + 1 < to) {
+                    c = line.charAt(++j);
+                    value.append(c == 'n' ? '\n' : c);
+                } else {
+                    value.append(c);
+                }
+            }
+            labels.put(name, value.toString());
+            i = j + 2;
+        }
+        return labels;
+    }
+
+    private static long value(String line, int from) {
+        String rest = line.substring(from).trim();
+        int space = rest.indexOf(' ');
+        return Math.round(Double.parseDouble(space < 0 ? rest : rest.substring(0, space)));
+    }
+}
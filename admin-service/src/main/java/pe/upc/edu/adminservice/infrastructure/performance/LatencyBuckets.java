@@ -0,0 +1,57 @@
+package pe.upc.edu.adminservice.infrastructure.performance;
+
+import java.util.Arrays;
+
+/**
+ * Fixed latency bucket layout shared by every time series. Micrometer publishes its own, finer
+ * {@code le} boundaries; each of them is folded into the first bucket here whose upper bound is
+ * not below it, so histograms from any number of instances add up bucket by bucket and
+ * percentiles are computed over the merged histogram instead of averaging per-instance values.
+ */
+public final class LatencyBuckets {
+
+    /** Upper bounds in seconds; the last bucket (index {@link #UPPER_BOUNDS}.length) catches the rest. */
+    static final double[] UPPER_BOUNDS = {
+            0.001, 0.002, 0.003, 0.005, 0.0075, 0.01, 0.015, 0.02, 0.03, 0.05, 0.075,
+            0.1, 0.15, 0.2, 0.3, 0.5, 0.75, 1, 1.5, 2, 3, 5, 7.5, 10, 15, 20, 30
+    };
+
+    public static final int COUNT = UPPER_BOUNDS.length + 1;
+
+    private LatencyBuckets() {
+    }
+
+    /**
+     * Index of the bucket an upper bound of {@code seconds} falls into.
+     */
+    static int indexOf(double seconds) {
+        int index = Arrays.binarySearch(UPPER_BOUNDS, seconds);
+        return index >= 0 ? index : -index - 1;
+    }
+
+    /**
+     * Estimates the {@code quantile} of the histogram held in {@code counts[offset .. offset + COUNT)},
+     * interpolating linearly inside the bucket that contains it. Returns {@code NaN} for an empty
+     * histogram; values in the overflow bucket are reported as the last finite bound.
+     */
+    static double percentile(long[] counts, int offset, double quantile) {
+        long total = 0;
+        for (int i = 0; i < COUNT; i++) {
+            total += counts[offset + i];
+        }
+        if (total == 0) {
+            return Double.NaN;
+        }
+        double rank = quantile * total;
+        long seen = 0;
+        for (int i = 0; i < UPPER_BOUNDS.length; i++) {
+            long inBucket = counts[offset + i];
+            if (inBucket > 0 && seen + inBucket >= rank) {
+                double lower = i == 0 ? 0 : UPPER_BOUNDS[i - 1];
+                return lower + (UPPER_BOUNDS[i] - lower) * ((rank - seen) / inBucket);
+            }
+            seen += inBucket;
+        }
+        return UPPER_BOUNDS[UPPER_BOUNDS.length - 1];
+    }
+}
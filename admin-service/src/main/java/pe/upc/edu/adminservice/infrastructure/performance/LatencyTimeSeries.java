@@ -0,0 +1,60 @@
+package pe.upc.edu.adminservice.infrastructure.performance;
+
+import java.util.Arrays;
+
+/**
+ * Fixed-size ring of {@link RequestCounters}, one slot per scrape step. Everything is allocated
+ * up front in flat primitive arrays ({@code slots × RequestCounters.LENGTH} longs, plus the step
+ * each slot holds), so a series costs the same however many instances feed it and however long
+ * it runs; a slot is reused once it falls out of the retention window.
+ */
+public class LatencyTimeSeries {
+
+    private final int slots;
+    private final long[] steps;
+    private final long[] counters;
+
+    public LatencyTimeSeries(int slots) {
+        this.slots = slots;
+        this.steps = new long[slots];
+        this.counters = new long[slots * RequestCounters.LENGTH];
+        Arrays.fill(steps, -1);
+    }
+
+    /**
+     * Adds {@code delta} to the slot of {@code step}, clearing it first if it still holds an older step.
+     */
+    public synchronized void add(long step, long[] delta) {
+        int slot = (int) Math.floorMod(step, (long) slots);
+        int offset = slot * RequestCounters.LENGTH;
+        if (steps[slot] != step) {
+            if (step < steps[slot]) {
+                return;
+            }
+            steps[slot] = step;
+            Arrays.fill(counters, offset, offset + RequestCounters.LENGTH, 0);
+        }
+        for (int i = 0; i < RequestCounters.LENGTH; i++) {
+            counters[offset + i] += delta[i];
+        }
+    }
+
+    /**
+     * Adds the counters of steps {@code [from, to]} still held by the ring into {@code into}.
+     */
+    public synchronized void sum(long from, long to, long[] into) {
+        for (long step = Math.max(from, to - slots + 1); step <= to; step++) {
+            int slot = (int) Math.floorMod(step, (long) slots);
+            if (steps[slot] == step) {
+                int offset = slot * RequestCounters.LENGTH;
+                for (int i = 0; i < RequestCounters.LENGTH; i++) {
+                    into[i] += counters[offset + i];
+                }
+            }
+        }
+    }
+
+    public long sizeInBytes() {
+        return (long) (steps.length + counters.length) * Long.BYTES;
+    }
+}
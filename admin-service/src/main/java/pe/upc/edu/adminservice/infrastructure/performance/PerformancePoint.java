@@ -0,0 +1,9 @@
+package pe.upc.edu.adminservice.infrastructure.performance;
+
+import java.time.Instant;
+
+/**
+ * The summary of one step of a time series, starting at {@code start}.
+ */
+public record PerformancePoint(Instant start, PerformanceSummary summary) {
+}
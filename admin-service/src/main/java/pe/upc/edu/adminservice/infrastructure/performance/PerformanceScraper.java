@@ -0,0 +1,119 @@
+package pe.upc.edu.adminservice.infrastructure.performance;
+
+import de.codecentric.boot.admin.server.domain.entities.Instance;
+import de.codecentric.boot.admin.server.domain.entities.InstanceRepository;
+import de.codecentric.boot.admin.server.web.client.InstanceWebClient;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.MediaType;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Scrapes {@code /actuator/prometheus} of every registered instance once per step into the
+ * {@link PerformanceStore}. Rounds start just after each step boundary and their increase is
+ * recorded on the step that just ended, so all instances of a round line up. An instance that
+ * cannot be scraped (down, no Prometheus endpoint, timeout) is skipped for that round.
+ */
+public class PerformanceScraper {
+    private static final Logger logger = LoggerFactory.getLogger(PerformanceScraper.class);
+
+    private static final String PROMETHEUS_ENDPOINT = "prometheus";
+
+    private final InstanceRepository instanceRepository;
+    private final InstanceWebClient instanceWebClient;
+    private final PerformanceStore performanceStore;
+    private final Clock clock;
+    private final Duration timeout;
+    private final int concurrency;
+    private final Counter scraped;
+    private final Counter failed;
+    private Disposable subscription;
+
+    public PerformanceScraper(InstanceRepository instanceRepository, InstanceWebClient instanceWebClient,
+                              PerformanceStore performanceStore, Clock clock, Duration timeout, int concurrency,
+                              MeterRegistry meterRegistry) {
+        this.instanceRepository = instanceRepository;
+        this.instanceWebClient = instanceWebClient;
+        this.performanceStore = performanceStore;
+        this.clock = clock;
+        this.timeout = timeout;
+        this.concurrency = concurrency;
+        this.scraped = scrapes(meterRegistry, "success");
+        this.failed = scrapes(meterRegistry, "failure");
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        long stepMillis = performanceStore.step().toMillis();
+        // Un segundo después del límite del paso, para que cada ronda caiga entera en el paso que acaba de cerrar
+        long untilNextStep = stepMillis - clock.millis() % stepMillis + Math.min(1000, stepMillis / 10);
+        subscription = Flux.interval(Duration.ofMillis(untilNextStep), performanceStore.step())
+                .onBackpressureDrop()
+                .concatMap(tick -> scrapeAll(), 1)
+                .subscribe();
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (subscription != null) {
+            subscription.dispose();
+        }
+    }
+
+    /**
+     * Scrapes every registered instance once, recording on the step before the current one.
+     */
+    public Mono<Void> scrapeAll() {
+        long stepNumber = performanceStore.stepOf(clock.instant()) - 1;
+        Set<String> registered = ConcurrentHashMap.newKeySet();
+        return instanceRepository.findAll()
+                .filter(Instance::isRegistered)
+                .doOnNext(instance -> registered.add(instance.getId().getValue()))
+                .filter(instance -> instance.getEndpoints().isPresent(PROMETHEUS_ENDPOINT))
+                .flatMap(instance -> scrape(instance)
+                        .doOnNext(endpoints -> performanceStore.record(instance.getId().getValue(),
+                                instance.getRegistration().getName(), endpoints, stepNumber)), concurrency)
+                .then(Mono.fromRunnable(() -> performanceStore.retainInstances(registered)));
+    }
+
+    private Mono<Map<String, long[]>> scrape(Instance instance) {
+        // Línea a línea: la salida completa con histogramas supera el límite de memoria del códec
+        return instanceWebClient.instance(instance)
+                .get()
+                .uri(PROMETHEUS_ENDPOINT)
+                .accept(MediaType.TEXT_PLAIN)
+                .retrieve()
+                .bodyToFlux(String.class)
+                .filter(line -> line.startsWith(HttpServerRequestsParser.METRIC))
+                .reduce(new HttpServerRequestsParser(), HttpServerRequestsParser::accept)
+                .map(HttpServerRequestsParser::endpoints)
+                .timeout(timeout)
+                .doOnNext(endpoints -> scraped.increment())
+                .onErrorResume(throwable -> {
+                    failed.increment();
+                    logger.debug("Performance scrape of {} ({}) failed: {}", instance.getRegistration().getName(),
+                            instance.getId(), throwable.toString());
+                    return Mono.empty();
+                });
+    }
+
+    private static Counter scrapes(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("performance.scrapes")
+                .description("Prometheus scrapes made by the performance console")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
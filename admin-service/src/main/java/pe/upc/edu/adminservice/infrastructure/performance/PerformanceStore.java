@@ -0,0 +1,199 @@
+package pe.upc.edu.adminservice.infrastructure.performance;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory performance history: one {@link LatencyTimeSeries} per service and endpoint, fed with
+ * the per-step increase of every instance's counters. Instances only keep their last scrape (to
+ * compute the increase), so memory is bounded by {@code maxSeries} ring buffers plus one counter
+ * array per instance and endpoint; samples of endpoints beyond {@code maxSeries} are dropped and counted.
+ */
+public class PerformanceStore {
+    private static final Logger logger = LoggerFactory.getLogger(PerformanceStore.class);
+
+    private final Duration step;
+    private final int slots;
+    private final int maxSeries;
+    private final Clock clock;
+    private final Map<SeriesKey, LatencyTimeSeries> series = new ConcurrentHashMap<>();
+    private final Map<String, InstanceCounters> instances = new ConcurrentHashMap<>();
+    private final AtomicLong droppedSeries = new AtomicLong();
+
+    public PerformanceStore(Duration step, Duration retention, int maxSeries, Clock clock, MeterRegistry meterRegistry) {
+        if (step.toMillis() <= 0 || retention.compareTo(step) < 0 || maxSeries <= 0) {
+            throw new IllegalArgumentException("Performance step must be positive and no longer than the retention");
+        }
+        this.step = step;
+        // Un paso más que la retención: el paso en curso, aún incompleto, no se muestra
+        this.slots = (int) (retention.toMillis() / step.toMillis()) + 1;
+        this.maxSeries = maxSeries;
+        this.clock = clock;
+
+        Gauge.builder("performance.series", series, Map::size)
+                .description("Service and endpoint time series held by the performance console")
+                .register(meterRegistry);
+        Gauge.builder("performance.series.dropped", droppedSeries, AtomicLong::get)
+                .description("Endpoint samples discarded because the performance console reached its series limit")
+                .register(meterRegistry);
+        Gauge.builder("performance.memory", this, PerformanceStore::sizeInBytes)
+                .description("Memory preallocated by the performance console's ring buffers")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    public Duration step() {
+        return step;
+    }
+
+    public Duration retention() {
+        return step.multipliedBy(slots - 1L);
+    }
+
+    /**
+     * Step number of {@code instant}: steps are aligned to the epoch, so every scrape of a round lands on the same one.
+     */
+    public long stepOf(Instant instant) {
+        return instant.toEpochMilli() / step.toMillis();
+    }
+
+    public Instant startOf(long stepNumber) {
+        return Instant.ofEpochMilli(stepNumber * step.toMillis());
+    }
+
+    /**
+     * Records one scrape of {@code instanceId}: what each endpoint's counters grew since the previous
+     * scrape goes into {@code stepNumber}. The first scrape of an instance only sets its baseline; counters
+     * that went down (a restart) count from zero.
+     */
+    public void record(String instanceId, String service, Map<String, long[]> endpoints, long stepNumber) {
+        InstanceCounters previous = instances.put(instanceId, new InstanceCounters(service, endpoints));
+        if (previous == null) {
+            return;
+        }
+        long[] delta = RequestCounters.empty();
+        endpoints.forEach((endpoint, counters) -> {
+            long[] last = previous.endpoints().get(endpoint);
+            boolean reset = last == null || counters[RequestCounters.REQUESTS] < last[RequestCounters.REQUESTS];
+            for (int i = 0; i < RequestCounters.LENGTH; i++) {
+                delta[i] = reset ? counters[i] : Math.max(0, counters[i] - last[i]);
+            }
+            if (delta[RequestCounters.REQUESTS] > 0) {
+                LatencyTimeSeries timeSeries = series(new SeriesKey(service, endpoint));
+                if (timeSeries != null) {
+                    timeSeries.add(stepNumber, delta);
+                }
+            }
+        });
+    }
+
+    /**
+     * Forgets the last scrape of instances that are no longer registered.
+     */
+    public void retainInstances(Set<String> instanceIds) {
+        instances.keySet().retainAll(instanceIds);
+    }
+
+    public List<String> services() {
+        Set<String> services = new TreeSet<>();
+        series.keySet().forEach(key -> services.add(key.service()));
+        return List.copyOf(services);
+    }
+
+    public List<String> endpoints(String service) {
+        Set<String> endpoints = new TreeSet<>();
+        series.keySet().stream()
+                .filter(key -> key.service().equals(service))
+                .forEach(key -> endpoints.add(key.endpoint()));
+        return List.copyOf(endpoints);
+    }
+
+    public int instances(String service) {
+        return (int) instances.values().stream().filter(instance -> instance.service().equals(service)).count();
+    }
+
+    /**
+     * Summary of the last completed steps covering {@code window} (at most the retention), for one
+     * endpoint of {@code service} or, with a null {@code endpoint}, all of them merged.
+     */
+    public PerformanceSummary summarize(String service, String endpoint, Duration window) {
+        long to = stepOf(clock.instant()) - 1;
+        long from = to - steps(window) + 1;
+        return PerformanceSummary.of(counters(service, endpoint, from, to), seconds(to - from + 1));
+    }
+
+    /**
+     * One summary per completed step covering {@code window}, oldest first.
+     */
+    public List<PerformancePoint> series(String service, String endpoint, Duration window) {
+        long to = stepOf(clock.instant()) - 1;
+        List<PerformancePoint> points = new ArrayList<>();
+        for (long stepNumber = to - steps(window) + 1; stepNumber <= to; stepNumber++) {
+            points.add(new PerformancePoint(startOf(stepNumber),
+                    PerformanceSummary.of(counters(service, endpoint, stepNumber, stepNumber), seconds(1))));
+        }
+        return points;
+    }
+
+    public long sizeInBytes() {
+        return series.values().stream().mapToLong(LatencyTimeSeries::sizeInBytes).sum();
+    }
+
+    private LatencyTimeSeries series(SeriesKey key) {
+        LatencyTimeSeries existing = series.get(key);
+        if (existing != null) {
+            return existing;
+        }
+        if (series.size() >= maxSeries) {
+            if (droppedSeries.getAndIncrement() == 0) {
+                logger.warn("Performance console reached {} series; new endpoints are not tracked (first: {})",
+                        maxSeries, key);
+            }
+            return null;
+        }
+        return series.computeIfAbsent(key, k -> new LatencyTimeSeries(slots));
+    }
+
+    private long[] counters(String service, String endpoint, long from, long to) {
+        long[] counters = RequestCounters.empty();
+        series.forEach((key, timeSeries) -> {
+            if (key.service().equals(service) && (endpoint == null || key.endpoint().equals(endpoint))) {
+                timeSeries.sum(from, to, counters);
+            }
+        });
+        return counters;
+    }
+
+    private long steps(Duration window) {
+        long steps = Math.max(1, window.toMillis() / step.toMillis());
+        return Math.min(steps, slots - 1L);
+    }
+
+    private double seconds(long steps) {
+        return steps * step.toMillis() / 1000.0;
+    }
+
+    private record SeriesKey(String service, String endpoint) {
+        SeriesKey {
+            Objects.requireNonNull(service);
+            Objects.requireNonNull(endpoint);
+        }
+    }
+
+    private record InstanceCounters(String service, Map<String, long[]> endpoints) {
+    }
+}
@@ -0,0 +1,21 @@
+package pe.upc.edu.adminservice.infrastructure.performance;
+
+/**
+ * Requests served over {@code seconds}, with percentiles taken from the merged histogram
+ * ({@code NaN} when there were no requests).
+ */
+public record PerformanceSummary(long requests, long errors, double seconds, double p50Seconds, double p99Seconds) {
+
+    static PerformanceSummary of(long[] counters, double seconds) {
+        return new PerformanceSummary(counters[RequestCounters.REQUESTS], counters[RequestCounters.ERRORS], seconds,
+                RequestCounters.percentile(counters, 0.50), RequestCounters.percentile(counters, 0.99));
+    }
+
+    public double requestsPerSecond() {
+        return seconds > 0 ? requests / seconds : 0;
+    }
+
+    public double errorRate() {
+        return requests > 0 ? (double) errors / requests : Double.NaN;
+    }
+}
@@ -0,0 +1,33 @@
+package pe.upc.edu.adminservice.infrastructure.performance;
+
+/**
+ * Layout of the {@code long[]} counters kept per endpoint: request count, server-error count and
+ * the {@link LatencyBuckets} histogram (non-cumulative), in one primitive array.
+ */
+public final class RequestCounters {
+
+    public static final int REQUESTS = 0;
+    public static final int ERRORS = 1;
+    public static final int BUCKETS = 2;
+    public static final int LENGTH = BUCKETS + LatencyBuckets.COUNT;
+
+    private RequestCounters() {
+    }
+
+    public static long[] empty() {
+        return new long[LENGTH];
+    }
+
+    /**
+     * Adds {@code counters} into {@code into}, element by element.
+     */
+    public static void add(long[] into, long[] counters) {
+        for (int i = 0; i < LENGTH; i++) {
+            into[i] += counters[i];
+        }
+    }
+
+    public static double percentile(long[] counters, double quantile) {
+        return LatencyBuckets.percentile(counters, BUCKETS, quantile);
+    }
+}
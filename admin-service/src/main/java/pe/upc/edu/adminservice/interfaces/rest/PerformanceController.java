@@ -0,0 +1,86 @@
+package pe.upc.edu.adminservice.interfaces.rest;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import pe.upc.edu.adminservice.infrastructure.performance.PerformanceStore;
+import pe.upc.edu.adminservice.interfaces.rest.resources.EndpointPerformanceResource;
+import pe.upc.edu.adminservice.interfaces.rest.resources.PerformanceSeriesResource;
+import pe.upc.edu.adminservice.interfaces.rest.resources.ServicePerformanceResource;
+import pe.upc.edu.adminservice.interfaces.rest.transform.PerformanceResourceFromSummaryAssembler;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.springframework.http.MediaType.APPLICATION_JSON_VALUE;
+import static org.springframework.http.MediaType.TEXT_HTML_VALUE;
+
+/**
+ * Performance console: the page linked from the Spring Boot Admin menu and the JSON it reads.
+ * Windows are capped at {@code performance.retention}.
+ */
+@RestController
+@RequestMapping("/performance")
+@ConditionalOnProperty(name = "performance.enabled", havingValue = "true", matchIfMissing = true)
+public class PerformanceController {
+
+    private static final Resource PAGE = new ClassPathResource("performance/index.html");
+
+    private final PerformanceStore performanceStore;
+
+    public PerformanceController(PerformanceStore performanceStore) {
+        this.performanceStore = performanceStore;
+    }
+
+    @GetMapping(produces = TEXT_HTML_VALUE)
+    public Mono<Resource> getPage() {
+        return Mono.just(PAGE);
+    }
+
+    @GetMapping(value = "/api/services", produces = APPLICATION_JSON_VALUE)
+    public Mono<List<ServicePerformanceResource>> getServices(@RequestParam(defaultValue = "1h") String window) {
+        Duration duration = parseWindow(window);
+        return Mono.fromSupplier(() -> performanceStore.services().stream()
+                .map(service -> {
+                    List<EndpointPerformanceResource> endpoints = performanceStore.endpoints(service).stream()
+                            .map(endpoint -> PerformanceResourceFromSummaryAssembler.toEndpointResource(endpoint,
+                                    performanceStore.summarize(service, endpoint, duration)))
+                            .sorted(Comparator.comparingLong(EndpointPerformanceResource::requests).reversed())
+                            .toList();
+                    return PerformanceResourceFromSummaryAssembler.toServiceResource(service,
+                            performanceStore.instances(service), performanceStore.summarize(service, null, duration),
+                            endpoints);
+                })
+                .toList());
+    }
+
+    @GetMapping(value = "/api/series", produces = APPLICATION_JSON_VALUE)
+    public Mono<PerformanceSeriesResource> getSeries(@RequestParam String service,
+                                                     @RequestParam(required = false) String endpoint,
+                                                     @RequestParam(defaultValue = "3h") String window) {
+        Duration duration = parseWindow(window);
+        return Mono.fromSupplier(() -> new PerformanceSeriesResource(service, endpoint,
+                performanceStore.step().toSeconds(),
+                performanceStore.series(service, endpoint, duration).stream()
+                        .map(PerformanceResourceFromSummaryAssembler::toPointResource)
+                        .toList()));
+    }
+
+    // Mismo formato que las propiedades: 15m, 1h, PT30M
+    private static Duration parseWindow(String window) {
+        try {
+            return DurationStyle.detectAndParse(window);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid window: " + window);
+        }
+    }
+}
@@ -0,0 +1,11 @@
+/**
+ * EndpointPerformanceResource
+ * @Summary
+ *  EndpointPerformanceResource is a record class that represents the cross-instance performance of one endpoint over a window
+ **/
+
+package pe.upc.edu.adminservice.interfaces.rest.resources;
+
+public record EndpointPerformanceResource(String endpoint, long requests, double requestsPerSecond, Double errorRate,
+                                          Double p50Ms, Double p99Ms) {
+}
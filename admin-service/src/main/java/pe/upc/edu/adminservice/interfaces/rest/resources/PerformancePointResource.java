@@ -0,0 +1,13 @@
+/**
+ * PerformancePointResource
+ * @Summary
+ *  PerformancePointResource is a record class that represents one step of a performance time series
+ **/
+
+package pe.upc.edu.adminservice.interfaces.rest.resources;
+
+import java.time.Instant;
+
+public record PerformancePointResource(Instant start, long requests, double requestsPerSecond, Double errorRate,
+                                       Double p50Ms, Double p99Ms) {
+}
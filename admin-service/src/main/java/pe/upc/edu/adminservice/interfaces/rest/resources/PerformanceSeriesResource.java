@@ -0,0 +1,13 @@
+/**
+ * PerformanceSeriesResource
+ * @Summary
+ *  PerformanceSeriesResource is a record class that represents the performance time series of a service or one of its endpoints
+ **/
+
+package pe.upc.edu.adminservice.interfaces.rest.resources;
+
+import java.util.List;
+
+public record PerformanceSeriesResource(String service, String endpoint, long stepSeconds,
+                                        List<PerformancePointResource> points) {
+}
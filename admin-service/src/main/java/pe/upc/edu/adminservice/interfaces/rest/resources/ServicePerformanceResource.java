@@ -0,0 +1,14 @@
+/**
+ * ServicePerformanceResource
+ * @Summary
+ *  ServicePerformanceResource is a record class that represents the performance of a service, all endpoints merged, and of each endpoint
+ **/
+
+package pe.upc.edu.adminservice.interfaces.rest.resources;
+
+import java.util.List;
+
+public record ServicePerformanceResource(String service, int instances, long requests, double requestsPerSecond,
+                                         Double errorRate, Double p50Ms, Double p99Ms,
+                                         List<EndpointPerformanceResource> endpoints) {
+}
@@ -0,0 +1,53 @@
+package pe.upc.edu.adminservice.interfaces.rest.transform;
+
+import pe.upc.edu.adminservice.infrastructure.performance.PerformancePoint;
+import pe.upc.edu.adminservice.infrastructure.performance.PerformanceSummary;
+import pe.upc.edu.adminservice.interfaces.rest.resources.EndpointPerformanceResource;
+import pe.upc.edu.adminservice.interfaces.rest.resources.PerformancePointResource;
+import pe.upc.edu.adminservice.interfaces.rest.resources.ServicePerformanceResource;
+
+import java.util.List;
+
+public class PerformanceResourceFromSummaryAssembler {
+    public static EndpointPerformanceResource toEndpointResource(String endpoint, PerformanceSummary summary) {
+        return new EndpointPerformanceResource(
+                endpoint,
+                summary.requests(),
+                summary.requestsPerSecond(),
+                nullIfNaN(summary.errorRate()),
+                millis(summary.p50Seconds()),
+                millis(summary.p99Seconds()));
+    }
+
+    public static ServicePerformanceResource toServiceResource(String service, int instances, PerformanceSummary summary,
+                                                               List<EndpointPerformanceResource> endpoints) {
+        return new ServicePerformanceResource(
+                service,
+                instances,
+                summary.requests(),
+                summary.requestsPerSecond(),
+                nullIfNaN(summary.errorRate()),
+                millis(summary.p50Seconds()),
+                millis(summary.p99Seconds()),
+                endpoints);
+    }
+
+    public static PerformancePointResource toPointResource(PerformancePoint point) {
+        var summary = point.summary();
+        return new PerformancePointResource(
+                point.start(),
+                summary.requests(),
+                summary.requestsPerSecond(),
+                nullIfNaN(summary.errorRate()),
+                millis(summary.p50Seconds()),
+                millis(summary.p99Seconds()));
+    }
+
+    private static Double millis(double seconds) {
+        return Double.isNaN(seconds) ? null : seconds * 1000;
+    }
+
+    private static Double nullIfNaN(double value) {
+        return Double.isNaN(value) ? null : value;
+    }
+}
@@ -0,0 +1,126 @@
+package pe.upc.edu.adminservice.infrastructure.performance;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+/**
+ * Parses Prometheus scrapes of several instances and reads the merged time series back.
+ */
+class PerformanceStoreTests {
+
+    private static final String ENDPOINT = "GET /api/v1/clients";
+    private static final Instant NOW = Instant.parse("2026-01-01T12:00:10Z");
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final PerformanceStore store = new PerformanceStore(Duration.ofSeconds(10), Duration.ofMinutes(1), 2,
+            Clock.fixed(NOW, ZoneOffset.UTC), meterRegistry);
+    private final long lastStep = store.stepOf(NOW) - 1;
+
+    @Test
+    void parsesTheHttpServerRequestsHistogramPerEndpoint() {
+        Map<String, long[]> endpoints = parse(scrape(0, 0, 0), scrape(90, 100, 0),
+                "http_server_requests_seconds_count{method=\"GET\",status=\"200\",uri=\"/actuator/prometheus\"} 7.0",
+                "jvm_threads_live_threads 20.0");
+
+        long[] counters = endpoints.get(ENDPOINT);
+        assertThat(endpoints).containsOnlyKeys(ENDPOINT);
+        assertThat(counters[RequestCounters.REQUESTS]).isEqualTo(100);
+        assertThat(counters[RequestCounters.ERRORS]).isZero();
+        assertThat(counters[RequestCounters.BUCKETS + LatencyBuckets.indexOf(0.01)]).isEqualTo(90);
+        assertThat(counters[RequestCounters.BUCKETS + LatencyBuckets.indexOf(0.1)]).isEqualTo(10);
+    }
+
+    @Test
+    void mergesInstancesIntoOneHistogram() {
+        store.record("a", "customer-service", parse(scrape(0, 0, 0)), lastStep - 1);
+        store.record("b", "customer-service", parse(scrape(0, 0, 0)), lastStep - 1);
+        // a: 100 rápidas; b: 100 lentas, todas con error
+        store.record("a", "customer-service", parse(scrape(100, 100, 0)), lastStep);
+        store.record("b", "customer-service", parse(scrape(0, 0, 100)), lastStep);
+
+        PerformanceSummary summary = store.summarize("customer-service", ENDPOINT, Duration.ofSeconds(10));
+
+        assertThat(summary.requests()).isEqualTo(200);
+        assertThat(summary.requestsPerSecond()).isEqualTo(20);
+        assertThat(summary.errorRate()).isEqualTo(0.5);
+        assertThat(summary.p50Seconds()).isLessThanOrEqualTo(0.01);
+        assertThat(summary.p99Seconds()).isBetween(0.1, 1.0);
+        assertThat(store.instances("customer-service")).isEqualTo(2);
+    }
+
+    @Test
+    void restartedInstancesCountFromZero() {
+        store.record("a", "customer-service", parse(scrape(50, 50, 0)), lastStep - 1);
+        store.record("a", "customer-service", parse(scrape(5, 5, 0)), lastStep);
+
+        assertThat(store.summarize("customer-service", null, Duration.ofSeconds(10)).requests()).isEqualTo(5);
+    }
+
+    @Test
+    void memoryStaysBoundedAsStepsAndEndpointsGrow() {
+        // Tres vueltas al anillo de 7 pasos
+        for (int i = 0; i <= 21; i++) {
+            store.record("a", "customer-service", parse(scrape(i, i, 0)), lastStep - 21 + i);
+        }
+        store.record("b", "product-service", parse(scrape(0, 0, 0)), lastStep);
+        store.record("b", "product-service", parse(scrape(1, 1, 0)), lastStep);
+        store.record("c", "iam-service", parse(scrape(0, 0, 0)), lastStep);
+        store.record("c", "iam-service", parse(scrape(1, 1, 0)), lastStep);
+        store.retainInstances(Set.of("a"));
+
+        assertThat(store.services()).containsExactly("customer-service", "product-service");
+        assertThat(store.series("customer-service", ENDPOINT, Duration.ofHours(1)))
+                .hasSize(6)
+                .allSatisfy(point -> assertThat(point.summary().requests()).isEqualTo(1));
+        assertThat(store.sizeInBytes()).isEqualTo(2L * 7 * (1 + RequestCounters.LENGTH) * Long.BYTES);
+        assertThat(meterRegistry.get("performance.series.dropped").gauge().value()).isEqualTo(1);
+        assertThat(store.instances("product-service")).isZero();
+    }
+
+    @Test
+    void percentilesInterpolateInsideTheBucket() {
+        long[] counters = RequestCounters.empty();
+        counters[RequestCounters.BUCKETS + LatencyBuckets.indexOf(0.2)] = 100;
+
+        assertThat(RequestCounters.percentile(counters, 0.5)).isCloseTo(0.175, within(1e-9));
+        assertThat(RequestCounters.percentile(RequestCounters.empty(), 0.5)).isNaN();
+    }
+
+    private static Map<String, long[]> parse(String... lines) {
+        var parser = new HttpServerRequestsParser();
+        for (String text : lines) {
+            text.lines().forEach(parser::accept);
+        }
+        return parser.endpoints();
+    }
+
+    /**
+     * One scrape with {@code fast} requests under 10 ms and {@code total - fast} under 100 ms answered 200,
+     * plus {@code slow} requests under 1 s answered 500 (all counts cumulative).
+     */
+    private static String scrape(long fast, long total, long slow) {
+        String ok = "error=\"none\",exception=\"none\",method=\"GET\",outcome=\"SUCCESS\",status=\"200\",uri=\"/api/v1/clients\"";
+        String failed = "error=\"none\",exception=\"none\",method=\"GET\",outcome=\"SERVER_ERROR\",status=\"500\",uri=\"/api/v1/clients\"";
+        return String.join("\n",
+                "# TYPE http_server_requests_seconds histogram",
+                "http_server_requests_seconds_bucket{" + ok + ",le=\"0.001\"} 0.0",
+                "http_server_requests_seconds_bucket{" + ok + ",le=\"0.00943718\"} " + fast + ".0",
+                "http_server_requests_seconds_bucket{" + ok + ",le=\"0.095\"} " + total + ".0",
+                "http_server_requests_seconds_bucket{" + ok + ",le=\"+Inf\"} " + total + ".0",
+                "http_server_requests_seconds_count{" + ok + "} " + total + ".0",
+                "http_server_requests_seconds_bucket{" + failed + ",le=\"0.095\"} 0.0",
+                "http_server_requests_seconds_bucket{" + failed + ",le=\"0.984\"} " + slow + ".0",
+                "http_server_requests_seconds_bucket{" + failed + ",le=\"+Inf\"} " + slow + ".0",
+                "http_server_requests_seconds_count{" + failed + "} " + slow + ".0");
+    }
+}
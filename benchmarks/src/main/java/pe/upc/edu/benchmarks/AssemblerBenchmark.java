@@ -0,0 +1,125 @@
+package pe.upc.edu.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import pe.upc.edu.customerservice.domain.model.aggregates.Client;
+import pe.upc.edu.customerservice.domain.model.commands.CreateClientCommand;
+import pe.upc.edu.customerservice.domain.model.projections.ClientProduct;
+import pe.upc.edu.customerservice.domain.model.valueobjects.TypeDocument;
+import pe.upc.edu.customerservice.interfaces.rest.resources.ClientResource;
+import pe.upc.edu.customerservice.interfaces.rest.resources.CreateClientResource;
+import pe.upc.edu.customerservice.interfaces.rest.transform.ClientResourceFromEntityAssembler;
+import pe.upc.edu.customerservice.interfaces.rest.transform.CreateClientCommandFromResourceAssembler;
+import pe.upc.edu.customerservice.interfaces.rest.transform.ProductResourceFromProjectionAssembler;
+import pe.upc.edu.iamservice.domain.model.aggregates.User;
+import pe.upc.edu.iamservice.interfaces.rest.resources.AuthenticationResponse;
+import pe.upc.edu.iamservice.interfaces.rest.transform.TransformService;
+import pe.upc.edu.productservice.domain.model.aggregates.Product;
+import pe.upc.edu.productservice.domain.model.commands.CreateProductCommand;
+import pe.upc.edu.productservice.domain.model.commands.UpdateProductCommand;
+import pe.upc.edu.productservice.domain.model.events.ProductEvent;
+import pe.upc.edu.productservice.domain.model.valueobjects.ProductEventType;
+import pe.upc.edu.productservice.domain.model.valueobjects.ProductType;
+import pe.upc.edu.productservice.interfaces.rest.resources.CreateProductResource;
+import pe.upc.edu.productservice.interfaces.rest.resources.ProductEventResource;
+import pe.upc.edu.productservice.interfaces.rest.resources.UpdateProductResource;
+import pe.upc.edu.productservice.interfaces.rest.transform.CreateProductCommandFromResourceAssembler;
+import pe.upc.edu.productservice.interfaces.rest.transform.ProductEventResourceFromEntityAssembler;
+import pe.upc.edu.productservice.interfaces.rest.transform.ProductResourceFromEntityAssembler;
+import pe.upc.edu.productservice.interfaces.rest.transform.UpdateProductCommandFromResourceAssembler;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The resource/command assemblers of the three services. Apart from
+ * {@code ClientResourceFromEntityAssembler}, which encrypts the unique code, they only copy
+ * fields; a regression here usually means an accidental allocation or lookup crept in.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AssemblerBenchmark {
+
+    private Client client;
+    private ClientProduct clientProduct;
+    private CreateClientResource createClientResource;
+    private Product product;
+    private ProductEvent productEvent;
+    private CreateProductResource createProductResource;
+    private UpdateProductResource updateProductResource;
+    private User user;
+
+    @Setup
+    public void setUp() {
+        client = new Client();
+        client.setId(7L);
+        client.setFullName("Ana María");
+        client.setFullLastName("Pérez Quispe");
+        client.setDocumentNumber("45678912");
+        client.setUniqueCode(1_234_567_890_123L);
+        clientProduct = new ClientProduct(11L, 7L, "SAVINGS_ACCOUNT", "Cuenta sueldo", 2_500.75, 301L);
+        createClientResource = new CreateClientResource("Ana María", "Pérez Quispe", TypeDocument.DNI, "45678912");
+
+        product = new Product(7L, ProductType.SAVINGS_ACCOUNT, "Cuenta sueldo", 2_500.75);
+        product.setId(11L);
+        LocalDateTime occurredAt = LocalDateTime.now();
+        productEvent = new ProductEvent(301L, ProductEventType.UPDATED, 11L, 7L,
+                ProductType.SAVINGS_ACCOUNT, "Cuenta sueldo", 2_500.75, occurredAt, occurredAt);
+        createProductResource = new CreateProductResource(7L, ProductType.CREDIT_CARD, "Visa Oro", 0.0);
+        updateProductResource = new UpdateProductResource(ProductType.CREDIT_CARD, "Visa Platinum", 150.0);
+
+        user = new User(42L, "ana.perez@example.com", "$2a$10$hash");
+    }
+
+    @Benchmark
+    public ClientResource customerClientResource() {
+        return ClientResourceFromEntityAssembler.toResourceFromEntity(client);
+    }
+
+    @Benchmark
+    public Object customerProductResource() {
+        return ProductResourceFromProjectionAssembler.toResourceFromProjection(clientProduct);
+    }
+
+    @Benchmark
+    public CreateClientCommand customerCreateClientCommand() {
+        return CreateClientCommandFromResourceAssembler.toCommandFromResource(createClientResource);
+    }
+
+    @Benchmark
+    public Object productProductResource() {
+        return ProductResourceFromEntityAssembler.toResourceFromEntity(product);
+    }
+
+    @Benchmark
+    public ProductEventResource productEventResource() {
+        return ProductEventResourceFromEntityAssembler.toResourceFromEntity(productEvent);
+    }
+
+    @Benchmark
+    public CreateProductCommand productCreateCommand() {
+        return CreateProductCommandFromResourceAssembler.toCommandFromResource(createProductResource);
+    }
+
+    @Benchmark
+    public UpdateProductCommand productUpdateCommand() {
+        return UpdateProductCommandFromResourceAssembler.toCommandFromResource(11L, updateProductResource);
+    }
+
+    @Benchmark
+    public AuthenticationResponse iamAuthenticationResponse() {
+        return TransformService.toAuthenticationResponse("header.payload.signature", user);
+    }
+}
@@ -0,0 +1,141 @@
+package pe.upc.edu.benchmarks;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Compares a JMH JSON result file against a stored one. A benchmark is flagged as a regression
+ * when it got worse by more than {@code threshold} (relative) <em>and</em> the two confidence
+ * intervals reported by JMH do not overlap, so run-to-run noise alone does not trip it.
+ * Benchmarks present in only one of the files are reported but never fail the comparison.
+ * <p>
+ * Either file may be a plain JMH result array or a baseline written by {@link BenchmarkMain}:
+ * {@code {"environment": {...}, "results": [...]}}.
+ */
+public class BaselineComparison {
+
+    private static final String PACKAGE_PREFIX = BaselineComparison.class.getPackageName() + ".";
+
+    private final double threshold;
+
+    public BaselineComparison(double threshold) {
+        this.threshold = threshold;
+    }
+
+    public List<Row> compare(Path baselineFile, Path resultFile) throws IOException {
+        Map<String, Score> baseline = read(baselineFile);
+        Map<String, Score> current = read(resultFile);
+        List<Row> rows = new ArrayList<>();
+        current.forEach((key, score) -> rows.add(compare(key, baseline.get(key), score)));
+        return rows;
+    }
+
+    Row compare(String key, Score baseline, Score current) {
+        if (baseline == null) {
+            return new Row(key, null, current, Double.NaN, Verdict.NEW);
+        }
+        if (!baseline.unit().equals(current.unit()) || !baseline.mode().equals(current.mode())) {
+            return new Row(key, baseline, current, Double.NaN, Verdict.INCOMPARABLE);
+        }
+        double change = (current.score() - baseline.score()) / baseline.score();
+        // En throughput más es mejor; en los modos de tiempo (avgt, sample, ss) menos es mejor
+        double worsening = baseline.higherIsBetter() ? -change : change;
+        boolean overlap = current.low() <= baseline.high() && baseline.low() <= current.high();
+        Verdict verdict = Verdict.UNCHANGED;
+        if (!overlap && worsening > threshold) {
+            verdict = Verdict.REGRESSION;
+        } else if (!overlap && worsening < -threshold) {
+            verdict = Verdict.IMPROVEMENT;
+        }
+        return new Row(key, baseline, current, change, verdict);
+    }
+
+    public String toMarkdown(List<Row> rows) {
+        var out = new StringBuilder()
+                .append(String.format(Locale.ROOT, "Regression threshold: %.0f%%%n%n", threshold * 100))
+                .append("| Benchmark | Unit | Baseline | Current | Change | Verdict |\n")
+                .append("|---|---|---:|---:|---:|---|\n");
+        for (Row row : rows) {
+            out.append(String.format(Locale.ROOT, "| %s | %s | %s | %s | %s | %s |%n",
+                    row.key(),
+                    row.current().unit(),
+                    row.baseline() == null ? "-" : row.baseline().format(),
+                    row.current().format(),
+                    Double.isNaN(row.change()) ? "-" : String.format(Locale.ROOT, "%+.1f%%", row.change() * 100),
+                    row.verdict()));
+        }
+        return out.toString();
+    }
+
+    static Map<String, Score> read(Path file) throws IOException {
+        Map<String, Score> scores = new LinkedHashMap<>();
+        for (JsonNode run : results(new ObjectMapper().readTree(file.toFile()))) {
+            JsonNode metric = run.path("primaryMetric");
+            scores.put(key(run), new Score(
+                    run.path("mode").asText(),
+                    metric.path("score").asDouble(),
+                    metric.path("scoreError").asDouble(0),
+                    metric.path("scoreUnit").asText()));
+        }
+        return scores;
+    }
+
+    /** Environment recorded in a baseline file, or {@code null} for a plain JMH result. */
+    public static BenchmarkEnvironment environment(Path file) throws IOException {
+        return BenchmarkEnvironment.from(new ObjectMapper().readTree(file.toFile()).path("environment"));
+    }
+
+    static JsonNode results(JsonNode root) {
+        return root.isObject() ? root.path("results") : root;
+    }
+
+    // Nombre del benchmark sin el paquete, más sus @Param en orden estable: {format=json, products=10}
+    private static String key(JsonNode run) {
+        String name = run.path("benchmark").asText();
+        if (name.startsWith(PACKAGE_PREFIX)) {
+            name = name.substring(PACKAGE_PREFIX.length());
+        }
+        Map<String, String> params = new TreeMap<>();
+        for (Map.Entry<String, JsonNode> param : run.path("params").properties()) {
+            params.put(param.getKey(), param.getValue().asText());
+        }
+        return params.isEmpty() ? name : name + " " + params;
+    }
+
+    public record Score(String mode, double score, double error, String unit) {
+
+        boolean higherIsBetter() {
+            return "thrpt".equals(mode);
+        }
+
+        double low() {
+            return score - (Double.isNaN(error) ? 0 : error);
+        }
+
+        double high() {
+            return score + (Double.isNaN(error) ? 0 : error);
+        }
+
+        String format() {
+            return Double.isNaN(error) || error == 0
+                    ? String.format(Locale.ROOT, "%.3f", score)
+                    : String.format(Locale.ROOT, "%.3f +/- %.3f", score, error);
+        }
+    }
+
+    public record Row(String key, Score baseline, Score current, double change, Verdict verdict) {
+    }
+
+    public enum Verdict {
+        UNCHANGED, IMPROVEMENT, REGRESSION, NEW, INCOMPARABLE
+    }
+}
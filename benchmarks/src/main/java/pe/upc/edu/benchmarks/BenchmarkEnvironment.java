@@ -0,0 +1,58 @@
+package pe.upc.edu.benchmarks;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Machine and JVM a set of scores was measured on. Scores are only comparable between runs on
+ * the same environment, so the baseline file records the one it was produced on and the
+ * comparison report prints it next to the current one.
+ */
+public record BenchmarkEnvironment(String os, String cpu, int cpus, long memoryMb, String jvm) {
+
+    public static BenchmarkEnvironment current() {
+        String os = firstValue(Path.of("/etc/os-release"), "PRETTY_NAME=").map(name -> name.replace("\"", "") + ", ")
+                .orElse("") + System.getProperty("os.name") + ' ' + System.getProperty("os.version")
+                + ' ' + System.getProperty("os.arch");
+        String cpu = firstValue(Path.of("/proc/cpuinfo"), "model name").map(line -> line.replaceFirst("^\\s*:\\s*", ""))
+                .orElse(System.getProperty("os.arch"));
+        long memoryMb = ManagementFactory.getOperatingSystemMXBean() instanceof com.sun.management.OperatingSystemMXBean bean
+                ? bean.getTotalMemorySize() / (1024 * 1024)
+                : -1;
+        String jvm = System.getProperty("java.vm.vendor") + ' ' + System.getProperty("java.vm.name")
+                + ' ' + System.getProperty("java.vm.version");
+        return new BenchmarkEnvironment(os, cpu, Runtime.getRuntime().availableProcessors(), memoryMb, jvm);
+    }
+
+    static BenchmarkEnvironment from(JsonNode node) {
+        if (node.isMissingNode() || node.isNull()) {
+            return null;
+        }
+        return new BenchmarkEnvironment(node.path("os").asText(), node.path("cpu").asText(),
+                node.path("cpus").asInt(), node.path("memoryMb").asLong(), node.path("jvm").asText());
+    }
+
+    public String describe() {
+        return String.format(Locale.ROOT, "%s; %s x%d; %d MB; %s", os, cpu, cpus, memoryMb, jvm);
+    }
+
+    private static Optional<String> firstValue(Path file, String prefix) {
+        if (!Files.isReadable(file)) {
+            return Optional.empty();
+        }
+        try (Stream<String> lines = Files.lines(file)) {
+            return lines.filter(line -> line.startsWith(prefix))
+                    .map(line -> line.substring(prefix.length()))
+                    .findFirst();
+        } catch (IOException | RuntimeException e) {
+            return Optional.empty();
+        }
+    }
+}
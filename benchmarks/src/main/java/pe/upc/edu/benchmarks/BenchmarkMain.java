@@ -0,0 +1,85 @@
+package pe.upc.edu.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Entry point of {@code benchmarks.jar}. Accepts the usual JMH command line (a name regex,
+ * {@code -f}, {@code -wi}, {@code -p products=10}, ...), always writes a JSON result and then
+ * compares it with the stored baseline:
+ * <ul>
+ *     <li>{@code -Dbenchmark.baseline}: baseline file, default {@code baseline/jmh-baseline.json}.</li>
+ *     <li>{@code -Dbenchmark.regression-threshold}: relative worsening tolerated, default {@code 0.10}.</li>
+ *     <li>{@code -Dbenchmark.fail-on-regression=true}: exit with status 1 when something regressed,
+ *     for use as a CI gate.</li>
+ *     <li>{@code -Dbenchmark.write-baseline=true}: store this run, with the machine and JVM it ran on,
+ *     as the baseline instead of comparing against it.</li>
+ * </ul>
+ * Scores only compare on the environment the baseline was recorded on; the report prints both.
+ */
+public class BenchmarkMain {
+
+    private static final String DEFAULT_RESULT = "target/jmh-result.json";
+    private static final Path REPORT = Path.of("target", "jmh-comparison.md");
+
+    public static void main(String[] args) throws Exception {
+        var commandLine = new CommandLineOptions(args);
+        if (commandLine.shouldHelp() || commandLine.shouldList() || commandLine.shouldListWithParams()
+                || commandLine.shouldListProfilers() || commandLine.shouldListResultFormats()) {
+            org.openjdk.jmh.Main.main(args);
+            return;
+        }
+
+        ChainedOptionsBuilder options = new OptionsBuilder().parent(commandLine);
+        Path result = Path.of(commandLine.getResult().orElse(DEFAULT_RESULT));
+        Files.createDirectories(result.toAbsolutePath().getParent());
+        options.result(result.toString()).resultFormat(ResultFormatType.JSON);
+        new Runner(options.build()).run();
+
+        Path baseline = Path.of(System.getProperty("benchmark.baseline", "baseline/jmh-baseline.json"));
+        if (Boolean.getBoolean("benchmark.write-baseline")) {
+            writeBaseline(result, baseline);
+            System.out.printf("%nStored this run as the baseline at %s.%n", baseline);
+            return;
+        }
+        if (!Files.exists(baseline)) {
+            System.out.printf("%nNo baseline at %s; rerun with -Dbenchmark.write-baseline=true to adopt this run.%n", baseline);
+            return;
+        }
+        var comparison = new BaselineComparison(
+                Double.parseDouble(System.getProperty("benchmark.regression-threshold", "0.10")));
+        List<BaselineComparison.Row> rows = comparison.compare(baseline, result);
+        BenchmarkEnvironment recorded = BaselineComparison.environment(baseline);
+        String report = String.format("Baseline environment: %s%nThis run: %s%n%n",
+                recorded == null ? "not recorded" : recorded.describe(), BenchmarkEnvironment.current().describe())
+                + comparison.toMarkdown(rows);
+        Files.createDirectories(REPORT.toAbsolutePath().getParent());
+        Files.writeString(REPORT, report);
+        System.out.printf("%nComparison against %s (also written to %s):%n%n%s", baseline, REPORT, report);
+
+        long regressions = rows.stream().filter(row -> row.verdict() == BaselineComparison.Verdict.REGRESSION).count();
+        if (regressions > 0 && Boolean.getBoolean("benchmark.fail-on-regression")) {
+            System.err.printf("%d benchmark(s) regressed%n", regressions);
+            System.exit(1);
+        }
+    }
+
+    private static void writeBaseline(Path result, Path baseline) throws IOException {
+        var mapper = new ObjectMapper();
+        ObjectNode root = mapper.createObjectNode();
+        root.set("environment", mapper.valueToTree(BenchmarkEnvironment.current()));
+        root.set("results", BaselineComparison.results(mapper.readTree(result.toFile())));
+        Files.createDirectories(baseline.toAbsolutePath().getParent());
+        mapper.writerWithDefaultPrettyPrinter().writeValue(baseline.toFile(), root);
+    }
+}
@@ -0,0 +1,47 @@
+package pe.upc.edu.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import pe.upc.edu.customerservice.infrastructure.EncryptionUtil;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * AES round trip of customer-service's {@link EncryptionUtil}, paid once per client returned by
+ * the API. Each call builds a new {@code Cipher}, which is what these numbers mostly measure.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EncryptionBenchmark {
+
+    private String plainText;
+    private String cipherText;
+
+    @Setup
+    public void setUp() throws Exception {
+        plainText = String.valueOf(1_234_567_890_123L);
+        cipherText = EncryptionUtil.encrypt(plainText);
+    }
+
+    @Benchmark
+    public String encrypt() throws Exception {
+        return EncryptionUtil.encrypt(plainText);
+    }
+
+    @Benchmark
+    public String decrypt() throws Exception {
+        return EncryptionUtil.decrypt(cipherText);
+    }
+}
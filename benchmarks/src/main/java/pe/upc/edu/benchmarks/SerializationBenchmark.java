@@ -0,0 +1,88 @@
+package pe.upc.edu.benchmarks;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import pe.upc.edu.customerservice.interfaces.rest.resources.ClientWithProductsResource;
+import pe.upc.edu.productservice.domain.model.valueobjects.ProductType;
+import pe.upc.edu.productservice.interfaces.rest.resources.ProductResource;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+/**
+ * Jackson cost of the two payloads that grow with the number of products: the product list
+ * customer-service reads from product-service and the client-with-products response it builds.
+ * {@code smile} is the binary format Jackson offers for the same object model, measured for
+ * comparison with the {@code json} the services use today.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SerializationBenchmark {
+
+    @Param({"1", "10", "100", "1000"})
+    public int products;
+
+    @Param({"json", "smile"})
+    public String format;
+
+    private ObjectWriter writer;
+    private ObjectReader productListReader;
+    private List<ProductResource> productList;
+    private ClientWithProductsResource clientWithProducts;
+    private byte[] productListBytes;
+
+    @Setup
+    public void setUp() throws Exception {
+        ObjectMapper objectMapper = "smile".equals(format)
+                ? Jackson2ObjectMapperBuilder.smile().build()
+                : Jackson2ObjectMapperBuilder.json().build();
+        writer = objectMapper.writer();
+        productListReader = objectMapper.readerFor(new TypeReference<List<ProductResource>>() { });
+
+        ProductType[] types = ProductType.values();
+        productList = LongStream.rangeClosed(1, products)
+                .mapToObj(id -> new ProductResource(id, 7L, types[(int) (id % types.length)], "Producto " + id, id * 10.5))
+                .toList();
+        clientWithProducts = new ClientWithProductsResource(7L, "Ana María", "Pérez Quispe", "DNI", "45678912",
+                1_234_567_890_123L,
+                productList.stream()
+                        .map(product -> new pe.upc.edu.customerservice.interfaces.rest.resources.ProductResource(
+                                product.id(), product.productType().name(), product.name(), product.balance()))
+                        .toList());
+        productListBytes = writer.writeValueAsBytes(productList);
+    }
+
+    @Benchmark
+    public byte[] writeProductList() throws Exception {
+        return writer.writeValueAsBytes(productList);
+    }
+
+    @Benchmark
+    public List<ProductResource> readProductList() throws Exception {
+        return productListReader.readValue(productListBytes);
+    }
+
+    @Benchmark
+    public byte[] writeClientWithProducts() throws Exception {
+        return writer.writeValueAsBytes(clientWithProducts);
+    }
+}
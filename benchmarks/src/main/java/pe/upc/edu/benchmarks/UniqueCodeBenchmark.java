@@ -0,0 +1,42 @@
+package pe.upc.edu.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import pe.upc.edu.customerservice.infrastructure.identity.UniqueCodeGenerator;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Client unique codes generated per second by one customer-service node, from one thread and
+ * from four sharing the generator. Past 4096 codes per millisecond the generator borrows from
+ * the next millisecond instead of waiting, so this measures the compare-and-set loop itself.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UniqueCodeBenchmark {
+
+    private final UniqueCodeGenerator generator = new UniqueCodeGenerator(1);
+
+    @Benchmark
+    public long singleThread() {
+        return generator.next();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public long fourThreads() {
+        return generator.next();
+    }
+}
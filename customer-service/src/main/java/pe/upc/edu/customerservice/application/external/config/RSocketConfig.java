@@ -0,0 +1,17 @@
+package pe.upc.edu.customerservice.application.external.config;
+
+import com.netflix.appinfo.ApplicationInfoManager;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import pe.upc.edu.customerservice.infrastructure.rsocket.RSocketPortPublisher;
+
+@Configuration
+public class RSocketConfig {
+
+    @Bean
+    public RSocketPortPublisher rsocketPortPublisher(ObjectProvider<ApplicationInfoManager> applicationInfoManager) {
+        // product-service valida clientes por RSocket (clients.exists) contra el puerto publicado
+        return new RSocketPortPublisher(applicationInfoManager);
+    }
+}
@@ -4,13 +4,12 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
 import org.springframework.web.reactive.function.client.WebClient;
-import org.springframework.web.reactive.function.client.WebClientResponseException;
-import pe.upc.edu.customerservice.interfaces.rest.resources.ProductResource;
+import pe.upc.edu.customerservice.interfaces.rest.resources.ProductEventResource;
+import pe.upc.edu.customerservice.interfaces.rest.resources.ProductEventShardsResource;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
-import reactor.util.retry.Retry;
 
 import java.time.Duration;
-import java.util.List;
 
 @Component
 public class ReactiveExternalProduct {
@@ -22,42 +21,27 @@ public class ReactiveExternalProduct {
     }
 
     /**
-     * Obtiene de forma asíncrona todos los productos de un cliente
-     * @param clientId El ID del cliente
-     * @return Mono<List<ProductResource>> - Lista de productos del cliente
+     * Lee una página del feed de cambios (outbox) de product-service
+     * @param after Último id de evento ya aplicado
+     * @param limit Máximo de eventos a devolver
+     * @return Flux<ProductEventResource> - Eventos en orden de id
      */
-    public Mono<List<ProductResource>> getProductsByClientId(Long clientId) {
-        logger.info("🔍 Getting products for clientId: {}", clientId);
-
-        String uri = "/api/v1/products/client/" + clientId;
-        logger.info("🌐 Making request to: {}", uri);
+    public Mono<Integer> getProductEventShards() {
+        return productServiceWebClient
+                .get()
+                .uri("/api/v1/product-events/shards")
+                .retrieve()
+                .bodyToMono(ProductEventShardsResource.class)
+                .map(ProductEventShardsResource::count)
+                .timeout(Duration.ofSeconds(10));
+    }
 
+    public Flux<ProductEventResource> getProductEvents(int shard, Long after, int limit) {
         return productServiceWebClient
                 .get()
-                .uri(uri)
+                .uri("/api/v1/product-events?shard={shard}&after={after}&limit={limit}", shard, after, limit)
                 .retrieve()
-                .bodyToMono(ProductResource[].class)
-                .doOnNext(products -> logger.info("✅ Found {} products for client {}",
-                        products != null ? products.length : 0, clientId))
-                .map(products -> products != null ? List.of(products) : List.<ProductResource>of())
-                .doOnError(error -> {
-                    if (error instanceof WebClientResponseException.NotFound) {
-                        logger.warn("❌ No products found for client {} (404)", clientId);
-                    } else {
-                        logger.error("💥 Error getting products for client {}: {}", clientId, error.getMessage());
-                    }
-                })
-                .onErrorReturn(WebClientResponseException.NotFound.class, List.of()) // 404 = sin productos
-                .timeout(Duration.ofSeconds(10)) // Timeout de 10 segundos para productos
-                .retryWhen(Retry.backoff(2, Duration.ofMillis(500))) // 2 reintentos con backoff
-                .doOnSuccess(products -> logger.info("🎯 Final result for client {}: {} products",
-                        clientId, products.size()))
-                .onErrorResume(throwable -> {
-                    // Manejo de errores diferentes a 404
-                    logger.error("💥 Critical error getting products for client {}: {}",
-                            clientId, throwable.getMessage());
-                    return Mono.error(new RuntimeException(
-                            "Error al obtener productos del cliente " + clientId + ": " + throwable.getMessage()));
-                });
+                .bodyToFlux(ProductEventResource.class)
+                .timeout(Duration.ofSeconds(10));
     }
-}
\ No newline at end of file
+}
@@ -1,21 +1,26 @@
 package pe.upc.edu.customerservice.application.internal;
 
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Service;
 import pe.upc.edu.customerservice.domain.model.aggregates.Client;
 import pe.upc.edu.customerservice.domain.model.commands.CreateClientCommand;
 import pe.upc.edu.customerservice.domain.model.commands.DeleteClientCommand;
 import pe.upc.edu.customerservice.domain.model.commands.UpdateClientCommand;
 import pe.upc.edu.customerservice.domain.services.ClientCommandService;
+import pe.upc.edu.customerservice.infrastructure.identity.UniqueCodeGenerator;
 import pe.upc.edu.customerservice.infrastructure.persistence.r2dbc.repositories.ClientRepository;
 import reactor.core.publisher.Mono;
 
 @Service
+@ConditionalOnProperty(name = "persistence.adapter", havingValue = "r2dbc", matchIfMissing = true)
 public class ClientCommandServiceImpl implements ClientCommandService {
 
     private final ClientRepository clientRepository;
+    private final UniqueCodeGenerator uniqueCodeGenerator;
 
-    public ClientCommandServiceImpl(ClientRepository clientRepository) {
+    public ClientCommandServiceImpl(ClientRepository clientRepository, UniqueCodeGenerator uniqueCodeGenerator) {
         this.clientRepository = clientRepository;
+        this.uniqueCodeGenerator = uniqueCodeGenerator;
     }
 
     @Override
@@ -26,7 +31,7 @@ public class ClientCommandServiceImpl implements ClientCommandService {
                         return Mono.error(new IllegalArgumentException("Client with full name " + command.full_name() + " already exists"));
                     }
 
-                    var client = new Client(command);
+                    var client = new Client(command, uniqueCodeGenerator.next());
                     return clientRepository.save(client)
                             .map(Client::getUniqueCode)
                             .onErrorMap(e -> new IllegalArgumentException("Error while saving client: " + e.getMessage()));
@@ -1,32 +1,41 @@
 package pe.upc.edu.customerservice.application.internal;
 
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Service;
 import pe.upc.edu.customerservice.domain.model.aggregates.Client;
+import pe.upc.edu.customerservice.domain.model.projections.ClientProduct;
+import pe.upc.edu.customerservice.domain.model.queries.ExistsClientByIdQuery;
 import pe.upc.edu.customerservice.domain.model.queries.GetAllClientsQuery;
 import pe.upc.edu.customerservice.domain.model.queries.GetClientByIdQuery;
 import pe.upc.edu.customerservice.domain.model.queries.GetClientByUniqueCode;
+import pe.upc.edu.customerservice.domain.model.queries.GetProductsByClientIdQuery;
 import pe.upc.edu.customerservice.domain.services.ClientQueryService;
+import pe.upc.edu.customerservice.infrastructure.persistence.r2dbc.repositories.ClientProductRepository;
 import pe.upc.edu.customerservice.infrastructure.persistence.r2dbc.repositories.ClientRepository;
+import pe.upc.edu.servicecommons.persistence.r2dbc.routing.ReadRouting;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 @Service
+@ConditionalOnProperty(name = "persistence.adapter", havingValue = "r2dbc", matchIfMissing = true)
 public class ClientQueryServiceImpl implements ClientQueryService {
 
     private final ClientRepository clientRepository;
+    private final ClientProductRepository clientProductRepository;
 
-    public ClientQueryServiceImpl(ClientRepository clientRepository) {
+    public ClientQueryServiceImpl(ClientRepository clientRepository, ClientProductRepository clientProductRepository) {
         this.clientRepository = clientRepository;
+        this.clientProductRepository = clientProductRepository;
     }
 
     @Override
     public Flux<Client> handle(GetAllClientsQuery query) {
-        return clientRepository.findAll();
+        return clientRepository.findAll().contextWrite(ReadRouting.readOnly());
     }
 
     @Override
     public Mono<Client> handle(GetClientByUniqueCode query) {
-        return clientRepository.findByUniqueCode(query.uniqueCode());
+        return clientRepository.findByUniqueCode(query.uniqueCode()).contextWrite(ReadRouting.readOnly());
     }
 
     @Override
@@ -36,7 +45,24 @@ public class ClientQueryServiceImpl implements ClientQueryService {
         }
 
         return clientRepository.findById(query.id())
+                .contextWrite(ReadRouting.readOnly())
                 .switchIfEmpty(Mono.error(new RuntimeException("Client not found with ID: " + query.id())))
                 .onErrorResume(throwable -> Mono.error(new RuntimeException("Failed to retrieve client", throwable)));
     }
-}
\ No newline at end of file
+
+    @Override
+    public Flux<ClientProduct> handle(GetProductsByClientIdQuery query) {
+        // Served from the local projection fed by the product-service change feed, no remote call
+        return clientProductRepository.findByClientIdOrderByProductId(query.clientId())
+                .contextWrite(ReadRouting.readOnly());
+    }
+
+    @Override
+    public Mono<Boolean> handle(ExistsClientByIdQuery query) {
+        if (query.clientId() == null || query.clientId() <= 0) {
+            return Mono.just(false);
+        }
+        // Siempre contra el primario: product-service valida con esto antes de crear un producto
+        return clientRepository.existsById(query.clientId());
+    }
+}
@@ -0,0 +1,85 @@
+package pe.upc.edu.customerservice.application.internal;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import pe.upc.edu.customerservice.domain.model.aggregates.Client;
+import pe.upc.edu.customerservice.domain.model.commands.CreateClientCommand;
+import pe.upc.edu.customerservice.domain.model.commands.DeleteClientCommand;
+import pe.upc.edu.customerservice.domain.model.commands.UpdateClientCommand;
+import pe.upc.edu.customerservice.domain.services.ClientCommandService;
+import pe.upc.edu.customerservice.infrastructure.identity.UniqueCodeGenerator;
+import pe.upc.edu.customerservice.infrastructure.persistence.jdbc.repositories.JdbcClientRepository;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+/**
+ * {@link ClientCommandService} over blocking JDBC, selected with {@code persistence.adapter=jdbc}.
+ * Each command runs start to finish on one JDBC thread, with the same checks and errors as
+ * {@link ClientCommandServiceImpl}.
+ */
+@Service
+@ConditionalOnProperty(name = "persistence.adapter", havingValue = "jdbc")
+public class JdbcClientCommandServiceImpl implements ClientCommandService {
+
+    private final JdbcClientRepository clientRepository;
+    private final Scheduler jdbcScheduler;
+    private final UniqueCodeGenerator uniqueCodeGenerator;
+
+    public JdbcClientCommandServiceImpl(JdbcClientRepository clientRepository, Scheduler jdbcScheduler,
+                                        UniqueCodeGenerator uniqueCodeGenerator) {
+        this.clientRepository = clientRepository;
+        this.jdbcScheduler = jdbcScheduler;
+        this.uniqueCodeGenerator = uniqueCodeGenerator;
+    }
+
+    @Override
+    public Mono<Long> handle(CreateClientCommand command) {
+        return Mono.fromCallable(() -> {
+            if (clientRepository.existsByFullName(command.full_name())) {
+                throw new IllegalArgumentException("Client with full name " + command.full_name() + " already exists");
+            }
+            try {
+                return clientRepository.save(new Client(command, uniqueCodeGenerator.next())).getUniqueCode();
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException("Error while saving client: " + e.getMessage());
+            }
+        }).subscribeOn(jdbcScheduler);
+    }
+
+    @Override
+    public Mono<Client> handle(UpdateClientCommand command) {
+        return Mono.fromCallable(() -> {
+            if (clientRepository.existsByFullName(command.full_name())) {
+                throw new IllegalArgumentException("Client with full name " + command.full_name() + " already exists");
+            }
+            var clientToUpdate = clientRepository.findById(command.clientId())
+                    .orElseThrow(() -> new IllegalArgumentException("Profile with id " + command.clientId() + " does not exist"));
+            clientToUpdate.updateInformation(
+                    command.full_name(),
+                    command.full_last_name(),
+                    command.type_document(),
+                    command.number_document(),
+                    Long.valueOf(command.uniqueCode())
+            );
+            try {
+                return clientRepository.save(clientToUpdate);
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException("Error while updating client: " + e.getMessage());
+            }
+        }).subscribeOn(jdbcScheduler);
+    }
+
+    @Override
+    public Mono<Void> handle(DeleteClientCommand command) {
+        return Mono.<Void>fromRunnable(() -> {
+            if (!clientRepository.existsById(command.clientId())) {
+                throw new IllegalArgumentException("Client with id " + command.clientId() + " does not exist");
+            }
+            try {
+                clientRepository.deleteById(command.clientId());
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException("Error while deleting client: " + e.getMessage());
+            }
+        }).subscribeOn(jdbcScheduler);
+    }
+}
@@ -0,0 +1,79 @@
+package pe.upc.edu.customerservice.application.internal;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import pe.upc.edu.customerservice.domain.model.aggregates.Client;
+import pe.upc.edu.customerservice.domain.model.projections.ClientProduct;
+import pe.upc.edu.customerservice.domain.model.queries.ExistsClientByIdQuery;
+import pe.upc.edu.customerservice.domain.model.queries.GetAllClientsQuery;
+import pe.upc.edu.customerservice.domain.model.queries.GetClientByIdQuery;
+import pe.upc.edu.customerservice.domain.model.queries.GetClientByUniqueCode;
+import pe.upc.edu.customerservice.domain.model.queries.GetProductsByClientIdQuery;
+import pe.upc.edu.customerservice.domain.services.ClientQueryService;
+import pe.upc.edu.customerservice.infrastructure.persistence.jdbc.repositories.JdbcClientProductRepository;
+import pe.upc.edu.customerservice.infrastructure.persistence.jdbc.repositories.JdbcClientRepository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+/**
+ * {@link ClientQueryService} over blocking JDBC, selected with {@code persistence.adapter=jdbc}.
+ * Same contract as {@link ClientQueryServiceImpl}; every call runs on the JDBC scheduler.
+ */
+@Service
+@ConditionalOnProperty(name = "persistence.adapter", havingValue = "jdbc")
+public class JdbcClientQueryServiceImpl implements ClientQueryService {
+
+    private final JdbcClientRepository clientRepository;
+    private final JdbcClientProductRepository clientProductRepository;
+    private final Scheduler jdbcScheduler;
+
+    public JdbcClientQueryServiceImpl(JdbcClientRepository clientRepository,
+                                      JdbcClientProductRepository clientProductRepository,
+                                      Scheduler jdbcScheduler) {
+        this.clientRepository = clientRepository;
+        this.clientProductRepository = clientProductRepository;
+        this.jdbcScheduler = jdbcScheduler;
+    }
+
+    @Override
+    public Flux<Client> handle(GetAllClientsQuery query) {
+        return Mono.fromCallable(clientRepository::findAll)
+                .subscribeOn(jdbcScheduler)
+                .flatMapIterable(clients -> clients);
+    }
+
+    @Override
+    public Mono<Client> handle(GetClientByUniqueCode query) {
+        return Mono.fromCallable(() -> clientRepository.findByUniqueCode(query.uniqueCode()).orElse(null))
+                .subscribeOn(jdbcScheduler);
+    }
+
+    @Override
+    public Mono<Client> handle(GetClientByIdQuery query) {
+        if (query.id() == null || query.id() <= 0) {
+            return Mono.error(new IllegalArgumentException("Client ID must be a positive number"));
+        }
+
+        return Mono.fromCallable(() -> clientRepository.findById(query.id()).orElse(null))
+                .subscribeOn(jdbcScheduler)
+                .switchIfEmpty(Mono.error(new RuntimeException("Client not found with ID: " + query.id())))
+                .onErrorResume(throwable -> Mono.error(new RuntimeException("Failed to retrieve client", throwable)));
+    }
+
+    @Override
+    public Flux<ClientProduct> handle(GetProductsByClientIdQuery query) {
+        return Mono.fromCallable(() -> clientProductRepository.findByClientIdOrderByProductId(query.clientId()))
+                .subscribeOn(jdbcScheduler)
+                .flatMapIterable(products -> products);
+    }
+
+    @Override
+    public Mono<Boolean> handle(ExistsClientByIdQuery query) {
+        if (query.clientId() == null || query.clientId() <= 0) {
+            return Mono.just(false);
+        }
+        return Mono.fromCallable(() -> clientRepository.existsById(query.clientId()))
+                .subscribeOn(jdbcScheduler);
+    }
+}
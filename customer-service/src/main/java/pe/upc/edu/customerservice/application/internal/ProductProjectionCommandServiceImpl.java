@@ -0,0 +1,143 @@
+package pe.upc.edu.customerservice.application.internal;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import pe.upc.edu.customerservice.application.external.products.ReactiveExternalProduct;
+import pe.upc.edu.customerservice.domain.model.commands.RebuildProductProjectionCommand;
+import pe.upc.edu.customerservice.domain.model.commands.SyncProductProjectionCommand;
+import pe.upc.edu.customerservice.domain.model.projections.ClientProduct;
+import pe.upc.edu.customerservice.domain.model.projections.ProjectionCheckpoint;
+import pe.upc.edu.customerservice.domain.services.ProductProjectionCommandService;
+import pe.upc.edu.customerservice.interfaces.rest.resources.ProductEventResource;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.springframework.data.relational.core.query.Criteria.where;
+import static org.springframework.data.relational.core.query.Query.query;
+
+/**
+ * Keeps {@code client_products} in step with the product-service change feed. Each page of
+ * events is applied together with the checkpoint in one transaction, and every row remembers the
+ * last event applied to it, so a retried or replayed page cannot apply a change twice.
+ * <p>
+ * product-service exposes one feed per products shard, each with its own event ids, so every
+ * shard has its own checkpoint. A product lives on a single shard for its whole life, which keeps
+ * the per-row {@code last_event_id} comparison within one id sequence.
+ */
+@Service
+public class ProductProjectionCommandServiceImpl implements ProductProjectionCommandService {
+    private static final Logger logger = LoggerFactory.getLogger(ProductProjectionCommandServiceImpl.class);
+
+    static final String PROJECTION_NAME = "client-products";
+
+    private final ReactiveExternalProduct reactiveExternalProduct;
+    private final R2dbcEntityTemplate template;
+    private final TransactionalOperator transactionalOperator;
+    private final int batchSize;
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    public ProductProjectionCommandServiceImpl(ReactiveExternalProduct reactiveExternalProduct,
+                                               R2dbcEntityTemplate template,
+                                               TransactionalOperator transactionalOperator,
+                                               @Value("${product-projection.batch-size:500}") int batchSize) {
+        this.reactiveExternalProduct = reactiveExternalProduct;
+        this.template = template;
+        this.transactionalOperator = transactionalOperator;
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public Mono<List<Long>> handle(SyncProductProjectionCommand command) {
+        return exclusively(reactiveExternalProduct.getProductEventShards()
+                .flatMap(shards -> Flux.range(0, shards)
+                        .concatMap(shard -> currentCheckpoint(shard).flatMap(after -> syncFrom(shard, after)))
+                        .collectList()));
+    }
+
+    @Override
+    public Mono<List<Long>> handle(RebuildProductProjectionCommand command) {
+        return exclusively(reactiveExternalProduct.getProductEventShards()
+                .flatMap(shards -> {
+                    Mono<Void> clear = template.delete(ClientProduct.class).all()
+                            .thenMany(Flux.range(0, shards).concatMap(shard -> saveCheckpoint(shard, 0L)))
+                            .then()
+                            .as(transactionalOperator::transactional);
+                    return clear
+                            .doOnSuccess(v -> logger.info("Product projection cleared, replaying {} change feed(s)", shards))
+                            .thenMany(Flux.range(0, shards).concatMap(shard -> syncFrom(shard, 0L)))
+                            .collectList();
+                }));
+    }
+
+    static String checkpointName(int shard) {
+        // El shard 0 conserva el nombre original para no perder el checkpoint existente
+        return shard == 0 ? PROJECTION_NAME : PROJECTION_NAME + "-shard-" + shard;
+    }
+
+    private Mono<List<Long>> exclusively(Mono<List<Long>> work) {
+        return Mono.defer(() -> {
+            if (!running.compareAndSet(false, true)) {
+                return Mono.error(new IllegalStateException("Product projection is already being synchronized"));
+            }
+            return work.doFinally(signal -> running.set(false));
+        });
+    }
+
+    private Mono<Long> syncFrom(int shard, long after) {
+        return reactiveExternalProduct.getProductEvents(shard, after, batchSize)
+                .collectList()
+                .flatMap(events -> {
+                    if (events.isEmpty()) {
+                        return Mono.just(after);
+                    }
+                    return applyPage(shard, events)
+                            .flatMap(last -> events.size() < batchSize ? Mono.just(last) : syncFrom(shard, last));
+                });
+    }
+
+    private Mono<Long> applyPage(int shard, List<ProductEventResource> events) {
+        long last = events.get(events.size() - 1).id();
+        return Flux.fromIterable(events)
+                .concatMap(this::apply)
+                .then(saveCheckpoint(shard, last))
+                .as(transactionalOperator::transactional)
+                .doOnSuccess(v -> logger.debug("Applied {} product events of shard {} up to {}", events.size(), shard, last))
+                .thenReturn(last);
+    }
+
+    private Mono<Void> apply(ProductEventResource event) {
+        if ("DELETED".equals(event.eventType())) {
+            return template.delete(query(where("product_id").is(event.productId())
+                            .and("last_event_id").lessThan(event.id())), ClientProduct.class)
+                    .then();
+        }
+        return template.selectOne(query(where("product_id").is(event.productId())), ClientProduct.class)
+                .flatMap(existing -> existing.getLastEventId() >= event.id()
+                        ? Mono.just(existing)
+                        : template.update(existing.updateInformation(event.clientId(), event.productType(),
+                                event.name(), event.balance(), event.id())))
+                .switchIfEmpty(Mono.defer(() -> template.insert(new ClientProduct(event.productId(), event.clientId(),
+                        event.productType(), event.name(), event.balance(), event.id()))))
+                .then();
+    }
+
+    private Mono<Long> currentCheckpoint(int shard) {
+        return template.selectOne(query(where("name").is(checkpointName(shard))), ProjectionCheckpoint.class)
+                .map(ProjectionCheckpoint::getLastEventId)
+                .defaultIfEmpty(0L);
+    }
+
+    private Mono<Void> saveCheckpoint(int shard, long lastEventId) {
+        var checkpoint = new ProjectionCheckpoint(checkpointName(shard), lastEventId);
+        return template.exists(query(where("name").is(checkpoint.getName())), ProjectionCheckpoint.class)
+                .flatMap(exists -> exists ? template.update(checkpoint) : template.insert(checkpoint))
+                .then();
+    }
+}
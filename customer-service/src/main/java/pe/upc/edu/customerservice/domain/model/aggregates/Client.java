@@ -55,12 +55,12 @@ public class Client {
         this.documentNumber = documentNumber;
     }
 
-    public Client(CreateClientCommand command) {
+    public Client(CreateClientCommand command, Long uniqueCode) {
         this.fullName = command.full_name();
         this.fullLastName = command.full_last_name();
         this.typedocument = command.type_document();
         this.documentNumber = command.number_document();
-        this.uniqueCode = command.uniqueCode();
+        this.uniqueCode = uniqueCode;
     }
 
     public Client updateInformation(String fullName, String fullLastName, TypeDocument typedocument, String documentNumber, Long uniqueCode) {
@@ -6,9 +6,7 @@ public record CreateClientCommand(
     String full_name,
     String full_last_name,
     TypeDocument type_document,
-    String number_document,
-    Long uniqueCode
-
+    String number_document
 ) {
 
 }
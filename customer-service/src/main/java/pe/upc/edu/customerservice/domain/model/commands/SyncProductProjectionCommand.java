@@ -0,0 +1,4 @@
+package pe.upc.edu.customerservice.domain.model.commands;
+
+public record SyncProductProjectionCommand() {
+}
@@ -0,0 +1,54 @@
+package pe.upc.edu.customerservice.domain.model.projections;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Column;
+import org.springframework.data.relational.core.mapping.Table;
+
+/**
+ * Local copy of a product owned by product-service, kept current from its change feed.
+ * {@code lastEventId} makes applying the same event twice a no-op.
+ */
+@Getter
+@NoArgsConstructor
+@Table("client_products")
+public class ClientProduct {
+
+    @Id
+    @Column("product_id")
+    private Long productId;
+
+    @Column("client_id")
+    private Long clientId;
+
+    @Column("product_type")
+    private String productType;
+
+    @Column("name")
+    private String name;
+
+    @Column("balance")
+    private Double balance;
+
+    @Column("last_event_id")
+    private Long lastEventId;
+
+    public ClientProduct(Long productId, Long clientId, String productType, String name, Double balance, Long lastEventId) {
+        this.productId = productId;
+        this.clientId = clientId;
+        this.productType = productType;
+        this.name = name;
+        this.balance = balance;
+        this.lastEventId = lastEventId;
+    }
+
+    public ClientProduct updateInformation(Long clientId, String productType, String name, Double balance, Long lastEventId) {
+        this.clientId = clientId;
+        this.productType = productType;
+        this.name = name;
+        this.balance = balance;
+        this.lastEventId = lastEventId;
+        return this;
+    }
+}
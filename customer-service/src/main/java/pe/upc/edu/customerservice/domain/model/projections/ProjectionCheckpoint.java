@@ -0,0 +1,22 @@
+package pe.upc.edu.customerservice.domain.model.projections;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Column;
+import org.springframework.data.relational.core.mapping.Table;
+
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Table("projection_checkpoints")
+public class ProjectionCheckpoint {
+
+    @Id
+    @Column("name")
+    private String name;
+
+    @Column("last_event_id")
+    private Long lastEventId;
+}
@@ -0,0 +1,4 @@
+package pe.upc.edu.customerservice.domain.model.queries;
+
+public record ExistsClientByIdQuery(Long clientId) {
+}
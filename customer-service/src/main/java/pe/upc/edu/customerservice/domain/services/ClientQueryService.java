@@ -1,9 +1,12 @@
 package pe.upc.edu.customerservice.domain.services;
 
 import pe.upc.edu.customerservice.domain.model.aggregates.Client;
+import pe.upc.edu.customerservice.domain.model.projections.ClientProduct;
+import pe.upc.edu.customerservice.domain.model.queries.ExistsClientByIdQuery;
 import pe.upc.edu.customerservice.domain.model.queries.GetAllClientsQuery;
 import pe.upc.edu.customerservice.domain.model.queries.GetClientByIdQuery;
 import pe.upc.edu.customerservice.domain.model.queries.GetClientByUniqueCode;
+import pe.upc.edu.customerservice.domain.model.queries.GetProductsByClientIdQuery;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
@@ -11,4 +14,6 @@ public interface ClientQueryService {
     Flux<Client> handle(GetAllClientsQuery query);
     Mono<Client> handle(GetClientByUniqueCode query);
     Mono<Client> handle(GetClientByIdQuery query);
+    Flux<ClientProduct> handle(GetProductsByClientIdQuery query);
+    Mono<Boolean> handle(ExistsClientByIdQuery query);
 }
\ No newline at end of file
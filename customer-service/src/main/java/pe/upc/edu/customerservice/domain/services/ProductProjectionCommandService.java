@@ -0,0 +1,14 @@
+package pe.upc.edu.customerservice.domain.services;
+
+import pe.upc.edu.customerservice.domain.model.commands.RebuildProductProjectionCommand;
+import pe.upc.edu.customerservice.domain.model.commands.SyncProductProjectionCommand;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+public interface ProductProjectionCommandService {
+    /** Applies pending change-feed events and returns the last applied event id of each products shard. */
+    Mono<List<Long>> handle(SyncProductProjectionCommand command);
+    /** Clears the projection and replays every shard's change feed from the start. */
+    Mono<List<Long>> handle(RebuildProductProjectionCommand command);
+}
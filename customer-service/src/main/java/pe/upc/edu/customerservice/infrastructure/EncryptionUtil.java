@@ -16,7 +16,8 @@ public class EncryptionUtil {
         cipher.init(Cipher.ENCRYPT_MODE, secretKey);
 
         byte[] encryptedBytes = cipher.doFinal(plainText.getBytes());
-        return Base64.getEncoder().encodeToString(encryptedBytes);
+        // Base64 URL-safe sin relleno: el código viaja como segmento de path y no puede llevar '/'
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(encryptedBytes);
     }
 
     public static String decrypt(String encryptedText) throws Exception {
@@ -24,11 +25,19 @@ public class EncryptionUtil {
         Cipher cipher = Cipher.getInstance("AES/ECB/PKCS5Padding");
         cipher.init(Cipher.DECRYPT_MODE, secretKey);
 
-        byte[] decodedBytes = Base64.getDecoder().decode(encryptedText);
+        byte[] decodedBytes = decode(encryptedText);
         byte[] decryptedBytes = cipher.doFinal(decodedBytes);
         return new String(decryptedBytes);
     }
 
+    private static byte[] decode(String encryptedText) {
+        // Los códigos emitidos antes en Base64 estándar ('+', '/', '=') se siguen aceptando
+        if (encryptedText.indexOf('+') >= 0 || encryptedText.indexOf('/') >= 0 || encryptedText.indexOf('=') >= 0) {
+            return Base64.getDecoder().decode(encryptedText);
+        }
+        return Base64.getUrlDecoder().decode(encryptedText);
+    }
+
     // Reactive versions
     public static Mono<String> encryptReactive(String plainText) {
         return Mono.fromCallable(() -> encrypt(plainText));
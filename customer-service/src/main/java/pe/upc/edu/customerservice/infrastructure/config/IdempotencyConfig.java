@@ -0,0 +1,38 @@
+package pe.upc.edu.customerservice.infrastructure.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.r2dbc.core.DatabaseClient;
+import pe.upc.edu.servicecommons.idempotency.IdempotencyStore;
+import pe.upc.edu.servicecommons.idempotency.IdempotencyWebFilter;
+
+import java.time.Duration;
+import java.util.Set;
+
+/**
+ * {@code Idempotency-Key} replay on the create endpoints listed in {@code idempotency.paths}.
+ * Disabled with {@code idempotency.enabled=false}.
+ */
+@Configuration
+@ConditionalOnProperty(name = "idempotency.enabled", havingValue = "true", matchIfMissing = true)
+public class IdempotencyConfig {
+
+    @Bean(initMethod = "start", destroyMethod = "stop")
+    public IdempotencyStore idempotencyStore(DatabaseClient databaseClient, MeterRegistry meterRegistry,
+                                             @Value("${idempotency.max-entries:10000}") int maxEntries,
+                                             @Value("${idempotency.ttl:24h}") Duration ttl,
+                                             @Value("${idempotency.purge-interval:10m}") Duration purgeInterval) {
+        return new IdempotencyStore(databaseClient, meterRegistry, maxEntries, ttl, purgeInterval);
+    }
+
+    @Bean
+    public IdempotencyWebFilter idempotencyWebFilter(IdempotencyStore idempotencyStore, MeterRegistry meterRegistry,
+                                                     @Value("${idempotency.paths:/api/v1/clients}") Set<String> paths,
+                                                     @Value("${idempotency.max-body-bytes:16384}") int maxBodyBytes,
+                                                     @Value("${idempotency.trust-forwarded-for:false}") boolean trustForwardedFor) {
+        return new IdempotencyWebFilter(idempotencyStore, meterRegistry, paths, maxBodyBytes, trustForwardedFor);
+    }
+}
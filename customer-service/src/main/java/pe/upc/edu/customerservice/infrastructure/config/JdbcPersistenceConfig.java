@@ -0,0 +1,67 @@
+package pe.upc.edu.customerservice.infrastructure.config;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import pe.upc.edu.customerservice.infrastructure.persistence.jdbc.JdbcThreads;
+import pe.upc.edu.customerservice.infrastructure.persistence.jdbc.repositories.JdbcClientProductRepository;
+import pe.upc.edu.customerservice.infrastructure.persistence.jdbc.repositories.JdbcClientRepository;
+import reactor.core.scheduler.Scheduler;
+
+import javax.sql.DataSource;
+
+/**
+ * Blocking JDBC persistence for the client services, active with {@code persistence.adapter=jdbc}.
+ * A Hikari pool against the same database, and a scheduler on virtual threads (platform threads
+ * below Java 21) so blocking calls never run on the event loop. Replica routing is R2DBC-only;
+ * with this adapter every client read and write goes to {@code persistence.jdbc.url}.
+ */
+@Configuration
+@ConditionalOnProperty(name = "persistence.adapter", havingValue = "jdbc")
+public class JdbcPersistenceConfig {
+
+    @Value("${persistence.jdbc.url}")
+    private String url;
+
+    @Value("${spring.r2dbc.username}")
+    private String username;
+
+    @Value("${spring.r2dbc.password}")
+    private String password;
+
+    @Value("${persistence.jdbc.pool-size:20}")
+    private int poolSize;
+
+    @Value("${persistence.jdbc.virtual-threads:true}")
+    private boolean virtualThreads;
+
+    @Bean(destroyMethod = "close")
+    public HikariDataSource jdbcDataSource() {
+        var config = new HikariConfig();
+        config.setPoolName("customer-jdbc");
+        config.setJdbcUrl(url);
+        config.setUsername(username);
+        config.setPassword(password);
+        config.setMaximumPoolSize(poolSize);
+        return new HikariDataSource(config);
+    }
+
+    @Bean(destroyMethod = "dispose")
+    public Scheduler jdbcScheduler() {
+        return JdbcThreads.scheduler(virtualThreads, poolSize);
+    }
+
+    @Bean
+    public JdbcClientRepository jdbcClientRepository(DataSource jdbcDataSource) {
+        return new JdbcClientRepository(new NamedParameterJdbcTemplate(jdbcDataSource));
+    }
+
+    @Bean
+    public JdbcClientProductRepository jdbcClientProductRepository(DataSource jdbcDataSource) {
+        return new JdbcClientProductRepository(new NamedParameterJdbcTemplate(jdbcDataSource));
+    }
+}
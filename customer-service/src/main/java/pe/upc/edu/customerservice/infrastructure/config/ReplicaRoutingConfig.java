@@ -0,0 +1,76 @@
+package pe.upc.edu.customerservice.infrastructure.config;
+
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcProperties;
+import org.springframework.boot.r2dbc.ConnectionFactoryBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import pe.upc.edu.servicecommons.persistence.r2dbc.routing.ReadWriteRoutingConnectionFactory;
+import pe.upc.edu.servicecommons.persistence.r2dbc.routing.ReadYourWritesWebFilter;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Read/write splitting, active only when {@code database.replicas.urls} is set. Replaces the
+ * auto-configured ConnectionFactory with a {@link ReadWriteRoutingConnectionFactory} over a
+ * pooled primary ({@code spring.r2dbc.*}) and one pool per replica with the same credentials.
+ */
+@Configuration
+@ConditionalOnProperty(name = "database.replicas.urls")
+public class ReplicaRoutingConfig {
+
+    @Value("${database.replicas.urls}")
+    private String replicaUrls;
+
+    // pg_last_xact_replay_timestamp() envejece sin escrituras: si ya se aplicó todo lo recibido, el lag es 0
+    @Value("${database.replicas.lag-query:SELECT CASE WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0 ELSE EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) END}")
+    private String lagQuery;
+
+    @Value("${database.replicas.max-lag:1s}")
+    private Duration maxLag;
+
+    @Value("${database.replicas.lag-check-interval:2s}")
+    private Duration lagCheckInterval;
+
+    @Value("${database.replicas.read-your-writes-window:5s}")
+    private Duration readYourWritesWindow;
+
+    @Value("${spring.application.name}")
+    private String applicationName;
+
+    @Bean(initMethod = "start", destroyMethod = "stop")
+    public ReadWriteRoutingConnectionFactory connectionFactory(R2dbcProperties properties) {
+        ConnectionFactory primary = pooled(properties.getUrl(), properties);
+        List<ConnectionFactory> replicas = Arrays.stream(replicaUrls.split(","))
+                .map(String::trim)
+                .filter(url -> !url.isEmpty())
+                .map(url -> pooled(url, properties))
+                .toList();
+        return new ReadWriteRoutingConnectionFactory(primary, replicas, lagQuery, maxLag, lagCheckInterval);
+    }
+
+    @Bean
+    public ReadYourWritesWebFilter readYourWritesWebFilter() {
+        // Una cookie por servicio: escribir en uno no fija al primario las lecturas del otro
+        return new ReadYourWritesWebFilter(applicationName + "-primary-until", readYourWritesWindow);
+    }
+
+    private static ConnectionFactory pooled(String url, R2dbcProperties properties) {
+        ConnectionFactory connectionFactory = ConnectionFactoryBuilder.withUrl(url)
+                .username(properties.getUsername())
+                .password(properties.getPassword())
+                .build();
+        R2dbcProperties.Pool pool = properties.getPool();
+        return new ConnectionPool(ConnectionPoolConfiguration.builder(connectionFactory)
+                .initialSize(pool.getInitialSize())
+                .maxSize(pool.getMaxSize())
+                .maxIdleTime(pool.getMaxIdleTime())
+                .build());
+    }
+}
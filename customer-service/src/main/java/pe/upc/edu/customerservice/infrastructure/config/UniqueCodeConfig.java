@@ -0,0 +1,36 @@
+package pe.upc.edu.customerservice.infrastructure.config;
+
+import com.netflix.appinfo.ApplicationInfoManager;
+import com.netflix.discovery.EurekaClient;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import pe.upc.edu.customerservice.infrastructure.identity.UniqueCodeGenerator;
+import pe.upc.edu.customerservice.infrastructure.identity.WorkerIdAssigner;
+
+/**
+ * Server-side client unique codes. The worker id comes from the Eureka registry (see
+ * {@link WorkerIdAssigner}); without a Eureka client it is
+ * {@code eureka.instance.metadata-map.worker-id}, 0 when unset.
+ */
+@Configuration
+public class UniqueCodeConfig {
+    private static final Logger logger = LoggerFactory.getLogger(UniqueCodeConfig.class);
+
+    @Bean
+    public UniqueCodeGenerator uniqueCodeGenerator(
+            ObjectProvider<ApplicationInfoManager> applicationInfoManager,
+            ObjectProvider<EurekaClient> eurekaClient,
+            @Value("${eureka.instance.metadata-map.worker-id:0}") int configuredWorkerId) {
+        ApplicationInfoManager manager = applicationInfoManager.getIfAvailable();
+        EurekaClient client = eurekaClient.getIfAvailable();
+        if (manager == null || client == null) {
+            logger.warn("No Eureka client, unique code worker id {}: give each instance its own", configuredWorkerId);
+            return new UniqueCodeGenerator(configuredWorkerId);
+        }
+        return new UniqueCodeGenerator(WorkerIdAssigner.assign(manager, client));
+    }
+}
@@ -0,0 +1,60 @@
+package pe.upc.edu.customerservice.infrastructure.config;
+
+import com.netflix.appinfo.ApplicationInfoManager;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.r2dbc.spi.ConnectionFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.codec.ServerCodecConfigurer;
+import pe.upc.edu.customerservice.domain.services.ClientQueryService;
+import pe.upc.edu.customerservice.domain.services.ProductProjectionCommandService;
+import pe.upc.edu.customerservice.infrastructure.warmup.ClientWarmUpWorkload;
+import pe.upc.edu.servicecommons.persistence.r2dbc.routing.ReadRouting;
+import pe.upc.edu.servicecommons.warmup.CodecWarmUp;
+import pe.upc.edu.servicecommons.warmup.EurekaReadinessStatusListener;
+import pe.upc.edu.servicecommons.warmup.StartupWarmUp;
+import reactor.util.context.Context;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Readiness-gated Eureka status and the startup warm-up that runs before readiness.
+ */
+@Configuration
+public class WarmUpConfig {
+
+    @Bean
+    public EurekaReadinessStatusListener eurekaReadinessStatusListener(
+            ObjectProvider<ApplicationInfoManager> applicationInfoManager) {
+        return new EurekaReadinessStatusListener(applicationInfoManager);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "warm-up.enabled", havingValue = "true", matchIfMissing = true)
+    public StartupWarmUp startupWarmUp(
+            ConnectionFactory connectionFactory,
+            ClientQueryService clientQueryService,
+            ObjectProvider<ProductProjectionCommandService> productProjectionCommandService,
+            ServerCodecConfigurer serverCodecConfigurer,
+            MeterRegistry meterRegistry,
+            @Value("${product-projection.enabled:true}") boolean productProjectionEnabled,
+            @Value("${database.replicas.urls:}") String replicaUrls,
+            @Value("${warm-up.connections:10}") int connections,
+            @Value("${warm-up.iterations:30}") int iterations,
+            @Value("${warm-up.sample-size:10}") int sampleSize,
+            @Value("${warm-up.timeout:30s}") Duration timeout) {
+        var workload = new ClientWarmUpWorkload(clientQueryService,
+                productProjectionEnabled ? productProjectionCommandService.getIfAvailable() : null,
+                new CodecWarmUp(serverCodecConfigurer), sampleSize);
+        // Primario y, si hay réplicas configuradas, las réplicas de lectura (sin ellas, readOnly() cae en el primario)
+        List<Function<Context, Context>> routes = replicaUrls.isBlank()
+                ? List.of(Function.identity())
+                : List.of(Function.identity(), ReadRouting.readOnly());
+        return new StartupWarmUp(connectionFactory, routes, workload, meterRegistry, connections, iterations, timeout);
+    }
+}
@@ -0,0 +1,68 @@
+package pe.upc.edu.customerservice.infrastructure.identity;
+
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Snowflake-style client unique codes: 41 bits of milliseconds since {@link #EPOCH}, 10 bits of
+ * worker id and 12 bits of sequence, always positive. Codes from one worker strictly increase and
+ * codes from different workers never collide, without any coordination at generation time; being
+ * time-ordered, new codes land at the right edge of the {@code unique_code} index.
+ * <p>
+ * Lock-free: the last (millisecond, sequence) pair lives in one {@link AtomicLong} and each call
+ * advances it with a compare-and-set. Past 4096 codes in a millisecond the sequence carries into
+ * the next millisecond instead of waiting for the clock, and a clock that steps back is ignored
+ * until it catches up, so codes stay unique and ordered either way. Uniqueness across restarts of
+ * the same worker relies on the clock not stepping back past the previous run's last code.
+ */
+public class UniqueCodeGenerator {
+
+    public static final Instant EPOCH = Instant.parse("2025-01-01T00:00:00Z");
+    public static final int WORKER_BITS = 10;
+    public static final int MAX_WORKER_ID = (1 << WORKER_BITS) - 1;
+
+    private static final int SEQUENCE_BITS = 12;
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+
+    private final long workerBits;
+    private final LongSupplier currentTimeMillis;
+    private final long epochMillis = EPOCH.toEpochMilli();
+    // (milisegundos desde EPOCH << SEQUENCE_BITS) | secuencia del último código entregado
+    private final AtomicLong last = new AtomicLong();
+
+    public UniqueCodeGenerator(int workerId) {
+        this(workerId, System::currentTimeMillis);
+    }
+
+    UniqueCodeGenerator(int workerId, LongSupplier currentTimeMillis) {
+        if (workerId < 0 || workerId > MAX_WORKER_ID) {
+            throw new IllegalArgumentException("Worker id must be between 0 and " + MAX_WORKER_ID + ", got " + workerId);
+        }
+        this.workerBits = (long) workerId << SEQUENCE_BITS;
+        this.currentTimeMillis = currentTimeMillis;
+    }
+
+    public long next() {
+        long now = (currentTimeMillis.getAsLong() - epochMillis) << SEQUENCE_BITS;
+        long previous;
+        long next;
+        do {
+            previous = last.get();
+            next = now > previous ? now : previous + 1;
+        } while (!last.compareAndSet(previous, next));
+        return ((next >>> SEQUENCE_BITS) << (WORKER_BITS + SEQUENCE_BITS)) | workerBits | (next & SEQUENCE_MASK);
+    }
+
+    public int workerId() {
+        return (int) (workerBits >>> SEQUENCE_BITS);
+    }
+
+    public static int workerIdOf(long uniqueCode) {
+        return (int) (uniqueCode >>> SEQUENCE_BITS) & MAX_WORKER_ID;
+    }
+
+    public static Instant timestampOf(long uniqueCode) {
+        return EPOCH.plusMillis(uniqueCode >>> (WORKER_BITS + SEQUENCE_BITS));
+    }
+}
@@ -0,0 +1,73 @@
+package pe.upc.edu.customerservice.infrastructure.identity;
+
+import com.netflix.appinfo.ApplicationInfoManager;
+import com.netflix.appinfo.InstanceInfo;
+import com.netflix.discovery.EurekaClient;
+import com.netflix.discovery.shared.Application;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Picks the {@link UniqueCodeGenerator} worker id of this instance and publishes it as the
+ * {@value #METADATA_KEY} entry of its Eureka metadata, where the next instance to start looks it
+ * up. An id set with {@code eureka.instance.metadata-map.worker-id} is used as is; otherwise the
+ * instance starts from a hash of its instance id and takes the first id not published by any
+ * registered instance of the service. An entry with this instance's own id counts too: the
+ * instance has not published anything yet, so it can only be a previous run whose lease has not
+ * expired, or a replica misconfigured with the same instance id. Two instances starting at the
+ * same moment only clash if their hashes do, which the unique index on {@code unique_code} would
+ * still catch.
+ */
+public final class WorkerIdAssigner {
+    private static final Logger logger = LoggerFactory.getLogger(WorkerIdAssigner.class);
+
+    public static final String METADATA_KEY = "worker-id";
+
+    private WorkerIdAssigner() {
+    }
+
+    public static int assign(ApplicationInfoManager applicationInfoManager, EurekaClient eurekaClient) {
+        InstanceInfo self = applicationInfoManager.getInfo();
+        String configured = self.getMetadata().get(METADATA_KEY);
+        if (configured != null) {
+            int workerId = Integer.parseInt(configured.trim());
+            logger.info("Unique code worker id {} from instance metadata", workerId);
+            return workerId;
+        }
+
+        Application application = eurekaClient.getApplication(self.getAppName());
+        Set<Integer> taken = taken(application != null ? application.getInstances() : List.of());
+        int workerId = pick(self.getInstanceId(), taken);
+        applicationInfoManager.registerAppMetadata(Map.of(METADATA_KEY, String.valueOf(workerId)));
+        logger.info("Unique code worker id {} assigned ({} taken by registered instances)", workerId, taken.size());
+        return workerId;
+    }
+
+    static Set<Integer> taken(List<InstanceInfo> instances) {
+        Set<Integer> taken = new HashSet<>();
+        for (InstanceInfo instance : instances) {
+            String published = instance.getMetadata().get(METADATA_KEY);
+            if (published != null) {
+                taken.add(Integer.parseInt(published.trim()));
+            }
+        }
+        return taken;
+    }
+
+    static int pick(String instanceId, Set<Integer> taken) {
+        int workers = UniqueCodeGenerator.MAX_WORKER_ID + 1;
+        if (taken.size() >= workers) {
+            throw new IllegalStateException("All " + workers + " unique code worker ids are taken");
+        }
+        int candidate = Math.floorMod(instanceId.hashCode(), workers);
+        while (taken.contains(candidate)) {
+            candidate = (candidate + 1) % workers;
+        }
+        return candidate;
+    }
+}
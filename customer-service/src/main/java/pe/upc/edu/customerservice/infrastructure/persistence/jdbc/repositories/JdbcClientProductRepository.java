@@ -0,0 +1,34 @@
+package pe.upc.edu.customerservice.infrastructure.persistence.jdbc.repositories;
+
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import pe.upc.edu.customerservice.domain.model.projections.ClientProduct;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Blocking reads of the local product projection for the JDBC adapter. The projection itself is
+ * still written by the R2DBC change-feed consumer.
+ */
+public class JdbcClientProductRepository {
+
+    private static final RowMapper<ClientProduct> CLIENT_PRODUCT = (rs, rowNum) -> new ClientProduct(
+            rs.getLong("product_id"),
+            rs.getLong("client_id"),
+            rs.getString("product_type"),
+            rs.getString("name"),
+            rs.getDouble("balance"),
+            rs.getLong("last_event_id"));
+
+    private final NamedParameterJdbcTemplate jdbc;
+
+    public JdbcClientProductRepository(NamedParameterJdbcTemplate jdbc) {
+        this.jdbc = jdbc;
+    }
+
+    public List<ClientProduct> findByClientIdOrderByProductId(Long clientId) {
+        return jdbc.query("SELECT * FROM client_products WHERE client_id = :clientId ORDER BY product_id",
+                Map.of("clientId", clientId), CLIENT_PRODUCT);
+    }
+}
@@ -0,0 +1,85 @@
+package pe.upc.edu.customerservice.infrastructure.persistence.jdbc.repositories;
+
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import pe.upc.edu.customerservice.domain.model.aggregates.Client;
+import pe.upc.edu.customerservice.domain.model.valueobjects.TypeDocument;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Blocking counterpart of {@code ClientRepository} for the JDBC adapter. Callers must not use it
+ * from an event-loop thread.
+ */
+public class JdbcClientRepository {
+
+    private static final RowMapper<Client> CLIENT = (rs, rowNum) -> {
+        var client = new Client();
+        client.setId(rs.getLong("id"));
+        client.setFullName(rs.getString("full_name"));
+        client.setFullLastName(rs.getString("full_last_name"));
+        String typedocument = rs.getString("typedocument");
+        client.setTypedocument(typedocument != null ? TypeDocument.valueOf(typedocument) : null);
+        client.setDocumentNumber(rs.getString("document_number"));
+        client.setUniqueCode(rs.getLong("unique_code"));
+        return client;
+    };
+
+    private final NamedParameterJdbcTemplate jdbc;
+
+    public JdbcClientRepository(NamedParameterJdbcTemplate jdbc) {
+        this.jdbc = jdbc;
+    }
+
+    public List<Client> findAll() {
+        return jdbc.query("SELECT * FROM clients", CLIENT);
+    }
+
+    public Optional<Client> findById(Long id) {
+        return jdbc.query("SELECT * FROM clients WHERE id = :id", Map.of("id", id), CLIENT).stream().findFirst();
+    }
+
+    public Optional<Client> findByUniqueCode(Long uniqueCode) {
+        return jdbc.query("SELECT * FROM clients WHERE unique_code = :uniqueCode",
+                Map.of("uniqueCode", uniqueCode), CLIENT).stream().findFirst();
+    }
+
+    public boolean existsById(Long id) {
+        return Boolean.TRUE.equals(jdbc.queryForObject(
+                "SELECT COUNT(*) > 0 FROM clients WHERE id = :id", Map.of("id", id), Boolean.class));
+    }
+
+    public boolean existsByFullName(String fullName) {
+        return Boolean.TRUE.equals(jdbc.queryForObject(
+                "SELECT COUNT(*) > 0 FROM clients WHERE full_name = :fullName",
+                new MapSqlParameterSource("fullName", fullName), Boolean.class));
+    }
+
+    public Client save(Client client) {
+        var params = new MapSqlParameterSource()
+                .addValue("fullName", client.getFullName())
+                .addValue("fullLastName", client.getFullLastName())
+                .addValue("typedocument", client.getTypedocument() != null ? client.getTypedocument().name() : null)
+                .addValue("documentNumber", client.getDocumentNumber())
+                .addValue("uniqueCode", client.getUniqueCode());
+        if (client.getId() != null) {
+            jdbc.update("UPDATE clients SET full_name = :fullName, full_last_name = :fullLastName, "
+                    + "typedocument = :typedocument, document_number = :documentNumber, unique_code = :uniqueCode "
+                    + "WHERE id = :id", params.addValue("id", client.getId()));
+            return client;
+        }
+        var keys = new GeneratedKeyHolder();
+        jdbc.update("INSERT INTO clients (full_name, full_last_name, typedocument, document_number, unique_code) "
+                + "VALUES (:fullName, :fullLastName, :typedocument, :documentNumber, :uniqueCode)", params, keys, new String[]{"id"});
+        client.setId(keys.getKeyAs(Number.class).longValue());
+        return client;
+    }
+
+    public void deleteById(Long id) {
+        jdbc.update("DELETE FROM clients WHERE id = :id", Map.of("id", id));
+    }
+}
@@ -0,0 +1,11 @@
+package pe.upc.edu.customerservice.infrastructure.persistence.r2dbc.repositories;
+
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import org.springframework.stereotype.Repository;
+import pe.upc.edu.customerservice.domain.model.projections.ClientProduct;
+import reactor.core.publisher.Flux;
+
+@Repository
+public interface ClientProductRepository extends R2dbcRepository<ClientProduct, Long> {
+    Flux<ClientProduct> findByClientIdOrderByProductId(Long clientId);
+}
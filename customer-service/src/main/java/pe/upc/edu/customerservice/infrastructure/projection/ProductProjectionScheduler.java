@@ -0,0 +1,57 @@
+package pe.upc.edu.customerservice.infrastructure.projection;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import pe.upc.edu.customerservice.domain.model.commands.SyncProductProjectionCommand;
+import pe.upc.edu.customerservice.domain.services.ProductProjectionCommandService;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+
+/**
+ * Polls the product-service change feed into the local product projection. A failed round
+ * (product-service down, gateway timeout) is logged and retried on the next tick; reads keep
+ * being served from the projection meanwhile.
+ */
+@Component
+@ConditionalOnProperty(name = "product-projection.enabled", havingValue = "true", matchIfMissing = true)
+public class ProductProjectionScheduler {
+    private static final Logger logger = LoggerFactory.getLogger(ProductProjectionScheduler.class);
+
+    private final ProductProjectionCommandService productProjectionCommandService;
+    private final Duration pollInterval;
+    private Disposable subscription;
+
+    public ProductProjectionScheduler(ProductProjectionCommandService productProjectionCommandService,
+                                      @Value("${product-projection.poll-interval:2s}") Duration pollInterval) {
+        this.productProjectionCommandService = productProjectionCommandService;
+        this.pollInterval = pollInterval;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        subscription = Flux.interval(Duration.ZERO, pollInterval)
+                .onBackpressureDrop()
+                .concatMap(tick -> productProjectionCommandService.handle(new SyncProductProjectionCommand())
+                        .onErrorResume(throwable -> {
+                            logger.warn("Product projection sync failed: {}", throwable.getMessage());
+                            return Mono.empty();
+                        }), 1)
+                .subscribe();
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (subscription != null) {
+            subscription.dispose();
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package pe.upc.edu.customerservice.infrastructure.rsocket;
+
+import com.netflix.appinfo.ApplicationInfoManager;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.rsocket.context.RSocketServerInitializedEvent;
+import org.springframework.context.ApplicationListener;
+
+import java.util.Map;
+
+/**
+ * Publishes the port the RSocket server actually bound as the {@value #METADATA_KEY} entry of this
+ * instance's Eureka metadata, where product-service looks it up. The server listens on an
+ * ephemeral port ({@code spring.rsocket.server.port=0}) so instances sharing a host never collide;
+ * the metadata reaches the registry before the instance turns UP.
+ */
+public class RSocketPortPublisher implements ApplicationListener<RSocketServerInitializedEvent> {
+
+    public static final String METADATA_KEY = "rsocket-port";
+
+    private final ObjectProvider<ApplicationInfoManager> applicationInfoManager;
+
+    public RSocketPortPublisher(ObjectProvider<ApplicationInfoManager> applicationInfoManager) {
+        this.applicationInfoManager = applicationInfoManager;
+    }
+
+    @Override
+    public void onApplicationEvent(RSocketServerInitializedEvent event) {
+        int port = event.getServer().address().getPort();
+        // Sin cliente Eureka (eureka.client.enabled=false) nadie puede descubrir el puerto
+        applicationInfoManager.ifAvailable(manager ->
+                manager.registerAppMetadata(Map.of(METADATA_KEY, String.valueOf(port))));
+    }
+}
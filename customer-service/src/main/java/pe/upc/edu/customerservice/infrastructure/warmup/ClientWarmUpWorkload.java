@@ -0,0 +1,107 @@
+package pe.upc.edu.customerservice.infrastructure.warmup;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
+import pe.upc.edu.customerservice.domain.model.aggregates.Client;
+import pe.upc.edu.customerservice.domain.model.commands.SyncProductProjectionCommand;
+import pe.upc.edu.customerservice.domain.model.queries.GetAllClientsQuery;
+import pe.upc.edu.customerservice.domain.model.queries.GetClientByUniqueCode;
+import pe.upc.edu.customerservice.domain.model.queries.GetProductsByClientIdQuery;
+import pe.upc.edu.customerservice.domain.model.valueobjects.TypeDocument;
+import pe.upc.edu.customerservice.domain.services.ClientQueryService;
+import pe.upc.edu.customerservice.domain.services.ProductProjectionCommandService;
+import pe.upc.edu.customerservice.infrastructure.EncryptionUtil;
+import pe.upc.edu.customerservice.infrastructure.config.MediaTypes;
+import pe.upc.edu.customerservice.interfaces.rest.resources.ClientResource;
+import pe.upc.edu.customerservice.interfaces.rest.resources.ClientWithProductsResource;
+import pe.upc.edu.customerservice.interfaces.rest.resources.CreateClientResource;
+import pe.upc.edu.customerservice.interfaces.rest.transform.ClientResourceFromEntityAssembler;
+import pe.upc.edu.customerservice.interfaces.rest.transform.ProductResourceFromProjectionAssembler;
+import pe.upc.edu.servicecommons.warmup.CodecWarmUp;
+import pe.upc.edu.servicecommons.warmup.WarmUpWorkload;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Customer-service warm-up: catches the local product projection up with the change feed, then
+ * replays {@code GET /api/v1/clients/{encryptedCode}} for a sample of existing clients
+ * (decryption, lookup by unique code, projection read, JSON and Smile bodies) and decodes a
+ * sign-up body. With an empty database only the codecs are exercised.
+ */
+public class ClientWarmUpWorkload implements WarmUpWorkload {
+    private static final Logger logger = LoggerFactory.getLogger(ClientWarmUpWorkload.class);
+
+    private static final CreateClientResource SAMPLE_REQUEST =
+            new CreateClientResource("Warm", "Up", TypeDocument.DNI, "00000000");
+
+    private final ClientQueryService clientQueryService;
+    private final ProductProjectionCommandService productProjectionCommandService;
+    private final CodecWarmUp codecs;
+    private final int sampleSize;
+    private volatile List<Client> sample = List.of();
+
+    /**
+     * @param productProjectionCommandService null when the product projection is disabled
+     */
+    public ClientWarmUpWorkload(ClientQueryService clientQueryService,
+                                ProductProjectionCommandService productProjectionCommandService,
+                                CodecWarmUp codecs, int sampleSize) {
+        this.clientQueryService = clientQueryService;
+        this.productProjectionCommandService = productProjectionCommandService;
+        this.codecs = codecs;
+        this.sampleSize = sampleSize;
+    }
+
+    @Override
+    public Mono<Void> prime() {
+        Mono<Void> projection = productProjectionCommandService == null
+                ? Mono.empty()
+                : productProjectionCommandService.handle(new SyncProductProjectionCommand())
+                        .doOnNext(shards -> logger.info("Product projection caught up before taking traffic"))
+                        .onErrorResume(throwable -> {
+                            logger.warn("Product projection not caught up during warm-up: {}", throwable.getMessage());
+                            return Mono.empty();
+                        })
+                        .then();
+        // La muestra se toma una vez: cortar el listado en cada ronda dejaría una medición "cancelled" por ronda
+        return projection.then(clientQueryService.handle(new GetAllClientsQuery())
+                .take(sampleSize)
+                .collectList()
+                .doOnNext(clients -> sample = clients)
+                .then());
+    }
+
+    @Override
+    public Mono<Void> iteration() {
+        return Flux.fromIterable(sample)
+                .concatMap(this::readClient)
+                .then(Mono.fromRunnable(() -> codecs.roundTrip(SAMPLE_REQUEST, MediaType.APPLICATION_JSON)));
+    }
+
+    private Mono<Void> readClient(Client client) {
+        ClientResource resource = ClientResourceFromEntityAssembler.toResourceFromEntity(client);
+        return EncryptionUtil.decryptReactive(resource.uniqueCode())
+                .map(Long::valueOf)
+                .flatMap(uniqueCode -> clientQueryService.handle(new GetClientByUniqueCode(uniqueCode)))
+                .flatMap(found -> clientQueryService.handle(new GetProductsByClientIdQuery(found.getId()))
+                        .map(ProductResourceFromProjectionAssembler::toResourceFromProjection)
+                        .collectList()
+                        .map(products -> new ClientWithProductsResource(
+                                found.getId(),
+                                found.getFullName(),
+                                found.getFullLastName(),
+                                found.getTypedocument().toString(),
+                                found.getDocumentNumber(),
+                                found.getUniqueCode(),
+                                products)))
+                .doOnNext(withProducts -> {
+                    codecs.roundTrip(withProducts, MediaType.APPLICATION_JSON);
+                    codecs.roundTrip(resource, MediaType.APPLICATION_JSON);
+                    codecs.roundTrip(resource, MediaTypes.APPLICATION_SMILE);
+                })
+                .then();
+    }
+}
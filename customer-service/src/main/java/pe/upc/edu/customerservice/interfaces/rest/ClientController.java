@@ -4,18 +4,20 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.*;
-import pe.upc.edu.customerservice.application.external.products.ReactiveExternalProduct;
 import pe.upc.edu.customerservice.domain.model.commands.DeleteClientCommand;
 import pe.upc.edu.customerservice.domain.model.queries.GetAllClientsQuery;
 import pe.upc.edu.customerservice.domain.model.queries.GetClientByIdQuery;
 import pe.upc.edu.customerservice.domain.model.queries.GetClientByUniqueCode;
+import pe.upc.edu.customerservice.domain.model.queries.GetProductsByClientIdQuery;
 import pe.upc.edu.customerservice.domain.services.ClientCommandService;
 import pe.upc.edu.customerservice.domain.services.ClientQueryService;
+import pe.upc.edu.customerservice.infrastructure.config.MediaTypes;
 import pe.upc.edu.customerservice.interfaces.rest.resources.ClientResource;
 import pe.upc.edu.customerservice.interfaces.rest.resources.ClientWithProductsResource;
 import pe.upc.edu.customerservice.interfaces.rest.resources.CreateClientResource;
 import pe.upc.edu.customerservice.interfaces.rest.transform.ClientResourceFromEntityAssembler;
 import pe.upc.edu.customerservice.interfaces.rest.transform.CreateClientCommandFromResourceAssembler;
+import pe.upc.edu.customerservice.interfaces.rest.transform.ProductResourceFromProjectionAssembler;
 import pe.upc.edu.customerservice.infrastructure.EncryptionUtil;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
@@ -27,14 +29,11 @@ public class ClientController {
 
     private final ClientQueryService clientQueryService;
     private final ClientCommandService clientCommandService;
-    private final ReactiveExternalProduct reactiveExternalProduct;
 
     public ClientController(ClientQueryService clientQueryService,
-                            ClientCommandService clientCommandService,
-                            ReactiveExternalProduct reactiveExternalProduct) {
+                            ClientCommandService clientCommandService) {
         this.clientQueryService = clientQueryService;
         this.clientCommandService = clientCommandService;
-        this.reactiveExternalProduct = reactiveExternalProduct;
     }
 
     @PostMapping
@@ -68,8 +67,11 @@ public class ClientController {
                     return clientQueryService.handle(query);
                 })
                 .flatMap(client -> {
-                    // Obtener productos del cliente de forma asíncrona y esperar el resultado
-                    return reactiveExternalProduct.getProductsByClientId(client.getId())
+                    // Productos desde la proyección local (feed de cambios de product-service)
+                    var productsQuery = new GetProductsByClientIdQuery(client.getId());
+                    return clientQueryService.handle(productsQuery)
+                            .map(ProductResourceFromProjectionAssembler::toResourceFromProjection)
+                            .collectList()
                             .map(products -> new ClientWithProductsResource(
                                     client.getId(),
                                     client.getFullName(),
@@ -98,8 +100,8 @@ public class ClientController {
                 .onErrorResume(throwable -> Mono.empty());
     }
 
-    // Get Client By id
-    @GetMapping("/id/{clientId}")
+    // Get Client By id (también en Smile para llamadas internas)
+    @GetMapping(value = "/id/{clientId}", produces = {MediaType.APPLICATION_JSON_VALUE, MediaTypes.APPLICATION_SMILE_VALUE})
     public Mono<ClientResource> getClientById(@PathVariable Long clientId) {
         var query = new GetClientByIdQuery(clientId);
         return clientQueryService.handle(query)
@@ -0,0 +1,40 @@
+package pe.upc.edu.customerservice.interfaces.rest;
+
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import pe.upc.edu.customerservice.domain.model.commands.RebuildProductProjectionCommand;
+import pe.upc.edu.customerservice.domain.model.commands.SyncProductProjectionCommand;
+import pe.upc.edu.customerservice.domain.services.ProductProjectionCommandService;
+import pe.upc.edu.customerservice.interfaces.rest.resources.ProductProjectionStatusResource;
+import reactor.core.publisher.Mono;
+
+@RestController
+@RequestMapping(value = "/api/v1/projections/products", produces = MediaType.APPLICATION_JSON_VALUE)
+@Tag(name = "Product Projection", description = "Local product read model maintenance")
+public class ProductProjectionController {
+
+    private static final String PROJECTION = "client-products";
+
+    private final ProductProjectionCommandService productProjectionCommandService;
+
+    public ProductProjectionController(ProductProjectionCommandService productProjectionCommandService) {
+        this.productProjectionCommandService = productProjectionCommandService;
+    }
+
+    // Aplica de inmediato los eventos pendientes del feed
+    @PostMapping("/sync")
+    public Mono<ProductProjectionStatusResource> sync() {
+        return productProjectionCommandService.handle(new SyncProductProjectionCommand())
+                .map(lastEventIds -> new ProductProjectionStatusResource(PROJECTION, lastEventIds));
+    }
+
+    // Vacía la proyección y la reconstruye desde el primer evento
+    @PostMapping("/rebuild")
+    public Mono<ProductProjectionStatusResource> rebuild() {
+        return productProjectionCommandService.handle(new RebuildProductProjectionCommand())
+                .map(lastEventIds -> new ProductProjectionStatusResource(PROJECTION, lastEventIds));
+    }
+}
@@ -6,8 +6,7 @@ public record CreateClientResource(
         String full_name,
         String full_last_name,
         TypeDocument type_document,
-        String number_document,
-        Long uniqueCode
+        String number_document
 ) {
 
 }
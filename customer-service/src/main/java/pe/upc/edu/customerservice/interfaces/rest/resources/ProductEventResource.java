@@ -0,0 +1,14 @@
+package pe.upc.edu.customerservice.interfaces.rest.resources;
+
+import java.time.LocalDateTime;
+
+public record ProductEventResource(
+        Long id,
+        String eventType,
+        Long productId,
+        Long clientId,
+        String productType,
+        String name,
+        Double balance,
+        LocalDateTime occurredAt
+) {}
@@ -0,0 +1,4 @@
+package pe.upc.edu.customerservice.interfaces.rest.resources;
+
+public record ProductEventShardsResource(Integer count) {
+}
@@ -0,0 +1,8 @@
+package pe.upc.edu.customerservice.interfaces.rest.resources;
+
+import java.util.List;
+
+public record ProductProjectionStatusResource(
+        String projection,
+        List<Long> lastEventIds
+) {}
@@ -9,8 +9,7 @@ public class CreateClientCommandFromResourceAssembler {
             resource.full_name(),
             resource.full_last_name(),
             resource.type_document(),
-            resource.number_document(),
-            resource.uniqueCode()
+            resource.number_document()
         );
     }
 }
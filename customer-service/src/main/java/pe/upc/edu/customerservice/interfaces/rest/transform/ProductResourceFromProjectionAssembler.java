@@ -0,0 +1,15 @@
+package pe.upc.edu.customerservice.interfaces.rest.transform;
+
+import pe.upc.edu.customerservice.domain.model.projections.ClientProduct;
+import pe.upc.edu.customerservice.interfaces.rest.resources.ProductResource;
+
+public class ProductResourceFromProjectionAssembler {
+    public static ProductResource toResourceFromProjection(ClientProduct projection) {
+        return new ProductResource(
+                projection.getProductId(),
+                projection.getProductType(),
+                projection.getName(),
+                projection.getBalance()
+        );
+    }
+}
@@ -0,0 +1,26 @@
+package pe.upc.edu.customerservice.interfaces.rsocket;
+
+import org.springframework.messaging.handler.annotation.MessageMapping;
+import org.springframework.stereotype.Controller;
+import pe.upc.edu.customerservice.domain.model.queries.ExistsClientByIdQuery;
+import pe.upc.edu.customerservice.domain.services.ClientQueryService;
+import reactor.core.publisher.Mono;
+
+/**
+ * RSocket routes for internal callers (product-service); external clients keep using HTTP.
+ */
+@Controller
+public class ClientsRSocketController {
+
+    private final ClientQueryService clientQueryService;
+
+    public ClientsRSocketController(ClientQueryService clientQueryService) {
+        this.clientQueryService = clientQueryService;
+    }
+
+    // request-response: ¿existe el cliente?
+    @MessageMapping("clients.exists")
+    public Mono<Boolean> clientExists(Long clientId) {
+        return clientQueryService.handle(new ExistsClientByIdQuery(clientId));
+    }
+}
@@ -6,3 +6,36 @@ CREATE TABLE IF NOT EXISTS clients (
     document_number VARCHAR(20) NOT NULL,
     unique_code BIGINT NOT NULL
 );
+
+-- Generado por el servicio (UniqueCodeGenerator), creciente en el tiempo: las altas van al final del índice
+CREATE UNIQUE INDEX IF NOT EXISTS idx_clients_unique_code ON clients (unique_code);
+
+-- Local read model of product-service products, fed from its outbox change feed
+CREATE TABLE IF NOT EXISTS client_products (
+    product_id BIGINT PRIMARY KEY,
+    client_id BIGINT NOT NULL,
+    product_type VARCHAR(50) NOT NULL,
+    name VARCHAR(255) NOT NULL,
+    balance NUMERIC(12, 2) NOT NULL,
+    last_event_id BIGINT NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_client_products_client_id ON client_products (client_id);
+
+-- Last change-feed event applied per projection
+CREATE TABLE IF NOT EXISTS projection_checkpoints (
+    name VARCHAR(50) PRIMARY KEY,
+    last_event_id BIGINT NOT NULL
+);
+
+-- Idempotency-Key responses pushed out of memory by IdempotencyStore, deleted once expired
+CREATE TABLE IF NOT EXISTS idempotency_keys (
+    idempotency_key VARCHAR(64) PRIMARY KEY,
+    fingerprint VARCHAR(64) NOT NULL,
+    status INTEGER NOT NULL,
+    content_type VARCHAR(255),
+    body BYTEA NOT NULL,
+    expires_at BIGINT NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_idempotency_keys_expires_at ON idempotency_keys (expires_at);
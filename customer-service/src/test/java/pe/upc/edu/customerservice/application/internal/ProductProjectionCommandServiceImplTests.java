@@ -0,0 +1,135 @@
+package pe.upc.edu.customerservice.application.internal;
+
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.r2dbc.connection.R2dbcTransactionManager;
+import org.springframework.r2dbc.connection.init.ResourceDatabasePopulator;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import pe.upc.edu.customerservice.application.external.products.ReactiveExternalProduct;
+import pe.upc.edu.customerservice.domain.model.commands.RebuildProductProjectionCommand;
+import pe.upc.edu.customerservice.domain.model.commands.SyncProductProjectionCommand;
+import pe.upc.edu.customerservice.domain.model.projections.ClientProduct;
+import pe.upc.edu.customerservice.interfaces.rest.resources.ProductEventResource;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Runs the projection against an in-memory H2 database and a stubbed product change feed.
+ */
+class ProductProjectionCommandServiceImplTests {
+
+    private final List<ProductEventResource> feed = new ArrayList<>();
+    private final List<List<ProductEventResource>> feeds = new ArrayList<>(List.of(feed));
+    private R2dbcEntityTemplate template;
+    private ProductProjectionCommandServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        ConnectionFactory connectionFactory = ConnectionFactories.get(
+                "r2dbc:h2:mem:///" + UUID.randomUUID() + "?options=MODE=PostgreSQL;DB_CLOSE_DELAY=-1");
+        new ResourceDatabasePopulator(new ClassPathResource("schema.sql")).populate(connectionFactory).block();
+        template = new R2dbcEntityTemplate(connectionFactory);
+
+        ReactiveExternalProduct products = mock(ReactiveExternalProduct.class);
+        when(products.getProductEventShards()).thenAnswer(invocation -> Mono.just(feeds.size()));
+        when(products.getProductEvents(anyInt(), anyLong(), anyInt())).thenAnswer(invocation -> {
+            int shard = invocation.getArgument(0);
+            long after = invocation.getArgument(1);
+            int limit = invocation.getArgument(2);
+            return Flux.fromIterable(feeds.get(shard)).filter(event -> event.id() > after).take(limit);
+        });
+        service = new ProductProjectionCommandServiceImpl(products, template,
+                TransactionalOperator.create(new R2dbcTransactionManager(connectionFactory)), 2);
+    }
+
+    @Test
+    void appliesCreatesUpdatesAndDeletesAcrossPages() {
+        feed.add(event(1, "CREATED", 10, 7, "Ahorros", 100.0));
+        feed.add(event(2, "CREATED", 11, 7, "Tarjeta", 50.0));
+        feed.add(event(3, "UPDATED", 10, 7, "Ahorros", 250.0));
+        feed.add(event(4, "CREATED", 12, 8, "Préstamo", 900.0));
+        feed.add(event(5, "DELETED", 11, 7, null, null));
+
+        List<Long> checkpoints = service.handle(new SyncProductProjectionCommand()).block();
+
+        assertThat(checkpoints).containsExactly(5L);
+        assertThat(projection()).extracting(ClientProduct::getProductId, ClientProduct::getBalance)
+                .containsExactly(tuple(10L, 250.0), tuple(12L, 900.0));
+    }
+
+    @Test
+    void resumesFromTheCheckpoint() {
+        feed.add(event(1, "CREATED", 10, 7, "Ahorros", 100.0));
+        service.handle(new SyncProductProjectionCommand()).block();
+
+        feed.add(event(2, "UPDATED", 10, 7, "Ahorros", 75.0));
+        List<Long> checkpoints = service.handle(new SyncProductProjectionCommand()).block();
+
+        assertThat(checkpoints).containsExactly(2L);
+        assertThat(projection()).singleElement().satisfies(product -> {
+            assertThat(product.getBalance()).isEqualTo(75.0);
+            assertThat(product.getLastEventId()).isEqualTo(2L);
+        });
+    }
+
+    @Test
+    void rebuildReplaysTheFeedIntoTheSameState() {
+        feed.add(event(1, "CREATED", 10, 7, "Ahorros", 100.0));
+        feed.add(event(2, "CREATED", 11, 7, "Tarjeta", 50.0));
+        feed.add(event(3, "DELETED", 10, 7, null, null));
+        service.handle(new SyncProductProjectionCommand()).block();
+        template.delete(ClientProduct.class).all().block(); // simulate a lost or corrupted projection
+
+        List<Long> checkpoints = service.handle(new RebuildProductProjectionCommand()).block();
+
+        assertThat(checkpoints).containsExactly(3L);
+        assertThat(projection()).extracting(ClientProduct::getProductId).containsExactly(11L);
+    }
+
+    @Test
+    void keepsOneCheckpointPerProductShard() {
+        List<ProductEventResource> secondShard = new ArrayList<>();
+        feeds.add(secondShard);
+        feed.add(event(1, "CREATED", 256, 7, "Ahorros", 100.0));
+        feed.add(event(2, "UPDATED", 256, 7, "Ahorros", 120.0));
+        secondShard.add(event(1, "CREATED", 257, 9, "Tarjeta", 50.0));
+        service.handle(new SyncProductProjectionCommand()).block();
+
+        secondShard.add(event(2, "DELETED", 257, 9, null, null));
+        secondShard.add(event(3, "CREATED", 513, 9, "Préstamo", 900.0));
+        List<Long> checkpoints = service.handle(new SyncProductProjectionCommand()).block();
+
+        assertThat(checkpoints).containsExactly(2L, 3L);
+        assertThat(projection()).extracting(ClientProduct::getProductId, ClientProduct::getBalance)
+                .containsExactly(tuple(256L, 120.0), tuple(513L, 900.0));
+    }
+
+    private List<ClientProduct> projection() {
+        return template.select(ClientProduct.class).all()
+                .sort((a, b) -> Long.compare(a.getProductId(), b.getProductId()))
+                .collectList()
+                .block();
+    }
+
+    private static ProductEventResource event(long id, String type, long productId, long clientId,
+                                              String name, Double balance) {
+        return new ProductEventResource(id, type, productId, clientId,
+                name != null ? "SAVINGS_ACCOUNT" : null, name, balance, LocalDateTime.now());
+    }
+}
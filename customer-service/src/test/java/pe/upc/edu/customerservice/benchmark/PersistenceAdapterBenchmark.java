@@ -0,0 +1,195 @@
+package pe.upc.edu.customerservice.benchmark;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.data.r2dbc.repository.support.R2dbcRepositoryFactory;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.r2dbc.connection.init.ResourceDatabasePopulator;
+import pe.upc.edu.customerservice.application.internal.ClientCommandServiceImpl;
+import pe.upc.edu.customerservice.application.internal.ClientQueryServiceImpl;
+import pe.upc.edu.customerservice.application.internal.JdbcClientCommandServiceImpl;
+import pe.upc.edu.customerservice.application.internal.JdbcClientQueryServiceImpl;
+import pe.upc.edu.customerservice.domain.model.aggregates.Client;
+import pe.upc.edu.customerservice.domain.model.commands.CreateClientCommand;
+import pe.upc.edu.customerservice.domain.model.queries.GetClientByIdQuery;
+import pe.upc.edu.customerservice.domain.model.valueobjects.TypeDocument;
+import pe.upc.edu.customerservice.domain.services.ClientCommandService;
+import pe.upc.edu.customerservice.domain.services.ClientQueryService;
+import pe.upc.edu.customerservice.infrastructure.identity.UniqueCodeGenerator;
+import pe.upc.edu.customerservice.infrastructure.persistence.jdbc.JdbcThreads;
+import pe.upc.edu.customerservice.infrastructure.persistence.jdbc.repositories.JdbcClientProductRepository;
+import pe.upc.edu.customerservice.infrastructure.persistence.jdbc.repositories.JdbcClientRepository;
+import pe.upc.edu.customerservice.infrastructure.persistence.r2dbc.repositories.ClientProductRepository;
+import pe.upc.edu.customerservice.infrastructure.persistence.r2dbc.repositories.ClientRepository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Side-by-side load on the two client persistence adapters behind the same service interfaces:
+ * R2DBC ({@link ClientQueryServiceImpl}) and blocking JDBC on the JDBC scheduler
+ * ({@link JdbcClientQueryServiceImpl}). Closed loop of {@code GetClientById} reads with a
+ * sprinkle of creates, at several concurrency levels, over a 20-connection pool for both.
+ * <p>
+ * Reports throughput, p50/p99, peak live threads, heap allocated per request and heap held per
+ * in-flight request. By default both adapters run against in-memory H2; r2dbc-h2 executes on the
+ * calling thread, so that compares adapter overhead only. For the I/O-bound comparison point
+ * {@code -Dbenchmark.r2dbc-url}/{@code -Dbenchmark.jdbc-url} (plus {@code benchmark.user},
+ * {@code benchmark.password}) at the same PostgreSQL database.
+ * <p>
+ * Not part of the normal build; run with
+ * {@code ./mvnw test -Dtest=PersistenceAdapterBenchmark -Dbenchmark=true}.
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class PersistenceAdapterBenchmark {
+
+    private static final int POOL_SIZE = 20;
+    private static final int CLIENTS = 1000;
+    private static final int REQUESTS = Integer.getInteger("benchmark.requests", 20000);
+    private static final List<Integer> CONCURRENCY = List.of(32, 128, 512);
+
+    private final String database = "bench" + UUID.randomUUID();
+    private final String r2dbcUrl = System.getProperty("benchmark.r2dbc-url",
+            "r2dbc:h2:mem:///" + database + "?options=MODE=PostgreSQL;DB_CLOSE_DELAY=-1");
+    private final String jdbcUrl = System.getProperty("benchmark.jdbc-url",
+            "jdbc:h2:mem:" + database + ";MODE=PostgreSQL;DB_CLOSE_DELAY=-1");
+    private final String user = System.getProperty("benchmark.user", "sa");
+    private final String password = System.getProperty("benchmark.password", "");
+
+    @Test
+    void compareAdapters() {
+        ConnectionPool r2dbcPool = new ConnectionPool(ConnectionPoolConfiguration.builder(
+                        ConnectionFactories.get(ConnectionFactoryOptions.parse(r2dbcUrl).mutate()
+                                .option(ConnectionFactoryOptions.USER, user)
+                                .option(ConnectionFactoryOptions.PASSWORD, password)
+                                .build()))
+                .initialSize(POOL_SIZE).maxSize(POOL_SIZE).build());
+        var hikari = new HikariConfig();
+        hikari.setJdbcUrl(jdbcUrl);
+        hikari.setUsername(user);
+        hikari.setPassword(password);
+        hikari.setMaximumPoolSize(POOL_SIZE);
+        HikariDataSource dataSource = new HikariDataSource(hikari);
+        Scheduler jdbcScheduler = JdbcThreads.scheduler(true, POOL_SIZE);
+        try {
+            new ResourceDatabasePopulator(new ClassPathResource("schema.sql")).populate(r2dbcPool).block();
+
+            var repositories = new R2dbcRepositoryFactory(new R2dbcEntityTemplate(r2dbcPool));
+            ClientRepository clientRepository = repositories.getRepository(ClientRepository.class);
+            var r2dbcQueries = new ClientQueryServiceImpl(clientRepository,
+                    repositories.getRepository(ClientProductRepository.class));
+            // Misma base para los dos adaptadores: un worker id distinto por adaptador, como dos instancias
+            var r2dbcCommands = new ClientCommandServiceImpl(clientRepository, new UniqueCodeGenerator(1));
+
+            var jdbc = new NamedParameterJdbcTemplate(dataSource);
+            var jdbcQueries = new JdbcClientQueryServiceImpl(new JdbcClientRepository(jdbc),
+                    new JdbcClientProductRepository(jdbc), jdbcScheduler);
+            var jdbcCommands = new JdbcClientCommandServiceImpl(new JdbcClientRepository(jdbc), jdbcScheduler,
+                    new UniqueCodeGenerator(2));
+
+            long firstId = seed(r2dbcCommands, clientRepository);
+            System.out.printf("%n%d requests per run, pool %d, %s, JDBC on %s threads%n", REQUESTS, POOL_SIZE,
+                    r2dbcUrl.contains("h2:") ? "H2 in memory" : r2dbcUrl,
+                    JdbcThreads.virtualThreadsAvailable() ? "virtual" : "platform (Java " + Runtime.version().feature() + ")");
+            System.out.printf("%-6s %11s %10s %8s %8s %8s %12s %14s%n",
+                    "adapter", "concurrency", "req/s", "p50 ms", "p99 ms", "threads", "alloc KB/req", "heap KB/inflight");
+            for (int concurrency : CONCURRENCY) {
+                run("r2dbc", r2dbcQueries, r2dbcCommands, firstId, concurrency);
+                run("jdbc", jdbcQueries, jdbcCommands, firstId, concurrency);
+            }
+        } finally {
+            jdbcScheduler.dispose();
+            dataSource.close();
+            r2dbcPool.disposeLater().block();
+        }
+    }
+
+    private long seed(ClientCommandService commands, ClientRepository clientRepository) {
+        Flux.range(0, CLIENTS)
+                .concatMap(i -> commands.handle(command("seed-" + i)))
+                .blockLast();
+        return clientRepository.findAll().map(Client::getId).reduce(Math::min).block();
+    }
+
+    private void run(String adapter, ClientQueryService queries, ClientCommandService commands,
+                     long firstId, int concurrency) {
+        load(queries, commands, firstId, concurrency, REQUESTS / 5); // warm-up
+
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        var threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        System.gc();
+        long heapBefore = memory.getHeapMemoryUsage().getUsed();
+        long allocatedBefore = allocated(threads);
+        threads.resetPeakThreadCount();
+        AtomicLong heapSamples = new AtomicLong();
+        AtomicLong heapSum = new AtomicLong();
+        var sampler = Flux.interval(Duration.ofMillis(10))
+                .subscribe(tick -> {
+                    heapSum.addAndGet(memory.getHeapMemoryUsage().getUsed() - heapBefore);
+                    heapSamples.incrementAndGet();
+                });
+
+        long start = System.nanoTime();
+        long[] latencies = load(queries, commands, firstId, concurrency, REQUESTS);
+        long elapsed = System.nanoTime() - start;
+        sampler.dispose();
+
+        long allocatedPerRequest = (allocated(threads) - allocatedBefore) / REQUESTS;
+        long heapPerInFlight = heapSamples.get() == 0 ? 0 : heapSum.get() / heapSamples.get() / concurrency;
+        Arrays.sort(latencies);
+        System.out.printf("%-6s %11d %10.0f %8.2f %8.2f %8d %12.1f %14.1f%n",
+                adapter, concurrency, REQUESTS / (elapsed / 1e9),
+                millis(latencies[latencies.length / 2]),
+                millis(latencies[(int) Math.ceil(latencies.length * 0.99) - 1]),
+                threads.getPeakThreadCount(),
+                allocatedPerRequest / 1024.0,
+                Math.max(0, heapPerInFlight) / 1024.0);
+    }
+
+    private long[] load(ClientQueryService queries, ClientCommandService commands,
+                        long firstId, int concurrency, int requests) {
+        List<Long> latencies = Flux.range(0, requests)
+                .flatMap(i -> {
+                    long start = System.nanoTime();
+                    var work = i % 20 == 0
+                            ? commands.handle(command("load-" + UUID.randomUUID())).then()
+                            : queries.handle(new GetClientByIdQuery(firstId + ThreadLocalRandom.current().nextInt(CLIENTS))).then();
+                    return work.then(Mono.fromSupplier(() -> System.nanoTime() - start));
+                }, concurrency)
+                .collectList()
+                .block();
+        return latencies.stream().mapToLong(Long::longValue).toArray();
+    }
+
+    private static CreateClientCommand command(String name) {
+        return new CreateClientCommand(name, "Benchmark", TypeDocument.DNI, "12345678");
+    }
+
+    private static long allocated(com.sun.management.ThreadMXBean threads) {
+        return Arrays.stream(threads.getThreadAllocatedBytes(threads.getAllThreadIds()))
+                .filter(bytes -> bytes > 0)
+                .sum();
+    }
+
+    private static double millis(long nanos) {
+        return nanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+}
@@ -0,0 +1,38 @@
+package pe.upc.edu.customerservice.infrastructure;
+
+import org.junit.jupiter.api.Test;
+import pe.upc.edu.customerservice.infrastructure.identity.UniqueCodeGenerator;
+
+import javax.crypto.Cipher;
+import javax.crypto.spec.SecretKeySpec;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Encrypted unique codes must be usable as a path segment and round-trip back to the code.
+ */
+class EncryptionUtilTests {
+
+    @Test
+    void encryptedCodesAreUrlSafeAndRoundTrip() throws Exception {
+        var generator = new UniqueCodeGenerator(3);
+        for (int i = 0; i < 10_000; i++) {
+            String code = String.valueOf(generator.next());
+
+            String encrypted = EncryptionUtil.encrypt(code);
+
+            assertThat(encrypted).doesNotContain("/", "+", "=");
+            assertThat(EncryptionUtil.decrypt(encrypted)).isEqualTo(code);
+        }
+    }
+
+    @Test
+    void codesIssuedInStandardBase64AreStillAccepted() throws Exception {
+        Cipher cipher = Cipher.getInstance("AES/ECB/PKCS5Padding");
+        cipher.init(Cipher.ENCRYPT_MODE, new SecretKeySpec("1234567890123456".getBytes(), "AES"));
+        String legacy = Base64.getEncoder().encodeToString(cipher.doFinal("123456789".getBytes()));
+
+        assertThat(EncryptionUtil.decrypt(legacy)).isEqualTo("123456789");
+    }
+}
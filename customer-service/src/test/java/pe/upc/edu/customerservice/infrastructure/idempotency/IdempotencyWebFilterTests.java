@@ -0,0 +1,76 @@
+package pe.upc.edu.customerservice.infrastructure.idempotency;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.r2dbc.spi.ConnectionFactories;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.r2dbc.connection.init.ResourceDatabasePopulator;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.web.server.WebFilterChain;
+import pe.upc.edu.servicecommons.idempotency.IdempotencyStore;
+import pe.upc.edu.servicecommons.idempotency.IdempotencyWebFilter;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Smoke test of {@code Idempotency-Key} replay on {@code POST /api/v1/clients} against this
+ * service's schema; the filter's cases are covered in product-service.
+ */
+class IdempotencyWebFilterTests {
+
+    private static final String BODY = "{\"fullName\":\"Ana\",\"fullLastName\":\"Torres\",\"typeDocument\":\"DNI\",\"documentNumber\":\"12345678\"}";
+
+    private final AtomicInteger executions = new AtomicInteger();
+
+    @Test
+    void retryOfAClientCreationGetsTheStoredResponse() {
+        var connectionFactory = ConnectionFactories.get(
+                "r2dbc:h2:mem:///idempotency" + UUID.randomUUID() + "?options=MODE=PostgreSQL;DB_CLOSE_DELAY=-1");
+        new ResourceDatabasePopulator(new ClassPathResource("schema.sql")).populate(connectionFactory).block();
+        var store = new IdempotencyStore(DatabaseClient.create(connectionFactory), new SimpleMeterRegistry(),
+                100, Duration.ofHours(24), Duration.ofMinutes(10));
+        var filter = new IdempotencyWebFilter(store, new SimpleMeterRegistry(), Set.of("/api/v1/clients"), 16_384, false);
+
+        var first = post();
+        filter.filter(first, handler()).block();
+        var retry = post();
+        filter.filter(retry, handler()).block();
+
+        assertThat(executions).hasValue(1);
+        assertThat(retry.getResponse().getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        assertThat(retry.getResponse().getHeaders().getFirst(IdempotencyWebFilter.REPLAYED_HEADER)).isEqualTo("true");
+        assertThat(retry.getResponse().getBodyAsString().block())
+                .isEqualTo(first.getResponse().getBodyAsString().block());
+    }
+
+    private WebFilterChain handler() {
+        return exchange -> DataBufferUtils.join(exchange.getRequest().getBody())
+                .doOnNext(DataBufferUtils::release)
+                .then(Mono.defer(() -> {
+                    var response = exchange.getResponse();
+                    response.setStatusCode(HttpStatus.CREATED);
+                    response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+                    byte[] body = ("{\"execution\":" + executions.incrementAndGet() + "}").getBytes(StandardCharsets.UTF_8);
+                    return response.writeWith(Mono.just(response.bufferFactory().wrap(body)));
+                }));
+    }
+
+    private static MockServerWebExchange post() {
+        return MockServerWebExchange.from(MockServerHttpRequest.post("/api/v1/clients")
+                .header(IdempotencyWebFilter.HEADER, "key-1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(BODY));
+    }
+}
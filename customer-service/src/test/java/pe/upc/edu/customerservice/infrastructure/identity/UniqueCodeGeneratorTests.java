@@ -0,0 +1,152 @@
+package pe.upc.edu.customerservice.infrastructure.identity;
+
+import com.netflix.appinfo.ApplicationInfoManager;
+import com.netflix.appinfo.InstanceInfo;
+import com.netflix.discovery.EurekaClient;
+import com.netflix.discovery.shared.Application;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Generates codes against a clock the test moves by hand, plus one run on the real clock from
+ * several threads at once.
+ */
+class UniqueCodeGeneratorTests {
+
+    private static final long NOW = Instant.parse("2026-03-01T10:00:00Z").toEpochMilli();
+
+    private final AtomicLong clock = new AtomicLong(NOW);
+
+    @Test
+    void codesCarryTheirTimestampAndWorker() {
+        var generator = new UniqueCodeGenerator(513, clock::get);
+
+        long code = generator.next();
+
+        assertThat(code).isPositive();
+        assertThat(UniqueCodeGenerator.workerIdOf(code)).isEqualTo(513);
+        assertThat(UniqueCodeGenerator.timestampOf(code)).isEqualTo(Instant.ofEpochMilli(NOW));
+    }
+
+    @Test
+    void exhaustedSequenceCarriesIntoTheNextMillisecond() {
+        var generator = new UniqueCodeGenerator(1, clock::get);
+
+        long previous = generator.next();
+        for (int i = 1; i < 5000; i++) {
+            long code = generator.next();
+            assertThat(code).isGreaterThan(previous);
+            previous = code;
+        }
+
+        // 5000 códigos en el mismo milisegundo: los últimos 904 toman prestado el siguiente
+        assertThat(UniqueCodeGenerator.timestampOf(previous)).isEqualTo(Instant.ofEpochMilli(NOW + 1));
+        clock.addAndGet(1);
+        assertThat(generator.next()).isGreaterThan(previous);
+    }
+
+    @Test
+    void clockSteppingBackDoesNotRepeatCodes() {
+        var generator = new UniqueCodeGenerator(1, clock::get);
+        long before = generator.next();
+
+        clock.addAndGet(-2_000);
+
+        assertThat(generator.next()).isGreaterThan(before);
+        assertThat(UniqueCodeGenerator.workerIdOf(generator.next())).isEqualTo(1);
+    }
+
+    @Test
+    void concurrentCallersNeverGetTheSameCode() throws InterruptedException {
+        var generator = new UniqueCodeGenerator(7);
+        int threads = 8;
+        int perThread = 100_000;
+        Set<Long> codes = ConcurrentHashMap.newKeySet();
+        var start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        for (int t = 0; t < threads; t++) {
+            executor.execute(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                long previous = 0;
+                for (int i = 0; i < perThread; i++) {
+                    long code = generator.next();
+                    // Cada hilo ve sus códigos en orden creciente
+                    assertThat(code).isGreaterThan(previous);
+                    codes.add(code);
+                    previous = code;
+                }
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+
+        assertThat(executor.awaitTermination(30, TimeUnit.SECONDS)).isTrue();
+        assertThat(codes).hasSize(threads * perThread);
+    }
+
+    @Test
+    void workerIdsOutsideTenBitsAreRejected() {
+        assertThatThrownBy(() -> new UniqueCodeGenerator(1024)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new UniqueCodeGenerator(-1)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void assignerSkipsWorkerIdsPublishedByOtherInstances() {
+        String instanceId = "10.0.0.5:customer-service:8030";
+        int preferred = WorkerIdAssigner.pick(instanceId, Set.of());
+
+        assertThat(WorkerIdAssigner.pick(instanceId, Set.of(preferred)))
+                .isEqualTo((preferred + 1) % (UniqueCodeGenerator.MAX_WORKER_ID + 1));
+    }
+
+    @Test
+    void assignerCountsEveryPublishedWorkerIdIncludingOneUnderItsOwnInstanceId() {
+        String instanceId = "customer-service:10.0.0.5:8030:a1";
+        int preferred = WorkerIdAssigner.pick(instanceId, Set.of());
+        int next = (preferred + 1) % (UniqueCodeGenerator.MAX_WORKER_ID + 1);
+        var application = new Application("CUSTOMER-SERVICE");
+        // Una réplica con el mismo instance id (o la ejecución anterior de esta) ya publicó el preferido
+        application.addInstance(instance(instanceId, Map.of(WorkerIdAssigner.METADATA_KEY, String.valueOf(preferred))));
+        application.addInstance(instance("customer-service:10.0.0.6:8030:b2",
+                Map.of(WorkerIdAssigner.METADATA_KEY, String.valueOf(next))));
+        ApplicationInfoManager applicationInfoManager = mock(ApplicationInfoManager.class);
+        when(applicationInfoManager.getInfo()).thenReturn(instance(instanceId, Map.of()));
+        EurekaClient eurekaClient = mock(EurekaClient.class);
+        when(eurekaClient.getApplication("CUSTOMER-SERVICE")).thenReturn(application);
+
+        int assigned = WorkerIdAssigner.assign(applicationInfoManager, eurekaClient);
+
+        assertThat(assigned).isNotIn(preferred, next);
+        verify(applicationInfoManager).registerAppMetadata(Map.of(WorkerIdAssigner.METADATA_KEY, String.valueOf(assigned)));
+    }
+
+    private static InstanceInfo instance(String instanceId, Map<String, String> metadata) {
+        return InstanceInfo.Builder.newBuilder()
+                .setInstanceId(instanceId)
+                .setAppName("CUSTOMER-SERVICE")
+                .setHostName("localhost")
+                .setMetadata(new HashMap<>(metadata))
+                .build();
+    }
+}
@@ -0,0 +1,127 @@
+package pe.upc.edu.customerservice.infrastructure.metrics;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import pe.upc.edu.customerservice.domain.model.aggregates.Client;
+import pe.upc.edu.customerservice.domain.model.commands.DeleteClientCommand;
+import pe.upc.edu.customerservice.domain.model.queries.GetAllClientsQuery;
+import pe.upc.edu.customerservice.domain.model.queries.GetClientByIdQuery;
+import pe.upc.edu.customerservice.domain.model.queries.GetClientByUniqueCode;
+import pe.upc.edu.customerservice.domain.services.ClientCommandService;
+import pe.upc.edu.customerservice.domain.services.ClientQueryService;
+import pe.upc.edu.servicecommons.metrics.HandlerMetricsInterceptor;
+import pe.upc.edu.servicecommons.metrics.HandlerMetricsPostProcessor;
+import pe.upc.edu.servicecommons.warmup.WarmUpTraffic;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.net.ConnectException;
+import java.net.URI;
+import java.time.Duration;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Runs stubbed domain services through the handler metrics proxy.
+ */
+class HandlerMetricsTests {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final HandlerMetricsInterceptor interceptor = new HandlerMetricsInterceptor(meterRegistry);
+
+    @Test
+    void timesEachHandlerByMessageTypeAndOutcome() {
+        ClientQueryService target = mock(ClientQueryService.class);
+        when(target.handle(any(GetClientByUniqueCode.class))).thenReturn(Mono.just(new Client()), Mono.empty());
+        when(target.handle(any(GetAllClientsQuery.class))).thenReturn(Flux.empty());
+        ClientQueryService queries = instrument(target);
+
+        queries.handle(new GetClientByUniqueCode(1L)).block();
+        queries.handle(new GetClientByUniqueCode(2L)).block();
+        queries.handle(new GetAllClientsQuery()).blockLast();
+
+        assertThat(count("GetClientByUniqueCode", "query", "success")).isEqualTo(1);
+        assertThat(count("GetClientByUniqueCode", "query", "not_found")).isEqualTo(1);
+        assertThat(count("GetAllClientsQuery", "query", "success")).isEqualTo(1);
+    }
+
+    @Test
+    void classifiesFailuresThroughTheCauseChain() {
+        ClientQueryService target = mock(ClientQueryService.class);
+        when(target.handle(any(GetClientByIdQuery.class))).thenReturn(
+                Mono.error(new IllegalArgumentException("Client ID must be a positive number")),
+                Mono.error(new RuntimeException("Failed to retrieve client",
+                        new RuntimeException("Client not found with ID: 9"))),
+                Mono.error(new RuntimeException("Failed to retrieve client",
+                        new WebClientRequestException(new ConnectException(), HttpMethod.GET,
+                                URI.create("http://localhost"), HttpHeaders.EMPTY))));
+        ClientQueryService queries = instrument(target);
+
+        for (int i = 0; i < 3; i++) {
+            assertThatThrownBy(() -> queries.handle(new GetClientByIdQuery(9L)).block());
+        }
+
+        assertThat(count("GetClientByIdQuery", "query", "validation_error")).isEqualTo(1);
+        assertThat(count("GetClientByIdQuery", "query", "not_found")).isEqualTo(1);
+        assertThat(count("GetClientByIdQuery", "query", "downstream_error")).isEqualTo(1);
+    }
+
+    @Test
+    void timesFromSubscriptionAndRecordsCancellation() {
+        ClientCommandService target = mock(ClientCommandService.class);
+        when(target.handle(any(DeleteClientCommand.class))).thenReturn(Mono.delay(Duration.ofSeconds(5)).then());
+        ClientCommandService commands = instrument(target);
+
+        Mono<Void> delete = commands.handle(new DeleteClientCommand(1L));
+        assertThat(meterRegistry.find(HandlerMetricsInterceptor.METRIC_NAME).timers()).isEmpty();
+
+        delete.timeout(Duration.ofMillis(50), Mono.empty()).block();
+
+        assertThat(count("DeleteClientCommand", "command", "cancelled")).isEqualTo(1);
+    }
+
+    @Test
+    void leavesWarmUpCallsOut() {
+        ClientQueryService target = mock(ClientQueryService.class);
+        when(target.handle(any(GetClientByUniqueCode.class))).thenReturn(Mono.just(new Client()));
+        ClientQueryService queries = instrument(target);
+
+        queries.handle(new GetClientByUniqueCode(1L)).contextWrite(WarmUpTraffic::mark).block();
+
+        assertThat(meterRegistry.find(HandlerMetricsInterceptor.METRIC_NAME).timers()).isEmpty();
+    }
+
+    @Test
+    void proxiesOnlyDomainServices() {
+        Object other = new Object();
+        assertThat(new HandlerMetricsPostProcessor(provider()).postProcessAfterInitialization(other, "other"))
+                .isSameAs(other);
+    }
+
+    private long count(String handler, String kind, String outcome) {
+        var timer = meterRegistry.find(HandlerMetricsInterceptor.METRIC_NAME)
+                .tags("handler", handler, "kind", kind, "outcome", outcome)
+                .timer();
+        return timer == null ? 0 : timer.count();
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T instrument(T service) {
+        return (T) new HandlerMetricsPostProcessor(provider()).postProcessAfterInitialization(service, "service");
+    }
+
+    private ObjectProvider<HandlerMetricsInterceptor> provider() {
+        return new StaticListableBeanFactory(Map.of("handlerMetricsInterceptor", interceptor))
+                .getBeanProvider(HandlerMetricsInterceptor.class);
+    }
+}
@@ -0,0 +1,110 @@
+package pe.upc.edu.customerservice.infrastructure.warmup;
+
+import com.netflix.appinfo.ApplicationInfoManager;
+import com.netflix.appinfo.InstanceInfo.InstanceStatus;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerCodecConfigurer;
+import pe.upc.edu.customerservice.domain.model.valueobjects.TypeDocument;
+import pe.upc.edu.customerservice.infrastructure.config.MediaTypes;
+import pe.upc.edu.customerservice.interfaces.rest.resources.ClientResource;
+import pe.upc.edu.servicecommons.warmup.CodecWarmUp;
+import pe.upc.edu.servicecommons.warmup.EurekaReadinessStatusListener;
+import pe.upc.edu.servicecommons.warmup.StartupWarmUp;
+import pe.upc.edu.servicecommons.warmup.WarmUpWorkload;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatNoException;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Runs the startup warm-up against a pooled in-memory H2 database.
+ */
+class StartupWarmUpTests {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ConnectionPool pool = new ConnectionPool(ConnectionPoolConfiguration.builder(
+                    ConnectionFactories.get("r2dbc:h2:mem:///" + UUID.randomUUID() + "?options=DB_CLOSE_DELAY=-1"))
+            .initialSize(0)
+            .maxSize(8)
+            .build());
+
+    @AfterEach
+    void tearDown() {
+        pool.dispose();
+    }
+
+    @Test
+    void opensConnectionsThenRunsTheWorkload() {
+        var rounds = new AtomicInteger();
+        WarmUpWorkload workload = () -> Mono.fromRunnable(rounds::incrementAndGet);
+
+        String outcome = warmUp(workload, 4, Duration.ofSeconds(10)).warmUp();
+
+        assertThat(outcome).isEqualTo(StartupWarmUp.COMPLETED);
+        assertThat(rounds).hasValue(3);
+        assertThat(meterRegistry.get("warmup.connections").gauge().value()).isEqualTo(4);
+        assertThat(pool.getMetrics().orElseThrow().idleSize()).isEqualTo(4);
+        assertThat(meterRegistry.get("warmup.duration").tag("outcome", "completed").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("warmup.step").tag("step", "iterations").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("warmup.speedup").gauge().value()).isPositive();
+    }
+
+    @Test
+    void failuresAndTimeoutsDoNotBlockStartup() {
+        String failed = warmUp(() -> Mono.error(new IllegalStateException("boom")), 2, Duration.ofSeconds(10)).warmUp();
+        String timedOut = warmUp(Mono::never, 2, Duration.ofMillis(200)).warmUp();
+
+        assertThat(failed).isEqualTo(StartupWarmUp.FAILED);
+        assertThat(timedOut).isEqualTo(StartupWarmUp.TIMED_OUT);
+        assertThat(meterRegistry.get("warmup.duration").tag("outcome", "timed_out").timer().count()).isEqualTo(1);
+        // Las conexiones vuelven al pool también cuando se corta el calentamiento
+        assertThat(pool.getMetrics().orElseThrow().acquiredSize()).isZero();
+    }
+
+    @Test
+    void eurekaStatusFollowsReadiness() {
+        ApplicationInfoManager applicationInfoManager = mock(ApplicationInfoManager.class);
+        var listener = new EurekaReadinessStatusListener(
+                new StaticListableBeanFactory(Map.of("applicationInfoManager", applicationInfoManager))
+                        .getBeanProvider(ApplicationInfoManager.class));
+
+        listener.onApplicationEvent(new AvailabilityChangeEvent<>(this, ReadinessState.ACCEPTING_TRAFFIC));
+        listener.onApplicationEvent(new AvailabilityChangeEvent<>(this, ReadinessState.REFUSING_TRAFFIC));
+
+        verify(applicationInfoManager).setInstanceStatus(InstanceStatus.UP);
+        verify(applicationInfoManager).setInstanceStatus(InstanceStatus.OUT_OF_SERVICE);
+    }
+
+    @Test
+    void codecsRoundTripJsonAndSmile() {
+        var codecs = new CodecWarmUp(ServerCodecConfigurer.create());
+        var resource = new ClientResource(1L, "Ana", "Pérez", TypeDocument.DNI, "12345678", "code");
+
+        assertThatNoException().isThrownBy(() -> {
+            codecs.roundTrip(resource, MediaType.APPLICATION_JSON);
+            codecs.roundTrip(resource, MediaTypes.APPLICATION_SMILE);
+        });
+    }
+
+    private StartupWarmUp warmUp(WarmUpWorkload workload, int connections, Duration timeout) {
+        return new StartupWarmUp(pool, List.of(Function.identity()), workload, meterRegistry, connections, 3, timeout);
+    }
+}
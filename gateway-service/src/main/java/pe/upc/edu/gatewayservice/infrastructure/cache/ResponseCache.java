@@ -0,0 +1,85 @@
+package pe.upc.edu.gatewayservice.infrastructure.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Bounded, in-memory LRU store shared by every route that uses the ResponseCache filter.
+ * Memory is capped both by entry count and by the size of a single body. Lookups are counted
+ * as {@code gateway.cache.hits} and {@code gateway.cache.misses}; {@code gateway.cache.entries}
+ * reports the current size.
+ */
+@Component
+public class ResponseCache {
+
+    private final int maxEntries;
+    private final int maxEntryBytes;
+    private final Map<String, CachedResponse> entries;
+
+    private final Counter hits;
+    private final Counter misses;
+
+    public ResponseCache(MeterRegistry meterRegistry,
+                         @Value("${gateway.response-cache.max-entries:10000}") int maxEntries,
+                         @Value("${gateway.response-cache.max-entry-bytes:262144}") int maxEntryBytes) {
+        this.maxEntries = maxEntries;
+        this.maxEntryBytes = maxEntryBytes;
+        this.entries = new LinkedHashMap<>(Math.min(maxEntries, 1024), 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedResponse> eldest) {
+                return size() > ResponseCache.this.maxEntries;
+            }
+        };
+        this.hits = Counter.builder("gateway.cache.hits")
+                .description("Lookups answered from the response cache")
+                .register(meterRegistry);
+        this.misses = Counter.builder("gateway.cache.misses")
+                .description("Lookups not found in the response cache or already expired")
+                .register(meterRegistry);
+        Gauge.builder("gateway.cache.entries", this, ResponseCache::size)
+                .description("Responses currently held in the response cache")
+                .register(meterRegistry);
+    }
+
+    public CachedResponse get(String key, long nowMillis) {
+        synchronized (entries) {
+            CachedResponse response = entries.get(key);
+            if (response == null) {
+                misses.increment();
+                return null;
+            }
+            if (!response.isFresh(nowMillis)) {
+                entries.remove(key);
+                misses.increment();
+                return null;
+            }
+            hits.increment();
+            return response;
+        }
+    }
+
+    public void put(String key, CachedResponse response) {
+        if (response.body().length > maxEntryBytes) {
+            return;
+        }
+        synchronized (entries) {
+            entries.put(key, response);
+        }
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    public int getMaxEntryBytes() {
+        return maxEntryBytes;
+    }
+}
@@ -0,0 +1,13 @@
+package pe.upc.edu.gatewayservice.infrastructure.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cloud.loadbalancer.annotation.LoadBalancerClients;
+import org.springframework.context.annotation.Configuration;
+import pe.upc.edu.gatewayservice.infrastructure.loadbalancer.LatencyAwareLoadBalancerClientConfiguration;
+import pe.upc.edu.gatewayservice.infrastructure.loadbalancer.LatencyAwareLoadBalancerProperties;
+
+@Configuration
+@EnableConfigurationProperties(LatencyAwareLoadBalancerProperties.class)
+@LoadBalancerClients(defaultConfiguration = LatencyAwareLoadBalancerClientConfiguration.class)
+public class LoadBalancerConfig {
+}
@@ -0,0 +1,31 @@
+package pe.upc.edu.gatewayservice.infrastructure.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cloud.client.discovery.DiscoveryClient;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import pe.upc.edu.gatewayservice.infrastructure.discovery.RegistrySnapshot;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * On-disk copy of the Eureka view that lb:// routes fall back to while the registry is unreachable.
+ */
+@Configuration
+@ConditionalOnProperty(name = "gateway.registry-snapshot.enabled", havingValue = "true", matchIfMissing = true)
+public class RegistrySnapshotConfig {
+
+    @Bean
+    public RegistrySnapshot registrySnapshot(
+            DiscoveryClient discoveryClient,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            @Value("${gateway.registry-snapshot.path:${java.io.tmpdir}/gateway-service/registry-snapshot.json}") Path path,
+            @Value("${gateway.registry-snapshot.stale-after:20s}") Duration staleAfter) {
+        return new RegistrySnapshot(discoveryClient, objectMapper, meterRegistry, path, staleAfter);
+    }
+}
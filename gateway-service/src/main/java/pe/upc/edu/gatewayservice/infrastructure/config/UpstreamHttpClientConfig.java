@@ -0,0 +1,22 @@
+package pe.upc.edu.gatewayservice.infrastructure.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cloud.gateway.config.HttpClientCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import reactor.netty.http.HttpProtocol;
+
+/**
+ * Switches the gateway-to-backend client to h2c (HTTP/2 cleartext, prior knowledge) so
+ * concurrent requests to a service share a few multiplexed connections instead of one
+ * HTTP/1.1 connection each. Every backend must run with {@code server.http2.enabled=true}.
+ */
+@Configuration
+@ConditionalOnProperty(name = "gateway.upstream.h2c", havingValue = "true")
+public class UpstreamHttpClientConfig {
+
+    @Bean
+    public HttpClientCustomizer h2cHttpClientCustomizer() {
+        return httpClient -> httpClient.protocol(HttpProtocol.H2C);
+    }
+}
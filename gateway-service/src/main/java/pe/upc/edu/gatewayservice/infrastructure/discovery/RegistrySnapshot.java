@@ -0,0 +1,146 @@
+package pe.upc.edu.gatewayservice.infrastructure.discovery;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.discovery.DiscoveryClient;
+import org.springframework.cloud.client.discovery.event.HeartbeatEvent;
+import org.springframework.context.ApplicationListener;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Last known good copy of the gateway's Eureka view, kept on disk. It is refreshed on every
+ * successful registry fetch (the Eureka client publishes a {@link HeartbeatEvent} after each one)
+ * and rewritten only when an instance changed. {@link SnapshotFallbackServiceInstanceListSupplier}
+ * answers from it while the registry is unreachable, which covers the case the Eureka client's
+ * own in-memory cache cannot: a gateway (re)started while the registry is down.
+ * <p>
+ * The registry counts as unreachable when no fetch has succeeded for {@code staleAfter}, or none
+ * has succeeded yet since startup.
+ */
+public class RegistrySnapshot implements ApplicationListener<HeartbeatEvent> {
+    private static final Logger logger = LoggerFactory.getLogger(RegistrySnapshot.class);
+
+    private final DiscoveryClient discoveryClient;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final Path path;
+    private final long staleAfterNanos;
+    private volatile Map<String, List<SnapshotInstance>> services = Map.of();
+    private volatile long lastRefreshNanos;
+    private volatile boolean refreshed;
+
+    public RegistrySnapshot(DiscoveryClient discoveryClient, ObjectMapper objectMapper, MeterRegistry meterRegistry,
+                            Path path, Duration staleAfter) {
+        this.discoveryClient = discoveryClient;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        this.path = path;
+        this.staleAfterNanos = staleAfter.toNanos();
+        load();
+
+        Gauge.builder("gateway.registry.snapshot.instances", this,
+                        snapshot -> snapshot.services.values().stream().mapToInt(List::size).sum())
+                .description("Instances held by the registry snapshot")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void onApplicationEvent(HeartbeatEvent event) {
+        lastRefreshNanos = System.nanoTime();
+        refreshed = true;
+        Map<String, List<SnapshotInstance>> current = new TreeMap<>();
+        for (String serviceId : discoveryClient.getServices()) {
+            List<SnapshotInstance> instances = discoveryClient.getInstances(serviceId).stream()
+                    .map(SnapshotInstance::from)
+                    .toList();
+            if (!instances.isEmpty()) {
+                current.put(serviceId.toLowerCase(Locale.ROOT), instances);
+            }
+        }
+        // Un registro vacío (recién reiniciado, aún sin renovaciones) no pisa el último conocido
+        if (current.isEmpty() || current.equals(services)) {
+            return;
+        }
+        services = Map.copyOf(current);
+        save();
+    }
+
+    /**
+     * Whether no registry fetch has succeeded within {@code staleAfter}, or none yet.
+     */
+    public boolean registryUnreachable() {
+        return !refreshed || System.nanoTime() - lastRefreshNanos > staleAfterNanos;
+    }
+
+    /**
+     * Instances of {@code serviceId} as last seen in the registry; counted as a fallback when not empty.
+     */
+    public List<ServiceInstance> fallback(String serviceId) {
+        List<SnapshotInstance> instances = services.getOrDefault(serviceId.toLowerCase(Locale.ROOT), List.of());
+        if (!instances.isEmpty()) {
+            Counter.builder("gateway.registry.snapshot.fallbacks")
+                    .description("Instance lists served from the registry snapshot while the registry was unreachable")
+                    .tag("service", serviceId.toLowerCase(Locale.ROOT))
+                    .register(meterRegistry)
+                    .increment();
+        }
+        return instances.stream().map(SnapshotInstance::toServiceInstance).toList();
+    }
+
+    private void load() {
+        if (!Files.isRegularFile(path)) {
+            return;
+        }
+        try {
+            SnapshotFile file = objectMapper.readValue(path.toFile(), SnapshotFile.class);
+            services = Map.copyOf(file.services());
+            logger.info("Loaded registry snapshot from {} (saved {}): {}", path, file.savedAt(), services.keySet());
+        } catch (IOException e) {
+            logger.warn("Ignoring unreadable registry snapshot {}: {}", path, e.getMessage());
+        }
+    }
+
+    private void save() {
+        // Escritura atómica: un corte a mitad de escritura no deja un archivo a medias
+        Path temporary = path.resolveSibling(path.getFileName() + ".tmp");
+        try {
+            Files.createDirectories(path.toAbsolutePath().getParent());
+            objectMapper.writeValue(temporary.toFile(), new SnapshotFile(Instant.now(), services));
+            Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            logger.warn("Could not write registry snapshot {}: {}", path, e.getMessage());
+        }
+    }
+
+    record SnapshotFile(Instant savedAt, Map<String, List<SnapshotInstance>> services) {
+    }
+
+    record SnapshotInstance(String instanceId, String serviceId, String host, int port, boolean secure,
+                            Map<String, String> metadata) {
+
+        static SnapshotInstance from(ServiceInstance instance) {
+            return new SnapshotInstance(instance.getInstanceId(), instance.getServiceId(), instance.getHost(),
+                    instance.getPort(), instance.isSecure(), Map.copyOf(instance.getMetadata()));
+        }
+
+        ServiceInstance toServiceInstance() {
+            return new DefaultServiceInstance(instanceId, serviceId, host, port, secure, metadata);
+        }
+    }
+}
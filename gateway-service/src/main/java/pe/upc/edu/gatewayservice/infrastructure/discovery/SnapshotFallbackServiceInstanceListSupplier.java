@@ -0,0 +1,31 @@
+package pe.upc.edu.gatewayservice.infrastructure.discovery;
+
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.loadbalancer.core.DelegatingServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import reactor.core.publisher.Flux;
+
+import java.util.List;
+
+/**
+ * Serves the {@link RegistrySnapshot} when discovery returns no instance and the registry is
+ * unreachable. A service that is genuinely down while the registry answers still resolves to
+ * no instance, so dead instances are not resurrected from the snapshot.
+ */
+public class SnapshotFallbackServiceInstanceListSupplier extends DelegatingServiceInstanceListSupplier {
+
+    private final RegistrySnapshot registrySnapshot;
+
+    public SnapshotFallbackServiceInstanceListSupplier(ServiceInstanceListSupplier delegate,
+                                                       RegistrySnapshot registrySnapshot) {
+        super(delegate);
+        this.registrySnapshot = registrySnapshot;
+    }
+
+    @Override
+    public Flux<List<ServiceInstance>> get() {
+        return getDelegate().get().map(instances -> instances.isEmpty() && registrySnapshot.registryUnreachable()
+                ? registrySnapshot.fallback(getServiceId())
+                : instances);
+    }
+}
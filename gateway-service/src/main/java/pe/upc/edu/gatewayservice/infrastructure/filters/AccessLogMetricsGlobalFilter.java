@@ -0,0 +1,127 @@
+package pe.upc.edu.gatewayservice.infrastructure.filters;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import pe.upc.edu.gatewayservice.infrastructure.loadbalancer.InstanceStatsRegistry;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_LOADBALANCER_RESPONSE_ATTR;
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR;
+
+/**
+ * Records a latency histogram per route, status and upstream instance
+ * ({@code gateway.route.latency}, percentiles under {@code /actuator/metrics}) and writes one
+ * access-log line for a sample of requests to the {@code gateway.access} logger.
+ * <p>
+ * Server errors and slow requests are always logged; everything else is sampled. The logger is
+ * routed to a bounded, non-blocking async appender in {@code logback-spring.xml}, so a slow
+ * console never stalls the event loop.
+ * <p>
+ * Timers are grouped by instance and removed from the meter registry when
+ * {@link InstanceStatsRegistry} forgets that instance, so addresses left behind by deploys and
+ * scaling do not pile up in {@code /actuator/prometheus}.
+ */
+@Component
+public class AccessLogMetricsGlobalFilter implements GlobalFilter, Ordered {
+
+    private static final Logger accessLog = LoggerFactory.getLogger("gateway.access");
+    private static final String NONE = "none";
+
+    private final MeterRegistry meterRegistry;
+    // instancia -> (ruta|estado -> timer)
+    private final ConcurrentHashMap<String, ConcurrentHashMap<String, Timer>> timers = new ConcurrentHashMap<>();
+    private final double sampleRate;
+    private final long slowThresholdNanos;
+    private final boolean percentileHistogram;
+
+    public AccessLogMetricsGlobalFilter(MeterRegistry meterRegistry, InstanceStatsRegistry statsRegistry,
+                                        @Value("${gateway.access-log.sample-rate:0.01}") double sampleRate,
+                                        @Value("${gateway.access-log.slow-threshold:1s}") Duration slowThreshold,
+                                        @Value("${gateway.metrics.percentile-histogram:false}") boolean percentileHistogram) {
+        this.meterRegistry = meterRegistry;
+        this.sampleRate = sampleRate;
+        this.slowThresholdNanos = slowThreshold.toNanos();
+        this.percentileHistogram = percentileHistogram;
+        statsRegistry.onEviction(this::forget);
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        long start = System.nanoTime();
+        return chain.filter(exchange).doFinally(signal -> record(exchange, signal, System.nanoTime() - start));
+    }
+
+    private void record(ServerWebExchange exchange, SignalType signal, long durationNanos) {
+        Route route = exchange.getAttribute(GATEWAY_ROUTE_ATTR);
+        Response<ServiceInstance> lbResponse = exchange.getAttribute(GATEWAY_LOADBALANCER_RESPONSE_ATTR);
+        String routeId = route != null ? route.getId() : NONE;
+        String instance = lbResponse != null && lbResponse.hasServer()
+                ? lbResponse.getServer().getHost() + ':' + lbResponse.getServer().getPort()
+                : NONE;
+        HttpStatusCode statusCode = exchange.getResponse().getStatusCode();
+        String status = signal == SignalType.CANCEL ? "CANCELLED"
+                : statusCode != null ? String.valueOf(statusCode.value())
+                : signal == SignalType.ON_ERROR ? "ERROR" : "200";
+
+        timer(routeId, status, instance).record(durationNanos, TimeUnit.NANOSECONDS);
+
+        boolean mustLog = durationNanos >= slowThresholdNanos
+                || signal == SignalType.ON_ERROR
+                || (statusCode != null && statusCode.is5xxServerError());
+        if (accessLog.isInfoEnabled() && (mustLog || ThreadLocalRandom.current().nextDouble() < sampleRate)) {
+            ServerHttpRequest request = exchange.getRequest();
+            InetSocketAddress remote = request.getRemoteAddress();
+            String correlationId = exchange.getAttributeOrDefault(CorrelationIdWebFilter.ATTRIBUTE, NONE);
+            accessLog.info("route={} method={} path={} status={} instance={} duration_ms={} client={} correlation_id={} sampled={}",
+                    routeId, request.getMethod(), request.getPath().value(), status, instance,
+                    TimeUnit.NANOSECONDS.toMillis(durationNanos),
+                    remote != null ? remote.getHostString() : NONE, correlationId, !mustLog);
+        }
+    }
+
+    private Timer timer(String routeId, String status, String instance) {
+        return timers.computeIfAbsent(instance, key -> new ConcurrentHashMap<>())
+                .computeIfAbsent(routeId + '|' + status, key -> Timer.builder("gateway.route.latency")
+                .description("Gateway request latency per route, status and upstream instance")
+                .tag("route", routeId)
+                .tag("status", status)
+                .tag("instance", instance)
+                .publishPercentiles(0.5, 0.9, 0.99)
+                .publishPercentileHistogram(percentileHistogram)
+                .distributionStatisticExpiry(Duration.ofMinutes(2))
+                .register(meterRegistry));
+    }
+
+    private void forget(String instance) {
+        var removed = timers.remove(instance);
+        if (removed != null) {
+            removed.values().forEach(meterRegistry::remove);
+        }
+    }
+
+    @Override
+    public int getOrder() {
+        // Outermost global filter, so the timing covers rate limiting, caching and routing
+        return Ordered.HIGHEST_PRECEDENCE;
+    }
+}
@@ -0,0 +1,59 @@
+package pe.upc.edu.gatewayservice.infrastructure.filters;
+
+import io.micrometer.context.ContextRegistry;
+import org.slf4j.MDC;
+import org.springframework.core.Ordered;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.regex.Pattern;
+
+/**
+ * Starts the correlation id of a request ({@value #HEADER}), or keeps a well-formed one sent by
+ * the caller, and forwards it to the backend, which echoes it in its own logs and outbound calls.
+ * The id is also returned to the caller, stored as the {@value #ATTRIBUTE} exchange attribute for
+ * the access log and published in the Reactor context, where
+ * {@code spring.reactor.context-propagation=auto} copies it into the MDC.
+ * <p>
+ * A WebFilter rather than a GlobalFilter so it runs before every gateway filter, including the
+ * access log.
+ */
+@Component
+public class CorrelationIdWebFilter implements WebFilter, Ordered {
+
+    public static final String HEADER = "X-Correlation-Id";
+    public static final String ATTRIBUTE = "correlationId";
+    public static final String CONTEXT_KEY = "correlationId";
+
+    private static final Pattern VALID = Pattern.compile("[A-Za-z0-9._-]{1,64}");
+
+    public CorrelationIdWebFilter() {
+        ContextRegistry.getInstance().registerThreadLocalAccessor(CONTEXT_KEY,
+                () -> MDC.get(CONTEXT_KEY),
+                value -> MDC.put(CONTEXT_KEY, value),
+                () -> MDC.remove(CONTEXT_KEY));
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        String header = exchange.getRequest().getHeaders().getFirst(HEADER);
+        String correlationId = header != null && VALID.matcher(header).matches()
+                ? header
+                : Long.toHexString(ThreadLocalRandom.current().nextLong() | Long.MIN_VALUE);
+        ServerWebExchange withId = exchange.mutate()
+                .request(r -> r.headers(h -> h.set(HEADER, correlationId)))
+                .build();
+        withId.getAttributes().put(ATTRIBUTE, correlationId);
+        withId.getResponse().getHeaders().set(HEADER, correlationId);
+        return chain.filter(withId).contextWrite(context -> context.put(CONTEXT_KEY, correlationId));
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE;
+    }
+}
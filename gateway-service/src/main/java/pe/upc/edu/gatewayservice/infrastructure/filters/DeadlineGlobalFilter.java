@@ -0,0 +1,86 @@
+package pe.upc.edu.gatewayservice.infrastructure.filters;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+
+/**
+ * Gives every proxied request a deadline and forwards it to the backend as the remaining budget
+ * in milliseconds ({@value #HEADER}). A shorter budget sent by the caller is kept, longer ones
+ * are capped. When the deadline passes the upstream exchange is cancelled and the caller gets
+ * 504; the services honor the same header, so their work is cancelled as well.
+ * <p>
+ * Event streams are long-lived by design and get no deadline: requests that accept
+ * {@code text/event-stream} are forwarded without one, and any other request stops counting
+ * against its deadline once the upstream answers with {@code text/event-stream}.
+ */
+@Component
+public class DeadlineGlobalFilter implements GlobalFilter, Ordered {
+
+    public static final String HEADER = "X-Request-Timeout";
+
+    private final Duration defaultTimeout;
+    private final Duration maxTimeout;
+
+    public DeadlineGlobalFilter(@Value("${gateway.deadline.default-timeout:10s}") Duration defaultTimeout,
+                                @Value("${gateway.deadline.max-timeout:30s}") Duration maxTimeout) {
+        this.defaultTimeout = defaultTimeout;
+        this.maxTimeout = maxTimeout;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        ServerHttpRequest request = exchange.getRequest();
+        if (request.getHeaders().getAccept().contains(MediaType.TEXT_EVENT_STREAM)) {
+            return chain.filter(exchange.mutate().request(r -> r.headers(h -> h.remove(HEADER))).build());
+        }
+        Duration budget = budget(request.getHeaders().getFirst(HEADER));
+        if (budget.isZero()) {
+            return Mono.error(deadlineExceeded());
+        }
+        ServerWebExchange withDeadline = exchange.mutate()
+                .request(r -> r.headers(h -> h.set(HEADER, String.valueOf(budget.toMillis()))))
+                .build();
+        Mono<Long> expiry = Mono.delay(budget)
+                .flatMap(tick -> isEventStream(exchange.getResponse().getHeaders().getContentType())
+                        ? Mono.never()
+                        : Mono.just(tick));
+        return chain.filter(withDeadline).timeout(expiry, Mono.error(DeadlineGlobalFilter::deadlineExceeded));
+    }
+
+    static boolean isEventStream(MediaType contentType) {
+        return contentType != null && MediaType.TEXT_EVENT_STREAM.equalsTypeAndSubtype(contentType);
+    }
+
+    private Duration budget(String header) {
+        if (header == null) {
+            return defaultTimeout;
+        }
+        try {
+            long millis = Long.parseLong(header.trim());
+            return millis <= 0 ? Duration.ZERO : Duration.ofMillis(Math.min(millis, maxTimeout.toMillis()));
+        } catch (NumberFormatException e) {
+            return defaultTimeout;
+        }
+    }
+
+    private static ResponseStatusException deadlineExceeded() {
+        return new ResponseStatusException(HttpStatus.GATEWAY_TIMEOUT, "Request deadline exceeded");
+    }
+
+    @Override
+    public int getOrder() {
+        // Right inside the access log/metrics filter, so rate limiting and caching count against the budget
+        return Ordered.HIGHEST_PRECEDENCE + 1;
+    }
+}
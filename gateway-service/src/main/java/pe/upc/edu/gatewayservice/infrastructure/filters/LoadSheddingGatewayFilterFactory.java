@@ -0,0 +1,99 @@
+package pe.upc.edu.gatewayservice.infrastructure.filters;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.support.HasRouteId;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Caps the number of requests a route may have in flight downstream and sheds the excess with
+ * 503 + {@code Retry-After}, so a burst cannot queue up on the backend connection pools.
+ */
+@Component
+public class LoadSheddingGatewayFilterFactory
+        extends AbstractGatewayFilterFactory<LoadSheddingGatewayFilterFactory.Config> {
+
+    private final MeterRegistry meterRegistry;
+    // Shared across route refreshes so the gauges keep tracking the live counters
+    private final ConcurrentHashMap<String, AtomicInteger> inFlightByRoute = new ConcurrentHashMap<>();
+
+    public LoadSheddingGatewayFilterFactory(MeterRegistry meterRegistry) {
+        super(Config.class);
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public List<String> shortcutFieldOrder() {
+        return List.of("maxConcurrentRequests");
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        String routeId = config.getRouteId() != null ? config.getRouteId() : "unknown";
+        AtomicInteger inFlight = inFlightByRoute.computeIfAbsent(routeId, id -> {
+            var counter = new AtomicInteger();
+            Gauge.builder("gateway.loadshedding.in.flight", counter, AtomicInteger::get)
+                    .tag("route", id)
+                    .register(meterRegistry);
+            return counter;
+        });
+        Counter rejected = Counter.builder("gateway.loadshedding.rejected")
+                .tag("route", routeId)
+                .register(meterRegistry);
+
+        return (exchange, chain) -> {
+            if (inFlight.incrementAndGet() > config.getMaxConcurrentRequests()) {
+                inFlight.decrementAndGet();
+                rejected.increment();
+                var response = exchange.getResponse();
+                response.setStatusCode(HttpStatus.SERVICE_UNAVAILABLE);
+                response.getHeaders().set(HttpHeaders.RETRY_AFTER, String.valueOf(config.getRetryAfterSeconds()));
+                return response.setComplete();
+            }
+            return chain.filter(exchange).doFinally(signal -> inFlight.decrementAndGet());
+        };
+    }
+
+    public static class Config implements HasRouteId {
+        private int maxConcurrentRequests = 100;
+        private int retryAfterSeconds = 1;
+        private String routeId;
+
+        public int getMaxConcurrentRequests() {
+            return maxConcurrentRequests;
+        }
+
+        public Config setMaxConcurrentRequests(int maxConcurrentRequests) {
+            this.maxConcurrentRequests = maxConcurrentRequests;
+            return this;
+        }
+
+        public int getRetryAfterSeconds() {
+            return retryAfterSeconds;
+        }
+
+        public Config setRetryAfterSeconds(int retryAfterSeconds) {
+            this.retryAfterSeconds = retryAfterSeconds;
+            return this;
+        }
+
+        @Override
+        public void setRouteId(String routeId) {
+            this.routeId = routeId;
+        }
+
+        @Override
+        public String getRouteId() {
+            return routeId;
+        }
+    }
+}
@@ -0,0 +1,343 @@
+package pe.upc.edu.gatewayservice.infrastructure.filters;
+
+import org.reactivestreams.Publisher;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.NettyWriteResponseFilter;
+import org.springframework.cloud.gateway.filter.OrderedGatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import pe.upc.edu.gatewayservice.infrastructure.cache.CachedResponse;
+import pe.upc.edu.gatewayservice.infrastructure.cache.ResponseCache;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Caches successful GET responses of a route for a bounded time and collapses concurrent
+ * identical misses into a single upstream request.
+ * <p>
+ * Requests carrying {@code Authorization} or {@code Cookie} are cached in a partition keyed by a
+ * SHA-256 digest of those credentials, so a response is never replayed to a different user.
+ * Responses marked {@code no-store}, {@code no-cache} or {@code private}, or setting cookies,
+ * are never stored.
+ */
+@Component
+public class ResponseCacheGatewayFilterFactory
+        extends AbstractGatewayFilterFactory<ResponseCacheGatewayFilterFactory.Config> {
+
+    public static final String CACHE_STATUS_HEADER = "X-Cache";
+
+    private static final Set<String> IGNORED_VARY = Set.of(
+            "origin", "access-control-request-method", "access-control-request-headers");
+
+    private final ResponseCache responseCache;
+    private final ConcurrentHashMap<String, Sinks.One<CachedResponse>> inFlight = new ConcurrentHashMap<>();
+
+    public ResponseCacheGatewayFilterFactory(ResponseCache responseCache) {
+        super(Config.class);
+        this.responseCache = responseCache;
+    }
+
+    @Override
+    public List<String> shortcutFieldOrder() {
+        return List.of("ttl");
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        // Must wrap the response before NettyWriteResponseFilter writes the upstream body
+        return new OrderedGatewayFilter((exchange, chain) -> filter(exchange, chain, config),
+                NettyWriteResponseFilter.WRITE_RESPONSE_FILTER_ORDER - 1);
+    }
+
+    private Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain, Config config) {
+        ServerHttpRequest request = exchange.getRequest();
+        if (request.getMethod() != HttpMethod.GET || bypassRequested(request.getHeaders())
+                || acceptsEventStream(request.getHeaders())) {
+            return chain.filter(exchange);
+        }
+
+        String key = cacheKey(exchange, config);
+        long now = System.currentTimeMillis();
+        CachedResponse cached = responseCache.get(key, now);
+        if (cached != null) {
+            return writeCached(exchange.getResponse(), cached, now);
+        }
+
+        Sinks.One<CachedResponse> sink = Sinks.one();
+        Sinks.One<CachedResponse> leader = inFlight.putIfAbsent(key, sink);
+        if (leader != null) {
+            // Another request is already fetching this key: reuse its result, or go upstream if it was not cacheable
+            return leader.asMono()
+                    .map(Optional::of)
+                    .defaultIfEmpty(Optional.empty())
+                    .flatMap(response -> response.isPresent()
+                            ? writeCached(exchange.getResponse(), response.get(), System.currentTimeMillis())
+                            : chain.filter(exchange));
+        }
+
+        var capturing = new CapturingResponse(exchange.getResponse(), config, key, sink);
+        return chain.filter(exchange.mutate().response(capturing).build())
+                .doFinally(signal -> {
+                    inFlight.remove(key, sink);
+                    sink.tryEmitEmpty();
+                });
+    }
+
+    private Mono<Void> writeCached(ServerHttpResponse response, CachedResponse cached, long now) {
+        response.setStatusCode(cached.status());
+        HttpHeaders headers = response.getHeaders();
+        cached.headers().forEach((name, values) -> {
+            if (!headers.containsKey(name)) {
+                headers.put(name, values);
+            }
+        });
+        headers.set(HttpHeaders.AGE, String.valueOf(cached.ageSeconds(now)));
+        headers.set(CACHE_STATUS_HEADER, "HIT");
+        return response.writeWith(Mono.fromSupplier(() -> response.bufferFactory().wrap(cached.body())));
+    }
+
+    private String cacheKey(ServerWebExchange exchange, Config config) {
+        ServerHttpRequest request = exchange.getRequest();
+        HttpHeaders headers = request.getHeaders();
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+
+        var key = new StringBuilder(128)
+                .append(route != null ? route.getId() : "")
+                .append('|').append(request.getURI().getRawPath());
+        if (request.getURI().getRawQuery() != null) {
+            key.append('?').append(request.getURI().getRawQuery());
+        }
+        for (String header : config.getVaryHeaders()) {
+            key.append('|').append(String.join(",", headers.getOrEmpty(header)));
+        }
+        String identity = identityOf(headers);
+        if (identity != null) {
+            key.append("|u:").append(identity);
+        }
+        return key.toString();
+    }
+
+    private static String identityOf(HttpHeaders headers) {
+        List<String> authorization = headers.getOrEmpty(HttpHeaders.AUTHORIZATION);
+        List<String> cookies = headers.getOrEmpty(HttpHeaders.COOKIE);
+        if (authorization.isEmpty() && cookies.isEmpty()) {
+            return null;
+        }
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(String.join("\n", authorization).getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            digest.update(String.join("\n", cookies).getBytes(StandardCharsets.UTF_8));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static boolean bypassRequested(HttpHeaders headers) {
+        String cacheControl = String.join(",", headers.getOrEmpty(HttpHeaders.CACHE_CONTROL)).toLowerCase(Locale.ROOT);
+        String pragma = String.join(",", headers.getOrEmpty(HttpHeaders.PRAGMA)).toLowerCase(Locale.ROOT);
+        return cacheControl.contains("no-cache") || cacheControl.contains("no-store") || pragma.contains("no-cache");
+    }
+
+    /**
+     * Server-sent event streams never complete, so they can neither be stored nor coalesced: a
+     * follower waiting on a stream leader would wait forever. Streams requested without this
+     * {@code Accept} are caught by their response content type in {@link CapturingResponse}.
+     */
+    private static boolean acceptsEventStream(HttpHeaders headers) {
+        return headers.getAccept().stream().anyMatch(MediaType.TEXT_EVENT_STREAM::equalsTypeAndSubtype);
+    }
+
+    /**
+     * Returns how long the response may be stored, or {@code null} if it must not be cached.
+     */
+    static Duration resolveTtl(HttpStatusCode status, HttpHeaders headers, Config config) {
+        if (status == null || status.value() != HttpStatus.OK.value() || headers.containsKey(HttpHeaders.SET_COOKIE)) {
+            return null;
+        }
+        for (String vary : headers.getOrEmpty(HttpHeaders.VARY)) {
+            for (String name : vary.split(",")) {
+                String header = name.trim().toLowerCase(Locale.ROOT);
+                if (header.isEmpty() || IGNORED_VARY.contains(header)) {
+                    continue;
+                }
+                boolean keyed = header.equals("authorization") || header.equals("cookie")
+                        || config.getVaryHeaders().stream().anyMatch(h -> h.equalsIgnoreCase(header));
+                if (!keyed) {
+                    return null;
+                }
+            }
+        }
+
+        Duration ttl = config.getTtl();
+        Long maxAge = null;
+        Long sharedMaxAge = null;
+        for (String value : headers.getOrEmpty(HttpHeaders.CACHE_CONTROL)) {
+            for (String directive : value.split(",")) {
+                String d = directive.trim().toLowerCase(Locale.ROOT);
+                if (d.equals("no-store") || d.equals("no-cache") || d.equals("private")) {
+                    return null;
+                }
+                if (d.startsWith("s-maxage=")) {
+                    sharedMaxAge = parseSeconds(d.substring("s-maxage=".length()));
+                } else if (d.startsWith("max-age=")) {
+                    maxAge = parseSeconds(d.substring("max-age=".length()));
+                }
+            }
+        }
+        Long upstreamSeconds = sharedMaxAge != null ? sharedMaxAge : maxAge;
+        if (upstreamSeconds != null) {
+            Duration upstreamTtl = Duration.ofSeconds(upstreamSeconds);
+            if (upstreamTtl.compareTo(ttl) < 0) {
+                ttl = upstreamTtl;
+            }
+        }
+        return ttl.isZero() || ttl.isNegative() ? null : ttl;
+    }
+
+    private static Long parseSeconds(String value) {
+        try {
+            return Long.parseLong(value.replace("\"", ""));
+        } catch (NumberFormatException e) {
+            return 0L;
+        }
+    }
+
+    private static HttpHeaders storableHeaders(HttpHeaders source) {
+        HttpHeaders copy = new HttpHeaders();
+        source.forEach((name, values) -> {
+            String lower = name.toLowerCase(Locale.ROOT);
+            if (lower.startsWith("access-control-") || lower.equals("transfer-encoding")
+                    || lower.equals("connection") || lower.equals("keep-alive")
+                    || lower.equals("vary") || lower.equals(CACHE_STATUS_HEADER.toLowerCase(Locale.ROOT))) {
+                return;
+            }
+            copy.put(name, List.copyOf(values));
+        });
+        return HttpHeaders.readOnlyHttpHeaders(copy);
+    }
+
+    /**
+     * Response decorator that passes the upstream body through untouched while copying it,
+     * then publishes the copy to the cache and to any coalesced followers.
+     */
+    private final class CapturingResponse extends ServerHttpResponseDecorator {
+        private final Config config;
+        private final String key;
+        private final Sinks.One<CachedResponse> sink;
+        private final ByteArrayOutputStream captured = new ByteArrayOutputStream();
+        private boolean overflow;
+
+        CapturingResponse(ServerHttpResponse delegate, Config config, String key, Sinks.One<CachedResponse> sink) {
+            super(delegate);
+            this.config = config;
+            this.key = key;
+            this.sink = sink;
+        }
+
+        @Override
+        public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+            Duration ttl = DeadlineGlobalFilter.isEventStream(getHeaders().getContentType())
+                    ? null
+                    : resolveTtl(getStatusCode(), getHeaders(), config);
+            if (ttl == null) {
+                // Nothing will be published: followers go upstream now instead of waiting for this body to end
+                release();
+                return super.writeWith(body);
+            }
+            getHeaders().set(CACHE_STATUS_HEADER, "MISS");
+            HttpHeaders headers = storableHeaders(getHeaders());
+            HttpStatusCode status = getStatusCode();
+            Flux<DataBuffer> copying = Flux.<DataBuffer>from(body).doOnNext(this::capture);
+            return super.writeWith(copying).doOnSuccess(done -> publish(status, headers, ttl));
+        }
+
+        @Override
+        public Mono<Void> writeAndFlushWith(Publisher<? extends Publisher<? extends DataBuffer>> body) {
+            // Streaming responses are never cached
+            release();
+            return super.writeAndFlushWith(body);
+        }
+
+        private void release() {
+            inFlight.remove(key, sink);
+            sink.tryEmitEmpty();
+        }
+
+        private void capture(DataBuffer buffer) {
+            if (overflow) {
+                return;
+            }
+            int length = buffer.readableByteCount();
+            if (captured.size() + length > responseCache.getMaxEntryBytes()) {
+                overflow = true;
+                return;
+            }
+            byte[] bytes = new byte[length];
+            int position = buffer.readPosition();
+            buffer.read(bytes);
+            buffer.readPosition(position);
+            captured.write(bytes, 0, length);
+        }
+
+        private void publish(HttpStatusCode status, HttpHeaders headers, Duration ttl) {
+            if (overflow) {
+                return;
+            }
+            long now = System.currentTimeMillis();
+            var response = new CachedResponse(status, headers, captured.toByteArray(), now, now + ttl.toMillis());
+            responseCache.put(key, response);
+            sink.tryEmitValue(response);
+        }
+    }
+
+    public static class Config {
+        private Duration ttl = Duration.ofSeconds(30);
+        private List<String> varyHeaders = List.of(HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_ENCODING);
+
+        public Duration getTtl() {
+            return ttl;
+        }
+
+        public Config setTtl(Duration ttl) {
+            this.ttl = ttl;
+            return this;
+        }
+
+        public List<String> getVaryHeaders() {
+            return varyHeaders;
+        }
+
+        public Config setVaryHeaders(List<String> varyHeaders) {
+            this.varyHeaders = varyHeaders;
+            return this;
+        }
+    }
+}
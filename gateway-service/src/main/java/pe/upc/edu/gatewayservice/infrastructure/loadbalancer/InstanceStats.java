@@ -0,0 +1,145 @@
+package pe.upc.edu.gatewayservice.infrastructure.loadbalancer;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Live load and health figures for one upstream instance: outstanding requests, peak-EWMA
+ * latency, smoothed error rate and ejection state. Updated with CAS only, since every proxied
+ * request touches it.
+ */
+public class InstanceStats {
+
+    private static final double ERROR_RATE_ALPHA = 0.1;
+
+    private final AtomicInteger outstanding = new AtomicInteger();
+    private final AtomicLong latencyEwmaBits = new AtomicLong(Double.doubleToRawLongBits(0.0));
+    private final AtomicLong errorRateBits = new AtomicLong(Double.doubleToRawLongBits(0.0));
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+    private final AtomicLong samples = new AtomicLong();
+    private final AtomicInteger ejections = new AtomicInteger();
+    private volatile long lastUpdateNanos;
+    private volatile long ejectedUntilNanos;
+    private volatile long recoveringSinceNanos;
+    private volatile boolean ejected;
+
+    public void onStart() {
+        outstanding.incrementAndGet();
+    }
+
+    public void onCancel() {
+        outstanding.decrementAndGet();
+    }
+
+    public void onComplete(long latencyNanos, boolean success, long nowNanos, long decayNanos) {
+        outstanding.decrementAndGet();
+        samples.incrementAndGet();
+        updateLatency(latencyNanos, nowNanos, decayNanos);
+        updateErrorRate(success ? 0.0 : 1.0);
+        if (success) {
+            consecutiveFailures.set(0);
+        } else {
+            consecutiveFailures.incrementAndGet();
+        }
+    }
+
+    /**
+     * Peak-EWMA: a slower response replaces the average immediately, faster responses pull it
+     * down with a weight that depends on the time since the previous sample.
+     */
+    private void updateLatency(long latencyNanos, long nowNanos, long decayNanos) {
+        long elapsed = Math.max(0, nowNanos - lastUpdateNanos);
+        lastUpdateNanos = nowNanos;
+        double weight = Math.exp(-(double) elapsed / decayNanos);
+        while (true) {
+            long bits = latencyEwmaBits.get();
+            double current = Double.longBitsToDouble(bits);
+            double next = latencyNanos > current || current == 0.0
+                    ? latencyNanos
+                    : current * weight + latencyNanos * (1.0 - weight);
+            if (latencyEwmaBits.compareAndSet(bits, Double.doubleToRawLongBits(next))) {
+                return;
+            }
+        }
+    }
+
+    private void updateErrorRate(double sample) {
+        while (true) {
+            long bits = errorRateBits.get();
+            double next = Double.longBitsToDouble(bits) * (1.0 - ERROR_RATE_ALPHA) + sample * ERROR_RATE_ALPHA;
+            if (errorRateBits.compareAndSet(bits, Double.doubleToRawLongBits(next))) {
+                return;
+            }
+        }
+    }
+
+    public void eject(long nowNanos, long durationNanos) {
+        ejections.incrementAndGet();
+        ejectedUntilNanos = nowNanos + durationNanos;
+        ejected = true;
+    }
+
+    /**
+     * Returns whether the instance is still ejected; on expiry the instance starts its slow-start
+     * window with its latency reset to {@code resetLatencyNanos} and its failure history cleared.
+     */
+    public boolean isEjected(long nowNanos, double resetLatencyNanos) {
+        if (!ejected) {
+            return false;
+        }
+        if (nowNanos - ejectedUntilNanos < 0) {
+            return true;
+        }
+        synchronized (this) {
+            if (ejected) {
+                latencyEwmaBits.set(Double.doubleToRawLongBits(resetLatencyNanos));
+                errorRateBits.set(Double.doubleToRawLongBits(0.0));
+                consecutiveFailures.set(0);
+                samples.set(0);
+                recoveringSinceNanos = nowNanos;
+                ejected = false;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Share of normal traffic this instance should receive, ramping from 10% to 100% across the
+     * slow-start window after an ejection.
+     */
+    public double weight(long nowNanos, long slowStartNanos) {
+        if (recoveringSinceNanos == 0 || slowStartNanos <= 0) {
+            return 1.0;
+        }
+        double progress = (double) (nowNanos - recoveringSinceNanos) / slowStartNanos;
+        if (progress >= 1.0) {
+            recoveringSinceNanos = 0;
+            return 1.0;
+        }
+        return Math.max(0.1, progress);
+    }
+
+    public int getOutstanding() {
+        return Math.max(0, outstanding.get());
+    }
+
+    public double getLatencyEwmaNanos() {
+        return Double.longBitsToDouble(latencyEwmaBits.get());
+    }
+
+    public double getErrorRate() {
+        return Double.longBitsToDouble(errorRateBits.get());
+    }
+
+    public int getConsecutiveFailures() {
+        return consecutiveFailures.get();
+    }
+
+    public long getSamples() {
+        return samples.get();
+    }
+
+    public int getEjections() {
+        return ejections.get();
+    }
+}
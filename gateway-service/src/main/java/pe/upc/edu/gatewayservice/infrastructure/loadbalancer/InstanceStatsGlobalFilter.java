@@ -0,0 +1,59 @@
+package pe.upc.edu.gatewayservice.infrastructure.loadbalancer;
+
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.filter.ReactiveLoadBalancerClientFilter;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_LOADBALANCER_RESPONSE_ATTR;
+
+/**
+ * Feeds {@link InstanceStats} with the outcome of every load-balanced request. Runs right after
+ * the load balancer has picked an instance and uses {@code doFinally}, so cancelled requests
+ * also release their outstanding slot.
+ */
+@Component
+public class InstanceStatsGlobalFilter implements GlobalFilter, Ordered {
+
+    private final InstanceStatsRegistry statsRegistry;
+    private final long decayNanos;
+
+    public InstanceStatsGlobalFilter(InstanceStatsRegistry statsRegistry, LatencyAwareLoadBalancerProperties properties) {
+        this.statsRegistry = statsRegistry;
+        this.decayNanos = properties.getDecayTime().toNanos();
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        Response<ServiceInstance> lbResponse = exchange.getAttribute(GATEWAY_LOADBALANCER_RESPONSE_ATTR);
+        if (lbResponse == null || !lbResponse.hasServer()) {
+            return chain.filter(exchange);
+        }
+
+        InstanceStats stats = statsRegistry.get(lbResponse.getServer());
+        long start = System.nanoTime();
+        stats.onStart();
+        return chain.filter(exchange).doFinally(signal -> {
+            if (signal == SignalType.CANCEL) {
+                stats.onCancel();
+                return;
+            }
+            long now = System.nanoTime();
+            HttpStatusCode status = exchange.getResponse().getStatusCode();
+            boolean success = signal == SignalType.ON_COMPLETE && (status == null || !status.is5xxServerError());
+            stats.onComplete(now - start, success, now, decayNanos);
+        });
+    }
+
+    @Override
+    public int getOrder() {
+        return ReactiveLoadBalancerClientFilter.LOAD_BALANCER_CLIENT_FILTER_ORDER + 1;
+    }
+}
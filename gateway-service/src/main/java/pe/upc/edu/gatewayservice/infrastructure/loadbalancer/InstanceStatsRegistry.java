@@ -0,0 +1,79 @@
+package pe.upc.edu.gatewayservice.infrastructure.loadbalancer;
+
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.discovery.event.HeartbeatEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * Process-wide {@link InstanceStats}, keyed by service id and instance address so that the
+ * balancer and the completion filter see the same figures.
+ * <p>
+ * Instances come and go with every deploy, so entries not handed out for {@code statsIdleTimeout}
+ * and with nothing in flight are dropped on each registry refresh (the Eureka client publishes a
+ * {@link HeartbeatEvent} after each fetch). An instance that is still listed gets a fresh entry on
+ * its next pick; the timeout outlasts the longest ejection, so no ejection is forgotten early.
+ * Listeners registered with {@link #onEviction} get the {@code host:port} of each dropped entry,
+ * so per-instance meters can be dropped with it.
+ */
+@Component
+public class InstanceStatsRegistry implements ApplicationListener<HeartbeatEvent> {
+
+    private final ConcurrentHashMap<String, Entry> stats = new ConcurrentHashMap<>();
+    private final List<Consumer<String>> evictionListeners = new CopyOnWriteArrayList<>();
+    private final long idleTimeoutNanos;
+
+    public InstanceStatsRegistry(LatencyAwareLoadBalancerProperties properties) {
+        this.idleTimeoutNanos = properties.getStatsIdleTimeout().toNanos();
+    }
+
+    public InstanceStats get(ServiceInstance instance) {
+        Entry entry = stats.computeIfAbsent(keyOf(instance), key -> new Entry(instance.getHost() + ':' + instance.getPort()));
+        entry.lastUsedNanos = System.nanoTime();
+        return entry.stats;
+    }
+
+    public Map<String, InstanceStats> snapshot() {
+        return stats.entrySet().stream()
+                .collect(Collectors.toUnmodifiableMap(Map.Entry::getKey, e -> e.getValue().stats));
+    }
+
+    public void onEviction(Consumer<String> listener) {
+        evictionListeners.add(listener);
+    }
+
+    @Override
+    public void onApplicationEvent(HeartbeatEvent event) {
+        evictIdle(System.nanoTime());
+    }
+
+    void evictIdle(long nowNanos) {
+        stats.forEach((key, entry) -> {
+            if (nowNanos - entry.lastUsedNanos > idleTimeoutNanos && entry.stats.getOutstanding() == 0
+                    && stats.remove(key, entry)) {
+                evictionListeners.forEach(listener -> listener.accept(entry.address));
+            }
+        });
+    }
+
+    static String keyOf(ServiceInstance instance) {
+        return instance.getServiceId() + '@' + instance.getHost() + ':' + instance.getPort();
+    }
+
+    private static final class Entry {
+        private final InstanceStats stats = new InstanceStats();
+        private final String address;
+        private volatile long lastUsedNanos = System.nanoTime();
+
+        private Entry(String address) {
+            this.address = address;
+        }
+    }
+}
@@ -0,0 +1,184 @@
+package pe.upc.edu.gatewayservice.infrastructure.loadbalancer;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.DefaultResponse;
+import org.springframework.cloud.client.loadbalancer.EmptyResponse;
+import org.springframework.cloud.client.loadbalancer.Request;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.loadbalancer.core.NoopServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.core.ReactorServiceInstanceLoadBalancer;
+import org.springframework.cloud.loadbalancer.core.SelectedInstanceCallback;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Picks instances by power-of-two-choices over either peak-EWMA latency times outstanding
+ * requests, or outstanding requests alone.
+ * <p>
+ * Before choosing, instances with too many consecutive failures, a high error rate, or latency
+ * far above the fleet median are ejected for a growing period (bounded by
+ * {@code max-ejection-percent}). When an ejection expires the instance re-enters with a reduced
+ * weight that ramps back to normal over the slow-start window.
+ */
+public class LatencyAwareLoadBalancer implements ReactorServiceInstanceLoadBalancer {
+
+    private final ObjectProvider<ServiceInstanceListSupplier> serviceInstanceListSupplierProvider;
+    private final String serviceId;
+    private final InstanceStatsRegistry statsRegistry;
+    private final LatencyAwareLoadBalancerProperties properties;
+
+    public LatencyAwareLoadBalancer(ObjectProvider<ServiceInstanceListSupplier> serviceInstanceListSupplierProvider,
+                                    String serviceId,
+                                    InstanceStatsRegistry statsRegistry,
+                                    LatencyAwareLoadBalancerProperties properties) {
+        this.serviceInstanceListSupplierProvider = serviceInstanceListSupplierProvider;
+        this.serviceId = serviceId;
+        this.statsRegistry = statsRegistry;
+        this.properties = properties;
+    }
+
+    @Override
+    public Mono<Response<ServiceInstance>> choose(Request request) {
+        ServiceInstanceListSupplier supplier = serviceInstanceListSupplierProvider
+                .getIfAvailable(NoopServiceInstanceListSupplier::new);
+        return supplier.get(request).next().map(instances -> {
+            Response<ServiceInstance> response = choose(instances, System.nanoTime());
+            if (supplier instanceof SelectedInstanceCallback callback && response.hasServer()) {
+                callback.selectedServiceInstance(response.getServer());
+            }
+            return response;
+        });
+    }
+
+    Response<ServiceInstance> choose(List<ServiceInstance> instances, long now) {
+        if (instances.isEmpty()) {
+            return new EmptyResponse();
+        }
+        if (instances.size() == 1) {
+            return new DefaultResponse(instances.get(0));
+        }
+
+        InstanceStats[] stats = new InstanceStats[instances.size()];
+        for (int i = 0; i < stats.length; i++) {
+            stats[i] = statsRegistry.get(instances.get(i));
+        }
+        double[] latencies = sortedLatencies(stats);
+        double medianLatency = median(latencies, -1);
+        evaluateEjections(stats, latencies, medianLatency, now);
+
+        List<Integer> candidates = new ArrayList<>(stats.length);
+        for (int i = 0; i < stats.length; i++) {
+            if (!stats[i].isEjected(now, medianLatency)) {
+                candidates.add(i);
+            }
+        }
+        if (candidates.isEmpty()) {
+            // Everything is ejected: fall back to the whole list rather than failing every request
+            for (int i = 0; i < stats.length; i++) {
+                candidates.add(i);
+            }
+        }
+        if (candidates.size() == 1) {
+            return new DefaultResponse(instances.get(candidates.get(0)));
+        }
+
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int first = random.nextInt(candidates.size());
+        int second = random.nextInt(candidates.size() - 1);
+        if (second >= first) {
+            second++;
+        }
+        int a = candidates.get(first);
+        int b = candidates.get(second);
+        int chosen = cost(stats[a], medianLatency, now) <= cost(stats[b], medianLatency, now) ? a : b;
+        return new DefaultResponse(instances.get(chosen));
+    }
+
+    private double cost(InstanceStats stats, double medianLatency, long now) {
+        double load = stats.getOutstanding() + 1;
+        double weight = stats.weight(now, properties.getSlowStartWindow().toNanos());
+        if (properties.getStrategy() == LatencyAwareLoadBalancerProperties.Strategy.LEAST_REQUESTS) {
+            return load / weight;
+        }
+        double latency = stats.getLatencyEwmaNanos();
+        if (latency == 0.0) {
+            // No samples yet: assume a typical instance instead of an infinitely fast one
+            latency = medianLatency > 0.0 ? medianLatency : 1.0;
+        }
+        return latency * load / weight;
+    }
+
+    private void evaluateEjections(InstanceStats[] stats, double[] latencies, double medianLatency, long now) {
+        int maxEjected = stats.length * properties.getMaxEjectionPercent() / 100;
+        int ejected = 0;
+        for (InstanceStats s : stats) {
+            if (s.isEjected(now, medianLatency)) {
+                ejected++;
+            }
+        }
+        for (InstanceStats s : stats) {
+            if (ejected >= maxEjected) {
+                return;
+            }
+            if (!s.isEjected(now, medianLatency) && isOutlier(s, latencies)) {
+                long base = properties.getBaseEjectionTime().toNanos();
+                long duration = Math.min(base * (s.getEjections() + 1), properties.getMaxEjectionTime().toNanos());
+                s.eject(now, duration);
+                ejected++;
+            }
+        }
+    }
+
+    private boolean isOutlier(InstanceStats stats, double[] latencies) {
+        if (stats.getConsecutiveFailures() >= properties.getConsecutiveFailures()) {
+            return true;
+        }
+        if (stats.getSamples() < properties.getMinimumRequests()) {
+            return false;
+        }
+        if (stats.getErrorRate() >= properties.getErrorRateThreshold()) {
+            return true;
+        }
+        // Compare against the rest of the fleet so a single slow instance cannot skew its own baseline
+        double latency = stats.getLatencyEwmaNanos();
+        double othersMedian = median(latencies, Arrays.binarySearch(latencies, latency));
+        return othersMedian > 0.0
+                && latency > properties.getLatencyOutlierFloor().toNanos()
+                && latency > othersMedian * properties.getLatencyOutlierFactor();
+    }
+
+    private static double[] sortedLatencies(InstanceStats[] stats) {
+        return Arrays.stream(stats)
+                .mapToDouble(InstanceStats::getLatencyEwmaNanos)
+                .filter(latency -> latency > 0.0)
+                .sorted()
+                .toArray();
+    }
+
+    /**
+     * Median of the sorted values, skipping the element at {@code excludedIndex} (or none if negative).
+     */
+    private static double median(double[] sorted, int excludedIndex) {
+        int size = excludedIndex >= 0 ? sorted.length - 1 : sorted.length;
+        if (size <= 0) {
+            return 0.0;
+        }
+        int middle = size / 2;
+        double upper = valueAt(sorted, middle, excludedIndex);
+        return size % 2 == 1 ? upper : (valueAt(sorted, middle - 1, excludedIndex) + upper) / 2;
+    }
+
+    private static double valueAt(double[] sorted, int index, int excludedIndex) {
+        return excludedIndex >= 0 && index >= excludedIndex ? sorted[index + 1] : sorted[index];
+    }
+
+    public String getServiceId() {
+        return serviceId;
+    }
+}
@@ -0,0 +1,45 @@
+package pe.upc.edu.gatewayservice.infrastructure.loadbalancer;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.loadbalancer.core.ReactorLoadBalancer;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.support.LoadBalancerClientFactory;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.env.Environment;
+import pe.upc.edu.gatewayservice.infrastructure.discovery.RegistrySnapshot;
+import pe.upc.edu.gatewayservice.infrastructure.discovery.SnapshotFallbackServiceInstanceListSupplier;
+
+/**
+ * Per-client load balancer configuration. Deliberately not a {@code @Configuration}: it is only
+ * loaded into each load balancer child context through {@code @LoadBalancerClients}.
+ */
+public class LatencyAwareLoadBalancerClientConfiguration {
+
+    @Bean
+    public ReactorLoadBalancer<ServiceInstance> reactorServiceInstanceLoadBalancer(
+            Environment environment,
+            LoadBalancerClientFactory loadBalancerClientFactory,
+            InstanceStatsRegistry statsRegistry,
+            LatencyAwareLoadBalancerProperties properties) {
+        String name = environment.getProperty(LoadBalancerClientFactory.PROPERTY_NAME);
+        return new LatencyAwareLoadBalancer(
+                loadBalancerClientFactory.getLazyProvider(name, ServiceInstanceListSupplier.class),
+                name, statsRegistry, properties);
+    }
+
+    /**
+     * The default discovery + caching chain, with the registry snapshot fallback between the two
+     * so that the cache also holds instances served from the snapshot.
+     */
+    @Bean
+    public ServiceInstanceListSupplier discoveryClientServiceInstanceListSupplier(
+            ConfigurableApplicationContext context,
+            ObjectProvider<RegistrySnapshot> registrySnapshot) {
+        var builder = ServiceInstanceListSupplier.builder().withDiscoveryClient();
+        registrySnapshot.ifAvailable(snapshot -> builder.with((ctx, delegate) ->
+                new SnapshotFallbackServiceInstanceListSupplier(delegate, snapshot)));
+        return builder.withCaching().build(context);
+    }
+}
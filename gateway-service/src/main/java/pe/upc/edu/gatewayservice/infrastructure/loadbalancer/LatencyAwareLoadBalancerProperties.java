@@ -0,0 +1,146 @@
+package pe.upc.edu.gatewayservice.infrastructure.loadbalancer;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Tuning for {@link LatencyAwareLoadBalancer}, bound from {@code gateway.load-balancer.*}.
+ */
+@ConfigurationProperties(prefix = "gateway.load-balancer")
+public class LatencyAwareLoadBalancerProperties {
+
+    public enum Strategy { PEAK_EWMA, LEAST_REQUESTS }
+
+    /** How instances are compared once ejected ones are filtered out. */
+    private Strategy strategy = Strategy.PEAK_EWMA;
+
+    /** Time constant of the latency moving average. */
+    private Duration decayTime = Duration.ofSeconds(10);
+
+    /** Consecutive failures (errors or 5xx) that eject an instance. */
+    private int consecutiveFailures = 5;
+
+    /** Smoothed error rate that ejects an instance once it has {@link #minimumRequests}. */
+    private double errorRateThreshold = 0.5;
+
+    /** An instance whose latency exceeds this multiple of the fleet median is ejected. */
+    private double latencyOutlierFactor = 3.0;
+
+    /** Latency below this is never treated as an outlier, whatever the fleet median. */
+    private Duration latencyOutlierFloor = Duration.ofMillis(50);
+
+    /** Samples required before error rate or latency can eject an instance. */
+    private int minimumRequests = 20;
+
+    /** First ejection length; repeated ejections are multiplied by the ejection count. */
+    private Duration baseEjectionTime = Duration.ofSeconds(30);
+
+    /** Upper bound for a single ejection. */
+    private Duration maxEjectionTime = Duration.ofMinutes(5);
+
+    /** Never eject more than this share of a service's instances. */
+    private int maxEjectionPercent = 50;
+
+    /** After an ejection, traffic to the instance ramps linearly up over this window. */
+    private Duration slowStartWindow = Duration.ofSeconds(30);
+
+    /** Figures of an instance not picked for this long are dropped; keep it above {@code maxEjectionTime}. */
+    private Duration statsIdleTimeout = Duration.ofMinutes(10);
+
+    public Strategy getStrategy() {
+        return strategy;
+    }
+
+    public void setStrategy(Strategy strategy) {
+        this.strategy = strategy;
+    }
+
+    public Duration getDecayTime() {
+        return decayTime;
+    }
+
+    public void setDecayTime(Duration decayTime) {
+        this.decayTime = decayTime;
+    }
+
+    public int getConsecutiveFailures() {
+        return consecutiveFailures;
+    }
+
+    public void setConsecutiveFailures(int consecutiveFailures) {
+        this.consecutiveFailures = consecutiveFailures;
+    }
+
+    public double getErrorRateThreshold() {
+        return errorRateThreshold;
+    }
+
+    public void setErrorRateThreshold(double errorRateThreshold) {
+        this.errorRateThreshold = errorRateThreshold;
+    }
+
+    public double getLatencyOutlierFactor() {
+        return latencyOutlierFactor;
+    }
+
+    public void setLatencyOutlierFactor(double latencyOutlierFactor) {
+        this.latencyOutlierFactor = latencyOutlierFactor;
+    }
+
+    public Duration getLatencyOutlierFloor() {
+        return latencyOutlierFloor;
+    }
+
+    public void setLatencyOutlierFloor(Duration latencyOutlierFloor) {
+        this.latencyOutlierFloor = latencyOutlierFloor;
+    }
+
+    public int getMinimumRequests() {
+        return minimumRequests;
+    }
+
+    public void setMinimumRequests(int minimumRequests) {
+        this.minimumRequests = minimumRequests;
+    }
+
+    public Duration getBaseEjectionTime() {
+        return baseEjectionTime;
+    }
+
+    public void setBaseEjectionTime(Duration baseEjectionTime) {
+        this.baseEjectionTime = baseEjectionTime;
+    }
+
+    public Duration getMaxEjectionTime() {
+        return maxEjectionTime;
+    }
+
+    public void setMaxEjectionTime(Duration maxEjectionTime) {
+        this.maxEjectionTime = maxEjectionTime;
+    }
+
+    public int getMaxEjectionPercent() {
+        return maxEjectionPercent;
+    }
+
+    public void setMaxEjectionPercent(int maxEjectionPercent) {
+        this.maxEjectionPercent = maxEjectionPercent;
+    }
+
+    public Duration getSlowStartWindow() {
+        return slowStartWindow;
+    }
+
+    public void setSlowStartWindow(Duration slowStartWindow) {
+        this.slowStartWindow = slowStartWindow;
+    }
+
+    public Duration getStatsIdleTimeout() {
+        return statsIdleTimeout;
+    }
+
+    public void setStatsIdleTimeout(Duration statsIdleTimeout) {
+        this.statsIdleTimeout = statsIdleTimeout;
+    }
+}
@@ -0,0 +1,151 @@
+package pe.upc.edu.gatewayservice.infrastructure.ratelimit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.gateway.filter.ratelimit.AbstractRateLimiter;
+import org.springframework.cloud.gateway.support.ConfigurationService;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-process replacement for {@code RedisRateLimiter}: one {@link TokenBucket} per route and key,
+ * configured per route through {@code local-rate-limiter.*} args of the RequestRateLimiter filter.
+ * <p>
+ * Limits are enforced per gateway instance, so the effective limit scales with the number of
+ * gateway replicas.
+ */
+@Component
+public class LocalTokenBucketRateLimiter extends AbstractRateLimiter<LocalTokenBucketRateLimiter.Config> {
+
+    public static final String CONFIGURATION_PROPERTY_NAME = "local-rate-limiter";
+
+    public static final String REMAINING_HEADER = "X-RateLimit-Remaining";
+    public static final String REPLENISH_RATE_HEADER = "X-RateLimit-Replenish-Rate";
+    public static final String BURST_CAPACITY_HEADER = "X-RateLimit-Burst-Capacity";
+    public static final String RETRY_AFTER_HEADER = "Retry-After";
+
+    private static final long NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+    private static final long SWEEP_INTERVAL_NANOS = NANOS_PER_SECOND;
+
+    private final ConcurrentHashMap<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Counter[]> counters = new ConcurrentHashMap<>();
+    private final AtomicLong lastSweepNanos = new AtomicLong(System.nanoTime());
+    private final MeterRegistry meterRegistry;
+    private final Config defaultConfig;
+    private final int maxBuckets;
+
+    public LocalTokenBucketRateLimiter(ConfigurationService configurationService,
+                                       MeterRegistry meterRegistry,
+                                       @Value("${gateway.rate-limiter.default-replenish-rate:100}") int defaultReplenishRate,
+                                       @Value("${gateway.rate-limiter.default-burst-capacity:200}") int defaultBurstCapacity,
+                                       @Value("${gateway.rate-limiter.max-buckets:100000}") int maxBuckets) {
+        super(Config.class, CONFIGURATION_PROPERTY_NAME, configurationService);
+        this.meterRegistry = meterRegistry;
+        this.defaultConfig = new Config()
+                .setReplenishRate(defaultReplenishRate)
+                .setBurstCapacity(defaultBurstCapacity);
+        this.maxBuckets = maxBuckets;
+        Gauge.builder("gateway.ratelimit.buckets", buckets, Map::size)
+                .description("Token buckets currently held in memory")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Mono<Response> isAllowed(String routeId, String id) {
+        Config config = getConfig().getOrDefault(routeId, defaultConfig);
+        long now = System.nanoTime();
+        sweepIfNeeded(now);
+
+        TokenBucket bucket = buckets.computeIfAbsent(routeId + '|' + id, key -> new TokenBucket());
+        long result = bucket.tryConsume(now, config.emissionIntervalNanos(), config.burstToleranceNanos(),
+                config.getRequestedTokens());
+        boolean allowed = result >= 0;
+
+        Counter[] routeCounters = counters.computeIfAbsent(routeId, this::registerCounters);
+        routeCounters[allowed ? 0 : 1].increment();
+
+        var headers = new HashMap<String, String>(4);
+        headers.put(REPLENISH_RATE_HEADER, String.valueOf(config.getReplenishRate()));
+        headers.put(BURST_CAPACITY_HEADER, String.valueOf(config.getBurstCapacity()));
+        if (allowed) {
+            headers.put(REMAINING_HEADER, String.valueOf(result));
+        } else {
+            long waitNanos = -result - 1;
+            headers.put(REMAINING_HEADER, "0");
+            long retryAfterSeconds = (waitNanos + NANOS_PER_SECOND - 1) / NANOS_PER_SECOND;
+            headers.put(RETRY_AFTER_HEADER, String.valueOf(Math.max(1, retryAfterSeconds)));
+        }
+        return Mono.just(new Response(allowed, headers));
+    }
+
+    private Counter[] registerCounters(String routeId) {
+        return new Counter[]{
+                Counter.builder("gateway.ratelimit.requests").tag("route", routeId).tag("outcome", "allowed")
+                        .register(meterRegistry),
+                Counter.builder("gateway.ratelimit.requests").tag("route", routeId).tag("outcome", "rejected")
+                        .register(meterRegistry)
+        };
+    }
+
+    /**
+     * Drops full (idle) buckets once the map grows past its bound. A full bucket is
+     * indistinguishable from a new one, so this never grants extra tokens.
+     */
+    private void sweepIfNeeded(long now) {
+        long last = lastSweepNanos.get();
+        if (buckets.size() <= maxBuckets || now - last < SWEEP_INTERVAL_NANOS
+                || !lastSweepNanos.compareAndSet(last, now)) {
+            return;
+        }
+        buckets.entrySet().removeIf(entry -> entry.getValue().isIdle(now));
+    }
+
+    public static class Config {
+        private int replenishRate = 100;
+        private int burstCapacity = 200;
+        private int requestedTokens = 1;
+
+        long emissionIntervalNanos() {
+            return NANOS_PER_SECOND / Math.max(1, replenishRate);
+        }
+
+        long burstToleranceNanos() {
+            return emissionIntervalNanos() * Math.max(1, burstCapacity);
+        }
+
+        public int getReplenishRate() {
+            return replenishRate;
+        }
+
+        public Config setReplenishRate(int replenishRate) {
+            this.replenishRate = replenishRate;
+            return this;
+        }
+
+        public int getBurstCapacity() {
+            return burstCapacity;
+        }
+
+        public Config setBurstCapacity(int burstCapacity) {
+            this.burstCapacity = burstCapacity;
+            return this;
+        }
+
+        public int getRequestedTokens() {
+            return requestedTokens;
+        }
+
+        public Config setRequestedTokens(int requestedTokens) {
+            this.requestedTokens = requestedTokens;
+            return this;
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package pe.upc.edu.gatewayservice.infrastructure.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket implemented as a generic cell rate algorithm (GCRA).
+ * <p>
+ * The whole bucket state is a single "theoretical arrival time" in nanoseconds, so a decision
+ * is one CAS on an {@link AtomicLong} with no allocation. A bucket whose arrival time is in the
+ * past is full, which makes idle buckets safe to discard.
+ */
+public class TokenBucket {
+
+    private final AtomicLong theoreticalArrivalNanos = new AtomicLong(Long.MIN_VALUE);
+
+    /**
+     * Tries to take {@code tokens} from the bucket.
+     *
+     * @return remaining tokens if allowed, or {@code -(nanos until allowed) - 1} if rejected
+     */
+    public long tryConsume(long nowNanos, long emissionIntervalNanos, long burstToleranceNanos, int tokens) {
+        long increment = emissionIntervalNanos * tokens;
+        while (true) {
+            long tat = theoreticalArrivalNanos.get();
+            long base = tat == Long.MIN_VALUE || tat < nowNanos ? nowNanos : tat;
+            long newTat = base + increment;
+            long allowAt = newTat - burstToleranceNanos;
+            if (allowAt > nowNanos) {
+                return -(allowAt - nowNanos) - 1;
+            }
+            if (theoreticalArrivalNanos.compareAndSet(tat, newTat)) {
+                return (burstToleranceNanos - (newTat - nowNanos)) / emissionIntervalNanos;
+            }
+        }
+    }
+
+    public boolean isIdle(long nowNanos) {
+        long tat = theoreticalArrivalNanos.get();
+        return tat == Long.MIN_VALUE || tat <= nowNanos;
+    }
+}
@@ -0,0 +1,153 @@
+package pe.upc.edu.gatewayservice.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelHandler;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.http.server.HttpServer;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Local transport benchmark for list-heavy responses: HTTP/1.1 vs h2c, with and without gzip.
+ * The server is a plain Reactor Netty server configured the way the services are
+ * ({@code server.compression.*}, {@code server.http2.enabled}); it answers with a product list
+ * shaped like {@code GET /api/v1/products/client/{id}}.
+ * <p>
+ * Reports bytes received on the wire per request and p50/p99 latency. Not part of the normal
+ * build; run with {@code ./mvnw test -Dtest=WireTransportBenchmark -Dbenchmark=true}.
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class WireTransportBenchmark {
+
+    private static final int PRODUCTS = Integer.getInteger("benchmark.products", 500);
+    private static final int REQUESTS = Integer.getInteger("benchmark.requests", 4000);
+    private static final int CONCURRENCY = Integer.getInteger("benchmark.concurrency", 64);
+    private static final int WARMUP = 500;
+
+    @Test
+    void compareProtocolsAndCompression() throws Exception {
+        byte[] payload = productListJson(PRODUCTS);
+        DisposableServer server = HttpServer.create()
+                .port(0)
+                .protocol(HttpProtocol.HTTP11, HttpProtocol.H2C)
+                .compress(1024)
+                .route(routes -> routes.get("/api/v1/products/client/{id}", (request, response) -> response
+                        .header("Content-Type", "application/json")
+                        .sendByteArray(Mono.just(payload))))
+                .bindNow();
+        try {
+            System.out.printf("%nList of %d products, %d bytes uncompressed, %d requests, concurrency %d%n",
+                    PRODUCTS, payload.length, REQUESTS, CONCURRENCY);
+            System.out.printf("%-18s %14s %10s %10s %12s%n", "scenario", "bytes/request", "p50 ms", "p99 ms", "channels");
+            for (HttpProtocol protocol : List.of(HttpProtocol.HTTP11, HttpProtocol.H2C)) {
+                for (boolean gzip : List.of(false, true)) {
+                    run(server.port(), protocol, gzip, payload.length);
+                }
+            }
+        } finally {
+            server.disposeNow();
+        }
+    }
+
+    private void run(int port, HttpProtocol protocol, boolean gzip, int payloadBytes) {
+        AtomicLong bytes = new AtomicLong();
+        AtomicLong channels = new AtomicLong();
+        ConnectionProvider provider = ConnectionProvider.builder("benchmark").maxConnections(CONCURRENCY).build();
+        HttpClient client = HttpClient.create(provider)
+                .port(port)
+                .protocol(protocol)
+                .compress(gzip)
+                .doOnChannelInit((observer, channel, address) -> {
+                    channels.incrementAndGet();
+                    channel.pipeline().addFirst(new ByteCounter(bytes));
+                });
+        try {
+            measure(client, WARMUP);
+            bytes.set(0);
+            long[] latencies = measure(client, REQUESTS);
+            Arrays.sort(latencies);
+            long perRequest = bytes.get() / REQUESTS;
+            System.out.printf("%-18s %14d %10.2f %10.2f %12d%n",
+                    protocol.name().toLowerCase() + (gzip ? " + gzip" : ""), perRequest,
+                    millis(latencies[latencies.length / 2]),
+                    millis(latencies[(int) Math.ceil(latencies.length * 0.99) - 1]),
+                    channels.get());
+            if (!gzip) {
+                assertThat(perRequest).isGreaterThanOrEqualTo(payloadBytes);
+            }
+        } finally {
+            provider.disposeLater().block();
+        }
+    }
+
+    private long[] measure(HttpClient client, int requests) {
+        List<Long> latencies = Flux.range(0, requests)
+                .flatMap(i -> {
+                    long start = System.nanoTime();
+                    return client.get()
+                            .uri("/api/v1/products/client/" + (i % 100))
+                            .responseSingle((response, body) -> body.asByteArray())
+                            .map(body -> System.nanoTime() - start);
+                }, CONCURRENCY)
+                .collectList()
+                .block();
+        long[] result = new long[latencies.size()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = latencies.get(i);
+        }
+        return result;
+    }
+
+    private static byte[] productListJson(int count) throws Exception {
+        String[] types = {"SAVINGS_ACCOUNT", "CHECKING_ACCOUNT", "CREDIT_CARD", "LOAN"};
+        List<Map<String, Object>> products = new ArrayList<>(count);
+        for (long id = 1; id <= count; id++) {
+            products.add(Map.of(
+                    "id", id,
+                    "clientId", 42L,
+                    "productType", types[(int) (id % types.length)],
+                    "name", "Producto " + id,
+                    "balance", Math.round(id * 1234.5678) / 100.0));
+        }
+        return new ObjectMapper().writeValueAsBytes(products);
+    }
+
+    private static double millis(long nanos) {
+        return nanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    @ChannelHandler.Sharable
+    private static final class ByteCounter extends ChannelInboundHandlerAdapter {
+
+        private final AtomicLong bytes;
+
+        private ByteCounter(AtomicLong bytes) {
+            this.bytes = bytes;
+        }
+
+        @Override
+        public void channelRead(ChannelHandlerContext ctx, Object msg) {
+            if (msg instanceof ByteBuf buffer) {
+                bytes.addAndGet(buffer.readableBytes());
+            }
+            ctx.fireChannelRead(msg);
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package pe.upc.edu.gatewayservice.infrastructure.discovery;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.discovery.DiscoveryClient;
+import org.springframework.cloud.client.discovery.event.HeartbeatEvent;
+import org.springframework.cloud.loadbalancer.support.ServiceInstanceListSuppliers;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Writes the snapshot from a stub discovery client and reads it back the way a restarted gateway would.
+ */
+class RegistrySnapshotTests {
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final StubDiscoveryClient discoveryClient = new StubDiscoveryClient();
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void restartedGatewayFallsBackToTheSnapshotWhileTheRegistryIsDown() {
+        discoveryClient.instances = List.of(instance(8020), instance(8021));
+        snapshot(Duration.ofSeconds(20)).onApplicationEvent(new HeartbeatEvent(this, 1L));
+
+        // Reinicio con el registro caído: Eureka no devuelve nada y nunca hubo un fetch correcto
+        discoveryClient.instances = List.of();
+        RegistrySnapshot restarted = snapshot(Duration.ofSeconds(20));
+        List<ServiceInstance> instances = fallbackSupplier(restarted).get().blockFirst();
+
+        assertThat(restarted.registryUnreachable()).isTrue();
+        assertThat(instances).extracting(ServiceInstance::getPort).containsExactly(8020, 8021);
+        assertThat(meterRegistry.get("gateway.registry.snapshot.fallbacks").tag("service", "product-service")
+                .counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void serviceWithoutInstancesStaysEmptyWhileTheRegistryAnswers() {
+        discoveryClient.instances = List.of(instance(8020));
+        RegistrySnapshot snapshot = snapshot(Duration.ofSeconds(20));
+        snapshot.onApplicationEvent(new HeartbeatEvent(this, 1L));
+
+        List<ServiceInstance> instances = fallbackSupplier(snapshot).get().blockFirst();
+
+        assertThat(snapshot.registryUnreachable()).isFalse();
+        assertThat(instances).isEmpty();
+    }
+
+    @Test
+    void emptyRegistryDoesNotOverwriteTheSnapshot() throws InterruptedException {
+        discoveryClient.instances = List.of(instance(8020));
+        RegistrySnapshot snapshot = snapshot(Duration.ofMillis(50));
+        snapshot.onApplicationEvent(new HeartbeatEvent(this, 1L));
+        discoveryClient.instances = List.of();
+        snapshot.onApplicationEvent(new HeartbeatEvent(this, 2L));
+        Thread.sleep(100);
+
+        assertThat(snapshot.registryUnreachable()).isTrue();
+        assertThat(snapshot.fallback("PRODUCT-SERVICE")).hasSize(1);
+        assertThat(snapshot(Duration.ofSeconds(20)).fallback("product-service")).hasSize(1);
+    }
+
+    private RegistrySnapshot snapshot(Duration staleAfter) {
+        return new RegistrySnapshot(discoveryClient, objectMapper, meterRegistry,
+                directory.resolve("registry-snapshot.json"), staleAfter);
+    }
+
+    private static SnapshotFallbackServiceInstanceListSupplier fallbackSupplier(RegistrySnapshot snapshot) {
+        return new SnapshotFallbackServiceInstanceListSupplier(
+                ServiceInstanceListSuppliers.from("product-service"), snapshot);
+    }
+
+    private static ServiceInstance instance(int port) {
+        return new DefaultServiceInstance("localhost:product-service:" + port, "PRODUCT-SERVICE", "localhost", port,
+                false, Map.of("management.port", String.valueOf(port)));
+    }
+
+    private static class StubDiscoveryClient implements DiscoveryClient {
+        private List<ServiceInstance> instances = new ArrayList<>();
+
+        @Override
+        public String description() {
+            return "stub";
+        }
+
+        @Override
+        public List<ServiceInstance> getInstances(String serviceId) {
+            return "product-service".equalsIgnoreCase(serviceId) ? instances : List.of();
+        }
+
+        @Override
+        public List<String> getServices() {
+            return instances.isEmpty() ? List.of() : List.of("product-service");
+        }
+    }
+}
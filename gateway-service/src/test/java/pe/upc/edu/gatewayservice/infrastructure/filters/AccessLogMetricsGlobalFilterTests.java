@@ -0,0 +1,73 @@
+package pe.upc.edu.gatewayservice.infrastructure.filters;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.discovery.event.HeartbeatEvent;
+import org.springframework.cloud.client.loadbalancer.DefaultResponse;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import pe.upc.edu.gatewayservice.infrastructure.loadbalancer.InstanceStatsRegistry;
+import pe.upc.edu.gatewayservice.infrastructure.loadbalancer.LatencyAwareLoadBalancerProperties;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_LOADBALANCER_RESPONSE_ATTR;
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR;
+
+class AccessLogMetricsGlobalFilterTests {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final InstanceStatsRegistry statsRegistry = new InstanceStatsRegistry(evictingAtOnce());
+    private final AccessLogMetricsGlobalFilter filter =
+            new AccessLogMetricsGlobalFilter(meterRegistry, statsRegistry, 0.0, Duration.ofSeconds(1), false);
+    private final ServiceInstance instance = new DefaultServiceInstance("p1", "product-service", "10.0.0.7", 8020, false);
+
+    @Test
+    void recordsLatencyPerRouteStatusAndInstance() {
+        send(HttpStatus.NOT_FOUND);
+
+        Timer timer = meterRegistry.get("gateway.route.latency")
+                .tag("route", "product-service")
+                .tag("status", "404")
+                .tag("instance", "10.0.0.7:8020")
+                .timer();
+        assertThat(timer.count()).isEqualTo(1);
+        assertThat(timer.takeSnapshot().percentileValues()).hasSize(3);
+    }
+
+    @Test
+    void dropsTheTimersOfAnInstanceTheBalancerForgot() {
+        statsRegistry.get(instance);
+        send(HttpStatus.OK);
+
+        statsRegistry.onApplicationEvent(new HeartbeatEvent(this, 1L));
+
+        assertThat(meterRegistry.find("gateway.route.latency").timers()).isEmpty();
+    }
+
+    private static LatencyAwareLoadBalancerProperties evictingAtOnce() {
+        var properties = new LatencyAwareLoadBalancerProperties();
+        properties.setStatsIdleTimeout(Duration.ZERO);
+        return properties;
+    }
+
+    private void send(HttpStatus status) {
+        var exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/product-service/api/v1/products"));
+        exchange.getAttributes().put(GATEWAY_ROUTE_ATTR, Route.async()
+                .id("product-service").uri(URI.create("lb://product-service")).predicate(e -> true).build());
+        exchange.getAttributes().put(GATEWAY_LOADBALANCER_RESPONSE_ATTR, new DefaultResponse(instance));
+
+        filter.filter(exchange, e -> {
+            e.getResponse().setStatusCode(status);
+            return Mono.empty();
+        }).block();
+    }
+}
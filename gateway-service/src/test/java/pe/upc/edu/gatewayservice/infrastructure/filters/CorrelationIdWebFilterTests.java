@@ -0,0 +1,51 @@
+package pe.upc.edu.gatewayservice.infrastructure.filters;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CorrelationIdWebFilterTests {
+
+    private final CorrelationIdWebFilter filter = new CorrelationIdWebFilter();
+    private final AtomicReference<ServerWebExchange> forwarded = new AtomicReference<>();
+    private final AtomicReference<String> inContext = new AtomicReference<>();
+
+    @Test
+    void startsAnIdAndForwardsItEverywhere() {
+        var exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/p"));
+
+        filter.filter(exchange, this::forward).block();
+
+        String id = forwarded.get().getRequest().getHeaders().getFirst(CorrelationIdWebFilter.HEADER);
+        assertThat(id).isNotBlank();
+        assertThat(exchange.getResponse().getHeaders().getFirst(CorrelationIdWebFilter.HEADER)).isEqualTo(id);
+        assertThat((String) forwarded.get().getAttribute(CorrelationIdWebFilter.ATTRIBUTE)).isEqualTo(id);
+        assertThat(inContext.get()).isEqualTo(id);
+    }
+
+    @Test
+    void keepsAWellFormedIdFromTheCallerAndReplacesOthers() {
+        filter.filter(MockServerWebExchange.from(MockServerHttpRequest.get("/p")
+                .header(CorrelationIdWebFilter.HEADER, "abc-123")), this::forward).block();
+        assertThat(forwarded.get().getRequest().getHeaders().getFirst(CorrelationIdWebFilter.HEADER)).isEqualTo("abc-123");
+
+        filter.filter(MockServerWebExchange.from(MockServerHttpRequest.get("/p")
+                .header(CorrelationIdWebFilter.HEADER, "bad id\nINFO forged line")), this::forward).block();
+        assertThat(forwarded.get().getRequest().getHeaders().getFirst(CorrelationIdWebFilter.HEADER))
+                .matches("[0-9a-f]{16}");
+    }
+
+    private Mono<Void> forward(ServerWebExchange exchange) {
+        forwarded.set(exchange);
+        return Mono.deferContextual(context -> {
+            inContext.set(context.getOrDefault(CorrelationIdWebFilter.CONTEXT_KEY, null));
+            return Mono.empty();
+        });
+    }
+}
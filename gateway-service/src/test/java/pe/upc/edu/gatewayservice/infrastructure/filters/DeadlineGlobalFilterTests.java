@@ -0,0 +1,84 @@
+package pe.upc.edu.gatewayservice.infrastructure.filters;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class DeadlineGlobalFilterTests {
+
+    private final DeadlineGlobalFilter filter = new DeadlineGlobalFilter(Duration.ofSeconds(10), Duration.ofSeconds(30));
+    private final AtomicReference<ServerWebExchange> forwarded = new AtomicReference<>();
+
+    @Test
+    void forwardsTheDefaultBudgetAndKeepsShorterOnesFromTheCaller() {
+        filter.filter(MockServerWebExchange.from(MockServerHttpRequest.get("/p")), this::forward).block();
+        assertThat(forwardedHeader()).isEqualTo("10000");
+
+        filter.filter(MockServerWebExchange.from(MockServerHttpRequest.get("/p")
+                .header(DeadlineGlobalFilter.HEADER, "250")), this::forward).block();
+        assertThat(forwardedHeader()).isEqualTo("250");
+
+        filter.filter(MockServerWebExchange.from(MockServerHttpRequest.get("/p")
+                .header(DeadlineGlobalFilter.HEADER, "600000")), this::forward).block();
+        assertThat(forwardedHeader()).isEqualTo("30000");
+    }
+
+    @Test
+    void cancelsTheUpstreamExchangeWhenTheDeadlinePasses() {
+        AtomicBoolean cancelled = new AtomicBoolean();
+        var exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/p").header(DeadlineGlobalFilter.HEADER, "50"));
+
+        assertThatThrownBy(() -> filter.filter(exchange, e -> Mono.<Void>never().doOnCancel(() -> cancelled.set(true)))
+                .block(Duration.ofSeconds(5)))
+                .isInstanceOfSatisfying(ResponseStatusException.class,
+                        e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.GATEWAY_TIMEOUT));
+        assertThat(cancelled).isTrue();
+    }
+
+    @Test
+    void leavesEventStreamsWithoutDeadline() {
+        var exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/p")
+                .accept(MediaType.TEXT_EVENT_STREAM)
+                .header(DeadlineGlobalFilter.HEADER, "50"));
+
+        filter.filter(exchange, e -> {
+            forwarded.set(e);
+            return Mono.delay(Duration.ofMillis(150)).then();
+        }).block(Duration.ofSeconds(5));
+
+        assertThat(forwardedHeader()).isNull();
+    }
+
+    @Test
+    void upstreamEventStreamsOutliveTheDeadline() {
+        var exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/p").header(DeadlineGlobalFilter.HEADER, "50"));
+
+        filter.filter(exchange, e -> {
+            e.getResponse().getHeaders().setContentType(MediaType.TEXT_EVENT_STREAM);
+            return Mono.delay(Duration.ofMillis(150)).then();
+        }).block(Duration.ofSeconds(5));
+
+        assertThat(exchange.getResponse().getHeaders().getContentType()).isEqualTo(MediaType.TEXT_EVENT_STREAM);
+    }
+
+    private Mono<Void> forward(ServerWebExchange exchange) {
+        forwarded.set(exchange);
+        return Mono.empty();
+    }
+
+    private String forwardedHeader() {
+        return forwarded.get().getRequest().getHeaders().getFirst(DeadlineGlobalFilter.HEADER);
+    }
+}
@@ -0,0 +1,148 @@
+package pe.upc.edu.gatewayservice.infrastructure.filters;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import pe.upc.edu.gatewayservice.infrastructure.cache.ResponseCache;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ResponseCacheGatewayFilterFactoryTests {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ResponseCacheGatewayFilterFactory factory =
+            new ResponseCacheGatewayFilterFactory(new ResponseCache(meterRegistry, 100, 1024));
+    private final GatewayFilter filter = factory.apply(new ResponseCacheGatewayFilterFactory.Config());
+    private final AtomicInteger upstreamCalls = new AtomicInteger();
+
+    @Test
+    void concurrentIdenticalMissesShareOneUpstreamCall() {
+        var first = exchange(MockServerHttpRequest.get("/api/v1/products/client/1"));
+        var second = exchange(MockServerHttpRequest.get("/api/v1/products/client/1"));
+
+        Mono.when(filter.filter(first, upstream("max-age=60")), filter.filter(second, upstream("max-age=60")))
+                .block(Duration.ofSeconds(5));
+
+        assertThat(upstreamCalls).hasValue(1);
+        assertThat(first.getResponse().getBodyAsString().block()).isEqualTo("body-1");
+        assertThat(second.getResponse().getBodyAsString().block()).isEqualTo("body-1");
+        assertThat(second.getResponse().getHeaders().getFirst(ResponseCacheGatewayFilterFactory.CACHE_STATUS_HEADER))
+                .isEqualTo("HIT");
+    }
+
+    @Test
+    void lookupsAreCountedInTheMeterRegistry() {
+        filter.filter(exchange(MockServerHttpRequest.get("/api/v1/products/client/4")), upstream("max-age=60"))
+                .block(Duration.ofSeconds(5));
+        filter.filter(exchange(MockServerHttpRequest.get("/api/v1/products/client/4")), upstream("max-age=60"))
+                .block(Duration.ofSeconds(5));
+
+        assertThat(meterRegistry.get("gateway.cache.misses").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("gateway.cache.hits").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("gateway.cache.entries").gauge().value()).isEqualTo(1);
+    }
+
+    @Test
+    void responsesAreNotSharedAcrossCredentials() {
+        var alice = exchange(MockServerHttpRequest.get("/api/v1/clients/id/1")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer alice"));
+        var bob = exchange(MockServerHttpRequest.get("/api/v1/clients/id/1")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer bob"));
+
+        filter.filter(alice, upstream(null)).block(Duration.ofSeconds(5));
+        filter.filter(bob, upstream(null)).block(Duration.ofSeconds(5));
+
+        assertThat(upstreamCalls).hasValue(2);
+        assertThat(bob.getResponse().getBodyAsString().block()).isEqualTo("body-2");
+    }
+
+    @Test
+    void noStoreResponsesAreNeverCached() {
+        filter.filter(exchange(MockServerHttpRequest.get("/api/v1/products/client/2")), upstream("no-store"))
+                .block(Duration.ofSeconds(5));
+        filter.filter(exchange(MockServerHttpRequest.get("/api/v1/products/client/2")), upstream("no-store"))
+                .block(Duration.ofSeconds(5));
+
+        assertThat(upstreamCalls).hasValue(2);
+    }
+
+    @Test
+    void eventStreamRequestsBypassTheCache() {
+        var first = exchange(MockServerHttpRequest.get("/api/v1/products/client/3/stream")
+                .accept(MediaType.TEXT_EVENT_STREAM));
+        var second = exchange(MockServerHttpRequest.get("/api/v1/products/client/3/stream")
+                .accept(MediaType.TEXT_EVENT_STREAM));
+
+        Mono.when(filter.filter(first, upstream("max-age=60")), filter.filter(second, upstream("max-age=60")))
+                .block(Duration.ofSeconds(5));
+
+        assertThat(upstreamCalls).hasValue(2);
+        assertThat(second.getResponse().getHeaders()).doesNotContainKey(ResponseCacheGatewayFilterFactory.CACHE_STATUS_HEADER);
+    }
+
+    @Test
+    void followersOfAnEventStreamLeaderGoUpstreamInsteadOfWaiting() {
+        var leader = exchange(MockServerHttpRequest.get("/api/v1/products/client/4/stream"));
+        var follower = exchange(MockServerHttpRequest.get("/api/v1/products/client/4/stream"));
+        GatewayFilterChain stream = exchange -> Mono.delay(Duration.ofMillis(50)).then(Mono.defer(() -> {
+            upstreamCalls.incrementAndGet();
+            var response = exchange.getResponse();
+            response.setStatusCode(HttpStatus.OK);
+            response.getHeaders().setContentType(MediaType.TEXT_EVENT_STREAM);
+            byte[] event = "data: {}\n\n".getBytes(StandardCharsets.UTF_8);
+            return response.writeAndFlushWith(Flux.just(Flux.just(response.bufferFactory().wrap(event)))
+                    .concatWith(Flux.never()));
+        }));
+
+        var subscription = filter.filter(leader, stream).subscribe();
+        try {
+            filter.filter(follower, upstream("max-age=60")).block(Duration.ofSeconds(5));
+        } finally {
+            subscription.dispose();
+        }
+
+        assertThat(upstreamCalls).hasValue(2);
+        assertThat(follower.getResponse().getHeaders()).doesNotContainKey(ResponseCacheGatewayFilterFactory.CACHE_STATUS_HEADER);
+    }
+
+    @Test
+    void upstreamMaxAgeShortensRouteTtl() {
+        var headers = new HttpHeaders();
+        headers.setCacheControl("public, max-age=5");
+        var config = new ResponseCacheGatewayFilterFactory.Config().setTtl(Duration.ofSeconds(30));
+
+        assertThat(ResponseCacheGatewayFilterFactory.resolveTtl(HttpStatus.OK, headers, config))
+                .isEqualTo(Duration.ofSeconds(5));
+        assertThat(ResponseCacheGatewayFilterFactory.resolveTtl(HttpStatus.NOT_FOUND, headers, config))
+                .isNull();
+    }
+
+    private static MockServerWebExchange exchange(MockServerHttpRequest.BaseBuilder<?> request) {
+        return MockServerWebExchange.from(request);
+    }
+
+    private GatewayFilterChain upstream(String cacheControl) {
+        return exchange -> Mono.delay(Duration.ofMillis(50)).then(Mono.defer(() -> {
+            int call = upstreamCalls.incrementAndGet();
+            var response = exchange.getResponse();
+            response.setStatusCode(HttpStatus.OK);
+            if (cacheControl != null) {
+                response.getHeaders().setCacheControl(cacheControl);
+            }
+            byte[] body = ("body-" + call).getBytes(StandardCharsets.UTF_8);
+            return response.writeWith(Mono.just(response.bufferFactory().wrap(body)));
+        }));
+    }
+}
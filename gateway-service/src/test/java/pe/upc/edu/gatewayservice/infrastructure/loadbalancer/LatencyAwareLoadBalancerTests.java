@@ -0,0 +1,133 @@
+package pe.upc.edu.gatewayservice.infrastructure.loadbalancer;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.loadbalancer.support.ServiceInstanceListSuppliers;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Drives the balancer against stub instances from a static registry and a simulated clock.
+ */
+class LatencyAwareLoadBalancerTests {
+
+    private static final long MS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final ServiceInstance fast = instance(8021);
+    private final ServiceInstance alsoFast = instance(8022);
+    private final ServiceInstance slow = instance(8023);
+    private final List<ServiceInstance> instances = List.of(fast, alsoFast, slow);
+
+    private final LatencyAwareLoadBalancerProperties properties = new LatencyAwareLoadBalancerProperties();
+    private final InstanceStatsRegistry registry = new InstanceStatsRegistry(properties);
+    private final LatencyAwareLoadBalancer loadBalancer = new LatencyAwareLoadBalancer(
+            ServiceInstanceListSuppliers.toProvider("product-service", fast, alsoFast, slow),
+            "product-service", registry, properties);
+
+    @Test
+    void choosesFromTheRegisteredInstances() {
+        ServiceInstance chosen = loadBalancer.choose().block().getServer();
+
+        assertThat(instances).contains(chosen);
+    }
+
+    @Test
+    void prefersTheInstanceWithFewerOutstandingRequests() {
+        properties.setStrategy(LatencyAwareLoadBalancerProperties.Strategy.LEAST_REQUESTS);
+        for (int i = 0; i < 10; i++) {
+            registry.get(fast).onStart();
+            registry.get(slow).onStart();
+        }
+
+        Map<ServiceInstance, Integer> picks = pick(300, 0);
+
+        assertThat(picks.getOrDefault(alsoFast, 0)).isGreaterThan(150);
+    }
+
+    @Test
+    void ejectsLatencyOutlierAndShiftsTraffic() {
+        long now = 0;
+        for (int i = 0; i < properties.getMinimumRequests(); i++) {
+            now += MS;
+            complete(fast, 5 * MS, true, now);
+            complete(alsoFast, 6 * MS, true, now);
+            complete(slow, 400 * MS, true, now);
+        }
+
+        Map<ServiceInstance, Integer> picks = pick(200, now);
+
+        assertThat(picks).doesNotContainKey(slow);
+        assertThat(registry.get(slow).getEjections()).isEqualTo(1);
+    }
+
+    @Test
+    void ejectsAfterConsecutiveFailuresAndRampsBackIn() {
+        long now = 0;
+        for (int i = 0; i < properties.getConsecutiveFailures(); i++) {
+            now += MS;
+            complete(slow, 5 * MS, false, now);
+        }
+
+        assertThat(pick(100, now)).doesNotContainKey(slow);
+
+        long afterEjection = now + properties.getBaseEjectionTime().toNanos() + MS;
+        pick(1, afterEjection);
+        InstanceStats stats = registry.get(slow);
+        assertThat(stats.getConsecutiveFailures()).isZero();
+        assertThat(stats.weight(afterEjection + MS, properties.getSlowStartWindow().toNanos())).isLessThan(0.2);
+        assertThat(stats.weight(afterEjection + properties.getSlowStartWindow().toNanos(),
+                properties.getSlowStartWindow().toNanos())).isEqualTo(1.0);
+    }
+
+    @Test
+    void neverEjectsMoreThanTheConfiguredShare() {
+        properties.setMaxEjectionPercent(50);
+        properties.setBaseEjectionTime(Duration.ofMinutes(1));
+        long now = 0;
+        for (int i = 0; i < properties.getConsecutiveFailures(); i++) {
+            now += MS;
+            complete(fast, 5 * MS, false, now);
+            complete(slow, 5 * MS, false, now);
+        }
+
+        pick(50, now);
+
+        int ejected = registry.get(fast).getEjections() + registry.get(slow).getEjections();
+        assertThat(ejected).isEqualTo(1);
+    }
+
+    @Test
+    void forgetsInstancesIdleForLongerThanTheTimeoutUnlessBusy() {
+        registry.get(fast).onStart();
+        registry.get(slow);
+
+        registry.evictIdle(System.nanoTime() + properties.getStatsIdleTimeout().toNanos() + MS);
+
+        assertThat(registry.snapshot()).containsOnlyKeys(InstanceStatsRegistry.keyOf(fast));
+    }
+
+    private void complete(ServiceInstance instance, long latencyNanos, boolean success, long now) {
+        InstanceStats stats = registry.get(instance);
+        stats.onStart();
+        stats.onComplete(latencyNanos, success, now, properties.getDecayTime().toNanos());
+    }
+
+    private Map<ServiceInstance, Integer> pick(int times, long now) {
+        Map<ServiceInstance, Integer> picks = new HashMap<>();
+        for (int i = 0; i < times; i++) {
+            picks.merge(loadBalancer.choose(instances, now).getServer(), 1, Integer::sum);
+        }
+        return picks;
+    }
+
+    private static ServiceInstance instance(int port) {
+        return new DefaultServiceInstance("product-service-" + port, "product-service", "localhost", port, false);
+    }
+}
@@ -0,0 +1,58 @@
+package pe.upc.edu.gatewayservice.infrastructure.ratelimit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.ratelimit.RateLimiter;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LocalTokenBucketRateLimiterTests {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final LocalTokenBucketRateLimiter rateLimiter =
+            new LocalTokenBucketRateLimiter(null, meterRegistry, 1, 3, 1000);
+
+    @Test
+    void allowsBurstThenRejectsWithRetryAfter() {
+        for (int i = 0; i < 3; i++) {
+            assertThat(isAllowed("route", "ip:10.0.0.1").isAllowed()).isTrue();
+        }
+
+        RateLimiter.Response rejected = isAllowed("route", "ip:10.0.0.1");
+
+        assertThat(rejected.isAllowed()).isFalse();
+        assertThat(rejected.getHeaders())
+                .containsEntry(LocalTokenBucketRateLimiter.RETRY_AFTER_HEADER, "1")
+                .containsEntry(LocalTokenBucketRateLimiter.REMAINING_HEADER, "0");
+        assertThat(meterRegistry.get("gateway.ratelimit.requests").tag("outcome", "rejected").counter().count())
+                .isEqualTo(1.0);
+    }
+
+    @Test
+    void bucketsAreIsolatedPerKeyAndRoute() {
+        for (int i = 0; i < 3; i++) {
+            isAllowed("route", "ip:10.0.0.1");
+        }
+
+        assertThat(isAllowed("route", "ip:10.0.0.2").isAllowed()).isTrue();
+        assertThat(isAllowed("other-route", "ip:10.0.0.1").isAllowed()).isTrue();
+    }
+
+    @Test
+    void tokensReplenishOverTime() {
+        var bucket = new TokenBucket();
+        long interval = TimeUnit.MILLISECONDS.toNanos(100);
+        long now = 0;
+
+        assertThat(bucket.tryConsume(now, interval, interval, 1)).isZero();
+        assertThat(bucket.tryConsume(now, interval, interval, 1)).isNegative();
+        assertThat(bucket.tryConsume(now + interval, interval, interval, 1)).isZero();
+        assertThat(bucket.isIdle(now + 2 * interval)).isTrue();
+    }
+
+    private RateLimiter.Response isAllowed(String routeId, String key) {
+        return rateLimiter.isAllowed(routeId, key).block();
+    }
+}
@@ -0,0 +1,53 @@
+package pe.upc.edu.iamservice.infrastructure.config;
+
+import com.netflix.appinfo.ApplicationInfoManager;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.r2dbc.spi.ConnectionFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.codec.ServerCodecConfigurer;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import pe.upc.edu.iamservice.infrastructure.persistence.r2dbc.repositories.UserRepository;
+import pe.upc.edu.iamservice.infrastructure.security.JwtService;
+import pe.upc.edu.iamservice.infrastructure.warmup.UserWarmUpWorkload;
+import pe.upc.edu.servicecommons.warmup.CodecWarmUp;
+import pe.upc.edu.servicecommons.warmup.EurekaReadinessStatusListener;
+import pe.upc.edu.servicecommons.warmup.StartupWarmUp;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Readiness-gated Eureka status and the startup warm-up that runs before readiness.
+ */
+@Configuration
+public class WarmUpConfig {
+
+    @Bean
+    public EurekaReadinessStatusListener eurekaReadinessStatusListener(
+            ObjectProvider<ApplicationInfoManager> applicationInfoManager) {
+        return new EurekaReadinessStatusListener(applicationInfoManager);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "warm-up.enabled", havingValue = "true", matchIfMissing = true)
+    public StartupWarmUp startupWarmUp(
+            ConnectionFactory connectionFactory,
+            UserRepository userRepository,
+            PasswordEncoder passwordEncoder,
+            JwtService jwtService,
+            ServerCodecConfigurer serverCodecConfigurer,
+            MeterRegistry meterRegistry,
+            @Value("${warm-up.connections:10}") int connections,
+            @Value("${warm-up.iterations:30}") int iterations,
+            @Value("${warm-up.timeout:30s}") Duration timeout) {
+        var workload = new UserWarmUpWorkload(userRepository, passwordEncoder, jwtService,
+                new CodecWarmUp(serverCodecConfigurer));
+        return new StartupWarmUp(connectionFactory, List.of(Function.identity()), workload, meterRegistry,
+                connections, iterations, timeout);
+    }
+}
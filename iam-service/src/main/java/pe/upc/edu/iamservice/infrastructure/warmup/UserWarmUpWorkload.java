@@ -0,0 +1,60 @@
+package pe.upc.edu.iamservice.infrastructure.warmup;
+
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import pe.upc.edu.iamservice.infrastructure.persistence.r2dbc.repositories.UserRepository;
+import pe.upc.edu.iamservice.infrastructure.security.JwtService;
+import pe.upc.edu.iamservice.interfaces.rest.resources.AuthenticationResponse;
+import pe.upc.edu.iamservice.interfaces.rest.resources.SignInResource;
+import pe.upc.edu.iamservice.interfaces.rest.resources.UserResource;
+import pe.upc.edu.servicecommons.warmup.CodecWarmUp;
+import pe.upc.edu.servicecommons.warmup.WarmUpWorkload;
+import reactor.core.publisher.Mono;
+
+/**
+ * IAM warm-up: the steps of a sign-in (lookup by email, BCrypt check, token issue) plus the token
+ * validation every authenticated request goes through, and the sign-in bodies. Runs against the
+ * repository rather than the command service, whose unknown-user path would count as a failed
+ * sign-in in {@code handler.requests}.
+ */
+public class UserWarmUpWorkload implements WarmUpWorkload {
+
+    private static final String EMAIL = "warm-up@iam-service.invalid";
+    private static final String PASSWORD = "warm-up-password";
+
+    private final UserRepository userRepository;
+    private final PasswordEncoder passwordEncoder;
+    private final JwtService jwtService;
+    private final CodecWarmUp codecs;
+    private volatile String encodedPassword;
+
+    public UserWarmUpWorkload(UserRepository userRepository, PasswordEncoder passwordEncoder,
+                              JwtService jwtService, CodecWarmUp codecs) {
+        this.userRepository = userRepository;
+        this.passwordEncoder = passwordEncoder;
+        this.jwtService = jwtService;
+        this.codecs = codecs;
+    }
+
+    @Override
+    public Mono<Void> prime() {
+        return Mono.fromRunnable(() -> encodedPassword = passwordEncoder.encode(PASSWORD));
+    }
+
+    @Override
+    public Mono<Void> iteration() {
+        return userRepository.findByEmail(EMAIL)
+                .then(Mono.fromRunnable(() -> {
+                    codecs.roundTrip(new SignInResource(EMAIL, PASSWORD), MediaType.APPLICATION_JSON);
+                    if (!passwordEncoder.matches(PASSWORD, encodedPassword)) {
+                        throw new IllegalStateException("Password encoder rejected its own hash");
+                    }
+                    String token = jwtService.generateToken(EMAIL, 0L);
+                    if (!jwtService.validateToken(token, EMAIL)) {
+                        throw new IllegalStateException("JWT service rejected its own token");
+                    }
+                    codecs.roundTrip(new AuthenticationResponse(token, new UserResource(jwtService.extractUserId(token), EMAIL)),
+                            MediaType.APPLICATION_JSON);
+                }));
+    }
+}
@@ -0,0 +1,292 @@
+package pe.upc.edu.loadtests;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * How long the mesh keeps routing to an instance that died without deregistering. Starts the
+ * registry, two product-service instances (8020 and 8021) and the gateway on H2, waits until the
+ * gateway balances over both and the registry has counted a full minute of their renewals (the
+ * self-preservation check compares against the previous minute, so a younger registry would not
+ * evict yet), kills the second one with {@code SIGKILL} and, from that moment, measures:
+ * <ul>
+ *     <li>registry: until {@code /eureka/apps/PRODUCT-SERVICE} lists a single instance;</li>
+ *     <li>gateway view: until the gateway's Eureka client (its {@code /actuator/health}) counts one;</li>
+ *     <li>probes: a {@code GET /product-service/actuator/info} through the gateway every
+ *     {@code --probe-interval}; failures and the last one show how long callers were affected.</li>
+ * </ul>
+ * <pre>
+ * cd load-tests
+ * mvn package
+ * java -cp target/load-tests.jar pe.upc.edu.loadtests.FailoverDetection
+ * java -cp target/load-tests.jar pe.upc.edu.loadtests.FailoverDetection --eureka-defaults=true --timeout=6m
+ * </pre>
+ * Every service runs with its shipped Eureka settings; {@code --eureka-defaults=true} overrides
+ * them back to Eureka's own defaults (30s renewals, 90s leases, 60s eviction, 30s fetches, 85%
+ * self-preservation) as a baseline. Flags: {@code --probe-interval} (default 100ms),
+ * {@code --timeout} (default 3m), plus {@code --project-dir}, {@code --maven},
+ * {@code --service-jvm-args} as in {@link LoadTestOptions} and {@code --output} (default
+ * {@code target/failover}).
+ */
+public class FailoverDetection {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(FailoverDetection.class);
+
+    private static final int KILLED_PORT = 8021;
+    private static final Duration POLL_INTERVAL = Duration.ofMillis(250);
+    private static final String APPLICATION = "PRODUCT-SERVICE";
+    private static final int CLIENTS = 3;
+    private static final Pattern RENEWS_THRESHOLD = Pattern.compile("Renews threshold</td>\\s*<td>(\\d+)");
+    private static final Pattern RENEWS_LAST_MINUTE = Pattern.compile("Renews \\(last min\\)</td>\\s*<td>(\\d+)");
+
+    // Valores por defecto de Eureka y de Spring Cloud LoadBalancer, para la línea base
+    private static final List<String> DEFAULT_LEASE = List.of(
+            "--eureka.instance.lease-renewal-interval-in-seconds=30",
+            "--eureka.instance.lease-expiration-duration-in-seconds=90");
+    private static final List<String> DEFAULT_REGISTRY = List.of(
+            "--eureka.server.eviction-interval-timer-in-ms=60000",
+            "--eureka.server.response-cache-update-interval-ms=30000",
+            "--eureka.server.expected-client-renewal-interval-seconds=30",
+            "--eureka.server.renewal-percent-threshold=0.85",
+            "--eureka.server.renewal-threshold-update-interval-ms=900000");
+    private static final List<String> DEFAULT_CLIENT = List.of(
+            "--eureka.client.registry-fetch-interval-seconds=30",
+            "--spring.cloud.loadbalancer.cache.ttl=35s");
+
+    private final WebClient webClient = WebClient.create();
+    private final String gateway;
+    private final Duration probeInterval;
+    private final Duration timeout;
+
+    FailoverDetection(String gateway, Duration probeInterval, Duration timeout) {
+        this.gateway = gateway;
+        this.probeInterval = probeInterval;
+        this.timeout = timeout;
+    }
+
+    public static void main(String[] args) throws Exception {
+        List<String> arguments = new ArrayList<>(List.of("--output=target/failover"));
+        arguments.addAll(List.of(args));
+        LoadTestOptions options = LoadTestOptions.parse(arguments.toArray(String[]::new));
+        boolean eurekaDefaults = arguments.contains("--eureka-defaults=true");
+        Duration probeInterval = LoadTestOptions.duration(value(arguments, "probe-interval", "100ms"));
+        Duration timeout = LoadTestOptions.duration(value(arguments, "timeout", "3m"));
+
+        Result result;
+        try (LocalMesh mesh = new LocalMesh(options)) {
+            Runtime.getRuntime().addShutdownHook(new Thread(mesh::close, "failover-shutdown"));
+            Files.createDirectories(options.output().resolve("logs"));
+            var detection = new FailoverDetection(options.gateway(), probeInterval, timeout);
+            result = detection.run(mesh, options, eurekaDefaults);
+        }
+
+        String markdown = toMarkdown(result);
+        Files.writeString(options.output().resolve("report.md"), markdown);
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT)
+                .writeValue(options.output().resolve("report.json").toFile(), result);
+        System.out.printf("%n%s%nReport written to %s%n", markdown, options.output());
+    }
+
+    private Result run(LocalMesh mesh, LoadTestOptions options, boolean eurekaDefaults) throws Exception {
+        String registryClasspath = mesh.resolveClasspath(MeshService.REGISTRY);
+        String productClasspath = mesh.resolveClasspath(MeshService.PRODUCT);
+        String gatewayClasspath = mesh.resolveClasspath(MeshService.GATEWAY);
+
+        Process registry = mesh.launch(MeshService.REGISTRY, "registry-service", registryClasspath,
+                eurekaDefaults ? DEFAULT_REGISTRY : List.of());
+        mesh.awaitHealthy(MeshService.REGISTRY, registry);
+        Process survivor = mesh.launch(MeshService.PRODUCT, "product-service-a", productClasspath,
+                productArguments(MeshService.PRODUCT.port(), eurekaDefaults));
+        Process killed = mesh.launch(MeshService.PRODUCT, "product-service-b", productClasspath,
+                productArguments(KILLED_PORT, eurekaDefaults));
+        mesh.awaitHealthy(MeshService.PRODUCT, survivor);
+        mesh.await("product-service-b", "http://localhost:" + KILLED_PORT + MeshService.PRODUCT.readinessPath(), killed);
+        List<String> gatewayArguments = new ArrayList<>(List.of(
+                "--gateway.registry-snapshot.path=" + options.output().resolve("registry-snapshot.json")));
+        if (eurekaDefaults) {
+            gatewayArguments.addAll(DEFAULT_LEASE);
+            gatewayArguments.addAll(DEFAULT_CLIENT);
+        }
+        Process gatewayProcess = mesh.launch(MeshService.GATEWAY, "gateway-service", gatewayClasspath, gatewayArguments);
+        mesh.awaitHealthy(MeshService.GATEWAY, gatewayProcess);
+
+        // Las dos instancias tienen que estar recibiendo tráfico por el gateway antes de matar una
+        Set<Integer> seen = ConcurrentHashMap.newKeySet();
+        long deadline = System.nanoTime() + timeout.toNanos();
+        while (!seen.containsAll(List.of(MeshService.PRODUCT.port(), KILLED_PORT))) {
+            if (System.nanoTime() > deadline) {
+                throw new IllegalStateException("Gateway did not balance over both instances within " + timeout
+                        + ", saw " + seen);
+            }
+            probe().filter(port -> port > 0).blockOptional().ifPresent(seen::add);
+            Thread.sleep(POLL_INTERVAL.toMillis());
+        }
+        int renewalInterval = eurekaDefaults ? 30 : 5;
+        int[] renews = awaitSteadyRenewals(CLIENTS * 60 / renewalInterval - 1, deadline);
+        LOGGER.info("Gateway balances over {}, registry renews {}/min (threshold {}), killing product-service on {}",
+                seen, renews[1], renews[0], KILLED_PORT);
+
+        LongAdder probes = new LongAdder();
+        LongAdder failures = new LongAdder();
+        AtomicLong lastFailure = new AtomicLong(-1);
+        long killedAt = System.nanoTime();
+        killed.destroyForcibly();
+        Disposable probing = Flux.interval(probeInterval)
+                .flatMap(tick -> probe().doOnNext(port -> {
+                    probes.increment();
+                    if (port <= 0) {
+                        failures.increment();
+                        lastFailure.set(System.nanoTime() - killedAt);
+                    }
+                }))
+                .subscribe();
+
+        long registryNanos = -1;
+        long gatewayViewNanos = -1;
+        while ((registryNanos < 0 || gatewayViewNanos < 0) && System.nanoTime() - killedAt < timeout.toNanos()) {
+            if (registryNanos < 0 && registryInstances() == 1) {
+                registryNanos = System.nanoTime() - killedAt;
+                LOGGER.info("Registry evicted the instance after {} ms", registryNanos / 1_000_000);
+            }
+            if (gatewayViewNanos < 0 && gatewayViewInstances() == 1) {
+                gatewayViewNanos = System.nanoTime() - killedAt;
+                LOGGER.info("Gateway's registry copy dropped it after {} ms", gatewayViewNanos / 1_000_000);
+            }
+            Thread.sleep(POLL_INTERVAL.toMillis());
+        }
+        // Margen para la caché del balanceador y para ver si siguen llegando fallos
+        Thread.sleep(Duration.ofSeconds(eurekaDefaults ? 40 : 10).toMillis());
+        probing.dispose();
+
+        return new Result(eurekaDefaults ? "eureka-defaults" : "shipped", renews[0], renews[1],
+                millis(registryNanos), millis(gatewayViewNanos), probes.sum(), failures.sum(),
+                millis(lastFailure.get()), probeInterval.toMillis(), timeout.toMillis());
+    }
+
+    /**
+     * Waits until the registry's renewals of the last minute reach {@code renewals}; returns the
+     * renewal threshold and that count, as shown on the Eureka dashboard.
+     */
+    private int[] awaitSteadyRenewals(int renewals, long deadline) throws InterruptedException {
+        while (true) {
+            String dashboard = webClient.get().uri("http://localhost:" + MeshService.REGISTRY.port() + "/")
+                    .retrieve()
+                    .bodyToMono(String.class)
+                    .timeout(Duration.ofSeconds(2))
+                    .onErrorReturn("")
+                    .block();
+            Matcher threshold = RENEWS_THRESHOLD.matcher(dashboard);
+            Matcher lastMinute = RENEWS_LAST_MINUTE.matcher(dashboard);
+            if (threshold.find() && lastMinute.find() && Integer.parseInt(lastMinute.group(1)) >= renewals) {
+                return new int[]{Integer.parseInt(threshold.group(1)), Integer.parseInt(lastMinute.group(1))};
+            }
+            if (System.nanoTime() > deadline) {
+                throw new IllegalStateException("Registry did not count " + renewals + " renewals a minute within " + timeout);
+            }
+            Thread.sleep(Duration.ofSeconds(1).toMillis());
+        }
+    }
+
+    private static List<String> productArguments(int port, boolean eurekaDefaults) {
+        List<String> arguments = new ArrayList<>(List.of(
+                "--server.port=" + port,
+                // /actuator/info responde con el puerto: así se sabe qué instancia atendió
+                "--management.info.env.enabled=true",
+                "--info.port=" + port));
+        if (eurekaDefaults) {
+            arguments.addAll(DEFAULT_LEASE);
+            arguments.addAll(DEFAULT_CLIENT);
+        }
+        return arguments;
+    }
+
+    /**
+     * Port of the product-service instance that answered through the gateway, 0 on any failure.
+     */
+    private Mono<Integer> probe() {
+        return webClient.get().uri(gateway + "/product-service/actuator/info")
+                .retrieve()
+                .bodyToMono(JsonNode.class)
+                .map(body -> body.path("port").asInt())
+                .timeout(Duration.ofSeconds(5))
+                .onErrorReturn(0);
+    }
+
+    private int registryInstances() {
+        return webClient.get().uri("http://localhost:" + MeshService.REGISTRY.port() + "/eureka/apps/" + APPLICATION)
+                .accept(MediaType.APPLICATION_JSON)
+                .retrieve()
+                .bodyToMono(JsonNode.class)
+                .map(body -> body.path("application").path("instance").size())
+                .timeout(Duration.ofSeconds(2))
+                .onErrorReturn(-1)
+                .blockOptional()
+                .orElse(-1);
+    }
+
+    private int gatewayViewInstances() {
+        // El health indicator de Eureka cuenta las instancias por aplicación en la copia local del registro
+        return webClient.get().uri(gateway + "/actuator/health")
+                .exchangeToMono(response -> response.bodyToMono(JsonNode.class))
+                .map(body -> body.path("components").path("discoveryComposite").path("components").path("eureka")
+                        .path("details").path("applications").path(APPLICATION).asInt(-1))
+                .timeout(Duration.ofSeconds(2))
+                .onErrorReturn(-1)
+                .blockOptional()
+                .orElse(-1);
+    }
+
+    private static long millis(long nanos) {
+        return nanos < 0 ? -1 : nanos / 1_000_000;
+    }
+
+    private static String value(List<String> arguments, String name, String defaultValue) {
+        String prefix = "--" + name + "=";
+        return arguments.stream().filter(argument -> argument.startsWith(prefix))
+                .reduce((first, last) -> last)
+                .map(argument -> argument.substring(prefix.length()))
+                .orElse(defaultValue);
+    }
+
+    static String toMarkdown(Result result) {
+        return new StringBuilder()
+                .append("# Killed instance detection (").append(result.settings()).append(")\n\n")
+                .append("Milliseconds after SIGKILL of product-service on ").append(KILLED_PORT)
+                .append("; -1 = not within ").append(result.timeoutMillis() / 1000).append("s. ")
+                .append("Registry before the kill: ").append(result.renewsLastMinute()).append(" renewals in the last minute, ")
+                .append("threshold ").append(result.renewsThreshold()).append(".\n\n")
+                .append("| registry evicted | gateway registry copy | last failed probe | failed probes | probes |\n")
+                .append("|---:|---:|---:|---:|---:|\n")
+                .append("| %d | %d | %d | %d | %d |\n".formatted(result.registryMillis(), result.gatewayViewMillis(),
+                        result.lastFailedProbeMillis(), result.failedProbes(), result.probes()))
+                .toString();
+    }
+
+    /**
+     * One run: detection times in milliseconds after the kill, -1 when not reached within the timeout.
+     */
+    public record Result(String settings, int renewsThreshold, int renewsLastMinute, long registryMillis, long gatewayViewMillis, long probes,
+                         long failedProbes, long lastFailedProbeMillis, long probeIntervalMillis,
+                         long timeoutMillis) {
+    }
+}
@@ -0,0 +1,65 @@
+package pe.upc.edu.loadtests;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Result of a run: one {@link StepStats.Summary} per step plus the arrivals the generator could
+ * not start. Written as {@code report.json} (for diffing runs) and {@code report.md}.
+ */
+public record LoadReport(
+        Map<String, Object> settings,
+        double measuredSeconds,
+        long scenariosDropped,
+        long productsCreated,
+        long productsVisibleOnFetch,
+        List<StepStats.Summary> steps) {
+
+    public static LoadReport of(LoadTestOptions options, Duration measured, long dropped, long[] productVisibility,
+                                List<StepStats.Summary> steps) {
+        Map<String, Object> settings = new LinkedHashMap<>();
+        settings.put("rate", options.rate());
+        settings.put("duration", options.duration().toString());
+        settings.put("warmup", options.warmup().toString());
+        settings.put("users", options.users());
+        settings.put("productsPerScenario", options.products());
+        settings.put("maxInFlight", options.maxInFlight());
+        settings.put("gateway", options.gateway());
+        settings.put("servicesStarted", options.startServices());
+        return new LoadReport(settings, measured.toMillis() / 1000.0, dropped, productVisibility[0], productVisibility[1], steps);
+    }
+
+    public String toMarkdown() {
+        var out = new StringBuilder()
+                .append(String.format(Locale.ROOT, "Target rate %.1f scenarios/s, measured over %.1fs; %d arrivals dropped (max in flight)%n%n",
+                        (double) settings.get("rate"), measuredSeconds, scenariosDropped))
+                .append("| Step | Requests | Failed | req/s | p50 ms | p90 ms | p95 ms | p99 ms | p99.9 ms | max ms | Outcomes |\n")
+                .append("|---|---:|---:|---:|---:|---:|---:|---:|---:|---:|---|\n");
+        for (StepStats.Summary step : steps) {
+            out.append(String.format(Locale.ROOT, "| %s | %d | %d | %.1f | %.1f | %.1f | %.1f | %.1f | %.1f | %.1f | %s |%n",
+                    step.step(), step.requests(), step.failures(), step.throughputPerSecond(),
+                    step.p50Ms(), step.p90Ms(), step.p95Ms(), step.p99Ms(), step.p999Ms(), step.maxMs(), step.outcomes()));
+        }
+        if (productsCreated > 0) {
+            out.append(String.format(Locale.ROOT, "%nfetch-client returned %d of the %d products created (customer-service projection lag)%n",
+                    productsVisibleOnFetch, productsCreated));
+        }
+        return out.toString();
+    }
+
+    public void write(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT)
+                .writeValue(directory.resolve("report.json").toFile(), this);
+        Files.writeString(directory.resolve("report.md"), toMarkdown());
+    }
+}
@@ -0,0 +1,113 @@
+package pe.upc.edu.loadtests;
+
+import io.netty.channel.ChannelOption;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.IntStream;
+
+/**
+ * End-to-end load test of gateway → iam / customer → product. Starts the mesh on in-memory H2
+ * (see {@link LocalMesh}), signs up the virtual users, then starts {@link Scenario}s at a fixed
+ * arrival rate: an open model, so a slow system makes scenarios pile up instead of slowing the
+ * generator down, and latencies are not flattered by coordinated omission. The warm-up is run
+ * at the same rate and discarded.
+ * <pre>
+ * cd load-tests
+ * mvn package
+ * java -jar target/load-tests.jar --rate=20 --duration=2m --products=3
+ * </pre>
+ * The per-step table is printed and written to {@code target/load-test/report.{json,md}}.
+ * See {@link LoadTestOptions} for every flag.
+ */
+public class LoadTestMain {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(LoadTestMain.class);
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.parse(args);
+        LocalMesh mesh = options.startServices() ? new LocalMesh(options) : null;
+        if (mesh != null) {
+            Runtime.getRuntime().addShutdownHook(new Thread(mesh::close, "load-test-shutdown"));
+            mesh.start();
+        }
+        try {
+            LoadReport report = run(options);
+            report.write(options.output());
+            System.out.printf("%n%s%nReport written to %s%n", report.toMarkdown(), options.output());
+        } finally {
+            if (mesh != null) {
+                mesh.close();
+            }
+        }
+    }
+
+    static LoadReport run(LoadTestOptions options) {
+        ConnectionProvider connections = ConnectionProvider.builder("load-test")
+                .maxConnections(options.maxInFlight())
+                .pendingAcquireMaxCount(-1)
+                .build();
+        WebClient webClient = WebClient.builder()
+                .baseUrl(options.gateway())
+                .clientConnector(new ReactorClientHttpConnector(HttpClient.create(connections)
+                        .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, 5_000)))
+                .build();
+        Map<String, StepStats> stats = new LinkedHashMap<>();
+        Scenario.STEPS.forEach(step -> stats.put(step, new StepStats(step)));
+        long runId = System.currentTimeMillis() / 1000 % 1_000_000;
+        var scenario = new Scenario(webClient, stats, options.products(), runId);
+
+        // Una IP distinta por usuario: el gateway limita las escrituras por usuario/IP
+        List<Scenario.VirtualUser> users = IntStream.range(0, options.users())
+                .mapToObj(i -> new Scenario.VirtualUser("load-" + runId + "-" + i + "@example.com", "LoadTest-" + runId,
+                        "10.%d.%d.%d".formatted(ThreadLocalRandom.current().nextInt(1, 255), i / 250, i % 250 + 1)))
+                .toList();
+        LOGGER.info("Signing up {} users", users.size());
+        Flux.fromIterable(users).flatMap(scenario::signUp, 4).blockLast(Duration.ofMinutes(5));
+
+        LOGGER.info("Running {} scenarios/s: {} warm-up, then {} measured", options.rate(), options.warmup(), options.duration());
+        AtomicInteger inFlight = new AtomicInteger();
+        LongAdder dropped = new LongAdder();
+        AtomicLong measuredFrom = new AtomicLong(System.nanoTime());
+        Mono.delay(options.warmup()).subscribe(tick -> {
+            stats.values().forEach(StepStats::reset);
+            scenario.resetCounters();
+            dropped.reset();
+            measuredFrom.set(System.nanoTime());
+            LOGGER.info("Warm-up done, measuring");
+        });
+
+        Duration period = Duration.ofNanos((long) (1_000_000_000L / options.rate()));
+        Flux.interval(period)
+                .takeUntilOther(Mono.delay(options.warmup().plus(options.duration())))
+                .flatMap(iteration -> {
+                    if (inFlight.incrementAndGet() > options.maxInFlight()) {
+                        inFlight.decrementAndGet();
+                        dropped.increment();
+                        return Mono.empty();
+                    }
+                    return scenario.run(iteration, users.get((int) (iteration % users.size())))
+                            .doFinally(signal -> inFlight.decrementAndGet());
+                }, Integer.MAX_VALUE)
+                .blockLast();
+
+        Duration measured = Duration.ofNanos(System.nanoTime() - measuredFrom.get());
+        List<StepStats.Summary> summaries = stats.values().stream().map(step -> step.summarize(measured)).toList();
+        connections.dispose();
+        return LoadReport.of(options, measured, dropped.sum(), scenario.productVisibility(), summaries);
+    }
+}
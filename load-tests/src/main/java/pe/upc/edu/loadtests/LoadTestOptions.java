@@ -0,0 +1,79 @@
+package pe.upc.edu.loadtests;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Command line of the load test, {@code --name=value} pairs:
+ * <ul>
+ *     <li>{@code --rate}: scenarios started per second (open model, default 10).</li>
+ *     <li>{@code --duration} / {@code --warmup}: measured window and the discarded ramp before it
+ *     (defaults 60s and 15s; {@code ms}, {@code s} and {@code m} suffixes).</li>
+ *     <li>{@code --users}: accounts signed up before the run and used round robin (default 20).</li>
+ *     <li>{@code --products}: products created per scenario (default 3).</li>
+ *     <li>{@code --max-in-flight}: scenarios running at once; arrivals beyond it are counted as
+ *     dropped instead of queued (default 500).</li>
+ *     <li>{@code --start-services}: start the mesh on H2 (default true); with false the target at
+ *     {@code --gateway} must already be running.</li>
+ *     <li>{@code --project-dir}: directory holding the {@code *-service} modules (default {@code ..}).</li>
+ *     <li>{@code --service-jvm-args}: JVM flags of every started service (default {@code -Xmx512m}).</li>
+ *     <li>{@code --output}: report and service log directory (default {@code target/load-test}).</li>
+ * </ul>
+ */
+public record LoadTestOptions(
+        double rate,
+        Duration duration,
+        Duration warmup,
+        int users,
+        int products,
+        int maxInFlight,
+        String gateway,
+        boolean startServices,
+        Path projectDir,
+        List<String> serviceJvmArgs,
+        String maven,
+        Path output) {
+
+    public static LoadTestOptions parse(String[] args) {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value, got: " + arg);
+            }
+            values.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+        }
+        var options = new LoadTestOptions(
+                Double.parseDouble(values.getOrDefault("rate", "10")),
+                duration(values.getOrDefault("duration", "60s")),
+                duration(values.getOrDefault("warmup", "15s")),
+                Integer.parseInt(values.getOrDefault("users", "20")),
+                Integer.parseInt(values.getOrDefault("products", "3")),
+                Integer.parseInt(values.getOrDefault("max-in-flight", "500")),
+                values.getOrDefault("gateway", "http://localhost:8010"),
+                Boolean.parseBoolean(values.getOrDefault("start-services", "true")),
+                Path.of(values.getOrDefault("project-dir", "..")).toAbsolutePath().normalize(),
+                List.of(values.getOrDefault("service-jvm-args", "-Xmx512m").trim().split("\\s+")),
+                values.getOrDefault("maven", "mvn"),
+                Path.of(values.getOrDefault("output", "target/load-test")).toAbsolutePath());
+        if (options.rate <= 0 || options.users <= 0 || options.products < 0 || options.maxInFlight <= 0) {
+            throw new IllegalArgumentException("rate, users and max-in-flight must be positive and products not negative");
+        }
+        return options;
+    }
+
+    static Duration duration(String value) {
+        if (value.endsWith("ms")) {
+            return Duration.ofMillis(Long.parseLong(value.substring(0, value.length() - 2)));
+        }
+        if (value.endsWith("s")) {
+            return Duration.ofSeconds(Long.parseLong(value.substring(0, value.length() - 1)));
+        }
+        if (value.endsWith("m")) {
+            return Duration.ofMinutes(Long.parseLong(value.substring(0, value.length() - 1)));
+        }
+        return Duration.ofSeconds(Long.parseLong(value));
+    }
+}
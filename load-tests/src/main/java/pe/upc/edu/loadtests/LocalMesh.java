@@ -0,0 +1,166 @@
+package pe.upc.edu.loadtests;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Starts the services as local JVMs on in-memory H2 databases and stops them again. Each one
+ * runs from its own {@code target/classes} plus the classpath Maven resolves for it, so every
+ * service keeps its own {@code application.properties}; Postgres settings are overridden on the
+ * command line. Output goes to {@code <output>/logs/<service>.log}.
+ */
+public class LocalMesh implements AutoCloseable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(LocalMesh.class);
+
+    private static final Duration STARTUP_TIMEOUT = Duration.ofMinutes(3);
+    private static final Duration POLL_INTERVAL = Duration.ofSeconds(1);
+    private static final String CLASSPATH_FILE = "target/load-test.classpath";
+
+    private final LoadTestOptions options;
+    private final WebClient webClient = WebClient.create();
+    private final Map<String, Process> processes = new LinkedHashMap<>();
+
+    public LocalMesh(LoadTestOptions options) {
+        this.options = options;
+    }
+
+    public void start() throws IOException, InterruptedException {
+        Files.createDirectories(options.output().resolve("logs"));
+        for (MeshService service : MeshService.values()) {
+            if (isUp("http://localhost:" + service.port() + service.readinessPath())) {
+                throw new IllegalStateException("Port " + service.port() + " is already serving " + service.directory()
+                        + "; stop it or run with --start-services=false");
+            }
+        }
+        Map<MeshService, String> classpaths = new EnumMap<>(MeshService.class);
+        for (MeshService service : MeshService.values()) {
+            classpaths.put(service, resolveClasspath(service));
+        }
+
+        awaitHealthy(MeshService.REGISTRY, launch(MeshService.REGISTRY, classpaths.get(MeshService.REGISTRY)));
+        Map<MeshService, Process> started = new EnumMap<>(MeshService.class);
+        for (MeshService service : List.of(MeshService.IAM, MeshService.PRODUCT, MeshService.CUSTOMER)) {
+            started.put(service, launch(service, classpaths.get(service)));
+        }
+        for (Map.Entry<MeshService, Process> entry : started.entrySet()) {
+            awaitHealthy(entry.getKey(), entry.getValue());
+        }
+        awaitHealthy(MeshService.GATEWAY, launch(MeshService.GATEWAY, classpaths.get(MeshService.GATEWAY)));
+
+        // Listo cuando el gateway ya resuelve cada servicio por Eureka
+        for (String route : List.of("iam-service", "product-service", "customer-service")) {
+            await(route + " through the gateway", options.gateway() + "/" + route + "/actuator/health", null);
+        }
+        LOGGER.info("Mesh is up, service logs in {}", options.output().resolve("logs"));
+    }
+
+    String resolveClasspath(MeshService service) throws IOException, InterruptedException {
+        Path directory = options.projectDir().resolve(service.directory());
+        LOGGER.info("Compiling {} and resolving its {} classpath", service.directory(), service.classpathScope());
+        Process maven = new ProcessBuilder(options.maven(), "-q", "-B", "-DskipTests",
+                "compile", "dependency:build-classpath",
+                "-Dmdep.includeScope=" + service.classpathScope(),
+                "-Dmdep.outputFile=" + CLASSPATH_FILE)
+                .directory(directory.toFile())
+                .redirectErrorStream(true)
+                .redirectOutput(options.output().resolve("logs").resolve(service.directory() + "-build.log").toFile())
+                .start();
+        if (maven.waitFor() != 0) {
+            throw new IllegalStateException("Maven failed for " + service.directory() + ", see "
+                    + options.output().resolve("logs").resolve(service.directory() + "-build.log"));
+        }
+        return directory.resolve("target/classes") + File.pathSeparator
+                + Files.readString(directory.resolve(CLASSPATH_FILE)).trim();
+    }
+
+    private Process launch(MeshService service, String classpath) throws IOException {
+        return launch(service, service.directory(), classpath, List.of());
+    }
+
+    /**
+     * Starts {@code service} with {@code extraArguments} after its own, logging to {@code <name>.log};
+     * {@link #close()} stops it with the rest.
+     */
+    Process launch(MeshService service, String name, String classpath, List<String> extraArguments) throws IOException {
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(options.serviceJvmArgs());
+        command.add("-cp");
+        command.add(classpath);
+        command.add(service.mainClass());
+        command.addAll(service.arguments());
+        command.addAll(extraArguments);
+
+        LOGGER.info("Starting {}{}", name, extraArguments.isEmpty() ? "" : " " + String.join(" ", extraArguments));
+        Process process = new ProcessBuilder(command)
+                .directory(options.projectDir().resolve(service.directory()).toFile())
+                .redirectErrorStream(true)
+                .redirectOutput(options.output().resolve("logs").resolve(name + ".log").toFile())
+                .start();
+        processes.put(name, process);
+        return process;
+    }
+
+    void awaitHealthy(MeshService service, Process process) throws InterruptedException {
+        await(service.directory(), "http://localhost:" + service.port() + service.readinessPath(), process);
+    }
+
+    void await(String what, String url, Process process) throws InterruptedException {
+        long deadline = System.nanoTime() + STARTUP_TIMEOUT.toNanos();
+        while (!isUp(url)) {
+            if (process != null && !process.isAlive()) {
+                throw new IllegalStateException(what + " exited with status " + process.exitValue()
+                        + ", see " + options.output().resolve("logs"));
+            }
+            if (System.nanoTime() > deadline) {
+                throw new IllegalStateException(what + " not healthy after " + STARTUP_TIMEOUT);
+            }
+            Thread.sleep(POLL_INTERVAL.toMillis());
+        }
+        LOGGER.info("{} is up", what);
+    }
+
+    private boolean isUp(String url) {
+        return Boolean.TRUE.equals(webClient.get().uri(url)
+                .exchangeToMono(response -> Mono.just(response.statusCode().is2xxSuccessful()))
+                .timeout(Duration.ofSeconds(2))
+                .onErrorReturn(false)
+                .block());
+    }
+
+    @Override
+    public synchronized void close() {
+        // En orden inverso y de a uno: el registro es lo último en caer
+        List<String> names = new ArrayList<>(processes.keySet());
+        Collections.reverse(names);
+        for (String name : names) {
+            Process process = processes.remove(name);
+            process.descendants().forEach(ProcessHandle::destroy);
+            process.destroy();
+            try {
+                if (!process.waitFor(20, TimeUnit.SECONDS)) {
+                    process.destroyForcibly();
+                }
+            } catch (InterruptedException e) {
+                process.destroyForcibly();
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
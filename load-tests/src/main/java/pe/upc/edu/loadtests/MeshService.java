@@ -0,0 +1,93 @@
+package pe.upc.edu.loadtests;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Services the load test starts, in start order. Ports are the ones in each service's
+ * {@code application.properties}: the services point at each other (Eureka, RSocket) through
+ * them, so they are kept rather than randomized.
+ */
+public enum MeshService {
+    REGISTRY("registry-service", "pe.upc.edu.registryservice.RegistryServiceApplication", 8090, null, List.of()),
+    IAM("iam-service", "pe.upc.edu.iamservice.IamServiceApplication", 8050, "iamDB",
+            // el perfil por defecto deja iam en DEBUG, lo que distorsionaría las latencias
+            List.of("--logging.level.pe.upc.edu.iamservice=INFO", "--logging.level.org.springframework.r2dbc=INFO")),
+    PRODUCT("product-service", "pe.upc.edu.productservice.ProductServiceApplication", 8020, "productDB", List.of()),
+    CUSTOMER("customer-service", "pe.upc.edu.customerservice.CustomerServiceApplication", 8030, "customerDB", List.of()),
+    GATEWAY("gateway-service", "pe.upc.edu.gatewayservice.GatewayServiceApplication", 8010, null,
+            // cada usuario virtual manda su propia IP en X-Forwarded-For: un bucket de rate limit por usuario
+            List.of("--gateway.rate-limiter.trust-forwarded-for=true"));
+
+    private static final List<String> COMMON_ARGUMENTS = List.of("--spring.boot.admin.client.enabled=false");
+
+    private final String directory;
+    private final String mainClass;
+    private final int port;
+    private final String database;
+    private final List<String> extraArguments;
+
+    MeshService(String directory, String mainClass, int port, String database, List<String> extraArguments) {
+        this.directory = directory;
+        this.mainClass = mainClass;
+        this.port = port;
+        this.database = database;
+        this.extraArguments = extraArguments;
+    }
+
+    public String directory() {
+        return directory;
+    }
+
+    public String mainClass() {
+        return mainClass;
+    }
+
+    public int port() {
+        return port;
+    }
+
+    /**
+     * Path answering 200 once the service is up; the registry has no actuator.
+     */
+    public String readinessPath() {
+        return this == REGISTRY ? "/eureka/apps" : "/actuator/health";
+    }
+
+    public boolean usesDatabase() {
+        return database != null;
+    }
+
+    /**
+     * Whether its {@code fast-startup} build contains AOT-generated code; Eureka Server does not
+     * support AOT, so the registry's profile only produces the CDS archive.
+     */
+    public boolean aotProcessed() {
+        return this != REGISTRY;
+    }
+
+    /**
+     * Path answering 200 as soon as the HTTP server is up, whether or not the database is.
+     */
+    public String firstRequestPath() {
+        return this == REGISTRY ? "/eureka/apps" : "/actuator/info";
+    }
+
+    /**
+     * Maven scope whose classpath starts the service: the H2 R2DBC driver is a test dependency.
+     */
+    public String classpathScope() {
+        return database != null ? "test" : "runtime";
+    }
+
+    public List<String> arguments() {
+        var arguments = new ArrayList<>(COMMON_ARGUMENTS);
+        if (database != null) {
+            arguments.add("--spring.r2dbc.url=r2dbc:h2:mem:///" + database + "?options=MODE=PostgreSQL;DB_CLOSE_DELAY=-1");
+            arguments.add("--spring.r2dbc.username=sa");
+            arguments.add("--spring.r2dbc.password=");
+        }
+        arguments.addAll(extraArguments);
+        return arguments;
+    }
+}
@@ -0,0 +1,175 @@
+package pe.upc.edu.loadtests;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.MissingNode;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * One pass of a user through the mesh, every request going through the gateway:
+ * sign in, create a client, create its products and read the client back with them.
+ * A failing step ends the pass; it is counted in that step and in {@code scenario}.
+ */
+public class Scenario {
+
+    public static final String SIGN_IN = "sign-in";
+    public static final String CREATE_CLIENT = "create-client";
+    public static final String CREATE_PRODUCT = "create-product";
+    public static final String FETCH_CLIENT = "fetch-client";
+    public static final String SCENARIO = "scenario";
+    public static final List<String> STEPS = List.of(SIGN_IN, CREATE_CLIENT, CREATE_PRODUCT, FETCH_CLIENT, SCENARIO);
+
+    private static final Duration STEP_TIMEOUT = Duration.ofSeconds(30);
+    private static final String CORRELATION_HEADER = "X-Correlation-Id";
+    // Clave estable por alta: un reintento de la misma alta no crea un duplicado
+    private static final String IDEMPOTENCY_HEADER = "Idempotency-Key";
+    private static final List<String> PRODUCT_TYPES = List.of("SAVINGS_ACCOUNT", "CHECKING_ACCOUNT", "CREDIT_CARD", "DEBIT_CARD");
+
+    private final WebClient webClient;
+    private final Map<String, StepStats> stats;
+    private final int products;
+    private final long runId;
+    private final LongAdder productsCreated = new LongAdder();
+    private final LongAdder productsVisible = new LongAdder();
+
+    public Scenario(WebClient webClient, Map<String, StepStats> stats, int products, long runId) {
+        this.webClient = webClient;
+        this.stats = stats;
+        this.products = products;
+        this.runId = runId;
+    }
+
+    public Mono<Void> run(long iteration, VirtualUser user) {
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            String correlationId = "lt-" + runId + "-" + iteration;
+            return signIn(user, correlationId)
+                    .flatMap(token -> createClient(iteration, user, token, correlationId)
+                            .flatMap(client -> createProducts(client.path("id").asLong(), iteration, user, token, correlationId)
+                                    .then(fetchClient(client.path("uniqueCode").asText(), user, token, correlationId))))
+                    .doOnSuccess(client -> stats.get(SCENARIO).record(System.nanoTime() - start, "completed", true))
+                    .doOnError(error -> stats.get(SCENARIO).record(System.nanoTime() - start,
+                            error instanceof StepFailedException failed ? failed.step : "error", false))
+                    .onErrorResume(error -> Mono.empty())
+                    .then();
+        });
+    }
+
+    /**
+     * Signs the user up; used once per virtual user before the run and not measured.
+     */
+    public Mono<Void> signUp(VirtualUser user) {
+        return webClient.post().uri("/iam-service/api/v1/users/sign-up")
+                .headers(headers(user, null, "lt-" + runId + "-sign-up"))
+                .bodyValue(Map.of("email", user.email(), "password", user.password()))
+                .retrieve()
+                .toBodilessEntity()
+                .then();
+    }
+
+    /**
+     * Products created and products returned by {@code fetch-client}; the latter comes from
+     * customer-service's projection of the product change feed, so it lags behind.
+     */
+    public long[] productVisibility() {
+        return new long[]{productsCreated.sum(), productsVisible.sum()};
+    }
+
+    public void resetCounters() {
+        productsCreated.reset();
+        productsVisible.reset();
+    }
+
+    private Mono<String> signIn(VirtualUser user, String correlationId) {
+        return step(SIGN_IN, webClient.post().uri("/iam-service/api/v1/users/sign-in")
+                .headers(headers(user, null, correlationId))
+                .bodyValue(Map.of("email", user.email(), "password", user.password())))
+                .map(body -> body.path("token").asText());
+    }
+
+    private Mono<JsonNode> createClient(long iteration, VirtualUser user, String token, String correlationId) {
+        // full_name debe ser único; uniqueCode lo genera customer-service
+        return step(CREATE_CLIENT, webClient.post().uri("/customer-service/api/v1/clients")
+                .headers(headers(user, token, correlationId))
+                .header(IDEMPOTENCY_HEADER, runId + "-client-" + iteration)
+                .bodyValue(Map.of(
+                        "full_name", "Load " + runId + " " + iteration,
+                        "full_last_name", "Test",
+                        "type_document", "DNI",
+                        "number_document", String.format("%08d", iteration % 100_000_000))));
+    }
+
+    private Mono<Void> createProducts(long clientId, long iteration, VirtualUser user, String token, String correlationId) {
+        return Flux.range(0, products)
+                .concatMap(i -> step(CREATE_PRODUCT, webClient.post().uri("/product-service/api/v1/products")
+                        .headers(headers(user, token, correlationId))
+                        .header(IDEMPOTENCY_HEADER, runId + "-product-" + iteration + "-" + i)
+                        .bodyValue(Map.of(
+                                "clientId", clientId,
+                                "productType", PRODUCT_TYPES.get((int) ((iteration + i) % PRODUCT_TYPES.size())),
+                                "name", "Product " + i,
+                                "balance", 100.0 * (i + 1))))
+                        .doOnNext(product -> productsCreated.increment()))
+                .then();
+    }
+
+    private Mono<JsonNode> fetchClient(String encryptedCode, VirtualUser user, String token, String correlationId) {
+        return step(FETCH_CLIENT, webClient.get().uri("/customer-service/api/v1/clients/{code}", encryptedCode)
+                .headers(headers(user, token, correlationId)))
+                .doOnNext(client -> productsVisible.add(client.path("products").size()));
+    }
+
+    private static Consumer<HttpHeaders> headers(VirtualUser user, String token, String correlationId) {
+        return headers -> {
+            headers.set("X-Forwarded-For", user.forwardedFor());
+            headers.set(CORRELATION_HEADER, correlationId);
+            if (token != null) {
+                headers.setBearerAuth(token);
+            }
+        };
+    }
+
+    private Mono<JsonNode> step(String name, WebClient.RequestHeadersSpec<?> request) {
+        StepStats step = stats.get(name);
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            return request.exchangeToMono(response -> response.bodyToMono(JsonNode.class)
+                            .defaultIfEmpty(MissingNode.getInstance())
+                            .map(body -> new Response(response.statusCode().value(), body)))
+                    .timeout(STEP_TIMEOUT)
+                    .doOnError(error -> step.record(System.nanoTime() - start,
+                            error instanceof TimeoutException ? "timeout" : "error", false))
+                    .flatMap(response -> {
+                        boolean success = response.status() / 100 == 2 && !response.body().isMissingNode();
+                        step.record(System.nanoTime() - start,
+                                response.body().isMissingNode() && response.status() / 100 == 2 ? "empty" : String.valueOf(response.status()),
+                                success);
+                        return success ? Mono.just(response.body()) : Mono.error(new StepFailedException(name));
+                    });
+        });
+    }
+
+    private record Response(int status, JsonNode body) {
+    }
+
+    public record VirtualUser(String email, String password, String forwardedFor) {
+    }
+
+    static class StepFailedException extends RuntimeException {
+        private final String step;
+
+        StepFailedException(String step) {
+            super(step + " failed", null, false, false);
+            this.step = step;
+        }
+    }
+}
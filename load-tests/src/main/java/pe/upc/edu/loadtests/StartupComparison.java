@@ -0,0 +1,313 @@
+package pe.upc.edu.loadtests;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Startup time before and after the {@code fast-startup} Maven profile. Packages every service
+ * twice (plain fat jar, then the extracted, AOT-processed jar with its CDS archive), launches each
+ * variant {@code --runs} times and records two numbers per launch: Spring's own
+ * {@code Started ... in N seconds} and the wall time from process start to the first 200 on a
+ * path that does not need the database ({@link MeshService#firstRequestPath()}).
+ * <pre>
+ * cd load-tests
+ * mvn package
+ * java -cp target/load-tests.jar pe.upc.edu.loadtests.StartupComparison --runs=5
+ * </pre>
+ * The registry is measured first and then kept running, so the other services start against a
+ * live Eureka as they would in production. Schema initialization is skipped in both variants
+ * ({@code --database.initialize=false}); no database has to be running. Flags: {@code --runs}
+ * (default 3), {@code --build} (default true; false reuses the previous copies),
+ * {@code --project-dir}, {@code --maven}, {@code --service-jvm-args} as in {@link LoadTestOptions},
+ * and {@code --output} (default {@code target/startup}).
+ */
+public class StartupComparison {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(StartupComparison.class);
+
+    private static final Duration STARTUP_TIMEOUT = Duration.ofMinutes(2);
+    private static final Duration POLL_INTERVAL = Duration.ofMillis(10);
+    private static final Pattern STARTED = Pattern.compile("Started \\S+ in (\\d+(?:\\.\\d+)?) seconds");
+    private static final String VERSION = "-0.0.1-SNAPSHOT";
+
+    private final Path projectDir;
+    private final Path output;
+    private final String maven;
+    private final List<String> jvmArgs;
+    private final WebClient webClient = WebClient.create();
+
+    StartupComparison(Path projectDir, Path output, String maven, List<String> jvmArgs) {
+        this.projectDir = projectDir;
+        this.output = output;
+        this.maven = maven;
+        this.jvmArgs = jvmArgs;
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value, got: " + arg);
+            }
+            values.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+        }
+        int runs = Integer.parseInt(values.getOrDefault("runs", "3"));
+        var comparison = new StartupComparison(
+                Path.of(values.getOrDefault("project-dir", "..")).toAbsolutePath().normalize(),
+                Path.of(values.getOrDefault("output", "target/startup")).toAbsolutePath(),
+                values.getOrDefault("maven", "mvn"),
+                List.of(values.getOrDefault("service-jvm-args", "-Xmx512m").trim().split("\\s+")));
+        Files.createDirectories(comparison.output.resolve("logs"));
+        if (Boolean.parseBoolean(values.getOrDefault("build", "true"))) {
+            for (MeshService service : MeshService.values()) {
+                comparison.build(service);
+            }
+        }
+
+        List<Result> results = new ArrayList<>();
+        results.addAll(comparison.measure(MeshService.REGISTRY, runs));
+        Process registry = comparison.launch(MeshService.REGISTRY, Mode.DEFAULT, "registry");
+        try {
+            comparison.awaitFirstResponse(MeshService.REGISTRY, registry, System.nanoTime());
+            for (MeshService service : List.of(MeshService.IAM, MeshService.PRODUCT, MeshService.CUSTOMER, MeshService.GATEWAY)) {
+                results.addAll(comparison.measure(service, runs));
+            }
+        } finally {
+            stop(registry);
+        }
+
+        String markdown = toMarkdown(results, runs);
+        Files.writeString(comparison.output.resolve("report.md"), markdown);
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT)
+                .writeValue(comparison.output.resolve("report.json").toFile(), results);
+        System.out.printf("%n%s%nReport written to %s%n", markdown, comparison.output);
+    }
+
+    /**
+     * Packages both variants and copies them under {@code <output>/<mode>/<service>}: the second
+     * package run overwrites the module's jar, so the plain one has to be set aside first.
+     */
+    private void build(MeshService service) throws IOException, InterruptedException {
+        Path module = projectDir.resolve(service.directory());
+        Path jar = module.resolve("target").resolve(service.directory() + VERSION + ".jar");
+
+        maven(service, "package");
+        Path plain = output.resolve(Mode.DEFAULT.directory).resolve(service.directory());
+        Files.createDirectories(plain);
+        Files.copy(jar, plain.resolve(jar.getFileName()), StandardCopyOption.REPLACE_EXISTING);
+
+        maven(service, "-Pfast-startup", "package");
+        Path fast = output.resolve(Mode.FAST_STARTUP.directory).resolve(service.directory());
+        deleteRecursively(fast);
+        copyRecursively(module.resolve("target/fast-startup"), fast);
+
+        // Deja el módulo como estaba: un target/classes sin código AOT
+        maven(service, "package");
+    }
+
+    private void maven(MeshService service, String... goals) throws IOException, InterruptedException {
+        List<String> command = new ArrayList<>(List.of(maven, "-q", "-B", "-DskipTests"));
+        command.addAll(List.of(goals));
+        Path log = output.resolve("logs").resolve(service.directory() + "-build.log");
+        LOGGER.info("{}: mvn {}", service.directory(), String.join(" ", goals));
+        Process process = new ProcessBuilder(command)
+                .directory(projectDir.resolve(service.directory()).toFile())
+                .redirectErrorStream(true)
+                .redirectOutput(log.toFile())
+                .start();
+        if (process.waitFor() != 0) {
+            throw new IllegalStateException("Maven failed for " + service.directory() + ", see " + log);
+        }
+    }
+
+    private List<Result> measure(MeshService service, int runs) throws IOException, InterruptedException {
+        List<Result> results = new ArrayList<>();
+        for (Mode mode : Mode.values()) {
+            List<Double> started = new ArrayList<>();
+            List<Double> firstResponse = new ArrayList<>();
+            // Una ejecución descartada por variante: calienta la caché de páginas del sistema operativo
+            for (int run = 0; run <= runs; run++) {
+                String name = service.directory() + "-" + mode.directory + "-" + run;
+                long launched = System.nanoTime();
+                Process process = launch(service, mode, name);
+                try {
+                    double millis = awaitFirstResponse(service, process, launched);
+                    double seconds = awaitStarted(process, output.resolve("logs").resolve(name + ".log"));
+                    if (run > 0) {
+                        firstResponse.add(millis);
+                        started.add(seconds);
+                    }
+                } finally {
+                    stop(process);
+                }
+            }
+            Result result = new Result(service.directory(), mode.directory, median(started), median(firstResponse),
+                    started, firstResponse);
+            LOGGER.info("{} {}: started in {}s, first response after {} ms", result.service(), result.mode(),
+                    result.startedSeconds(), Math.round(result.firstResponseMillis()));
+            results.add(result);
+        }
+        return results;
+    }
+
+    private Process launch(MeshService service, Mode mode, String name) throws IOException {
+        Path directory = output.resolve(mode.directory).resolve(service.directory());
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(jvmArgs);
+        if (mode == Mode.FAST_STARTUP) {
+            command.add("-XX:SharedArchiveFile=application.jsa");
+            if (service.aotProcessed()) {
+                command.add("-Dspring.aot.enabled=true");
+            }
+        }
+        command.add("-jar");
+        command.add(service.directory() + VERSION + ".jar");
+        command.add("--spring.boot.admin.client.enabled=false");
+        if (service.usesDatabase()) {
+            command.add("--database.initialize=false");
+        }
+        return new ProcessBuilder(command)
+                .directory(directory.toFile())
+                .redirectErrorStream(true)
+                .redirectOutput(output.resolve("logs").resolve(name + ".log").toFile())
+                .start();
+    }
+
+    private double awaitFirstResponse(MeshService service, Process process, long launched) throws InterruptedException {
+        String url = "http://localhost:" + service.port() + service.firstRequestPath();
+        long deadline = launched + STARTUP_TIMEOUT.toNanos();
+        while (!isUp(url)) {
+            if (!process.isAlive()) {
+                throw new IllegalStateException(service.directory() + " exited with status " + process.exitValue()
+                        + ", see " + output.resolve("logs"));
+            }
+            if (System.nanoTime() > deadline) {
+                throw new IllegalStateException(service.directory() + " not answering after " + STARTUP_TIMEOUT);
+            }
+            Thread.sleep(POLL_INTERVAL.toMillis());
+        }
+        return (System.nanoTime() - launched) / 1_000_000.0;
+    }
+
+    // El servidor HTTP arranca durante el refresh: la primera respuesta puede llegar antes del log
+    private static double awaitStarted(Process process, Path log) throws IOException, InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(30).toNanos();
+        while (System.nanoTime() < deadline && process.isAlive()) {
+            Matcher matcher = STARTED.matcher(Files.readString(log));
+            if (matcher.find()) {
+                return Double.parseDouble(matcher.group(1));
+            }
+            Thread.sleep(POLL_INTERVAL.toMillis());
+        }
+        throw new IllegalStateException("No 'Started ... in N seconds' line in " + log);
+    }
+
+    private boolean isUp(String url) {
+        return Boolean.TRUE.equals(webClient.get().uri(url)
+                .exchangeToMono(response -> Mono.just(response.statusCode().is2xxSuccessful()))
+                .timeout(Duration.ofSeconds(2))
+                .onErrorReturn(false)
+                .block());
+    }
+
+    private static void stop(Process process) throws InterruptedException {
+        process.destroy();
+        if (!process.waitFor(20, TimeUnit.SECONDS)) {
+            process.destroyForcibly().waitFor();
+        }
+    }
+
+    private static double median(List<Double> values) {
+        List<Double> sorted = values.stream().sorted().toList();
+        int middle = sorted.size() / 2;
+        return sorted.size() % 2 == 1 ? sorted.get(middle) : (sorted.get(middle - 1) + sorted.get(middle)) / 2;
+    }
+
+    static String toMarkdown(List<Result> results, int runs) {
+        var markdown = new StringBuilder()
+                .append("# Startup: default vs fast-startup\n\n")
+                .append("Median of ").append(runs).append(" launches per variant, after one discarded launch.\n\n")
+                .append("| service | started in (s), default | fast-startup | change "
+                        + "| first response (ms), default | fast-startup | change |\n")
+                .append("|---|---:|---:|---:|---:|---:|---:|\n");
+        Map<String, Result[]> byService = new LinkedHashMap<>();
+        for (Result result : results) {
+            Result[] pair = byService.computeIfAbsent(result.service(), key -> new Result[2]);
+            pair[Mode.FAST_STARTUP.directory.equals(result.mode()) ? 1 : 0] = result;
+        }
+        byService.forEach((service, pair) -> markdown.append("| %s | %.2f | %.2f | %s | %d | %d | %s |\n".formatted(
+                service,
+                pair[0].startedSeconds(), pair[1].startedSeconds(),
+                change(pair[0].startedSeconds(), pair[1].startedSeconds()),
+                Math.round(pair[0].firstResponseMillis()), Math.round(pair[1].firstResponseMillis()),
+                change(pair[0].firstResponseMillis(), pair[1].firstResponseMillis()))));
+        return markdown.toString();
+    }
+
+    private static String change(double before, double after) {
+        return "%+.0f%%".formatted((after - before) / before * 100);
+    }
+
+    private static void copyRecursively(Path source, Path target) throws IOException {
+        try (Stream<Path> paths = Files.walk(source)) {
+            for (Path path : (Iterable<Path>) paths::iterator) {
+                Path destination = target.resolve(source.relativize(path).toString());
+                if (Files.isDirectory(path)) {
+                    Files.createDirectories(destination);
+                } else {
+                    Files.copy(path, destination, StandardCopyOption.REPLACE_EXISTING);
+                }
+            }
+        }
+    }
+
+    private static void deleteRecursively(Path directory) throws IOException {
+        if (!Files.exists(directory)) {
+            return;
+        }
+        try (Stream<Path> paths = Files.walk(directory)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(path);
+            }
+        }
+    }
+
+    private enum Mode {
+        DEFAULT("default"),
+        FAST_STARTUP("fast-startup");
+
+        private final String directory;
+
+        Mode(String directory) {
+            this.directory = directory;
+        }
+    }
+
+    /**
+     * Medians plus every measured launch of one service in one variant.
+     */
+    public record Result(String service, String mode, double startedSeconds, double firstResponseMillis,
+                         List<Double> startedRuns, List<Double> firstResponseRuns) {
+    }
+}
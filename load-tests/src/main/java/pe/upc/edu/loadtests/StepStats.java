@@ -0,0 +1,75 @@
+package pe.upc.edu.loadtests;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latencies and outcomes of one scenario step. Recording is lock free (HdrHistogram
+ * {@link Recorder} plus adders), so the load generator threads never wait on each other here.
+ */
+public class StepStats {
+
+    private static final double NANOS_PER_MILLI = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final String name;
+    private final Recorder recorder = new Recorder(3);
+    private final LongAdder failures = new LongAdder();
+    private final Map<String, LongAdder> outcomes = new ConcurrentHashMap<>();
+
+    public StepStats(String name) {
+        this.name = name;
+    }
+
+    /**
+     * @param outcome HTTP status, or {@code timeout} / {@code error} / {@code empty} when there
+     *                was no usable response
+     */
+    public void record(long nanos, String outcome, boolean success) {
+        recorder.recordValue(nanos);
+        if (!success) {
+            failures.increment();
+        }
+        outcomes.computeIfAbsent(outcome, key -> new LongAdder()).increment();
+    }
+
+    public void reset() {
+        recorder.reset();
+        failures.reset();
+        outcomes.clear();
+    }
+
+    public Summary summarize(Duration window) {
+        Histogram histogram = recorder.getIntervalHistogram();
+        long count = histogram.getTotalCount();
+        Map<String, Long> byOutcome = new TreeMap<>();
+        outcomes.forEach((outcome, adder) -> byOutcome.put(outcome, adder.sum()));
+        return new Summary(
+                name,
+                count,
+                failures.sum(),
+                count / (window.toNanos() / 1e9),
+                millis(histogram.getValueAtPercentile(50)),
+                millis(histogram.getValueAtPercentile(90)),
+                millis(histogram.getValueAtPercentile(95)),
+                millis(histogram.getValueAtPercentile(99)),
+                millis(histogram.getValueAtPercentile(99.9)),
+                millis(histogram.getMaxValue()),
+                byOutcome);
+    }
+
+    private static double millis(long nanos) {
+        return nanos / NANOS_PER_MILLI;
+    }
+
+    public record Summary(String step, long requests, long failures, double throughputPerSecond,
+                          double p50Ms, double p90Ms, double p95Ms, double p99Ms, double p999Ms, double maxMs,
+                          Map<String, Long> outcomes) {
+    }
+}
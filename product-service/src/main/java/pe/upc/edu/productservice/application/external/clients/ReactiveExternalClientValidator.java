@@ -2,9 +2,13 @@ package pe.upc.edu.productservice.application.external.clients;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.reactive.function.client.WebClientResponseException;
+import pe.upc.edu.productservice.infrastructure.rsocket.RSocketRequesterPool;
+import pe.upc.edu.servicecommons.deadline.Deadline;
+import pe.upc.edu.servicecommons.deadline.DeadlineExceededException;
 import reactor.core.publisher.Mono;
 import reactor.util.retry.Retry;
 import java.time.Duration;
@@ -13,43 +17,63 @@ import java.time.Duration;
 public class ReactiveExternalClientValidator {
     private static final Logger logger = LoggerFactory.getLogger(ReactiveExternalClientValidator.class);
     private final WebClient customerServiceWebClient;
+    private final RSocketRequesterPool customerServiceRequesters;
+    private final boolean rsocketEnabled;
+    private final Duration rsocketTimeout;
 
-    public ReactiveExternalClientValidator(WebClient customerServiceWebClient) {
+    public ReactiveExternalClientValidator(WebClient customerServiceWebClient,
+                                           RSocketRequesterPool customerServiceRequesters,
+                                           @Value("${rsocket.customer-service.enabled:false}") boolean rsocketEnabled,
+                                           @Value("${rsocket.customer-service.timeout:2s}") Duration rsocketTimeout) {
         this.customerServiceWebClient = customerServiceWebClient;
+        this.customerServiceRequesters = customerServiceRequesters;
+        this.rsocketEnabled = rsocketEnabled;
+        this.rsocketTimeout = rsocketTimeout;
     }
 
     /**
-     * Valida de forma asíncrona si un cliente existe usando su ID directamente
+     * Valida de forma asíncrona si un cliente existe usando su ID directamente. Con
+     * {@code rsocket.customer-service.enabled} pregunta por RSocket ({@code clients.exists})
+     * y recurre a HTTP si la conexión falla o no responde a tiempo.
      * @param clientId El ID del cliente (no uniqueCode, sino el ID real)
      * @return Mono<Boolean> - true si existe, false si no existe
      */
     public Mono<Boolean> clientExists(Long clientId) {
-        logger.info("🔍 Validating client existence for clientId: {}", clientId);
+        if (!rsocketEnabled) {
+            return clientExistsOverHttp(clientId);
+        }
+        return customerServiceRequesters.next()
+                .flatMap(requester -> requester.route("clients.exists")
+                        .data(clientId)
+                        .retrieveMono(Boolean.class))
+                .transform(Deadline.timeout(rsocketTimeout))
+                .doOnSuccess(exists -> logger.debug("Client {} exists over RSocket: {}", clientId, exists))
+                .onErrorResume(error -> !(error instanceof DeadlineExceededException), error -> {
+                    logger.warn("RSocket validation of client {} failed ({}), falling back to HTTP",
+                            clientId, error.toString());
+                    return clientExistsOverHttp(clientId);
+                });
+    }
 
-        String uri = "/api/v1/clients/id/" + clientId;
-        logger.info("🌐 Making request to: {}", uri);
+    private Mono<Boolean> clientExistsOverHttp(Long clientId) {
+        // Plantilla de URI: la métrica http.client.requests se agrupa por plantilla, no por cliente
+        String uri = "/api/v1/clients/id/{clientId}";
+        logger.debug("Validating client {} over HTTP", clientId);
 
         return customerServiceWebClient
                 .get()
-                .uri(uri)
+                .uri(uri, clientId)
                 .retrieve()
-                .bodyToMono(Object.class)
-                .doOnNext(response -> logger.info("✅ Client {} exists, response: {}", clientId, response))
+                .toBodilessEntity() // Solo importa el estado: el cuerpo se descarta sin deserializarlo
                 .map(response -> true) // Si hay respuesta, el cliente existe
-                .doOnError(error -> {
-                    if (error instanceof WebClientResponseException.NotFound) {
-                        logger.warn("❌ Client {} not found (404)", clientId);
-                    } else {
-                        logger.error("💥 Error validating client {}: {}", clientId, error.getMessage());
-                    }
-                })
+                // Los 404 son respuestas normales; los demás fallos se registran una vez, tras los reintentos
                 .onErrorReturn(WebClientResponseException.NotFound.class, false) // 404 = no existe
-                .timeout(Duration.ofSeconds(5)) // Timeout de 5 segundos
-                .retryWhen(Retry.backoff(2, Duration.ofMillis(500))) // 2 reintentos con backoff
-                .doOnSuccess(exists -> logger.info("🎯 Final validation result for client {}: {}", clientId, exists))
-                .onErrorResume(throwable -> {
-                    // Manejo de errores diferentes a 404
-                    logger.error("💥 Critical error validating client {}: {}", clientId, throwable.getMessage());
+                .transform(Deadline.timeout(Duration.ofSeconds(5))) // 5 segundos como máximo, menos si el deadline está más cerca
+                .retryWhen(Deadline.retry(Retry.backoff(2, Duration.ofMillis(500)))) // 2 reintentos, solo si caben en el deadline
+                .doOnSuccess(exists -> logger.debug("Client {} exists: {}", clientId, exists))
+                .onErrorResume(throwable -> !(throwable instanceof DeadlineExceededException), throwable -> {
+                    // Manejo de errores diferentes a 404 (un deadline vencido se propaga como 504)
+                    logger.error("Could not validate client {}: {}", clientId, throwable.getMessage());
                     return Mono.error(new RuntimeException(
                             "Error validating client " + clientId + ": " + throwable.getMessage()));
                 });
@@ -0,0 +1,25 @@
+package pe.upc.edu.productservice.application.external.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.client.discovery.ReactiveDiscoveryClient;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.messaging.rsocket.RSocketRequester;
+import pe.upc.edu.productservice.infrastructure.rsocket.RSocketRequesterPool;
+
+@Configuration
+public class RSocketConfig {
+
+    @Value("${rsocket.customer-service.service-id:customer-service}")
+    private String serviceId;
+
+    @Value("${rsocket.customer-service.connections:2}")
+    private int connections;
+
+    @Bean(destroyMethod = "dispose")
+    public RSocketRequesterPool customerServiceRequesters(RSocketRequester.Builder builder,
+                                                          ReactiveDiscoveryClient discoveryClient) {
+        // Conexiones TCP directas a las instancias registradas en Eureka (el gateway solo enruta HTTP)
+        return new RSocketRequesterPool(builder, discoveryClient, serviceId, connections);
+    }
+}
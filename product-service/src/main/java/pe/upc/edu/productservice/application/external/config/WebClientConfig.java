@@ -1,17 +1,60 @@
 package pe.upc.edu.productservice.application.external.config;
 
+import io.micrometer.common.KeyValue;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.ClientRequestObservationContext;
+import org.springframework.web.reactive.function.client.DefaultClientRequestObservationConvention;
 import org.springframework.web.reactive.function.client.WebClient;
+import pe.upc.edu.productservice.infrastructure.config.MediaTypes;
+import pe.upc.edu.servicecommons.deadline.DeadlineExchangeFilterFunction;
+import pe.upc.edu.servicecommons.logging.CorrelationIdExchangeFilterFunction;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
 
 @Configuration
 public class WebClientConfig {
 
+    @Value("${web-client.compression:true}")
+    private boolean compression;
+
+    @Value("${web-client.h2c:false}")
+    private boolean h2c;
+
+    @Value("${web-client.binary-format:true}")
+    private boolean binaryFormat;
+
     @Bean
-    public WebClient customerServiceWebClient() {
-        return WebClient.builder()
+    public WebClient customerServiceWebClient(WebClient.Builder webClientBuilder) {
+        // compress(true) envía Accept-Encoding: gzip y descomprime la respuesta de forma transparente
+        HttpClient httpClient = HttpClient.create().compress(compression);
+        if (h2c) {
+            httpClient = httpClient.protocol(HttpProtocol.H2C); // HTTP/2 sin TLS hacia el gateway
+        }
+        // El builder de Spring Boot registra http.client.requests; client.name identifica el destino
+        return webClientBuilder
+                .observationConvention(targetName("customer-service"))
                 .baseUrl("http://localhost:8010/customer-service") // URL del microservicio de clientes
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                // Smile (JSON binario) para llamadas internas; JSON queda como alternativa negociada
+                .defaultHeader(HttpHeaders.ACCEPT, binaryFormat
+                        ? MediaTypes.APPLICATION_SMILE_VALUE + ", application/json;q=0.9"
+                        : "application/json")
+                .filter(new DeadlineExchangeFilterFunction()) // propaga el presupuesto restante del request
+                .filter(new CorrelationIdExchangeFilterFunction()) // propaga el id de correlación
                 .codecs(configurer -> configurer.defaultCodecs().maxInMemorySize(1024 * 1024)) // 1MB
                 .build();
     }
+
+    private static DefaultClientRequestObservationConvention targetName(String target) {
+        return new DefaultClientRequestObservationConvention() {
+            @Override
+            protected KeyValue clientName(ClientRequestObservationContext context) {
+                return KeyValue.of("client.name", target);
+            }
+        };
+    }
 }
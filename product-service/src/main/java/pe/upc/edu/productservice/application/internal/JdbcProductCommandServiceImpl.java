@@ -0,0 +1,161 @@
+package pe.upc.edu.productservice.application.internal;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import pe.upc.edu.productservice.application.external.clients.ReactiveExternalClientValidator;
+import pe.upc.edu.productservice.domain.exceptions.ProductNotFoundException;
+import pe.upc.edu.productservice.domain.model.aggregates.Product;
+import pe.upc.edu.productservice.domain.model.commands.CreateProductCommand;
+import pe.upc.edu.productservice.domain.model.commands.DeleteProductCommand;
+import pe.upc.edu.productservice.domain.model.commands.UpdateProductCommand;
+import pe.upc.edu.productservice.domain.model.events.ProductEvent;
+import pe.upc.edu.productservice.domain.model.valueobjects.ProductEventType;
+import pe.upc.edu.productservice.domain.services.ProductCommandService;
+import pe.upc.edu.productservice.infrastructure.persistence.jdbc.repositories.JdbcProductEventRepository;
+import pe.upc.edu.productservice.infrastructure.persistence.jdbc.repositories.JdbcProductRepository;
+import pe.upc.edu.productservice.infrastructure.streaming.ProductChangeBroadcaster;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+/**
+ * {@link ProductCommandService} over blocking JDBC, selected with {@code persistence.adapter=jdbc}.
+ * Same checks, outbox write and errors as {@link ProductCommandServiceImpl}; the product and its
+ * outbox row are written in one JDBC transaction on the JDBC scheduler, and the client check
+ * stays a remote reactive call.
+ */
+@Service
+@ConditionalOnProperty(name = "persistence.adapter", havingValue = "jdbc")
+public class JdbcProductCommandServiceImpl implements ProductCommandService {
+    private static final Logger logger = LoggerFactory.getLogger(JdbcProductCommandServiceImpl.class);
+
+    private final JdbcProductRepository productRepository;
+    private final JdbcProductEventRepository productEventRepository;
+    private final TransactionTemplate jdbcTransactionTemplate;
+    private final Scheduler jdbcScheduler;
+    private final ProductChangeBroadcaster productChangeBroadcaster;
+    private final ReactiveExternalClientValidator clientValidator;
+
+    public JdbcProductCommandServiceImpl(JdbcProductRepository productRepository,
+                                         JdbcProductEventRepository productEventRepository,
+                                         TransactionTemplate jdbcTransactionTemplate,
+                                         Scheduler jdbcScheduler,
+                                         ProductChangeBroadcaster productChangeBroadcaster,
+                                         ReactiveExternalClientValidator clientValidator) {
+        this.productRepository = productRepository;
+        this.productEventRepository = productEventRepository;
+        this.jdbcTransactionTemplate = jdbcTransactionTemplate;
+        this.jdbcScheduler = jdbcScheduler;
+        this.productChangeBroadcaster = productChangeBroadcaster;
+        this.clientValidator = clientValidator;
+    }
+
+    @Override
+    public Mono<Long> handle(CreateProductCommand command) {
+        return validateCreateCommand(command)
+                .then(Mono.fromCallable(() -> {
+                    if (productRepository.existsByClientIdAndName(command.clientId(), command.name())) {
+                        throw new IllegalArgumentException(
+                                "Product with name '" + command.name() + "' already exists for client " + command.clientId());
+                    }
+                    return jdbcTransactionTemplate.execute(status ->
+                            record(ProductEventType.CREATED, productRepository.save(new Product(command))));
+                }).subscribeOn(jdbcScheduler))
+                .doOnNext(productChangeBroadcaster::publish)
+                .map(ProductEvent::getProductId)
+                .doOnSuccess(productId -> logger.info("Product {} created for client {}", productId, command.clientId()))
+                .doOnError(error -> !(error instanceof IllegalArgumentException),
+                        error -> logger.error("Failed to create product for client {}: {}", command.clientId(), error.getMessage()))
+                .onErrorResume(throwable -> {
+                    if (throwable instanceof IllegalArgumentException) {
+                        return Mono.error(throwable);
+                    }
+                    return Mono.error(new RuntimeException("Failed to create product", throwable));
+                });
+    }
+
+    @Override
+    public Mono<Product> handle(UpdateProductCommand command) {
+        return validateUpdateCommand(command)
+                .then(Mono.fromCallable(() -> {
+                    var product = productRepository.findById(command.id())
+                            .orElseThrow(() -> new ProductNotFoundException(command.id()))
+                            .updateInformation(command.productType(), command.name(), command.balance());
+                    var event = jdbcTransactionTemplate.execute(status ->
+                            record(ProductEventType.UPDATED, productRepository.save(product)));
+                    productChangeBroadcaster.publish(event);
+                    return product;
+                }).subscribeOn(jdbcScheduler))
+                .onErrorResume(throwable -> {
+                    if (throwable instanceof IllegalArgumentException) {
+                        return Mono.error(throwable);
+                    }
+                    return Mono.error(new RuntimeException("Failed to update product", throwable));
+                });
+    }
+
+    @Override
+    public Mono<Void> handle(DeleteProductCommand command) {
+        return Mono.fromCallable(() -> {
+                    var product = productRepository.findById(command.productId())
+                            .orElseThrow(() -> new ProductNotFoundException(command.productId()));
+                    return jdbcTransactionTemplate.execute(status -> {
+                        productRepository.delete(product);
+                        return record(ProductEventType.DELETED, product);
+                    });
+                })
+                .subscribeOn(jdbcScheduler)
+                .doOnNext(productChangeBroadcaster::publish)
+                .then()
+                .onErrorResume(throwable -> {
+                    if (throwable instanceof IllegalArgumentException) {
+                        return Mono.error(throwable);
+                    }
+                    return Mono.error(new RuntimeException("Failed to delete product", throwable));
+                });
+    }
+
+    private ProductEvent record(ProductEventType eventType, Product product) {
+        return productEventRepository.save(new ProductEvent(eventType, product));
+    }
+
+    private Mono<Void> validateCreateCommand(CreateProductCommand command) {
+        return Mono.fromRunnable(() -> {
+                    if (command.name() == null || command.name().trim().isEmpty()) {
+                        throw new IllegalArgumentException("Product name cannot be null or empty");
+                    }
+                    if (command.balance() == null || command.balance() < 0) {
+                        throw new IllegalArgumentException("Product balance cannot be null or negative");
+                    }
+                    if (command.productType() == null) {
+                        throw new IllegalArgumentException("Product type cannot be null");
+                    }
+                    if (command.clientId() == null || command.clientId() <= 0) {
+                        throw new IllegalArgumentException("Client ID must be a positive number");
+                    }
+                })
+                .then(Mono.defer(() -> clientValidator.clientExists(command.clientId())))
+                .flatMap(clientExists -> clientExists
+                        ? Mono.<Void>empty()
+                        : Mono.error(new IllegalArgumentException("Client with ID " + command.clientId() + " does not exist")));
+    }
+
+    private Mono<Void> validateUpdateCommand(UpdateProductCommand command) {
+        return Mono.fromRunnable(() -> {
+                    if (command.id() == null || command.id() <= 0) {
+                        throw new IllegalArgumentException("Product ID must be a positive number");
+                    }
+                    if (command.name() == null) {
+                        throw new IllegalArgumentException("Product name cannot be null or empty");
+                    }
+                    if (command.balance() == null || command.balance() < 0) {
+                        throw new IllegalArgumentException("Product balance cannot be null or negative");
+                    }
+                    if (command.productType() == null) {
+                        throw new IllegalArgumentException("Product type cannot be null");
+                    }
+                });
+    }
+}
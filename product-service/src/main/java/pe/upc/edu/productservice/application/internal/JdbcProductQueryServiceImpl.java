@@ -0,0 +1,113 @@
+package pe.upc.edu.productservice.application.internal;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import pe.upc.edu.productservice.domain.model.aggregates.Product;
+import pe.upc.edu.productservice.domain.model.events.ProductEvent;
+import pe.upc.edu.productservice.domain.model.queries.GetAllProductsQuery;
+import pe.upc.edu.productservice.domain.model.queries.GetProductByIdQuery;
+import pe.upc.edu.productservice.domain.model.queries.GetProductChangesByClientIdQuery;
+import pe.upc.edu.productservice.domain.model.queries.GetProductEventShardsQuery;
+import pe.upc.edu.productservice.domain.model.queries.GetProductEventsQuery;
+import pe.upc.edu.productservice.domain.model.queries.GetProductsByClientIdQuery;
+import pe.upc.edu.productservice.domain.services.ProductQueryService;
+import pe.upc.edu.productservice.infrastructure.persistence.jdbc.repositories.JdbcProductEventRepository;
+import pe.upc.edu.productservice.infrastructure.persistence.jdbc.repositories.JdbcProductRepository;
+import pe.upc.edu.productservice.infrastructure.streaming.ProductChangeBroadcaster;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * {@link ProductQueryService} over blocking JDBC, selected with {@code persistence.adapter=jdbc}.
+ * Same contract as {@link ProductQueryServiceImpl} on a single, unsharded database; live changes
+ * still come from the in-process broadcaster.
+ */
+@Service
+@ConditionalOnProperty(name = "persistence.adapter", havingValue = "jdbc")
+public class JdbcProductQueryServiceImpl implements ProductQueryService {
+
+    private static final int MAX_EVENTS_PAGE = 1000;
+
+    private final JdbcProductRepository productRepository;
+    private final JdbcProductEventRepository productEventRepository;
+    private final Scheduler jdbcScheduler;
+    private final ProductChangeBroadcaster productChangeBroadcaster;
+    private final Duration eventsGapTimeout;
+
+    public JdbcProductQueryServiceImpl(JdbcProductRepository productRepository,
+                                       JdbcProductEventRepository productEventRepository,
+                                       Scheduler jdbcScheduler,
+                                       ProductChangeBroadcaster productChangeBroadcaster,
+                                       @Value("${product-events.gap-timeout:60s}") Duration eventsGapTimeout) {
+        this.productRepository = productRepository;
+        this.productEventRepository = productEventRepository;
+        this.jdbcScheduler = jdbcScheduler;
+        this.productChangeBroadcaster = productChangeBroadcaster;
+        this.eventsGapTimeout = eventsGapTimeout;
+    }
+
+    @Override
+    public Flux<Product> handle(GetAllProductsQuery query) {
+        return Mono.fromCallable(productRepository::findAll)
+                .subscribeOn(jdbcScheduler)
+                .flatMapIterable(products -> products)
+                .onErrorResume(throwable -> Flux.error(new RuntimeException("Failed to retrieve products", throwable)));
+    }
+
+    @Override
+    public Mono<Product> handle(GetProductByIdQuery query) {
+        if (query.productId() == null || query.productId() <= 0) {
+            return Mono.error(new IllegalArgumentException("Product ID must be a positive number"));
+        }
+        return Mono.fromCallable(() -> productRepository.findById(query.productId()).orElse(null))
+                .subscribeOn(jdbcScheduler)
+                .onErrorResume(throwable -> Mono.error(new RuntimeException("Failed to retrieve product", throwable)));
+    }
+
+    @Override
+    public Flux<Product> handle(GetProductsByClientIdQuery query) {
+        return Mono.fromCallable(() -> productRepository.findByClientId(query.clientId()))
+                .subscribeOn(jdbcScheduler)
+                .flatMapIterable(products -> products);
+    }
+
+    @Override
+    public Flux<ProductEvent> handle(GetProductEventsQuery query) {
+        if (query.shard() == null || query.shard() != 0) {
+            return Flux.error(new IllegalArgumentException("Shard must be between 0 and 0"));
+        }
+        if (query.after() == null || query.after() < 0) {
+            return Flux.error(new IllegalArgumentException("Event cursor must be zero or a positive number"));
+        }
+        if (query.limit() == null || query.limit() <= 0 || query.limit() > MAX_EVENTS_PAGE) {
+            return Flux.error(new IllegalArgumentException("Limit must be between 1 and " + MAX_EVENTS_PAGE));
+        }
+        return Mono.fromCallable(() -> {
+                    List<ProductEvent> page = productEventRepository.findPage(query.after(), query.limit());
+                    return !ProductEventPages.hasGap(query.after(), page) ? page
+                            : ProductEventPages.visible(query.after(), page,
+                                    productEventRepository.currentTimestamp().minus(eventsGapTimeout));
+                })
+                .subscribeOn(jdbcScheduler)
+                .flatMapIterable(events -> events)
+                .onErrorResume(throwable -> Flux.error(new RuntimeException("Failed to retrieve product events", throwable)));
+    }
+
+    @Override
+    public Mono<Integer> handle(GetProductEventShardsQuery query) {
+        return Mono.just(1);
+    }
+
+    @Override
+    public Flux<ProductEvent> handle(GetProductChangesByClientIdQuery query) {
+        if (query.clientId() == null || query.clientId() <= 0) {
+            return Flux.error(new IllegalArgumentException("Client ID must be a positive number"));
+        }
+        return productChangeBroadcaster.changes(query.clientId());
+    }
+}
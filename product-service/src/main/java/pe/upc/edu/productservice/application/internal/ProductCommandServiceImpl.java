@@ -2,64 +2,92 @@ package pe.upc.edu.productservice.application.internal;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalOperator;
 import pe.upc.edu.productservice.application.external.clients.ReactiveExternalClientValidator;
 import pe.upc.edu.productservice.domain.exceptions.ProductNotFoundException;
 import pe.upc.edu.productservice.domain.model.aggregates.Product;
 import pe.upc.edu.productservice.domain.model.commands.CreateProductCommand;
 import pe.upc.edu.productservice.domain.model.commands.DeleteProductCommand;
 import pe.upc.edu.productservice.domain.model.commands.UpdateProductCommand;
+import pe.upc.edu.productservice.domain.model.events.ProductEvent;
+import pe.upc.edu.productservice.domain.model.valueobjects.ProductEventType;
 import pe.upc.edu.productservice.domain.services.ProductCommandService;
+import pe.upc.edu.productservice.infrastructure.persistence.r2dbc.repositories.ProductEventRepository;
 import pe.upc.edu.productservice.infrastructure.persistence.r2dbc.repositories.ProductRepository;
+import pe.upc.edu.productservice.infrastructure.persistence.r2dbc.sharding.ProductShards;
+import pe.upc.edu.productservice.infrastructure.streaming.ProductChangeBroadcaster;
 import reactor.core.publisher.Mono;
 
 @Service
+@ConditionalOnProperty(name = "persistence.adapter", havingValue = "r2dbc", matchIfMissing = true)
 public class ProductCommandServiceImpl implements ProductCommandService {
     private static final Logger logger = LoggerFactory.getLogger(ProductCommandServiceImpl.class);
 
     private final ProductRepository productRepository;
+    private final ProductEventRepository productEventRepository;
+    private final TransactionalOperator transactionalOperator;
+    private final ProductChangeBroadcaster productChangeBroadcaster;
     private final ReactiveExternalClientValidator clientValidator;
+    private final ProductShards productShards;
 
     public ProductCommandServiceImpl(ProductRepository productRepository,
-                                     ReactiveExternalClientValidator clientValidator) {
+                                     ProductEventRepository productEventRepository,
+                                     TransactionalOperator transactionalOperator,
+                                     ProductChangeBroadcaster productChangeBroadcaster,
+                                     ReactiveExternalClientValidator clientValidator,
+                                     ProductShards productShards) {
         this.clientValidator = clientValidator;
+        this.productShards = productShards;
         this.productRepository = productRepository;
-        logger.info("✅ ProductCommandServiceImpl initialized with client validator");
+        this.productEventRepository = productEventRepository;
+        this.transactionalOperator = transactionalOperator;
+        this.productChangeBroadcaster = productChangeBroadcaster;
     }
 
     @Override
     public Mono<Long> handle(CreateProductCommand command) {
-        logger.info("🚀 Creating product for client: {}, name: {}", command.clientId(), command.name());
-
         return validateCreateCommand(command)
-                .doOnNext(v -> logger.info("✅ Validation passed for product creation"))
                 .then(Mono.defer(() -> {
-                    logger.info("💾 Saving product to database");
                     var product = new Product(command);
                     return productRepository.save(product)
-                            .map(Product::getId);
+                            .flatMap(saved -> record(ProductEventType.CREATED, saved))
+                            .as(transactionalOperator::transactional)
+                            .doOnNext(productChangeBroadcaster::publish)
+                            .map(ProductEvent::getProductId);
                 }))
-                .doOnSuccess(productId -> logger.info("✅ Product created successfully with ID: {}", productId))
-                .doOnError(error -> logger.error("❌ Failed to create product: {}", error.getMessage()))
+                .doOnSuccess(productId -> logger.info("Product {} created for client {}", productId, command.clientId()))
+                // Un comando inválido no es un error del servicio: solo se registran los fallos reales
+                .doOnError(error -> !(error instanceof IllegalArgumentException),
+                        error -> logger.error("Failed to create product for client {}: {}", command.clientId(), error.getMessage()))
                 .onErrorResume(throwable -> {
                     if (throwable instanceof IllegalArgumentException) {
                         return Mono.error(throwable);
                     }
                     return Mono.error(new RuntimeException("Failed to create product", throwable));
-                });
+                })
+                // Todo el comando (validación, producto y outbox) corre en el shard del cliente
+                .contextWrite(context -> command.clientId() == null ? context
+                        : productShards.onShard(productShards.shardForClient(command.clientId())).apply(context));
     }
 
     @Override
     public Mono<Product> handle(UpdateProductCommand command) {
         return validateUpdateCommand(command)
-                .then(productRepository.findById(command.id()))
+                .then(onProductShard(command.id(), productRepository.findById(command.id())))
                 .switchIfEmpty(Mono.error(new ProductNotFoundException(command.id())))
                 .map(product -> product.updateInformation(
                         command.productType(),
                         command.name(),
                         command.balance()
                 ))
-                .flatMap(productRepository::save)
+                .flatMap(product -> productRepository.save(product)
+                        .flatMap(saved -> record(ProductEventType.UPDATED, saved))
+                        .as(transactionalOperator::transactional)
+                        .contextWrite(productShards.onShard(productShards.shardOfProduct(product.getId())))
+                        .doOnNext(productChangeBroadcaster::publish)
+                        .thenReturn(product))
                 .onErrorResume(throwable -> {
                     if (throwable instanceof IllegalArgumentException) {
                         return Mono.error(throwable);
@@ -70,13 +98,14 @@ public class ProductCommandServiceImpl implements ProductCommandService {
 
     @Override
     public Mono<Void> handle(DeleteProductCommand command) {
-        return productRepository.existsById(command.productId())
-                .flatMap(exists -> {
-                    if (!exists) {
-                        return Mono.error(new ProductNotFoundException(command.productId()));
-                    }
-                    return productRepository.deleteById(command.productId());
-                })
+        return onProductShard(command.productId(), productRepository.findById(command.productId()))
+                .switchIfEmpty(Mono.error(new ProductNotFoundException(command.productId())))
+                .flatMap(product -> productRepository.delete(product)
+                        .then(record(ProductEventType.DELETED, product))
+                        .as(transactionalOperator::transactional)
+                        .contextWrite(productShards.onShard(productShards.shardOfProduct(product.getId())))
+                        .doOnNext(productChangeBroadcaster::publish))
+                .then()
                 .onErrorResume(throwable -> {
                     if (throwable instanceof IllegalArgumentException) {
                         return Mono.error(throwable);
@@ -85,11 +114,25 @@ public class ProductCommandServiceImpl implements ProductCommandService {
                 });
     }
 
-    private Mono<Void> validateCreateCommand(CreateProductCommand command) {
-        logger.info("🔍 Starting validation for CreateProductCommand");
+    /**
+     * Writes the change to the outbox; callers run it in the same transaction as the product write
+     * and hand the saved event to live subscribers only once that transaction has committed.
+     */
+    private Mono<ProductEvent> record(ProductEventType eventType, Product product) {
+        return productEventRepository.save(new ProductEvent(eventType, product));
+    }
 
+    /**
+     * Runs the lookup on the shard encoded in the product id; an id that maps to no shard
+     * cannot exist, so it completes empty.
+     */
+    private Mono<Product> onProductShard(Long productId, Mono<Product> lookup) {
+        int shard = productShards.shardOfProduct(productId);
+        return shard < 0 ? Mono.empty() : lookup.contextWrite(productShards.onShard(shard));
+    }
+
+    private Mono<Void> validateCreateCommand(CreateProductCommand command) {
         return Mono.fromRunnable(() -> {
-                    logger.info("🔍 Validating basic fields");
                     if (command.name() == null || command.name().trim().isEmpty()) {
                         throw new IllegalArgumentException("Product name cannot be null or empty");
                     }
@@ -102,33 +145,23 @@ public class ProductCommandServiceImpl implements ProductCommandService {
                     if (command.clientId() == null || command.clientId() <= 0) {
                         throw new IllegalArgumentException("Client ID must be a positive number");
                     }
-                    logger.info("✅ Basic field validation passed");
                 })
-                .then(Mono.defer(() -> {
-                    logger.info("🔍 Validating client existence for clientId: {}", command.clientId());
-                    return clientValidator.clientExists(command.clientId());
-                }))
+                .then(Mono.defer(() -> clientValidator.clientExists(command.clientId())))
                 .flatMap(clientExists -> {
-                    logger.info("🎯 Client exists result: {}", clientExists);
                     if (!clientExists) {
-                        logger.error("❌ Client validation failed - client {} does not exist", command.clientId());
+                        logger.debug("Rejected product for unknown client {}", command.clientId());
                         return Mono.error(new IllegalArgumentException(
                                 "Client with ID " + command.clientId() + " does not exist"));
                     }
-                    logger.info("✅ Client validation passed");
                     return Mono.empty();
                 })
-                .then(Mono.defer(() -> {
-                    logger.info("🔍 Checking for duplicate product name");
-                    return productRepository.existsByClientIdAndName(command.clientId(), command.name());
-                }))
+                .then(Mono.defer(() -> productRepository.existsByClientIdAndName(command.clientId(), command.name())))
                 .flatMap(exists -> {
                     if (exists) {
-                        logger.error("❌ Product name validation failed - duplicate name");
+                        logger.debug("Rejected duplicate product name for client {}", command.clientId());
                         return Mono.error(new IllegalArgumentException(
                                 "Product with name '" + command.name() + "' already exists for client " + command.clientId()));
                     }
-                    logger.info("✅ Product name validation passed");
                     return Mono.empty();
                 });
     }
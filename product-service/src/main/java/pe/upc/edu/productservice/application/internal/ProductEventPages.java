@@ -0,0 +1,45 @@
+package pe.upc.edu.productservice.application.internal;
+
+import pe.upc.edu.productservice.domain.model.events.ProductEvent;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Decides how much of an outbox page a feed consumer may see. Outbox ids come from a sequence,
+ * so a transaction can commit a lower id after a higher one is already visible; serving the
+ * higher one would move the consumer's cursor past the lower one for good. A page is therefore
+ * served up to the first gap in the ids. A gap is only stepped over once the row after it was
+ * recorded before {@code settledBefore}: by then the missing id belongs to a transaction that
+ * rolled back, not to one still running.
+ */
+final class ProductEventPages {
+
+    private ProductEventPages() {
+    }
+
+    static boolean hasGap(long after, List<ProductEvent> page) {
+        long expected = after + 1;
+        for (ProductEvent event : page) {
+            if (event.getId() != expected) {
+                return true;
+            }
+            expected++;
+        }
+        return false;
+    }
+
+    static List<ProductEvent> visible(long after, List<ProductEvent> page, LocalDateTime settledBefore) {
+        List<ProductEvent> visible = new ArrayList<>(page.size());
+        long expected = after + 1;
+        for (ProductEvent event : page) {
+            if (event.getId() != expected && event.getRecordedAt().isAfter(settledBefore)) {
+                break;
+            }
+            visible.add(event);
+            expected = event.getId() + 1;
+        }
+        return visible;
+    }
+}
@@ -1,27 +1,56 @@
 package pe.upc.edu.productservice.application.internal;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Service;
 import pe.upc.edu.productservice.domain.model.aggregates.Product;
+import pe.upc.edu.productservice.domain.model.events.ProductEvent;
 import pe.upc.edu.productservice.domain.model.queries.GetAllProductsQuery;
 import pe.upc.edu.productservice.domain.model.queries.GetProductByIdQuery;
+import pe.upc.edu.productservice.domain.model.queries.GetProductChangesByClientIdQuery;
+import pe.upc.edu.productservice.domain.model.queries.GetProductEventShardsQuery;
+import pe.upc.edu.productservice.domain.model.queries.GetProductEventsQuery;
 import pe.upc.edu.productservice.domain.model.queries.GetProductsByClientIdQuery;
 import pe.upc.edu.productservice.domain.services.ProductQueryService;
+import pe.upc.edu.productservice.infrastructure.persistence.r2dbc.repositories.ProductEventRepository;
 import pe.upc.edu.productservice.infrastructure.persistence.r2dbc.repositories.ProductRepository;
+import pe.upc.edu.productservice.infrastructure.persistence.r2dbc.sharding.ProductShards;
+import pe.upc.edu.productservice.infrastructure.streaming.ProductChangeBroadcaster;
+import pe.upc.edu.servicecommons.persistence.r2dbc.routing.ReadRouting;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.time.Duration;
+
 @Service
+@ConditionalOnProperty(name = "persistence.adapter", havingValue = "r2dbc", matchIfMissing = true)
 public class ProductQueryServiceImpl implements ProductQueryService {
 
+    private static final int MAX_EVENTS_PAGE = 1000;
+
     private final ProductRepository productRepository;
+    private final ProductEventRepository productEventRepository;
+    private final ProductChangeBroadcaster productChangeBroadcaster;
+    private final ProductShards productShards;
+    private final Duration eventsGapTimeout;
 
-    public ProductQueryServiceImpl(ProductRepository productRepository) {
+    public ProductQueryServiceImpl(ProductRepository productRepository,
+                                   ProductEventRepository productEventRepository,
+                                   ProductChangeBroadcaster productChangeBroadcaster,
+                                   ProductShards productShards,
+                                   @Value("${product-events.gap-timeout:60s}") Duration eventsGapTimeout) {
         this.productRepository = productRepository;
+        this.productEventRepository = productEventRepository;
+        this.productChangeBroadcaster = productChangeBroadcaster;
+        this.productShards = productShards;
+        this.eventsGapTimeout = eventsGapTimeout;
     }
 
     @Override
     public Flux<Product> handle(GetAllProductsQuery query) {
-        return productRepository.findAll()
+        // Scatter-gather: todos los shards en paralelo
+        return productShards.scatterGather(shard -> productRepository.findAll())
+                .contextWrite(ReadRouting.readOnly())
                 .onErrorResume(throwable -> {
                     return Flux.error(new RuntimeException("Failed to retrieve products", throwable));
                 });
@@ -33,7 +62,13 @@ public class ProductQueryServiceImpl implements ProductQueryService {
             return Mono.error(new IllegalArgumentException("Product ID must be a positive number"));
         }
 
+        int shard = productShards.shardOfProduct(query.productId());
+        if (shard < 0) {
+            return Mono.empty();
+        }
         return productRepository.findById(query.productId())
+                .contextWrite(ReadRouting.readOnly())
+                .contextWrite(productShards.onShard(shard))
                 .onErrorResume(throwable -> {
                     return Mono.error(new RuntimeException("Failed to retrieve product", throwable));
                 });
@@ -41,6 +76,47 @@ public class ProductQueryServiceImpl implements ProductQueryService {
 
     @Override
     public Flux<Product> handle(GetProductsByClientIdQuery query) {
-        return productRepository.findByClientId(query.clientId());
+        return productRepository.findByClientId(query.clientId())
+                .contextWrite(ReadRouting.readOnly())
+                .contextWrite(productShards.onShard(productShards.shardForClient(query.clientId())));
+    }
+
+    @Override
+    public Flux<ProductEvent> handle(GetProductEventsQuery query) {
+        if (query.shard() == null || query.shard() < 0 || query.shard() >= productShards.count()) {
+            return Flux.error(new IllegalArgumentException("Shard must be between 0 and " + (productShards.count() - 1)));
+        }
+        if (query.after() == null || query.after() < 0) {
+            return Flux.error(new IllegalArgumentException("Event cursor must be zero or a positive number"));
+        }
+        if (query.limit() == null || query.limit() <= 0 || query.limit() > MAX_EVENTS_PAGE) {
+            return Flux.error(new IllegalArgumentException("Limit must be between 1 and " + MAX_EVENTS_PAGE));
+        }
+
+        // La hora de la base solo hace falta cuando la página tiene un hueco en los ids
+        return productEventRepository.findPage(query.after(), query.limit())
+                .collectList()
+                .flatMapMany(page -> !ProductEventPages.hasGap(query.after(), page)
+                        ? Flux.fromIterable(page)
+                        : productEventRepository.currentTimestamp()
+                                .flatMapIterable(now -> ProductEventPages.visible(query.after(), page,
+                                        now.minus(eventsGapTimeout))))
+                .contextWrite(ReadRouting.readOnly())
+                .contextWrite(productShards.onShard(query.shard()))
+                .onErrorResume(throwable -> Flux.error(new RuntimeException("Failed to retrieve product events", throwable)));
+    }
+
+    @Override
+    public Mono<Integer> handle(GetProductEventShardsQuery query) {
+        // Cada shard tiene su propio outbox, con ids propios: un feed por shard
+        return Mono.just(productShards.count());
+    }
+
+    @Override
+    public Flux<ProductEvent> handle(GetProductChangesByClientIdQuery query) {
+        if (query.clientId() == null || query.clientId() <= 0) {
+            return Flux.error(new IllegalArgumentException("Client ID must be a positive number"));
+        }
+        return productChangeBroadcaster.changes(query.clientId());
     }
-}
\ No newline at end of file
+}
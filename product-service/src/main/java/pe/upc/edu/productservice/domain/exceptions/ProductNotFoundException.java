@@ -1,6 +1,8 @@
 package pe.upc.edu.productservice.domain.exceptions;
 
-public class ProductNotFoundException extends RuntimeException {
+import java.util.NoSuchElementException;
+
+public class ProductNotFoundException extends NoSuchElementException {
     public ProductNotFoundException(Long aLong) {
         super("Product with id " + aLong + " not found");
     }
@@ -0,0 +1,67 @@
+/**
+ * ProductEvent
+ * @Summary
+ *  ProductEvent is an outbox row describing a change to a product. It is stored in the same
+ *  transaction as the change and carries the product state after it (only the ids on delete).
+ */
+package pe.upc.edu.productservice.domain.model.events;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.ReadOnlyProperty;
+import org.springframework.data.relational.core.mapping.Column;
+import org.springframework.data.relational.core.mapping.Table;
+import pe.upc.edu.productservice.domain.model.aggregates.Product;
+import pe.upc.edu.productservice.domain.model.valueobjects.ProductEventType;
+import pe.upc.edu.productservice.domain.model.valueobjects.ProductType;
+
+import java.time.LocalDateTime;
+
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Table("product_outbox")
+public class ProductEvent {
+    @Id
+    private Long id;
+
+    @Column("event_type")
+    private ProductEventType eventType;
+
+    @Column("product_id")
+    private Long productId;
+
+    @Column("client_id")
+    private Long clientId;
+
+    @Column("product_type")
+    private ProductType productType;
+
+    @Column("name")
+    private String name;
+
+    @Column("balance")
+    private Double balance;
+
+    @Column("occurred_at")
+    private LocalDateTime occurredAt;
+
+    // Lo pone la base al insertar: el feed lo compara con su propio reloj, nunca con el de la app
+    @ReadOnlyProperty
+    @Column("recorded_at")
+    private LocalDateTime recordedAt;
+
+    public ProductEvent(ProductEventType eventType, Product product) {
+        this.eventType = eventType;
+        this.productId = product.getId();
+        this.clientId = product.getClientId();
+        if (eventType != ProductEventType.DELETED) {
+            this.productType = product.getProductType();
+            this.name = product.getName();
+            this.balance = product.getBalance();
+        }
+        this.occurredAt = LocalDateTime.now();
+    }
+}
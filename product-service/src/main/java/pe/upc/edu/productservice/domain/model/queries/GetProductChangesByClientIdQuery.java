@@ -0,0 +1,4 @@
+package pe.upc.edu.productservice.domain.model.queries;
+
+public record GetProductChangesByClientIdQuery(Long clientId) {
+}
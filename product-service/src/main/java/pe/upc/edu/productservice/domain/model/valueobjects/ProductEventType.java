@@ -0,0 +1,10 @@
+package pe.upc.edu.productservice.domain.model.valueobjects;
+
+/**
+ * Kind of change recorded in the product outbox.
+ */
+public enum ProductEventType {
+    CREATED,
+    UPDATED,
+    DELETED
+}
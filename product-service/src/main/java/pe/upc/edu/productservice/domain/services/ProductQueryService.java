@@ -1,8 +1,12 @@
 package pe.upc.edu.productservice.domain.services;
 
 import pe.upc.edu.productservice.domain.model.aggregates.Product;
+import pe.upc.edu.productservice.domain.model.events.ProductEvent;
 import pe.upc.edu.productservice.domain.model.queries.GetAllProductsQuery;
 import pe.upc.edu.productservice.domain.model.queries.GetProductByIdQuery;
+import pe.upc.edu.productservice.domain.model.queries.GetProductChangesByClientIdQuery;
+import pe.upc.edu.productservice.domain.model.queries.GetProductEventShardsQuery;
+import pe.upc.edu.productservice.domain.model.queries.GetProductEventsQuery;
 import pe.upc.edu.productservice.domain.model.queries.GetProductsByClientIdQuery;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
@@ -11,4 +15,7 @@ public interface ProductQueryService {
    Flux<Product> handle(GetAllProductsQuery query);
    Mono<Product> handle(GetProductByIdQuery query);
    Flux<Product> handle(GetProductsByClientIdQuery query);
+   Flux<ProductEvent> handle(GetProductEventsQuery query);
+   Mono<Integer> handle(GetProductEventShardsQuery query);
+   Flux<ProductEvent> handle(GetProductChangesByClientIdQuery query);
 }
\ No newline at end of file
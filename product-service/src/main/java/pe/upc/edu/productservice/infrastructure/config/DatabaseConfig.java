@@ -1,20 +1,52 @@
 package pe.upc.edu.productservice.infrastructure.config;
 
 import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.Wrapped;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.io.ClassPathResource;
 import org.springframework.r2dbc.connection.init.ConnectionFactoryInitializer;
+import org.springframework.r2dbc.connection.init.DatabasePopulator;
 import org.springframework.r2dbc.connection.init.ResourceDatabasePopulator;
+import pe.upc.edu.productservice.infrastructure.persistence.r2dbc.sharding.ShardLayoutVerifier;
+import pe.upc.edu.productservice.infrastructure.persistence.r2dbc.sharding.ShardRoutingConnectionFactory;
+import reactor.core.publisher.Flux;
+
+import java.util.List;
 
 @Configuration
 public class DatabaseConfig {
 
     @Bean
-    public ConnectionFactoryInitializer initializer(ConnectionFactory connectionFactory) {
+    public ConnectionFactoryInitializer initializer(ConnectionFactory connectionFactory,
+                                                    @Value("${database.initialize:true}") boolean enabled) {
         var initializer = new ConnectionFactoryInitializer();
         initializer.setConnectionFactory(connectionFactory);
-        initializer.setDatabasePopulator(new ResourceDatabasePopulator(new ClassPathResource("schema.sql")));
+        initializer.setEnabled(enabled);
+        initializer.setDatabasePopulator(schemaPopulator(connectionFactory));
         return initializer;
     }
+
+    /**
+     * Creates the schema on every products shard (the single database when unsharded) and checks
+     * the shard layout has not changed since the data was written.
+     */
+    static DatabasePopulator schemaPopulator(ConnectionFactory connectionFactory) {
+        var schema = new ResourceDatabasePopulator(new ClassPathResource("schema.sql"));
+        // La conexión recibida es de un solo shard: cada shard se puebla con su propio ConnectionFactory
+        List<ConnectionFactory> shards = unwrap(connectionFactory) instanceof ShardRoutingConnectionFactory sharded
+                ? sharded.getShards()
+                : List.of(connectionFactory);
+        return connection -> Flux.fromIterable(shards)
+                .concatMap(schema::populate)
+                .then(ShardLayoutVerifier.verify(shards));
+    }
+
+    // La instrumentación de consultas envuelve el ConnectionFactory en un proxy
+    private static ConnectionFactory unwrap(ConnectionFactory factory) {
+        return factory instanceof Wrapped<?> wrapped && wrapped.unwrap() instanceof ConnectionFactory target
+                ? unwrap(target)
+                : factory;
+    }
 }
@@ -0,0 +1,78 @@
+package pe.upc.edu.productservice.infrastructure.config;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.support.JdbcTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import pe.upc.edu.productservice.infrastructure.persistence.jdbc.JdbcThreads;
+import pe.upc.edu.productservice.infrastructure.persistence.jdbc.repositories.JdbcProductEventRepository;
+import pe.upc.edu.productservice.infrastructure.persistence.jdbc.repositories.JdbcProductRepository;
+import pe.upc.edu.productservice.infrastructure.persistence.r2dbc.sharding.ProductShards;
+import reactor.core.scheduler.Scheduler;
+
+import javax.sql.DataSource;
+
+/**
+ * Blocking JDBC persistence for the product services, active with {@code persistence.adapter=jdbc}.
+ * A Hikari pool against the same database, and a scheduler on virtual threads (platform threads
+ * below Java 21) so blocking calls never run on the event loop. Replica routing and sharding are
+ * R2DBC-only, so this adapter refuses to start with more than one products shard.
+ */
+@Configuration
+@ConditionalOnProperty(name = "persistence.adapter", havingValue = "jdbc")
+public class JdbcPersistenceConfig {
+
+    @Value("${persistence.jdbc.url}")
+    private String url;
+
+    @Value("${spring.r2dbc.username}")
+    private String username;
+
+    @Value("${spring.r2dbc.password}")
+    private String password;
+
+    @Value("${persistence.jdbc.pool-size:20}")
+    private int poolSize;
+
+    @Value("${persistence.jdbc.virtual-threads:true}")
+    private boolean virtualThreads;
+
+    @Bean(destroyMethod = "close")
+    public HikariDataSource jdbcDataSource(ProductShards productShards) {
+        if (productShards.count() > 1) {
+            throw new IllegalStateException("persistence.adapter=jdbc does not support product-shards.urls");
+        }
+        var config = new HikariConfig();
+        config.setPoolName("product-jdbc");
+        config.setJdbcUrl(url);
+        config.setUsername(username);
+        config.setPassword(password);
+        config.setMaximumPoolSize(poolSize);
+        return new HikariDataSource(config);
+    }
+
+    @Bean(destroyMethod = "dispose")
+    public Scheduler jdbcScheduler() {
+        return JdbcThreads.scheduler(virtualThreads, poolSize);
+    }
+
+    @Bean
+    public TransactionTemplate jdbcTransactionTemplate(DataSource jdbcDataSource) {
+        return new TransactionTemplate(new JdbcTransactionManager(jdbcDataSource));
+    }
+
+    @Bean
+    public JdbcProductRepository jdbcProductRepository(DataSource jdbcDataSource) {
+        return new JdbcProductRepository(new NamedParameterJdbcTemplate(jdbcDataSource));
+    }
+
+    @Bean
+    public JdbcProductEventRepository jdbcProductEventRepository(DataSource jdbcDataSource) {
+        return new JdbcProductEventRepository(new NamedParameterJdbcTemplate(jdbcDataSource));
+    }
+}
@@ -0,0 +1,17 @@
+package pe.upc.edu.productservice.infrastructure.config;
+
+import org.springframework.http.MediaType;
+
+/**
+ * Media types negotiated by the controllers besides JSON. Smile is Jackson's binary JSON: same
+ * data model and annotations, smaller payloads and cheaper parsing. WebFlux registers its codecs
+ * on both server and WebClient as soon as jackson-dataformat-smile is on the classpath.
+ */
+public final class MediaTypes {
+
+    public static final String APPLICATION_SMILE_VALUE = "application/x-jackson-smile";
+    public static final MediaType APPLICATION_SMILE = MediaType.parseMediaType(APPLICATION_SMILE_VALUE);
+
+    private MediaTypes() {
+    }
+}
@@ -0,0 +1,69 @@
+package pe.upc.edu.productservice.infrastructure.config;
+
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcProperties;
+import org.springframework.boot.r2dbc.ConnectionFactoryBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.r2dbc.core.DatabaseClient;
+import pe.upc.edu.productservice.infrastructure.persistence.r2dbc.sharding.ProductIdAssigner;
+import pe.upc.edu.productservice.infrastructure.persistence.r2dbc.sharding.ProductShards;
+import pe.upc.edu.productservice.infrastructure.persistence.r2dbc.sharding.ShardRoutingConnectionFactory;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Products storage layout. Without {@code product-shards.urls} there is a single shard, the
+ * database in {@code spring.r2dbc.url}. With it, every listed database is a shard (in order, the
+ * order must never change) reached through a {@link ShardRoutingConnectionFactory}.
+ */
+@Configuration
+public class ProductShardingConfig {
+
+    @Value("${product-shards.urls:}")
+    private String shardUrls;
+
+    @Bean
+    public ProductShards productShards() {
+        return new ProductShards(Math.max(1, urls(shardUrls).size()));
+    }
+
+    private static List<String> urls(String value) {
+        return Arrays.stream(value.split(","))
+                .map(String::trim)
+                .filter(url -> !url.isEmpty())
+                .toList();
+    }
+
+    @Configuration
+    @ConditionalOnProperty(name = "product-shards.urls")
+    static class ShardedStorageConfig {
+
+        @Bean(destroyMethod = "stop")
+        public ShardRoutingConnectionFactory connectionFactory(R2dbcProperties properties,
+                                                               @Value("${product-shards.urls}") String shardUrls) {
+            R2dbcProperties.Pool pool = properties.getPool();
+            return new ShardRoutingConnectionFactory(urls(shardUrls).stream()
+                    .map(url -> (ConnectionFactory) new ConnectionPool(ConnectionPoolConfiguration.builder(
+                                    ConnectionFactoryBuilder.withUrl(url)
+                                            .username(properties.getUsername())
+                                            .password(properties.getPassword())
+                                            .build())
+                            .initialSize(pool.getInitialSize())
+                            .maxSize(pool.getMaxSize())
+                            .maxIdleTime(pool.getMaxIdleTime())
+                            .build()))
+                    .toList());
+        }
+
+        @Bean
+        public ProductIdAssigner productIdAssigner(ProductShards productShards, DatabaseClient databaseClient) {
+            return new ProductIdAssigner(productShards, databaseClient);
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package pe.upc.edu.productservice.infrastructure.config;
+
+import com.netflix.appinfo.ApplicationInfoManager;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.r2dbc.spi.ConnectionFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.codec.ServerCodecConfigurer;
+import pe.upc.edu.productservice.domain.services.ProductQueryService;
+import pe.upc.edu.productservice.infrastructure.persistence.r2dbc.sharding.ProductShards;
+import pe.upc.edu.productservice.infrastructure.warmup.ProductWarmUpWorkload;
+import pe.upc.edu.servicecommons.persistence.r2dbc.routing.ReadRouting;
+import pe.upc.edu.servicecommons.warmup.CodecWarmUp;
+import pe.upc.edu.servicecommons.warmup.EurekaReadinessStatusListener;
+import pe.upc.edu.servicecommons.warmup.StartupWarmUp;
+import reactor.util.context.Context;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Readiness-gated Eureka status and the startup warm-up that runs before readiness.
+ */
+@Configuration
+public class WarmUpConfig {
+
+    @Bean
+    public EurekaReadinessStatusListener eurekaReadinessStatusListener(
+            ObjectProvider<ApplicationInfoManager> applicationInfoManager) {
+        return new EurekaReadinessStatusListener(applicationInfoManager);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "warm-up.enabled", havingValue = "true", matchIfMissing = true)
+    public StartupWarmUp startupWarmUp(
+            ConnectionFactory connectionFactory,
+            ProductQueryService productQueryService,
+            ProductShards productShards,
+            ServerCodecConfigurer serverCodecConfigurer,
+            MeterRegistry meterRegistry,
+            @Value("${database.replicas.urls:}") String replicaUrls,
+            @Value("${warm-up.connections:10}") int connections,
+            @Value("${warm-up.iterations:30}") int iterations,
+            @Value("${warm-up.sample-size:10}") int sampleSize,
+            @Value("${warm-up.timeout:30s}") Duration timeout) {
+        var workload = new ProductWarmUpWorkload(productQueryService, productShards,
+                new CodecWarmUp(serverCodecConfigurer), sampleSize);
+        // Cada shard: su primario y, si hay réplicas configuradas, sus réplicas de lectura
+        List<Function<Context, Context>> routes = IntStream.range(0, productShards.count())
+                .boxed()
+                .flatMap(shard -> replicaUrls.isBlank()
+                        ? Stream.of(productShards.onShard(shard))
+                        : Stream.of(productShards.onShard(shard),
+                                productShards.onShard(shard).andThen(ReadRouting.readOnly())))
+                .toList();
+        return new StartupWarmUp(connectionFactory, routes, workload, meterRegistry, connections, iterations, timeout);
+    }
+}
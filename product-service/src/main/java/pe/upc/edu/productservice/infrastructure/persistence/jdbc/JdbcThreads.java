@@ -0,0 +1,57 @@
+package pe.upc.edu.productservice.infrastructure.persistence.jdbc;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Threads the blocking JDBC adapter runs on. Virtual threads need Java 21; the method is looked up
+ * at runtime so the same build runs on 17, where it falls back to a fixed pool of platform threads
+ * sized to the connection pool (more threads would only wait on Hikari).
+ */
+public final class JdbcThreads {
+    private static final Logger logger = LoggerFactory.getLogger(JdbcThreads.class);
+
+    private JdbcThreads() {
+    }
+
+    public static Scheduler scheduler(boolean virtual, int platformThreads) {
+        if (virtual) {
+            ExecutorService executor = virtualThreadPerTaskExecutor();
+            if (executor != null) {
+                logger.info("JDBC adapter running on virtual threads");
+                return Schedulers.fromExecutorService(executor, "jdbc");
+            }
+            logger.warn("Virtual threads need Java 21+ (running {}), using {} platform threads",
+                    Runtime.version().feature(), platformThreads);
+        }
+        AtomicInteger counter = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(platformThreads, task -> {
+            Thread thread = new Thread(task, "jdbc-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        return Schedulers.fromExecutorService(executor, "jdbc");
+    }
+
+    public static boolean virtualThreadsAvailable() {
+        return Runtime.version().feature() >= 21;
+    }
+
+    private static ExecutorService virtualThreadPerTaskExecutor() {
+        if (!virtualThreadsAvailable()) {
+            return null;
+        }
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            logger.warn("Could not create a virtual thread executor: {}", e.getMessage());
+            return null;
+        }
+    }
+}
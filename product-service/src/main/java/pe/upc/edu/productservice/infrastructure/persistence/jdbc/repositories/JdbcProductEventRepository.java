@@ -0,0 +1,70 @@
+package pe.upc.edu.productservice.infrastructure.persistence.jdbc.repositories;
+
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import pe.upc.edu.productservice.domain.model.events.ProductEvent;
+import pe.upc.edu.productservice.domain.model.valueobjects.ProductEventType;
+import pe.upc.edu.productservice.domain.model.valueobjects.ProductType;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Blocking access to the product outbox for the JDBC adapter.
+ */
+public class JdbcProductEventRepository {
+
+    private static final RowMapper<ProductEvent> PRODUCT_EVENT = (rs, rowNum) -> {
+        String productType = rs.getString("product_type");
+        double balance = rs.getDouble("balance");
+        boolean noBalance = rs.wasNull();
+        return new ProductEvent(
+                rs.getLong("id"),
+                ProductEventType.valueOf(rs.getString("event_type")),
+                rs.getLong("product_id"),
+                rs.getLong("client_id"),
+                productType != null ? ProductType.valueOf(productType) : null,
+                rs.getString("name"),
+                noBalance ? null : balance,
+                rs.getTimestamp("occurred_at").toLocalDateTime(),
+                rs.getTimestamp("recorded_at").toLocalDateTime());
+    };
+
+    private final NamedParameterJdbcTemplate jdbc;
+
+    public JdbcProductEventRepository(NamedParameterJdbcTemplate jdbc) {
+        this.jdbc = jdbc;
+    }
+
+    public ProductEvent save(ProductEvent event) {
+        var params = new MapSqlParameterSource()
+                .addValue("eventType", event.getEventType().name())
+                .addValue("productId", event.getProductId())
+                .addValue("clientId", event.getClientId())
+                .addValue("productType", event.getProductType() != null ? event.getProductType().name() : null)
+                .addValue("name", event.getName())
+                .addValue("balance", event.getBalance())
+                .addValue("occurredAt", Timestamp.valueOf(event.getOccurredAt()));
+        var keys = new GeneratedKeyHolder();
+        jdbc.update("INSERT INTO product_outbox (event_type, product_id, client_id, product_type, name, balance, occurred_at) "
+                + "VALUES (:eventType, :productId, :clientId, :productType, :name, :balance, :occurredAt)",
+                params, keys, new String[]{"id"});
+        return new ProductEvent(keys.getKeyAs(Number.class).longValue(), event.getEventType(), event.getProductId(),
+                event.getClientId(), event.getProductType(), event.getName(), event.getBalance(), event.getOccurredAt(), null);
+    }
+
+    public List<ProductEvent> findPage(Long after, int limit) {
+        return jdbc.query("SELECT * FROM product_outbox WHERE id > :after ORDER BY id LIMIT :limit",
+                new MapSqlParameterSource()
+                        .addValue("after", after)
+                        .addValue("limit", limit),
+                PRODUCT_EVENT);
+    }
+
+    public LocalDateTime currentTimestamp() {
+        return jdbc.getJdbcTemplate().queryForObject("SELECT LOCALTIMESTAMP", LocalDateTime.class);
+    }
+}
@@ -0,0 +1,72 @@
+package pe.upc.edu.productservice.infrastructure.persistence.jdbc.repositories;
+
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import pe.upc.edu.productservice.domain.model.aggregates.Product;
+import pe.upc.edu.productservice.domain.model.valueobjects.ProductType;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Blocking counterpart of {@code ProductRepository} for the JDBC adapter. Callers must not use it
+ * from an event-loop thread.
+ */
+public class JdbcProductRepository {
+
+    private static final RowMapper<Product> PRODUCT = (rs, rowNum) -> new Product(
+            rs.getLong("id"),
+            rs.getLong("client_id"),
+            ProductType.valueOf(rs.getString("product_type")),
+            rs.getString("name"),
+            rs.getDouble("balance"));
+
+    private final NamedParameterJdbcTemplate jdbc;
+
+    public JdbcProductRepository(NamedParameterJdbcTemplate jdbc) {
+        this.jdbc = jdbc;
+    }
+
+    public List<Product> findAll() {
+        return jdbc.query("SELECT * FROM products", PRODUCT);
+    }
+
+    public Optional<Product> findById(Long id) {
+        return jdbc.query("SELECT * FROM products WHERE id = :id", Map.of("id", id), PRODUCT).stream().findFirst();
+    }
+
+    public List<Product> findByClientId(Long clientId) {
+        return jdbc.query("SELECT * FROM products WHERE client_id = :clientId", Map.of("clientId", clientId), PRODUCT);
+    }
+
+    public boolean existsByClientIdAndName(Long clientId, String name) {
+        return Boolean.TRUE.equals(jdbc.queryForObject(
+                "SELECT COUNT(*) > 0 FROM products WHERE client_id = :clientId AND name = :name",
+                new MapSqlParameterSource().addValue("clientId", clientId).addValue("name", name), Boolean.class));
+    }
+
+    public Product save(Product product) {
+        var params = new MapSqlParameterSource()
+                .addValue("clientId", product.getClientId())
+                .addValue("productType", product.getProductType().name())
+                .addValue("name", product.getName())
+                .addValue("balance", product.getBalance());
+        if (product.getId() != null) {
+            jdbc.update("UPDATE products SET client_id = :clientId, product_type = :productType, name = :name, "
+                    + "balance = :balance WHERE id = :id", params.addValue("id", product.getId()));
+            return product;
+        }
+        var keys = new GeneratedKeyHolder();
+        jdbc.update("INSERT INTO products (client_id, product_type, name, balance) "
+                + "VALUES (:clientId, :productType, :name, :balance)", params, keys, new String[]{"id"});
+        product.setId(keys.getKeyAs(Number.class).longValue());
+        return product;
+    }
+
+    public void delete(Product product) {
+        jdbc.update("DELETE FROM products WHERE id = :id", Map.of("id", product.getId()));
+    }
+}
@@ -0,0 +1,20 @@
+package pe.upc.edu.productservice.infrastructure.persistence.r2dbc.repositories;
+
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import org.springframework.stereotype.Repository;
+import pe.upc.edu.productservice.domain.model.events.ProductEvent;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface ProductEventRepository extends R2dbcRepository<ProductEvent, Long> {
+
+      @Query("SELECT * FROM product_outbox WHERE id > :after ORDER BY id LIMIT :limit")
+      Flux<ProductEvent> findPage(Long after, int limit);
+
+      @Query("SELECT LOCALTIMESTAMP")
+      Mono<LocalDateTime> currentTimestamp();
+}
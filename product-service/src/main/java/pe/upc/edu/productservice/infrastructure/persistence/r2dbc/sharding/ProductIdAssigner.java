@@ -0,0 +1,46 @@
+package pe.upc.edu.productservice.infrastructure.persistence.r2dbc.sharding;
+
+import org.reactivestreams.Publisher;
+import org.springframework.data.r2dbc.mapping.event.BeforeConvertCallback;
+import org.springframework.data.relational.core.sql.SqlIdentifier;
+import org.springframework.r2dbc.core.DatabaseClient;
+import pe.upc.edu.productservice.domain.model.aggregates.Product;
+import reactor.core.publisher.Mono;
+
+/**
+ * Gives a new product its shard-encoded id right before the insert: the next value of the
+ * shard's {@code product_local_ids} sequence, with the shard in the low bits. The insert must
+ * already run on the client's shard; saving on any other shard is refused rather than leaving a
+ * row where its id says it is not.
+ */
+public class ProductIdAssigner implements BeforeConvertCallback<Product> {
+
+    private final ProductShards productShards;
+    private final DatabaseClient databaseClient;
+
+    public ProductIdAssigner(ProductShards productShards, DatabaseClient databaseClient) {
+        this.productShards = productShards;
+        this.databaseClient = databaseClient;
+    }
+
+    @Override
+    public Publisher<Product> onBeforeConvert(Product product, SqlIdentifier table) {
+        if (product.getId() != null) {
+            return Mono.just(product);
+        }
+        int shard = productShards.shardForClient(product.getClientId());
+        return Mono.deferContextual(context -> {
+            if (context.getOrDefault(ProductShards.CONTEXT_KEY, 0) != shard) {
+                return Mono.error(new IllegalStateException(
+                        "Products of client " + product.getClientId() + " must be saved on shard " + shard));
+            }
+            return databaseClient.sql("SELECT nextval('product_local_ids')")
+                    .map(row -> row.get(0, Long.class))
+                    .one()
+                    .map(localId -> {
+                        product.setId(productShards.encode(localId, shard));
+                        return product;
+                    });
+        });
+    }
+}
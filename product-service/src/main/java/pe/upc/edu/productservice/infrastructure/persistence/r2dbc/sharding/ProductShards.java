@@ -0,0 +1,89 @@
+package pe.upc.edu.productservice.infrastructure.persistence.r2dbc.sharding;
+
+import reactor.core.publisher.Flux;
+import reactor.util.context.Context;
+
+import java.util.function.Function;
+import java.util.function.IntFunction;
+
+/**
+ * Shard layout of the products storage. A client's products, and their outbox rows, live on the
+ * shard chosen by a jump consistent hash of {@code client_id}. The shard count is fixed once
+ * there is data: nothing moves rows between shards, so {@link ShardLayoutVerifier} refuses to
+ * start with a different count (jump hashing keeps a future migration small, since growing the
+ * count only re-homes the clients that land on the new shards). Product ids carry their shard in
+ * the low {@value #SHARD_BITS} bits ({@code id = localId << 8 | shard}), so a lookup by id needs
+ * no directory. With a single shard ids are left as the database generates them.
+ * <p>
+ * The shard for a piece of work travels in the Reactor context and is read by
+ * {@link ShardRoutingConnectionFactory}.
+ */
+public class ProductShards {
+
+    public static final int SHARD_BITS = 8;
+    public static final int MAX_SHARDS = 1 << SHARD_BITS;
+
+    static final String CONTEXT_KEY = ProductShards.class.getName() + ".SHARD";
+
+    private final int count;
+
+    public ProductShards(int count) {
+        if (count <= 0 || count > MAX_SHARDS) {
+            throw new IllegalArgumentException("Product shard count must be between 1 and " + MAX_SHARDS);
+        }
+        this.count = count;
+    }
+
+    public int count() {
+        return count;
+    }
+
+    public int shardForClient(Long clientId) {
+        return count == 1 ? 0 : jumpHash(clientId, count);
+    }
+
+    /**
+     * Shard encoded in a product id, or -1 when the id cannot belong to any shard.
+     */
+    public int shardOfProduct(Long productId) {
+        if (count == 1) {
+            return 0;
+        }
+        if (productId == null || productId <= 0) {
+            return -1;
+        }
+        int shard = (int) (productId & (MAX_SHARDS - 1));
+        return shard < count ? shard : -1;
+    }
+
+    public long encode(long localId, int shard) {
+        return (localId << SHARD_BITS) | shard;
+    }
+
+    public Function<Context, Context> onShard(int shard) {
+        return context -> context.put(CONTEXT_KEY, shard);
+    }
+
+    /**
+     * Runs the query on every shard in parallel and merges the rows as they arrive.
+     */
+    public <T> Flux<T> scatterGather(IntFunction<Flux<T>> query) {
+        if (count == 1) {
+            return query.apply(0);
+        }
+        return Flux.range(0, count)
+                .flatMap(shard -> query.apply(shard).contextWrite(onShard(shard)), count);
+    }
+
+    // Lamping & Veach, "A Fast, Minimal Memory, Consistent Hash Algorithm"
+    static int jumpHash(long key, int buckets) {
+        long b = -1;
+        long j = 0;
+        while (j < buckets) {
+            b = j;
+            key = key * 2862933555777941757L + 1;
+            j = (long) ((b + 1) * ((double) (1L << 31) / (double) ((key >>> 33) + 1)));
+        }
+        return (int) b;
+    }
+}
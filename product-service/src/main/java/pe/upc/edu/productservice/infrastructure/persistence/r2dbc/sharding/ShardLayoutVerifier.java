@@ -0,0 +1,45 @@
+package pe.upc.edu.productservice.infrastructure.persistence.r2dbc.sharding;
+
+import io.r2dbc.spi.ConnectionFactory;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Keeps the shard layout from changing under existing data. On its first start every shard records
+ * its position and the shard count in {@code product_shard_layout}; a later start with another
+ * count, or with the URLs in another order, fails instead of routing clients to shards that do
+ * not hold their rows. Changing the layout means moving the affected clients' products and outbox
+ * rows first (with jump hashing, growing from n to m shards only moves clients onto the new
+ * shards) and then clearing the recorded layout.
+ */
+public final class ShardLayoutVerifier {
+
+    private ShardLayoutVerifier() {
+    }
+
+    public static Mono<Void> verify(List<ConnectionFactory> shards) {
+        return Flux.range(0, shards.size())
+                .concatMap(shard -> verify(DatabaseClient.create(shards.get(shard)), shard, shards.size()))
+                .then();
+    }
+
+    private static Mono<Void> verify(DatabaseClient databaseClient, int shard, int count) {
+        return databaseClient.sql("INSERT INTO product_shard_layout (id, shard, shard_count) "
+                        + "SELECT 1, :shard, :count WHERE NOT EXISTS (SELECT 1 FROM product_shard_layout)")
+                .bind("shard", shard)
+                .bind("count", count)
+                .then()
+                .then(databaseClient.sql("SELECT shard, shard_count FROM product_shard_layout WHERE id = 1")
+                        .map(row -> new int[]{row.get("shard", Integer.class), row.get("shard_count", Integer.class)})
+                        .one())
+                .flatMap(recorded -> recorded[0] == shard && recorded[1] == count
+                        ? Mono.<Void>empty()
+                        : Mono.error(new IllegalStateException("Products shard " + shard + " of " + count
+                                + " was set up as shard " + recorded[0] + " of " + recorded[1]
+                                + ": product-shards.urls must keep its count and order, or the clients"
+                                + " on the moved shards must be migrated first")));
+    }
+}
@@ -0,0 +1,49 @@
+package pe.upc.edu.productservice.infrastructure.persistence.r2dbc.sharding;
+
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.ConnectionFactoryMetadata;
+import org.reactivestreams.Publisher;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Opens connections on the shard named in the Reactor context ({@link ProductShards#onShard}).
+ * Work without a shard (health checks, anything not keyed by client or product) goes to shard 0.
+ * Transactions stay on the shard they started on, since the connection is bound when they begin.
+ */
+public class ShardRoutingConnectionFactory implements ConnectionFactory {
+
+    private final List<ConnectionFactory> shards;
+
+    public ShardRoutingConnectionFactory(List<ConnectionFactory> shards) {
+        if (shards.isEmpty() || shards.size() > ProductShards.MAX_SHARDS) {
+            throw new IllegalArgumentException("Between 1 and " + ProductShards.MAX_SHARDS + " product shards are supported");
+        }
+        this.shards = List.copyOf(shards);
+    }
+
+    @Override
+    public Publisher<? extends Connection> create() {
+        return Mono.deferContextual(context -> Mono.from(shards.get(context.getOrDefault(ProductShards.CONTEXT_KEY, 0)).create()));
+    }
+
+    @Override
+    public ConnectionFactoryMetadata getMetadata() {
+        return shards.get(0).getMetadata();
+    }
+
+    public List<ConnectionFactory> getShards() {
+        return shards;
+    }
+
+    public void stop() {
+        shards.forEach(shard -> {
+            if (shard instanceof Disposable disposable) {
+                disposable.dispose();
+            }
+        });
+    }
+}
@@ -0,0 +1,93 @@
+package pe.upc.edu.productservice.infrastructure.rsocket;
+
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.discovery.ReactiveDiscoveryClient;
+import org.springframework.messaging.rsocket.RSocketRequester;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * A few long-lived RSocket connections to each instance of one service. Instances come from the
+ * discovery client (only UP ones, with the port they publish under {@value #METADATA_KEY}, see
+ * customer-service's {@code RSocketPortPublisher}) and each call takes the next instance and connection
+ * round-robin. Requesters connect lazily, multiplex any number of concurrent requests and
+ * reconnect on the next request after their connection is lost; those of instances that left the
+ * registry are disposed on the next lookup.
+ */
+public class RSocketRequesterPool {
+
+    public static final String METADATA_KEY = "rsocket-port";
+
+    private final RSocketRequester.Builder builder;
+    private final ReactiveDiscoveryClient discoveryClient;
+    private final String serviceId;
+    private final int connectionsPerInstance;
+    private final ConcurrentHashMap<String, List<RSocketRequester>> requesters = new ConcurrentHashMap<>();
+    private final AtomicInteger next = new AtomicInteger();
+
+    public RSocketRequesterPool(RSocketRequester.Builder builder, ReactiveDiscoveryClient discoveryClient,
+                                String serviceId, int connectionsPerInstance) {
+        if (connectionsPerInstance <= 0) {
+            throw new IllegalArgumentException("RSocket connections must be a positive number");
+        }
+        this.builder = builder;
+        this.discoveryClient = discoveryClient;
+        this.serviceId = serviceId;
+        this.connectionsPerInstance = connectionsPerInstance;
+    }
+
+    public Mono<RSocketRequester> next() {
+        // La lista de instancias sale de la copia local del registro: no hay viaje de red por llamada
+        return discoveryClient.getInstances(serviceId)
+                .filter(instance -> instance.getMetadata().containsKey(METADATA_KEY))
+                .collectSortedList((a, b) -> target(a).compareTo(target(b)))
+                .flatMap(instances -> {
+                    retain(instances.stream()
+                            .map(RSocketRequesterPool::target)
+                            .collect(Collectors.toSet()));
+                    if (instances.isEmpty()) {
+                        return Mono.error(new IllegalStateException(
+                                "No " + serviceId + " instance publishes an RSocket port"));
+                    }
+                    int turn = Math.floorMod(next.getAndIncrement(), instances.size() * connectionsPerInstance);
+                    ServiceInstance instance = instances.get(turn % instances.size());
+                    return Mono.just(requestersOf(instance).get(turn / instances.size()));
+                });
+    }
+
+    public void dispose() {
+        requesters.values().forEach(connections -> connections.forEach(RSocketRequester::dispose));
+        requesters.clear();
+    }
+
+    private List<RSocketRequester> requestersOf(ServiceInstance instance) {
+        return requesters.computeIfAbsent(target(instance), target -> {
+            int port = Integer.parseInt(instance.getMetadata().get(METADATA_KEY));
+            List<RSocketRequester> connections = new ArrayList<>(connectionsPerInstance);
+            for (int i = 0; i < connectionsPerInstance; i++) {
+                connections.add(builder.tcp(instance.getHost(), port));
+            }
+            return List.copyOf(connections);
+        });
+    }
+
+    private void retain(Set<String> targets) {
+        requesters.entrySet().removeIf(entry -> {
+            if (targets.contains(entry.getKey())) {
+                return false;
+            }
+            entry.getValue().forEach(RSocketRequester::dispose);
+            return true;
+        });
+    }
+
+    private static String target(ServiceInstance instance) {
+        return instance.getHost() + ":" + instance.getMetadata().get(METADATA_KEY);
+    }
+}
@@ -0,0 +1,96 @@
+package pe.upc.edu.productservice.infrastructure.streaming;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import pe.upc.edu.productservice.domain.model.events.ProductEvent;
+import reactor.core.publisher.BufferOverflowStrategy;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * In-process fan-out of committed product changes to live subscribers, partitioned by client.
+ * <p>
+ * Each client with at least one subscriber gets its own multicast sink, created on the first
+ * subscription and dropped with the last one, so a change only touches the subscribers of its
+ * client and idle clients cost nothing. Every subscriber has a small bounded buffer that drops
+ * its oldest entries when the connection cannot keep up; the publisher never blocks.
+ */
+@Component
+public class ProductChangeBroadcaster {
+
+    private final ConcurrentHashMap<Long, Channel> channels = new ConcurrentHashMap<>();
+    private final AtomicInteger subscribers = new AtomicInteger();
+    private final int subscriberBuffer;
+    private final Flux<Long> heartbeats;
+    private final Counter dropped;
+
+    public ProductChangeBroadcaster(MeterRegistry meterRegistry,
+                                    @Value("${product-stream.subscriber-buffer:16}") int subscriberBuffer,
+                                    @Value("${product-stream.heartbeat:25s}") Duration heartbeat) {
+        this.subscriberBuffer = subscriberBuffer;
+        // One timer for all connections instead of one per subscriber
+        this.heartbeats = Flux.interval(heartbeat, heartbeat).share();
+        this.dropped = Counter.builder("product.stream.dropped")
+                .description("Product changes dropped because a subscriber buffer was full")
+                .register(meterRegistry);
+        meterRegistry.gauge("product.stream.subscribers", subscribers);
+        meterRegistry.gauge("product.stream.clients", channels, ConcurrentHashMap::size);
+    }
+
+    /**
+     * Delivers a committed change to the current subscribers of its client, if any.
+     */
+    public void publish(ProductEvent event) {
+        Channel channel = channels.get(event.getClientId());
+        if (channel != null) {
+            channel.emit(event);
+        }
+    }
+
+    /**
+     * Changes for one client from the moment of subscription on.
+     */
+    public Flux<ProductEvent> changes(Long clientId) {
+        return Flux.defer(() -> {
+            Channel channel = channels.compute(clientId, (id, existing) -> {
+                Channel current = existing != null ? existing : new Channel();
+                current.subscribers++;
+                return current;
+            });
+            subscribers.incrementAndGet();
+            return channel.sink.asFlux()
+                    .onBackpressureBuffer(subscriberBuffer, event -> dropped.increment(), BufferOverflowStrategy.DROP_OLDEST)
+                    .doFinally(signal -> {
+                        subscribers.decrementAndGet();
+                        channels.computeIfPresent(clientId, (id, current) -> --current.subscribers == 0 ? null : current);
+                    });
+        });
+    }
+
+    /**
+     * Shared keep-alive ticks, so idle connections are not closed by proxies in between.
+     */
+    public Flux<Long> heartbeats() {
+        return heartbeats;
+    }
+
+    int activeClients() {
+        return channels.size();
+    }
+
+    private static final class Channel {
+        // Subscribers only receive what they requested; their buffers request unbounded, so nothing is lost here
+        private final Sinks.Many<ProductEvent> sink = Sinks.many().multicast().directBestEffort();
+        private int subscribers; // guarded by ConcurrentHashMap.compute on the channel's key
+
+        private synchronized void emit(ProductEvent event) {
+            sink.tryEmitNext(event);
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package pe.upc.edu.productservice.infrastructure.warmup;
+
+import org.springframework.http.MediaType;
+import pe.upc.edu.productservice.domain.model.aggregates.Product;
+import pe.upc.edu.productservice.domain.model.queries.GetAllProductsQuery;
+import pe.upc.edu.productservice.domain.model.queries.GetProductByIdQuery;
+import pe.upc.edu.productservice.domain.model.queries.GetProductEventsQuery;
+import pe.upc.edu.productservice.domain.model.queries.GetProductsByClientIdQuery;
+import pe.upc.edu.productservice.domain.model.valueobjects.ProductType;
+import pe.upc.edu.productservice.domain.services.ProductQueryService;
+import pe.upc.edu.productservice.infrastructure.config.MediaTypes;
+import pe.upc.edu.productservice.infrastructure.persistence.r2dbc.sharding.ProductShards;
+import pe.upc.edu.productservice.interfaces.rest.resources.CreateProductResource;
+import pe.upc.edu.productservice.interfaces.rest.transform.ProductEventResourceFromEntityAssembler;
+import pe.upc.edu.productservice.interfaces.rest.transform.ProductResourceFromEntityAssembler;
+import pe.upc.edu.servicecommons.warmup.CodecWarmUp;
+import pe.upc.edu.servicecommons.warmup.WarmUpWorkload;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Product-service warm-up: for a sample of existing products, the lookups behind
+ * {@code GET /api/v1/products/{productId}} and {@code GET /api/v1/products/client/{clientId}}
+ * (JSON and Smile), a page of every shard's change feed as customer-service polls it, and the
+ * decoding of a create body. With an empty database only the codecs are exercised.
+ */
+public class ProductWarmUpWorkload implements WarmUpWorkload {
+
+    private static final CreateProductResource SAMPLE_REQUEST =
+            new CreateProductResource(0L, ProductType.SAVINGS_ACCOUNT, "Warm-up", 0.0);
+
+    private final ProductQueryService productQueryService;
+    private final ProductShards productShards;
+    private final CodecWarmUp codecs;
+    private final int sampleSize;
+    private volatile List<Product> sample = List.of();
+
+    public ProductWarmUpWorkload(ProductQueryService productQueryService, ProductShards productShards,
+                                 CodecWarmUp codecs, int sampleSize) {
+        this.productQueryService = productQueryService;
+        this.productShards = productShards;
+        this.codecs = codecs;
+        this.sampleSize = sampleSize;
+    }
+
+    @Override
+    public Mono<Void> prime() {
+        // La muestra se toma una vez: cortar el listado en cada ronda dejaría una medición "cancelled" por ronda
+        return productQueryService.handle(new GetAllProductsQuery())
+                .take(sampleSize)
+                .collectList()
+                .doOnNext(products -> sample = products)
+                .then();
+    }
+
+    @Override
+    public Mono<Void> iteration() {
+        return Flux.fromIterable(sample)
+                .concatMap(this::readProduct)
+                .thenMany(Flux.range(0, productShards.count()).concatMap(this::readChangeFeed))
+                .then(Mono.fromRunnable(() -> codecs.roundTrip(SAMPLE_REQUEST, MediaType.APPLICATION_JSON)));
+    }
+
+    private Mono<Void> readProduct(Product product) {
+        return productQueryService.handle(new GetProductByIdQuery(product.getId()))
+                .map(ProductResourceFromEntityAssembler::toResourceFromEntity)
+                .doOnNext(resource -> codecs.roundTrip(resource, MediaType.APPLICATION_JSON))
+                .thenMany(productQueryService.handle(new GetProductsByClientIdQuery(product.getClientId())))
+                .map(ProductResourceFromEntityAssembler::toResourceFromEntity)
+                .doOnNext(resource -> codecs.roundTrip(resource, MediaTypes.APPLICATION_SMILE))
+                .then();
+    }
+
+    private Mono<Void> readChangeFeed(int shard) {
+        return productQueryService.handle(new GetProductEventsQuery(shard, 0L, sampleSize))
+                .map(ProductEventResourceFromEntityAssembler::toResourceFromEntity)
+                .collectList()
+                .doOnNext(page -> codecs.roundTrip(page, MediaTypes.APPLICATION_SMILE))
+                .then();
+    }
+}
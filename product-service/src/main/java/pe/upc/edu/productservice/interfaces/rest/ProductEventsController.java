@@ -0,0 +1,54 @@
+package pe.upc.edu.productservice.interfaces.rest;
+
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import pe.upc.edu.productservice.domain.model.queries.GetProductEventShardsQuery;
+import pe.upc.edu.productservice.domain.model.queries.GetProductEventsQuery;
+import pe.upc.edu.productservice.domain.services.ProductQueryService;
+import pe.upc.edu.productservice.interfaces.rest.resources.ProductEventResource;
+import pe.upc.edu.productservice.interfaces.rest.resources.ProductEventShardsResource;
+import pe.upc.edu.productservice.interfaces.rest.transform.ProductEventResourceFromEntityAssembler;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+import static org.springframework.http.MediaType.APPLICATION_JSON_VALUE;
+import static pe.upc.edu.productservice.infrastructure.config.MediaTypes.APPLICATION_SMILE_VALUE;
+
+/**
+ * Change feed read from the product outbox, consumed by customer-service to keep its local
+ * product projection up to date. There is one feed per products shard; clients page through
+ * each with the last id they applied from it.
+ */
+@RestController
+@RequestMapping(value = "/api/v1/product-events", produces = {APPLICATION_JSON_VALUE, APPLICATION_SMILE_VALUE})
+@Tag(name = "Product Events", description = "Product change feed (transactional outbox)")
+public class ProductEventsController {
+
+    private final ProductQueryService productQueryService;
+
+    public ProductEventsController(ProductQueryService productQueryService) {
+        this.productQueryService = productQueryService;
+    }
+
+    // Una página acotada, respondida como una sola lista para que también pueda codificarse en Smile
+    @GetMapping
+    public Mono<List<ProductEventResource>> getProductEvents(@RequestParam(defaultValue = "0") Integer shard,
+                                                             @RequestParam(defaultValue = "0") Long after,
+                                                             @RequestParam(defaultValue = "500") Integer limit) {
+        var query = new GetProductEventsQuery(shard, after, limit);
+        return productQueryService.handle(query)
+                .map(ProductEventResourceFromEntityAssembler::toResourceFromEntity)
+                .collectList();
+    }
+
+    // Número de feeds (uno por shard de productos); los consumidores leen cada uno con su propio cursor
+    @GetMapping("/shards")
+    public Mono<ProductEventShardsResource> getProductEventShards() {
+        return productQueryService.handle(new GetProductEventShardsQuery())
+                .map(ProductEventShardsResource::new);
+    }
+}
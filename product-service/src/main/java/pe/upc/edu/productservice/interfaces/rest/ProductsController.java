@@ -2,22 +2,31 @@ package pe.upc.edu.productservice.interfaces.rest;
 
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.web.bind.annotation.*;
 import pe.upc.edu.productservice.domain.model.commands.DeleteProductCommand;
 import pe.upc.edu.productservice.domain.model.queries.GetAllProductsQuery;
 import pe.upc.edu.productservice.domain.model.queries.GetProductByIdQuery;
+import pe.upc.edu.productservice.domain.model.queries.GetProductChangesByClientIdQuery;
 import pe.upc.edu.productservice.domain.model.queries.GetProductsByClientIdQuery;
 import pe.upc.edu.productservice.domain.services.ProductCommandService;
 import pe.upc.edu.productservice.domain.services.ProductQueryService;
+import pe.upc.edu.productservice.infrastructure.streaming.ProductChangeBroadcaster;
 import pe.upc.edu.productservice.interfaces.rest.resources.CreateProductResource;
 import pe.upc.edu.productservice.interfaces.rest.resources.ProductResource;
 import pe.upc.edu.productservice.interfaces.rest.resources.UpdateProductResource;
 import pe.upc.edu.productservice.interfaces.rest.transform.CreateProductCommandFromResourceAssembler;
+import pe.upc.edu.productservice.interfaces.rest.transform.ProductEventResourceFromEntityAssembler;
 import pe.upc.edu.productservice.interfaces.rest.transform.ProductResourceFromEntityAssembler;
 import pe.upc.edu.productservice.interfaces.rest.transform.UpdateProductCommandFromResourceAssembler;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+
+import java.util.List;
+
 import static org.springframework.http.MediaType.APPLICATION_JSON_VALUE;
+import static pe.upc.edu.productservice.infrastructure.config.MediaTypes.APPLICATION_SMILE_VALUE;
 
 @RestController
 @RequestMapping(value = "/api/v1/products", produces = APPLICATION_JSON_VALUE)
@@ -26,10 +35,13 @@ public class ProductsController {
 
     private final ProductQueryService productQueryService;
     private final ProductCommandService productCommandService;
+    private final ProductChangeBroadcaster productChangeBroadcaster;
 
-    public ProductsController(ProductQueryService productQueryService, ProductCommandService productCommandService) {
+    public ProductsController(ProductQueryService productQueryService, ProductCommandService productCommandService,
+                              ProductChangeBroadcaster productChangeBroadcaster) {
         this.productQueryService = productQueryService;
         this.productCommandService = productCommandService;
+        this.productChangeBroadcaster = productChangeBroadcaster;
     }
 
     @PostMapping
@@ -67,11 +79,37 @@ public class ProductsController {
                 .onErrorMap(throwable -> new RuntimeException("Failed to retrieve product", throwable));
     }
 
-    @GetMapping("/client/{clientId}")
-    public Flux<ProductResource> getProductsByClientId(@PathVariable Long clientId) {
+    // También negocia Smile para llamadas internas; se responde como una sola lista porque el
+    // encoder de Smile no enmarca un Flux como arreglo
+    @GetMapping(value = "/client/{clientId}", produces = {APPLICATION_JSON_VALUE, APPLICATION_SMILE_VALUE})
+    public Mono<List<ProductResource>> getProductsByClientId(@PathVariable Long clientId) {
         var query = new GetProductsByClientIdQuery(clientId);
         return productQueryService.handle(query)
-                .map(ProductResourceFromEntityAssembler::toResourceFromEntity);
+                .map(ProductResourceFromEntityAssembler::toResourceFromEntity)
+                .collectList();
+    }
+
+    /**
+     * Streams a client's products as server-sent events: one {@code snapshot} event per current
+     * product, then a {@code product-change} event for every committed create, update or delete.
+     * Replaces polling {@code /client/{clientId}}; changes made while the snapshot is being read
+     * are held and delivered right after it.
+     */
+    @GetMapping(value = "/client/{clientId}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<?>> streamProductsByClientId(@PathVariable Long clientId) {
+        Flux<ServerSentEvent<?>> snapshot = productQueryService.handle(new GetProductsByClientIdQuery(clientId))
+                .map(product -> ServerSentEvent.builder(ProductResourceFromEntityAssembler.toResourceFromEntity(product))
+                        .event("snapshot")
+                        .build());
+        Flux<ServerSentEvent<?>> changes = productQueryService.handle(new GetProductChangesByClientIdQuery(clientId))
+                .map(event -> ServerSentEvent.builder(ProductEventResourceFromEntityAssembler.toResourceFromEntity(event))
+                        .id(String.valueOf(event.getId()))
+                        .event("product-change")
+                        .build());
+        Flux<ServerSentEvent<?>> heartbeats = productChangeBroadcaster.heartbeats()
+                .map(tick -> ServerSentEvent.builder().comment("keep-alive").build());
+        // mergeSequential subscribes to the changes right away and buffers them until the snapshot completes
+        return Flux.merge(Flux.mergeSequential(snapshot, changes), heartbeats);
     }
 
     @PutMapping("/{productId}")
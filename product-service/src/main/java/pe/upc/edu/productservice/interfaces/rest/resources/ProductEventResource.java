@@ -0,0 +1,17 @@
+/**
+ * ProductEventResource
+ * @Summary
+ *  ProductEventResource is a record class that represents one entry of the product change feed
+ **/
+
+package pe.upc.edu.productservice.interfaces.rest.resources;
+
+import pe.upc.edu.productservice.domain.model.valueobjects.ProductEventType;
+import pe.upc.edu.productservice.domain.model.valueobjects.ProductType;
+
+import java.time.LocalDateTime;
+
+public record ProductEventResource(Long id, ProductEventType eventType, Long productId, Long clientId,
+                                   ProductType productType, String name, Double balance,
+                                   LocalDateTime occurredAt) {
+}
@@ -0,0 +1,4 @@
+package pe.upc.edu.productservice.interfaces.rest.resources;
+
+public record ProductEventShardsResource(Integer count) {
+}
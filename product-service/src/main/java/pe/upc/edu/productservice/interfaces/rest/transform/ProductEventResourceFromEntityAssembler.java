@@ -0,0 +1,18 @@
+package pe.upc.edu.productservice.interfaces.rest.transform;
+
+import pe.upc.edu.productservice.domain.model.events.ProductEvent;
+import pe.upc.edu.productservice.interfaces.rest.resources.ProductEventResource;
+
+public class ProductEventResourceFromEntityAssembler {
+    public static ProductEventResource toResourceFromEntity(ProductEvent entity) {
+        return new ProductEventResource(
+                entity.getId(),
+                entity.getEventType(),
+                entity.getProductId(),
+                entity.getClientId(),
+                entity.getProductType(),
+                entity.getName(),
+                entity.getBalance(),
+                entity.getOccurredAt());
+    }
+}
@@ -1,7 +1,46 @@
 CREATE TABLE IF NOT EXISTS products (
-    id SERIAL PRIMARY KEY,
+    id BIGSERIAL PRIMARY KEY,
     client_id BIGINT NOT NULL,
     product_type VARCHAR(50) NOT NULL,
     name VARCHAR(255) NOT NULL,
     balance NUMERIC(12, 2) NOT NULL
 );
+
+-- Sharded storage only: per-shard local ids, combined with the shard number into the product id
+CREATE SEQUENCE IF NOT EXISTS product_local_ids;
+
+-- Transactional outbox: one row per product change, written in the same transaction as the change.
+-- Served in id order by GET /api/v1/product-events and kept so consumers can replay from zero.
+-- recorded_at comes from the database clock and tells the feed how long a gap in the ids has been open.
+CREATE TABLE IF NOT EXISTS product_outbox (
+    id BIGSERIAL PRIMARY KEY,
+    event_type VARCHAR(20) NOT NULL,
+    product_id BIGINT NOT NULL,
+    client_id BIGINT NOT NULL,
+    product_type VARCHAR(50),
+    name VARCHAR(255),
+    balance NUMERIC(12, 2),
+    occurred_at TIMESTAMP NOT NULL,
+    recorded_at TIMESTAMP NOT NULL DEFAULT LOCALTIMESTAMP
+);
+
+ALTER TABLE product_outbox ADD COLUMN IF NOT EXISTS recorded_at TIMESTAMP NOT NULL DEFAULT LOCALTIMESTAMP;
+
+-- Idempotency-Key responses pushed out of memory by IdempotencyStore, deleted once expired
+CREATE TABLE IF NOT EXISTS idempotency_keys (
+    idempotency_key VARCHAR(64) PRIMARY KEY,
+    fingerprint VARCHAR(64) NOT NULL,
+    status INTEGER NOT NULL,
+    content_type VARCHAR(255),
+    body BYTEA NOT NULL,
+    expires_at BIGINT NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_idempotency_keys_expires_at ON idempotency_keys (expires_at);
+
+-- Position of this database in the products shard layout, recorded on first start (ShardLayoutVerifier)
+CREATE TABLE IF NOT EXISTS product_shard_layout (
+    id INTEGER PRIMARY KEY,
+    shard INTEGER NOT NULL,
+    shard_count INTEGER NOT NULL
+);
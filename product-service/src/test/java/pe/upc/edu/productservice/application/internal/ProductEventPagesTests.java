@@ -0,0 +1,59 @@
+package pe.upc.edu.productservice.application.internal;
+
+import org.junit.jupiter.api.Test;
+import pe.upc.edu.productservice.domain.model.events.ProductEvent;
+import pe.upc.edu.productservice.domain.model.valueobjects.ProductEventType;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The outbox feed stops at a gap in the ids until the row after it is older than the gap timeout.
+ */
+class ProductEventPagesTests {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2026, 1, 1, 12, 0);
+    private static final LocalDateTime SETTLED_BEFORE = NOW.minusSeconds(60);
+
+    @Test
+    void contiguousPagesAreServedWhole() {
+        var page = List.of(event(11, NOW), event(12, NOW), event(13, NOW));
+
+        assertThat(ProductEventPages.hasGap(10, page)).isFalse();
+        assertThat(ProductEventPages.visible(10, page, SETTLED_BEFORE)).isEqualTo(page);
+    }
+
+    @Test
+    void aRecentGapHoldsBackEverythingAfterIt() {
+        // 12 es de una transacción que todavía no confirma: 13 ya es visible pero no debe adelantar el cursor
+        var page = List.of(event(11, NOW), event(13, NOW), event(14, NOW));
+
+        assertThat(ProductEventPages.hasGap(10, page)).isTrue();
+        assertThat(ProductEventPages.visible(10, page, SETTLED_BEFORE))
+                .extracting(ProductEvent::getId)
+                .containsExactly(11L);
+    }
+
+    @Test
+    void aGapAtTheCursorHoldsBackTheWholePage() {
+        var page = List.of(event(12, NOW), event(13, NOW));
+
+        assertThat(ProductEventPages.visible(10, page, SETTLED_BEFORE)).isEmpty();
+    }
+
+    @Test
+    void anOldGapIsSteppedOverAsARollback() {
+        var page = List.of(event(11, NOW.minusMinutes(5)), event(13, NOW.minusMinutes(2)), event(14, NOW),
+                event(16, NOW));
+
+        assertThat(ProductEventPages.visible(10, page, SETTLED_BEFORE))
+                .extracting(ProductEvent::getId)
+                .containsExactly(11L, 13L, 14L);
+    }
+
+    private static ProductEvent event(long id, LocalDateTime recordedAt) {
+        return new ProductEvent(id, ProductEventType.CREATED, 1L, 7L, null, null, null, recordedAt, recordedAt);
+    }
+}
@@ -0,0 +1,100 @@
+package pe.upc.edu.productservice.benchmark;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import pe.upc.edu.servicecommons.concurrency.AdaptiveConcurrencyLimiter.Outcome;
+import pe.upc.edu.servicecommons.concurrency.AdaptiveConcurrencyLimiter;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.pool.InstrumentedPool;
+import reactor.pool.PoolBuilder;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Open-loop overload against a simulated database: a 20-connection pool (the R2DBC pool size)
+ * with a fixed query time, offered more requests per second than it can serve. Compares no
+ * admission control with {@link AdaptiveConcurrencyLimiter} on goodput (answers within the
+ * deadline), timeouts, rejections and latency of the answered requests.
+ * <p>
+ * Not part of the normal build; run with
+ * {@code ./mvnw test -Dtest=ConcurrencyLimitBenchmark -Dbenchmark=true}.
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class ConcurrencyLimitBenchmark {
+
+    private static final int POOL_SIZE = 20;
+    private static final Duration QUERY_TIME = Duration.ofMillis(Integer.getInteger("benchmark.query-ms", 50));
+    private static final int OFFERED_RPS = Integer.getInteger("benchmark.rps", 600); // capacidad: 400 rps
+    private static final Duration DEADLINE = Duration.ofSeconds(1);
+    private static final Duration DURATION = Duration.ofSeconds(Integer.getInteger("benchmark.seconds", 10));
+
+    @Test
+    void compareWithAndWithoutLimiter() {
+        System.out.printf("%nPool %d x %d ms (capacity %d rps), offered %d rps, deadline %d ms, %d s%n",
+                POOL_SIZE, QUERY_TIME.toMillis(), POOL_SIZE * 1000 / QUERY_TIME.toMillis(), OFFERED_RPS,
+                DEADLINE.toMillis(), DURATION.toSeconds());
+        System.out.printf("%-10s %12s %10s %10s %10s %10s %8s%n",
+                "mode", "goodput/s", "timeouts", "rejected", "p50 ms", "p99 ms", "limit");
+        run("none", null);
+        run("adaptive", new AdaptiveConcurrencyLimiter(20, 4, 200, 2.0, 0.2,
+                TimeUnit.MILLISECONDS.toNanos(500), 10));
+    }
+
+    private void run(String mode, AdaptiveConcurrencyLimiter limiter) {
+        InstrumentedPool<Object> pool = PoolBuilder.from(Mono.fromSupplier(Object::new))
+                .sizeBetween(0, POOL_SIZE)
+                .maxPendingAcquireUnbounded()
+                .buildPool();
+        AtomicInteger timeouts = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        ConcurrentLinkedQueue<Long> latencies = new ConcurrentLinkedQueue<>();
+
+        int perTick = Math.max(1, OFFERED_RPS / 200);
+        Flux.interval(Duration.ofMillis(5))
+                .take(DURATION)
+                .flatMap(tick -> Flux.range(0, perTick), Integer.MAX_VALUE)
+                .flatMap(i -> {
+                    if (limiter != null && !limiter.tryAcquire()) {
+                        rejected.incrementAndGet();
+                        return Mono.empty();
+                    }
+                    long start = System.nanoTime();
+                    return pool.withPoolable(connection -> Mono.delay(QUERY_TIME))
+                            .then()
+                            .timeout(DEADLINE)
+                            .doOnSuccess(v -> {
+                                long rtt = System.nanoTime() - start;
+                                latencies.add(rtt);
+                                if (limiter != null) {
+                                    limiter.release(rtt, Outcome.SUCCESS);
+                                }
+                            })
+                            .onErrorResume(error -> {
+                                timeouts.incrementAndGet();
+                                if (limiter != null) {
+                                    limiter.release(System.nanoTime() - start, Outcome.DROPPED);
+                                }
+                                return Mono.empty();
+                            });
+                }, Integer.MAX_VALUE)
+                .blockLast();
+        pool.disposeLater().block();
+
+        long[] sorted = latencies.stream().mapToLong(Long::longValue).sorted().toArray();
+        System.out.printf("%-10s %12.0f %10d %10d %10.1f %10.1f %8s%n", mode,
+                sorted.length / (double) DURATION.toSeconds(), timeouts.get(), rejected.get(),
+                percentile(sorted, 0.5), percentile(sorted, 0.99),
+                limiter != null ? String.valueOf(limiter.getLimit()) : "-");
+    }
+
+    private static double percentile(long[] sorted, double p) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        return sorted[(int) Math.ceil(sorted.length * p) - 1] / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+}
@@ -0,0 +1,154 @@
+package pe.upc.edu.productservice.benchmark;
+
+import io.rsocket.core.RSocketServer;
+import io.rsocket.transport.netty.server.CloseableChannel;
+import io.rsocket.transport.netty.server.TcpServerTransport;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.http.codec.cbor.Jackson2CborDecoder;
+import org.springframework.http.codec.cbor.Jackson2CborEncoder;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.messaging.handler.annotation.MessageMapping;
+import org.springframework.messaging.rsocket.RSocketRequester;
+import org.springframework.messaging.rsocket.RSocketStrategies;
+import org.springframework.messaging.rsocket.annotation.support.RSocketMessageHandler;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.reactive.function.client.WebClient;
+import pe.upc.edu.productservice.domain.model.valueobjects.ProductType;
+import pe.upc.edu.productservice.interfaces.rest.resources.ProductResource;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.http.server.HttpServer;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Products-by-client lookup over RSocket request-stream (CBOR, one multiplexed TCP connection)
+ * vs HTTP/1.1 JSON with a connection pool, at the same concurrency. Both servers return the same
+ * list and encode it on every request, the way the real endpoints do.
+ * <p>
+ * Both sides are stubs: this compares the transports, not a production route. The service
+ * itself only talks RSocket as a client (see {@code RSocketRequesterPool}).
+ * <p>
+ * Not part of the normal build; run with
+ * {@code ./mvnw test -Dtest=RSocketVsHttpBenchmark -Dbenchmark=true}.
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class RSocketVsHttpBenchmark {
+
+    private static final int PRODUCTS = Integer.getInteger("benchmark.products", 20);
+    private static final int REQUESTS = Integer.getInteger("benchmark.requests", 20000);
+    private static final int CONCURRENCY = Integer.getInteger("benchmark.concurrency", 64);
+    private static final int WARMUP = 2000;
+
+    private static final List<ProductResource> CATALOG = products(PRODUCTS);
+
+    @Test
+    void compareRSocketAndHttp() throws Exception {
+        RSocketStrategies strategies = RSocketStrategies.builder()
+                .encoder(new Jackson2CborEncoder())
+                .decoder(new Jackson2CborDecoder())
+                .build();
+        RSocketMessageHandler handler = new RSocketMessageHandler();
+        handler.setRSocketStrategies(strategies);
+        handler.setHandlers(List.of(new ProductsResponder()));
+        handler.afterPropertiesSet();
+        CloseableChannel rsocketServer = RSocketServer.create(handler.responder())
+                .bind(TcpServerTransport.create("localhost", 0))
+                .block();
+
+        var mapper = Jackson2ObjectMapperBuilder.json().build();
+        DisposableServer httpServer = HttpServer.create()
+                .port(0)
+                .route(routes -> routes.get("/api/v1/products/client/{id}", (request, response) -> response
+                        .header("Content-Type", "application/json")
+                        .sendByteArray(Mono.fromCallable(() -> mapper.writeValueAsBytes(CATALOG)))))
+                .bindNow();
+
+        RSocketRequester requester = RSocketRequester.builder()
+                .rsocketStrategies(strategies)
+                .dataMimeType(MediaType.APPLICATION_CBOR)
+                .tcp("localhost", rsocketServer.address().getPort());
+        ConnectionProvider provider = ConnectionProvider.builder("benchmark").maxConnections(CONCURRENCY).build();
+        WebClient webClient = WebClient.builder()
+                .baseUrl("http://localhost:" + httpServer.port())
+                .clientConnector(new ReactorClientHttpConnector(HttpClient.create(provider)))
+                .build();
+        try {
+            System.out.printf("%n%d products per lookup, %d requests, concurrency %d%n", PRODUCTS, REQUESTS, CONCURRENCY);
+            System.out.printf("%-22s %12s %10s %10s%n", "transport", "req/s", "p50 ms", "p99 ms");
+            run("rsocket request-stream", clientId -> requester.route("products.by-client")
+                    .data(clientId)
+                    .retrieveFlux(ProductResource.class)
+                    .collectList());
+            run("http/1.1 json", clientId -> webClient.get()
+                    .uri("/api/v1/products/client/{id}", clientId)
+                    .retrieve()
+                    .bodyToFlux(ProductResource.class)
+                    .collectList());
+        } finally {
+            requester.dispose();
+            provider.disposeLater().block();
+            httpServer.disposeNow();
+            rsocketServer.dispose();
+        }
+    }
+
+    private void run(String name, Function<Long, Mono<List<ProductResource>>> lookup) {
+        measure(lookup, WARMUP);
+        long start = System.nanoTime();
+        long[] latencies = measure(lookup, REQUESTS);
+        double seconds = (System.nanoTime() - start) / 1e9;
+        Arrays.sort(latencies);
+        System.out.printf("%-22s %12.0f %10.2f %10.2f%n", name, REQUESTS / seconds,
+                millis(latencies[latencies.length / 2]),
+                millis(latencies[(int) Math.ceil(latencies.length * 0.99) - 1]));
+    }
+
+    private long[] measure(Function<Long, Mono<List<ProductResource>>> lookup, int requests) {
+        List<Long> latencies = Flux.range(0, requests)
+                .flatMap(i -> {
+                    long start = System.nanoTime();
+                    return lookup.apply((long) (i % 100))
+                            .doOnNext(products -> assertThat(products).hasSize(PRODUCTS))
+                            .map(products -> System.nanoTime() - start);
+                }, CONCURRENCY)
+                .collectList()
+                .block();
+        return latencies.stream().mapToLong(Long::longValue).toArray();
+    }
+
+    private static List<ProductResource> products(int count) {
+        ProductType[] types = ProductType.values();
+        List<ProductResource> products = new ArrayList<>(count);
+        for (long id = 1; id <= count; id++) {
+            products.add(new ProductResource(id, 42L, types[(int) (id % types.length)],
+                    "Producto " + id, Math.round(id * 1234.5678) / 100.0));
+        }
+        return products;
+    }
+
+    private static double millis(long nanos) {
+        return nanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    @Controller
+    static class ProductsResponder {
+
+        @MessageMapping("products.by-client")
+        Flux<ProductResource> productsByClient(Long clientId) {
+            return Flux.fromIterable(CATALOG);
+        }
+    }
+}
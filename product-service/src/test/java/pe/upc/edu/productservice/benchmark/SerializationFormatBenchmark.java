@@ -0,0 +1,108 @@
+package pe.upc.edu.productservice.benchmark;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import pe.upc.edu.productservice.domain.model.valueobjects.ProductEventType;
+import pe.upc.edu.productservice.domain.model.valueobjects.ProductType;
+import pe.upc.edu.productservice.interfaces.rest.resources.ProductEventResource;
+import pe.upc.edu.productservice.interfaces.rest.resources.ProductResource;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Payload size and serialization CPU of JSON vs Smile for the payloads of the internal endpoints,
+ * using the same mapper builders as the WebFlux codecs. CPU is thread CPU time per operation.
+ * <p>
+ * Not part of the normal build; run with
+ * {@code ./mvnw test -Dtest=SerializationFormatBenchmark -Dbenchmark=true}.
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class SerializationFormatBenchmark {
+
+    private static final int ITERATIONS = Integer.getInteger("benchmark.iterations", 2000);
+    private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+
+    private final ObjectMapper json = Jackson2ObjectMapperBuilder.json().build();
+    private final ObjectMapper smile = Jackson2ObjectMapperBuilder.smile().build();
+
+    @Test
+    void compareJsonAndSmile() throws Exception {
+        System.out.printf("%n%-40s %-6s %10s %14s %14s%n", "endpoint (payload)", "format", "bytes", "encode us/op", "decode us/op");
+        run("GET /products/client/{id} (50 items)", products(50), ProductResource.class);
+        run("GET /product-events (500 events)", events(500), ProductEventResource.class);
+        run("GET /clients/id/{id} (1 client)", List.of(new ClientPayload(42L, "María José", "Pérez Quispe",
+                "DNI", "45678912", "q3JxV0l2bUh4WkU9")), ClientPayload.class);
+    }
+
+    private void run(String endpoint, List<?> payload, Class<?> elementType) throws Exception {
+        long jsonBytes = 0;
+        for (ObjectMapper mapper : List.of(json, smile)) {
+            JavaType type = mapper.getTypeFactory().constructCollectionType(List.class, elementType);
+            byte[] encoded = mapper.writeValueAsBytes(payload);
+            assertThat((List<?>) mapper.readValue(encoded, type)).hasSize(payload.size());
+
+            measure(() -> mapper.writeValueAsBytes(payload)); // warm-up
+            double encodeMicros = measure(() -> mapper.writeValueAsBytes(payload));
+            measure(() -> mapper.readValue(encoded, type));
+            double decodeMicros = measure(() -> mapper.readValue(encoded, type));
+
+            String format = mapper == json ? "json" : "smile";
+            if (mapper == json) {
+                jsonBytes = encoded.length;
+            }
+            System.out.printf("%-40s %-6s %10d %14.2f %14.2f%s%n", endpoint, format, encoded.length,
+                    encodeMicros, decodeMicros,
+                    mapper == json ? "" : String.format("   (%.0f%% of json)", 100.0 * encoded.length / jsonBytes));
+        }
+    }
+
+    private static double measure(Operation operation) throws Exception {
+        long start = THREADS.getCurrentThreadCpuTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            operation.run();
+        }
+        return (THREADS.getCurrentThreadCpuTime() - start) / 1_000.0 / ITERATIONS;
+    }
+
+    private static List<ProductResource> products(int count) {
+        ProductType[] types = ProductType.values();
+        List<ProductResource> products = new ArrayList<>(count);
+        for (long id = 1; id <= count; id++) {
+            products.add(new ProductResource(id, 42L, types[(int) (id % types.length)], "Producto " + id,
+                    Math.round(id * 1234.5678) / 100.0));
+        }
+        return products;
+    }
+
+    private static List<ProductEventResource> events(int count) {
+        ProductType[] types = ProductType.values();
+        ProductEventType[] eventTypes = ProductEventType.values();
+        LocalDateTime now = LocalDateTime.now();
+        List<ProductEventResource> events = new ArrayList<>(count);
+        for (long id = 1; id <= count; id++) {
+            events.add(new ProductEventResource(id, eventTypes[(int) (id % eventTypes.length)], id % 97, id % 13,
+                    types[(int) (id % types.length)], "Producto " + id, Math.round(id * 1234.5678) / 100.0,
+                    now.plusSeconds(id)));
+        }
+        return events;
+    }
+
+    @FunctionalInterface
+    private interface Operation {
+        Object run() throws Exception;
+    }
+
+    /** Same shape as customer-service's ClientResource. */
+    record ClientPayload(Long id, String full_name, String full_lastName, String type_document,
+                         String number_document, String uniqueCode) {
+    }
+}
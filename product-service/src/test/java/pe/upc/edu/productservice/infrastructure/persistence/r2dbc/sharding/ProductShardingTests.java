@@ -0,0 +1,172 @@
+package pe.upc.edu.productservice.infrastructure.persistence.r2dbc.sharding;
+
+import io.r2dbc.proxy.ProxyConnectionFactory;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.mapping.callback.ReactiveEntityCallbacks;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.r2dbc.connection.init.ResourceDatabasePopulator;
+import org.springframework.r2dbc.core.DatabaseClient;
+import pe.upc.edu.productservice.domain.model.aggregates.Product;
+import pe.upc.edu.productservice.domain.model.valueobjects.ProductType;
+import pe.upc.edu.productservice.infrastructure.config.DatabaseConfig;
+import reactor.core.publisher.Flux;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.data.relational.core.query.Criteria.where;
+import static org.springframework.data.relational.core.query.Query.query;
+
+/**
+ * Runs the sharded products storage against three in-memory H2 databases.
+ */
+class ProductShardingTests {
+
+    private final ProductShards productShards = new ProductShards(3);
+    private final List<ConnectionFactory> shards = new ArrayList<>();
+    private R2dbcEntityTemplate template;
+
+    @BeforeEach
+    void setUp() {
+        var schema = new ResourceDatabasePopulator(new ClassPathResource("schema.sql"));
+        for (int i = 0; i < productShards.count(); i++) {
+            ConnectionFactory shard = ConnectionFactories.get(
+                    "r2dbc:h2:mem:///shard" + i + UUID.randomUUID() + "?options=MODE=PostgreSQL;DB_CLOSE_DELAY=-1");
+            schema.populate(shard).block();
+            shards.add(shard);
+        }
+        var routing = new ShardRoutingConnectionFactory(shards);
+        template = new R2dbcEntityTemplate(routing);
+        template.setEntityCallbacks(ReactiveEntityCallbacks.create(
+                new ProductIdAssigner(productShards, DatabaseClient.create(routing))));
+    }
+
+    @Test
+    void storesEachClientsProductsOnItsShardWithTheShardInTheId() {
+        for (long clientId = 1; clientId <= 20; clientId++) {
+            Product saved = insert(product(clientId, "Ahorros"));
+            int shard = productShards.shardForClient(clientId);
+
+            assertThat(saved.getId() & (ProductShards.MAX_SHARDS - 1)).isEqualTo(shard);
+            assertThat(productShards.shardOfProduct(saved.getId())).isEqualTo(shard);
+            assertThat(new R2dbcEntityTemplate(shards.get(shard))
+                    .selectOne(query(where("id").is(saved.getId())), Product.class).block())
+                    .isNotNull();
+        }
+        assertThat(Flux.range(0, productShards.count())
+                .map(this::rowsOn)
+                .filter(rows -> rows > 0)
+                .count()
+                .block()).isEqualTo(3);
+    }
+
+    @Test
+    void findsAProductByIdOnTheShardEncodedInIt() {
+        Product saved = insert(product(42L, "Tarjeta"));
+
+        Product found = template.selectOne(query(where("id").is(saved.getId())), Product.class)
+                .contextWrite(productShards.onShard(productShards.shardOfProduct(saved.getId())))
+                .block();
+
+        assertThat(found).isNotNull();
+        assertThat(found.getName()).isEqualTo("Tarjeta");
+    }
+
+    @Test
+    void scatterGatherReadsEveryShard() {
+        for (long clientId = 1; clientId <= 12; clientId++) {
+            insert(product(clientId, "Producto " + clientId));
+        }
+
+        List<Product> all = productShards.scatterGather(shard -> template.select(Product.class).all())
+                .collectList()
+                .block();
+
+        assertThat(all).hasSize(12);
+        assertThat(all).extracting(Product::getClientId).doesNotHaveDuplicates();
+    }
+
+    @Test
+    void refusesToSaveAProductOutsideItsClientsShard() {
+        long clientId = 7L;
+        int otherShard = (productShards.shardForClient(clientId) + 1) % productShards.count();
+
+        assertThatThrownBy(() -> template.insert(product(clientId, "Ahorros"))
+                .contextWrite(productShards.onShard(otherShard))
+                .block())
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void schemaInitializerCreatesTheTablesOnEveryShardBehindTheInstrumentationProxy() {
+        List<ConnectionFactory> fresh = freshShards(3);
+        // Como en la aplicación: el bean de ConnectionFactory llega envuelto por el proxy de instrumentación
+        var bean = ProxyConnectionFactory.builder(new ShardRoutingConnectionFactory(fresh)).build();
+
+        initialize(bean);
+
+        for (ConnectionFactory shard : fresh) {
+            assertThat(DatabaseClient.create(shard).sql("SELECT COUNT(*) AS total FROM products")
+                    .map(row -> row.get("total", Long.class))
+                    .one()
+                    .block()).isZero();
+        }
+    }
+
+    @Test
+    void startingWithAnotherShardCountOrOrderFails() {
+        List<ConnectionFactory> fresh = freshShards(3);
+        initialize(new ShardRoutingConnectionFactory(fresh));
+
+        assertThatThrownBy(() -> initialize(new ShardRoutingConnectionFactory(fresh.subList(0, 2))))
+                .rootCause()
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("was set up as shard 0 of 3");
+        assertThatThrownBy(() -> initialize(new ShardRoutingConnectionFactory(
+                List.of(fresh.get(1), fresh.get(0), fresh.get(2)))))
+                .rootCause()
+                .hasMessageContaining("was set up as shard 1 of 3");
+        initialize(new ShardRoutingConnectionFactory(fresh));
+    }
+
+    @Test
+    void idsOutsideTheShardRangeBelongToNoShard() {
+        assertThat(productShards.shardOfProduct(productShards.encode(5, 2))).isEqualTo(2);
+        assertThat(productShards.shardOfProduct(productShards.encode(5, 7))).isEqualTo(-1);
+        assertThat(new ProductShards(1).shardOfProduct(12345L)).isZero();
+    }
+
+    private static List<ConnectionFactory> freshShards(int count) {
+        List<ConnectionFactory> fresh = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            fresh.add(ConnectionFactories.get(
+                    "r2dbc:h2:mem:///fresh" + i + UUID.randomUUID() + "?options=MODE=PostgreSQL;DB_CLOSE_DELAY=-1"));
+        }
+        return fresh;
+    }
+
+    private static void initialize(ConnectionFactory bean) {
+        new DatabaseConfig().initializer(bean, true).afterPropertiesSet();
+    }
+
+    private Product insert(Product product) {
+        return template.insert(product)
+                .contextWrite(productShards.onShard(productShards.shardForClient(product.getClientId())))
+                .block();
+    }
+
+    private long rowsOn(int shard) {
+        return new R2dbcEntityTemplate(shards.get(shard)).select(Product.class).count().block();
+    }
+
+    private static Product product(long clientId, String name) {
+        return new Product(clientId, ProductType.SAVINGS_ACCOUNT, name, 100.0);
+    }
+}
@@ -0,0 +1,88 @@
+package pe.upc.edu.productservice.infrastructure.rsocket;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.discovery.ReactiveDiscoveryClient;
+import org.springframework.messaging.rsocket.RSocketRequester;
+import reactor.core.publisher.Flux;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Hands out requesters for the instances a fake discovery client reports. Requesters connect
+ * lazily, so nothing here opens a connection.
+ */
+class RSocketRequesterPoolTests {
+
+    private final List<ServiceInstance> instances = new CopyOnWriteArrayList<>();
+    private final RSocketRequesterPool pool = new RSocketRequesterPool(RSocketRequester.builder(),
+            new FixedDiscoveryClient(instances), "customer-service", 2);
+
+    @Test
+    void spreadsCallsOverEveryInstanceAndConnection() {
+        instances.add(instance("10.0.0.1", "41001"));
+        instances.add(instance("10.0.0.2", "41002"));
+
+        Set<RSocketRequester> used = new HashSet<>();
+        for (int i = 0; i < 8; i++) {
+            used.add(pool.next().block());
+        }
+
+        assertThat(used).hasSize(4);
+    }
+
+    @Test
+    void instancesWithoutAnRSocketPortAreSkipped() {
+        instances.add(new DefaultServiceInstance("a", "customer-service", "10.0.0.1", 8030, false, Map.of()));
+
+        assertThatThrownBy(() -> pool.next().block()).isInstanceOf(IllegalStateException.class);
+
+        instances.add(instance("10.0.0.2", "41002"));
+        assertThat(pool.next().block()).isNotNull();
+    }
+
+    @Test
+    void requestersOfInstancesThatLeftAreReplaced() {
+        instances.add(instance("10.0.0.1", "41001"));
+        List<RSocketRequester> before = new ArrayList<>();
+        before.add(pool.next().block());
+        before.add(pool.next().block());
+
+        instances.clear();
+        instances.add(instance("10.0.0.1", "41005")); // reinicio en otro puerto efímero
+
+        assertThat(pool.next().block()).isNotIn(before);
+    }
+
+    private static ServiceInstance instance(String host, String rsocketPort) {
+        return new DefaultServiceInstance(host, "customer-service", host, 8030, false,
+                Map.of(RSocketRequesterPool.METADATA_KEY, rsocketPort));
+    }
+
+    private record FixedDiscoveryClient(List<ServiceInstance> instances) implements ReactiveDiscoveryClient {
+
+        @Override
+        public String description() {
+            return "fixed";
+        }
+
+        @Override
+        public Flux<ServiceInstance> getInstances(String serviceId) {
+            return Flux.fromIterable(instances);
+        }
+
+        @Override
+        public Flux<String> getServices() {
+            return Flux.just("customer-service");
+        }
+    }
+}
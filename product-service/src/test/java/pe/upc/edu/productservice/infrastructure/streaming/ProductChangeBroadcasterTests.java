@@ -0,0 +1,76 @@
+package pe.upc.edu.productservice.infrastructure.streaming;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import pe.upc.edu.productservice.domain.model.aggregates.Product;
+import pe.upc.edu.productservice.domain.model.events.ProductEvent;
+import pe.upc.edu.productservice.domain.model.valueobjects.ProductEventType;
+import pe.upc.edu.productservice.domain.model.valueobjects.ProductType;
+import reactor.core.Disposable;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ProductChangeBroadcasterTests {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ProductChangeBroadcaster broadcaster =
+            new ProductChangeBroadcaster(meterRegistry, 4, Duration.ofMinutes(1));
+
+    @Test
+    void deliversChangesOnlyToSubscribersOfTheSameClient() {
+        List<Double> clientSeven = new ArrayList<>();
+        List<Double> clientEight = new ArrayList<>();
+        Disposable first = broadcaster.changes(7L).subscribe(event -> clientSeven.add(event.getBalance()));
+        Disposable second = broadcaster.changes(8L).subscribe(event -> clientEight.add(event.getBalance()));
+
+        broadcaster.publish(event(7L, 10.0));
+        broadcaster.publish(event(8L, 20.0));
+        broadcaster.publish(event(9L, 30.0));
+
+        assertThat(clientSeven).containsExactly(10.0);
+        assertThat(clientEight).containsExactly(20.0);
+        first.dispose();
+        second.dispose();
+    }
+
+    @Test
+    void slowSubscriberKeepsOnlyTheNewestChanges() {
+        StepVerifier.create(broadcaster.changes(7L), 0)
+                .then(() -> {
+                    for (int i = 1; i <= 10; i++) {
+                        broadcaster.publish(event(7L, i));
+                    }
+                })
+                .thenRequest(Long.MAX_VALUE)
+                .expectNextMatches(event -> event.getBalance() == 7.0)
+                .expectNextCount(3)
+                .thenCancel()
+                .verify(Duration.ofSeconds(5));
+
+        assertThat(meterRegistry.get("product.stream.dropped").counter().count()).isEqualTo(6.0);
+    }
+
+    @Test
+    void releasesTheClientChannelWithTheLastSubscriber() {
+        Disposable first = broadcaster.changes(7L).subscribe();
+        Disposable second = broadcaster.changes(7L).subscribe();
+        assertThat(broadcaster.activeClients()).isEqualTo(1);
+
+        first.dispose();
+        assertThat(broadcaster.activeClients()).isEqualTo(1);
+        second.dispose();
+        assertThat(broadcaster.activeClients()).isZero();
+        assertThat(meterRegistry.get("product.stream.subscribers").gauge().value()).isZero();
+    }
+
+    private static ProductEvent event(Long clientId, double balance) {
+        var product = new Product(clientId, ProductType.SAVINGS_ACCOUNT, "Ahorros", balance);
+        product.setId(1L);
+        return new ProductEvent(ProductEventType.UPDATED, product);
+    }
+}
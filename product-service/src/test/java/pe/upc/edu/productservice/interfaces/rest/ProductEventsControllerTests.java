@@ -0,0 +1,68 @@
+package pe.upc.edu.productservice.interfaces.rest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import pe.upc.edu.productservice.domain.model.aggregates.Product;
+import pe.upc.edu.productservice.domain.model.events.ProductEvent;
+import pe.upc.edu.productservice.domain.model.queries.GetProductEventsQuery;
+import pe.upc.edu.productservice.domain.services.ProductQueryService;
+import pe.upc.edu.productservice.domain.model.valueobjects.ProductEventType;
+import pe.upc.edu.productservice.domain.model.valueobjects.ProductType;
+import pe.upc.edu.productservice.infrastructure.config.MediaTypes;
+import reactor.core.publisher.Flux;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+@WebFluxTest(controllers = ProductEventsController.class, properties = "concurrency-limit.enabled=false")
+class ProductEventsControllerTests {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @MockitoBean
+    private ProductQueryService productQueryService;
+
+    @Test
+    void servesSmileWhenTheCallerPrefersIt() throws Exception {
+        givenOneEvent();
+
+        byte[] body = webTestClient.get().uri("/api/v1/product-events?after=0")
+                .header("Accept", MediaTypes.APPLICATION_SMILE_VALUE + ", application/json;q=0.9")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaTypes.APPLICATION_SMILE)
+                .expectBody(byte[].class).returnResult().getResponseBody();
+
+        JsonNode events = new ObjectMapper(new SmileFactory()).readTree(body);
+        assertThat(events.get(0).get("name").asText()).isEqualTo("Ahorros");
+        assertThat(events.get(0).get("eventType").asText()).isEqualTo("CREATED");
+    }
+
+    @Test
+    void keepsJsonForExternalCallers() {
+        givenOneEvent();
+
+        webTestClient.get().uri("/api/v1/product-events?after=0")
+                .accept(MediaType.ALL)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_JSON)
+                .expectBody().jsonPath("$[0].name").isEqualTo("Ahorros");
+    }
+
+    private void givenOneEvent() {
+        var product = new Product(7L, ProductType.SAVINGS_ACCOUNT, "Ahorros", 100.0);
+        product.setId(1L);
+        when(productQueryService.handle(any(GetProductEventsQuery.class)))
+                .thenReturn(Flux.just(new ProductEvent(ProductEventType.CREATED, product)));
+    }
+}
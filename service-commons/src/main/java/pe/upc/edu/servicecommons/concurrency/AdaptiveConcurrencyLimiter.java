@@ -0,0 +1,139 @@
+package pe.upc.edu.servicecommons.concurrency;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * In-flight request limit that follows the latency the service actually delivers (gradient
+ * algorithm). Latency is averaged per window and compared with a slow-moving baseline:
+ * <pre>
+ *   gradient = clamp(tolerance * baselineRtt / windowRtt, 0.5, 1.0)
+ *   newLimit = limit * gradient + sqrt(limit)
+ * </pre>
+ * While latency stays near the baseline the {@code sqrt(limit)} headroom lets the limit grow;
+ * once requests start queueing (on the R2DBC pool, typically) the gradient drops below one and
+ * the limit shrinks towards the concurrency the database can serve. Windows with failed requests
+ * cut the limit multiplicatively. The limit only grows while the service really uses it, so an
+ * idle service does not accumulate a limit it has never been tested at.
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    public enum Outcome { SUCCESS, DROPPED, IGNORED }
+
+    private static final double DROP_BACKOFF = 0.9;
+    private static final double BASELINE_SMOOTHING = 0.02; // ~50 ventanas (~500 en sobrecarga)
+    private static final double MIN_GRADIENT = 0.5;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double tolerance;
+    private final double smoothing;
+    private final long windowNanos;
+    private final int minWindowSamples;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private volatile double limit;
+
+    // Estado de la ventana actual, protegido por "this"
+    private long windowStart = -1;
+    private long rttSum;
+    private int samples;
+    private boolean dropped;
+    private int maxInFlight;
+    private double baselineRtt;
+
+    public AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, double tolerance,
+                                      double smoothing, long windowNanos, int minWindowSamples) {
+        if (minLimit <= 0 || minLimit > maxLimit || initialLimit < minLimit || initialLimit > maxLimit) {
+            throw new IllegalArgumentException("Concurrency limits must satisfy 0 < min <= initial <= max");
+        }
+        if (tolerance < 1.0 || smoothing <= 0.0 || smoothing > 1.0) {
+            throw new IllegalArgumentException("Tolerance must be >= 1 and smoothing in (0, 1]");
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.tolerance = tolerance;
+        this.smoothing = smoothing;
+        this.windowNanos = windowNanos;
+        this.minWindowSamples = minWindowSamples;
+        this.limit = initialLimit;
+    }
+
+    /**
+     * Takes a slot if the service is below its limit; never waits.
+     */
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= (int) limit) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Gives the slot back and feeds the request's latency and outcome into the current window.
+     */
+    public void release(long rttNanos, Outcome outcome) {
+        int current = inFlight.getAndDecrement();
+        if (outcome != Outcome.IGNORED) {
+            sample(rttNanos, current, outcome == Outcome.DROPPED, System.nanoTime());
+        }
+    }
+
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    synchronized void sample(long rttNanos, int inFlightAtCompletion, boolean drop, long now) {
+        if (windowStart < 0) {
+            windowStart = now;
+        }
+        if (drop) {
+            dropped = true;
+        } else {
+            rttSum += rttNanos;
+            samples++;
+        }
+        maxInFlight = Math.max(maxInFlight, inFlightAtCompletion);
+        if (now - windowStart < windowNanos || (!dropped && samples < minWindowSamples)) {
+            return;
+        }
+
+        double current = limit;
+        double next;
+        if (dropped) {
+            next = current * DROP_BACKOFF;
+        } else {
+            double windowRtt = (double) rttSum / samples;
+            baselineRtt = baselineRtt == 0 ? windowRtt : baselineRtt;
+            double gradient = Math.max(MIN_GRADIENT, Math.min(1.0, tolerance * baselineRtt / windowRtt));
+            next = current * gradient + Math.sqrt(current);
+            next = current * (1 - smoothing) + next * smoothing;
+            if (next > current && maxInFlight < current / 2) {
+                next = current; // sin carga suficiente no hay evidencia para crecer
+            }
+            // La línea base baja de inmediato y sube despacio (mucho más despacio durante una
+            // sobrecarga), así un cambio permanente de carga termina aceptándose sin ceder ante un pico
+            if (windowRtt < baselineRtt) {
+                baselineRtt = windowRtt;
+            } else {
+                double rate = windowRtt <= baselineRtt * tolerance ? BASELINE_SMOOTHING : BASELINE_SMOOTHING / 10;
+                baselineRtt = baselineRtt * (1 - rate) + windowRtt * rate;
+            }
+        }
+        limit = Math.max(minLimit, Math.min(maxLimit, next));
+
+        windowStart = now;
+        rttSum = 0;
+        samples = 0;
+        dropped = false;
+        maxInFlight = 0;
+    }
+}
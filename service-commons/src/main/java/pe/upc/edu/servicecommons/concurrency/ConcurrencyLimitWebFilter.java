@@ -0,0 +1,110 @@
+package pe.upc.edu.servicecommons.concurrency;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import pe.upc.edu.servicecommons.concurrency.AdaptiveConcurrencyLimiter.Outcome;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+/**
+ * Admission control in front of every handler: requests beyond the adaptive in-flight limit are
+ * answered right away with 503 + {@code Retry-After} instead of queueing on the R2DBC pool until
+ * they all time out together. Actuator endpoints and SSE streams are not counted; a stream asked
+ * for without {@code Accept: text/event-stream} gives its slot back as soon as its response is
+ * committed as {@code text/event-stream}.
+ */
+@ConditionalOnProperty(name = "concurrency-limit.enabled", havingValue = "true", matchIfMissing = true)
+public class ConcurrencyLimitWebFilter implements WebFilter, Ordered {
+
+    private final AdaptiveConcurrencyLimiter limiter;
+    private final Counter rejected;
+
+    public ConcurrencyLimitWebFilter(MeterRegistry meterRegistry,
+                                     @Value("${concurrency-limit.initial-limit:20}") int initialLimit,
+                                     @Value("${concurrency-limit.min-limit:4}") int minLimit,
+                                     @Value("${concurrency-limit.max-limit:200}") int maxLimit,
+                                     @Value("${concurrency-limit.tolerance:2.0}") double tolerance,
+                                     @Value("${concurrency-limit.smoothing:0.2}") double smoothing,
+                                     @Value("${concurrency-limit.window:500ms}") Duration window,
+                                     @Value("${concurrency-limit.min-window-samples:10}") int minWindowSamples) {
+        this.limiter = new AdaptiveConcurrencyLimiter(initialLimit, minLimit, maxLimit, tolerance, smoothing,
+                window.toNanos(), minWindowSamples);
+        Gauge.builder("concurrency.limit", limiter, AdaptiveConcurrencyLimiter::getLimit)
+                .description("Current adaptive in-flight request limit")
+                .register(meterRegistry);
+        Gauge.builder("concurrency.in.flight", limiter, AdaptiveConcurrencyLimiter::getInFlight)
+                .description("Requests currently admitted and in flight")
+                .register(meterRegistry);
+        this.rejected = Counter.builder("concurrency.rejected")
+                .description("Requests rejected with 503 because the in-flight limit was reached")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        ServerHttpRequest request = exchange.getRequest();
+        if (request.getPath().value().startsWith("/actuator")
+                || request.getHeaders().getAccept().contains(MediaType.TEXT_EVENT_STREAM)) {
+            return chain.filter(exchange);
+        }
+        if (!limiter.tryAcquire()) {
+            rejected.increment();
+            var response = exchange.getResponse();
+            response.setStatusCode(HttpStatus.SERVICE_UNAVAILABLE);
+            response.getHeaders().set(HttpHeaders.RETRY_AFTER, "1");
+            return response.setComplete();
+        }
+        long start = System.nanoTime();
+        AtomicBoolean released = new AtomicBoolean();
+        Consumer<Outcome> release = outcome -> {
+            if (released.compareAndSet(false, true)) {
+                limiter.release(System.nanoTime() - start, outcome);
+            }
+        };
+        exchange.getResponse().beforeCommit(() -> {
+            // Un SSE puede durar horas: no debe ocupar un lugar ni aportar su latencia al límite
+            MediaType contentType = exchange.getResponse().getHeaders().getContentType();
+            if (contentType != null && MediaType.TEXT_EVENT_STREAM.equalsTypeAndSubtype(contentType)) {
+                release.accept(Outcome.IGNORED);
+            }
+            return Mono.empty();
+        });
+        return chain.filter(exchange)
+                .doOnSuccess(v -> {
+                    HttpStatusCode status = exchange.getResponse().getStatusCode();
+                    release.accept(status != null && status.is5xxServerError() ? Outcome.DROPPED : Outcome.SUCCESS);
+                })
+                .doOnError(error -> release.accept(outcome(error)))
+                // el cliente se fue: la latencia no dice nada del servicio
+                .doOnCancel(() -> release.accept(Outcome.IGNORED));
+    }
+
+    private static Outcome outcome(Throwable error) {
+        // Los 4xx (p. ej. 404 vía ResponseStatusException) son respuestas normales, no sobrecarga
+        return error instanceof ResponseStatusException rse && rse.getStatusCode().is4xxClientError()
+                ? Outcome.SUCCESS
+                : Outcome.DROPPED;
+    }
+
+    @Override
+    public int getOrder() {
+        // Dentro del id de correlación y antes que el deadline: rechazar es lo más barato que puede hacer el servicio
+        return Ordered.HIGHEST_PRECEDENCE + 1;
+    }
+}
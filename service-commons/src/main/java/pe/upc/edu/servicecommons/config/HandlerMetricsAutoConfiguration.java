@@ -0,0 +1,30 @@
+package pe.upc.edu.servicecommons.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import pe.upc.edu.servicecommons.metrics.HandlerMetricsInterceptor;
+import pe.upc.edu.servicecommons.metrics.HandlerMetricsPostProcessor;
+
+/**
+ * Latency timers for the command and query handlers. HTTP server and WebClient timings come from
+ * Spring Boot's own observations; everything is exported at {@code /actuator/prometheus}.
+ */
+@AutoConfiguration
+@ConditionalOnProperty(name = "handler-metrics.enabled", havingValue = "true", matchIfMissing = true)
+public class HandlerMetricsAutoConfiguration {
+
+    // static: los BeanPostProcessor se crean antes que el resto de la configuración
+    @Bean
+    public static HandlerMetricsPostProcessor handlerMetricsPostProcessor(
+            ObjectProvider<HandlerMetricsInterceptor> handlerMetricsInterceptor) {
+        return new HandlerMetricsPostProcessor(handlerMetricsInterceptor);
+    }
+
+    @Bean
+    public HandlerMetricsInterceptor handlerMetricsInterceptor(MeterRegistry meterRegistry) {
+        return new HandlerMetricsInterceptor(meterRegistry);
+    }
+}
@@ -0,0 +1,51 @@
+package pe.upc.edu.servicecommons.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import pe.upc.edu.servicecommons.persistence.r2dbc.instrumentation.InstrumentedConnectionFactoryPostProcessor;
+import pe.upc.edu.servicecommons.persistence.r2dbc.instrumentation.QueriesEndpoint;
+import pe.upc.edu.servicecommons.persistence.r2dbc.instrumentation.QueryMetricsListener;
+import pe.upc.edu.servicecommons.persistence.r2dbc.instrumentation.RepeatedQueryWebFilter;
+
+import java.time.Duration;
+
+/**
+ * Statement-level instrumentation of the R2DBC ConnectionFactory through r2dbc-proxy, replacing
+ * the synchronous DEBUG logging of every statement by the driver.
+ */
+@AutoConfiguration
+@ConditionalOnProperty(name = "query-instrumentation.enabled", havingValue = "true", matchIfMissing = true)
+public class QueryInstrumentationAutoConfiguration {
+
+    // static: los BeanPostProcessor se crean antes que el resto de la configuración
+    @Bean
+    public static InstrumentedConnectionFactoryPostProcessor instrumentedConnectionFactoryPostProcessor(
+            ObjectProvider<QueryMetricsListener> queryMetricsListener) {
+        return new InstrumentedConnectionFactoryPostProcessor(queryMetricsListener);
+    }
+
+    @Bean
+    public QueryMetricsListener queryMetricsListener(
+            MeterRegistry meterRegistry,
+            @Value("${query-instrumentation.slow-query-threshold:200ms}") Duration slowQueryThreshold,
+            @Value("${query-instrumentation.slow-query-sample-rate:1.0}") double slowQuerySampleRate,
+            @Value("${query-instrumentation.max-shapes:200}") int maxShapes) {
+        return new QueryMetricsListener(meterRegistry, slowQueryThreshold, slowQuerySampleRate, maxShapes);
+    }
+
+    @Bean
+    public RepeatedQueryWebFilter repeatedQueryWebFilter(
+            QueryMetricsListener queryMetricsListener,
+            @Value("${query-instrumentation.repeated-query-threshold:10}") int repeatedQueryThreshold) {
+        return new RepeatedQueryWebFilter(queryMetricsListener, repeatedQueryThreshold);
+    }
+
+    @Bean
+    public QueriesEndpoint queriesEndpoint(MeterRegistry meterRegistry, QueryMetricsListener queryMetricsListener) {
+        return new QueriesEndpoint(meterRegistry, queryMetricsListener);
+    }
+}
@@ -0,0 +1,19 @@
+package pe.upc.edu.servicecommons.config;
+
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Import;
+import pe.upc.edu.servicecommons.concurrency.ConcurrencyLimitWebFilter;
+import pe.upc.edu.servicecommons.deadline.DeadlineWebFilter;
+import pe.upc.edu.servicecommons.logging.CorrelationIdWebFilter;
+
+/**
+ * The web filters every data service runs in front of its handlers, outermost first: correlation
+ * id, concurrency limit, deadline. Each one reads its own properties; the concurrency limit is
+ * turned off with {@code concurrency-limit.enabled=false}.
+ */
+@AutoConfiguration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@Import({CorrelationIdWebFilter.class, ConcurrencyLimitWebFilter.class, DeadlineWebFilter.class})
+public class RequestFiltersAutoConfiguration {
+}
@@ -0,0 +1,86 @@
+package pe.upc.edu.servicecommons.deadline;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.context.ContextView;
+import reactor.util.retry.Retry;
+import reactor.util.retry.RetryBackoffSpec;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Point in time after which nobody is waiting for the current request any more. It travels
+ * between services as the remaining budget in milliseconds ({@link #HEADER}), which keeps it
+ * independent of clock skew, and inside a service in the Reactor context under {@link #CONTEXT_KEY}.
+ */
+public final class Deadline {
+
+    public static final String HEADER = "X-Request-Timeout";
+    public static final Class<Deadline> CONTEXT_KEY = Deadline.class;
+
+    private final long expiresAtNanos;
+
+    private Deadline(long expiresAtNanos) {
+        this.expiresAtNanos = expiresAtNanos;
+    }
+
+    public static Deadline after(Duration budget) {
+        return new Deadline(System.nanoTime() + budget.toNanos());
+    }
+
+    public static Optional<Deadline> from(ContextView context) {
+        return context.getOrEmpty(CONTEXT_KEY);
+    }
+
+    public Duration remaining() {
+        return Duration.ofNanos(expiresAtNanos - System.nanoTime());
+    }
+
+    public boolean isExpired() {
+        return expiresAtNanos - System.nanoTime() <= 0;
+    }
+
+    /**
+     * Timeout for one outbound call: {@code max}, shortened to what is left of the request
+     * deadline. When the deadline is the tighter bound the call fails with
+     * {@link DeadlineExceededException} instead of a plain timeout.
+     */
+    public static <T> Function<Mono<T>, Mono<T>> timeout(Duration max) {
+        return mono -> Mono.deferContextual(context -> {
+            Optional<Deadline> deadline = from(context);
+            if (deadline.isEmpty() || deadline.get().remaining().compareTo(max) > 0) {
+                return mono.timeout(max);
+            }
+            Duration remaining = deadline.get().remaining();
+            if (remaining.isNegative() || remaining.isZero()) {
+                return Mono.error(new DeadlineExceededException());
+            }
+            return mono.timeout(remaining, Mono.error(DeadlineExceededException::new));
+        });
+    }
+
+    /**
+     * Wraps a backoff spec so no retry is attempted once the deadline has been exceeded or when
+     * the backoff alone would use up the remaining budget.
+     */
+    public static Retry retry(RetryBackoffSpec spec) {
+        return Retry.from(signals -> Flux.deferContextual(context -> {
+            Optional<Deadline> deadline = from(context);
+            if (deadline.isEmpty()) {
+                return spec.generateCompanion(signals);
+            }
+            return spec.generateCompanion(signals.handle((signal, sink) -> {
+                // Retraso mínimo del próximo intento (antes del jitter)
+                Duration backoff = spec.minBackoff.multipliedBy(1L << Math.min(signal.totalRetriesInARow(), 30));
+                if (signal.failure() instanceof DeadlineExceededException
+                        || deadline.get().remaining().compareTo(backoff) <= 0) {
+                    sink.error(signal.failure());
+                } else {
+                    sink.next(signal);
+                }
+            }));
+        }));
+    }
+}
@@ -0,0 +1,14 @@
+package pe.upc.edu.servicecommons.deadline;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * The request ran out of its deadline budget; rendered as 504 when it reaches the web layer.
+ */
+public class DeadlineExceededException extends ResponseStatusException {
+
+    public DeadlineExceededException() {
+        super(HttpStatus.GATEWAY_TIMEOUT, "Request deadline exceeded");
+    }
+}
@@ -0,0 +1,28 @@
+package pe.upc.edu.servicecommons.deadline;
+
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import reactor.core.publisher.Mono;
+
+/**
+ * Forwards what is left of the current request deadline to the next service and refuses to
+ * start a call once it has already passed.
+ */
+public class DeadlineExchangeFilterFunction implements ExchangeFilterFunction {
+
+    @Override
+    public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+        return Mono.deferContextual(context -> Deadline.from(context)
+                .map(deadline -> {
+                    if (deadline.isExpired()) {
+                        return Mono.<ClientResponse>error(new DeadlineExceededException());
+                    }
+                    return next.exchange(ClientRequest.from(request)
+                            .header(Deadline.HEADER, String.valueOf(deadline.remaining().toMillis()))
+                            .build());
+                })
+                .orElseGet(() -> next.exchange(request)));
+    }
+}
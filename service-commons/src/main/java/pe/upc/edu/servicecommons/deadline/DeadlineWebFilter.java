@@ -0,0 +1,62 @@
+package pe.upc.edu.servicecommons.deadline;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.http.MediaType;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+
+/**
+ * Honors the {@link Deadline#HEADER} budget set by the gateway: the deadline is published in the
+ * Reactor context for outbound calls, and the whole exchange is cancelled when it passes, which
+ * also cancels any R2DBC query still running for it. Streaming responses (SSE) are exempt: those
+ * asked for with {@code Accept: text/event-stream} up front, and any other that turns out to be
+ * {@code text/event-stream} once the handler sets its content type.
+ */
+public class DeadlineWebFilter implements WebFilter, Ordered {
+
+    private final Duration maxTimeout;
+
+    public DeadlineWebFilter(@Value("${request-deadline.max-timeout:30s}") Duration maxTimeout) {
+        this.maxTimeout = maxTimeout;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        String header = exchange.getRequest().getHeaders().getFirst(Deadline.HEADER);
+        if (header == null || exchange.getRequest().getHeaders().getAccept().contains(MediaType.TEXT_EVENT_STREAM)) {
+            return chain.filter(exchange);
+        }
+        long budgetMillis;
+        try {
+            budgetMillis = Math.min(Long.parseLong(header.trim()), maxTimeout.toMillis());
+        } catch (NumberFormatException e) {
+            return chain.filter(exchange); // cabecera inválida: se ignora
+        }
+        if (budgetMillis <= 0) {
+            return Mono.error(new DeadlineExceededException());
+        }
+        Deadline deadline = Deadline.after(Duration.ofMillis(budgetMillis));
+        // Un SSE pedido con Accept: */* solo se reconoce por la respuesta: a partir de ahí ya no vence
+        Mono<Long> expiry = Mono.delay(deadline.remaining())
+                .flatMap(tick -> isEventStream(exchange.getResponse().getHeaders().getContentType())
+                        ? Mono.never()
+                        : Mono.just(tick));
+        return chain.filter(exchange)
+                .timeout(expiry, Mono.error(DeadlineExceededException::new))
+                .contextWrite(context -> context.put(Deadline.CONTEXT_KEY, deadline));
+    }
+
+    static boolean isEventStream(MediaType contentType) {
+        return contentType != null && MediaType.TEXT_EVENT_STREAM.equalsTypeAndSubtype(contentType);
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE + 2; // justo después del limitador de concurrencia
+    }
+}
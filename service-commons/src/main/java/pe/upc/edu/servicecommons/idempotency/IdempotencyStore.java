@@ -0,0 +1,170 @@
+package pe.upc.edu.servicecommons.idempotency;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+/**
+ * Two-tier store of idempotent responses. The newest {@code maxEntries} live in an in-memory LRU;
+ * entries pushed out of it overflow into the {@code idempotency_keys} table, so memory stays
+ * bounded while keys remain answerable for the whole {@code ttl}. Lookups try memory first and
+ * only go to the database on a miss. Expired rows are purged every {@code purgeInterval}.
+ * <p>
+ * Each service creates the {@code idempotency_keys} table in its own schema. It lives wherever an
+ * unrouted {@link DatabaseClient} sends its statements: the primary, or the first shard's primary.
+ */
+public class IdempotencyStore {
+    private static final Logger logger = LoggerFactory.getLogger(IdempotencyStore.class);
+
+    private final DatabaseClient databaseClient;
+    private final int maxEntries;
+    private final long ttlMillis;
+    private final Duration purgeInterval;
+    private final LongSupplier currentTimeMillis;
+    private final LinkedHashMap<String, StoredResponse> memory = new LinkedHashMap<>(16, 0.75f, true);
+    // Desalojadas de memoria cuyo INSERT aún no terminó: siguen respondiendo mientras tanto
+    private final ConcurrentHashMap<String, StoredResponse> overflowing = new ConcurrentHashMap<>();
+    private final Counter overflowed;
+    private final Counter databaseHits;
+    private Disposable purge;
+
+    public IdempotencyStore(DatabaseClient databaseClient, MeterRegistry meterRegistry,
+                            int maxEntries, Duration ttl, Duration purgeInterval) {
+        this(databaseClient, meterRegistry, maxEntries, ttl, purgeInterval, System::currentTimeMillis);
+    }
+
+    IdempotencyStore(DatabaseClient databaseClient, MeterRegistry meterRegistry,
+                     int maxEntries, Duration ttl, Duration purgeInterval, LongSupplier currentTimeMillis) {
+        this.databaseClient = databaseClient;
+        this.maxEntries = maxEntries;
+        this.ttlMillis = ttl.toMillis();
+        this.purgeInterval = purgeInterval;
+        this.currentTimeMillis = currentTimeMillis;
+        Gauge.builder("idempotency.store.entries", this, IdempotencyStore::memorySize)
+                .description("Idempotency keys held in memory")
+                .register(meterRegistry);
+        this.overflowed = Counter.builder("idempotency.store.overflow")
+                .description("Idempotency keys evicted from memory and written to the database")
+                .register(meterRegistry);
+        this.databaseHits = Counter.builder("idempotency.store.database.hits")
+                .description("Idempotency keys found in the database after a memory miss")
+                .register(meterRegistry);
+    }
+
+    public void start() {
+        purge = Flux.interval(purgeInterval, purgeInterval)
+                .concatMap(tick -> purgeExpired()
+                        .onErrorResume(error -> {
+                            logger.warn("Idempotency key purge failed: {}", error.toString());
+                            return Mono.empty();
+                        }))
+                .subscribe();
+    }
+
+    public void stop() {
+        if (purge != null) {
+            purge.dispose();
+        }
+    }
+
+    public Mono<StoredResponse> find(String key) {
+        long now = currentTimeMillis.getAsLong();
+        StoredResponse found;
+        synchronized (memory) {
+            found = memory.get(key);
+            if (found != null && found.isExpired(now)) {
+                memory.remove(key);
+                found = null;
+            }
+        }
+        if (found == null) {
+            found = overflowing.get(key);
+        }
+        if (found != null) {
+            return Mono.just(found);
+        }
+        return databaseClient.sql("SELECT fingerprint, status, content_type, body, expires_at FROM idempotency_keys "
+                        + "WHERE idempotency_key = :key AND expires_at > :now")
+                .bind("key", key)
+                .bind("now", now)
+                .map((row, metadata) -> new StoredResponse(
+                        row.get("fingerprint", String.class),
+                        row.get("status", Integer.class),
+                        row.get("content_type", String.class),
+                        row.get("body", byte[].class),
+                        row.get("expires_at", Long.class)))
+                .one()
+                .doOnNext(stored -> databaseHits.increment());
+    }
+
+    public StoredResponse put(String key, String fingerprint, int status, String contentType, byte[] body) {
+        long now = currentTimeMillis.getAsLong();
+        var stored = new StoredResponse(fingerprint, status, contentType, body, now + ttlMillis);
+        List<Map.Entry<String, StoredResponse>> evicted = new ArrayList<>(1);
+        synchronized (memory) {
+            memory.put(key, stored);
+            Iterator<Map.Entry<String, StoredResponse>> eldest = memory.entrySet().iterator();
+            while (memory.size() > maxEntries && eldest.hasNext()) {
+                var entry = eldest.next();
+                eldest.remove();
+                if (!entry.getValue().isExpired(now)) {
+                    evicted.add(Map.entry(entry.getKey(), entry.getValue()));
+                }
+            }
+        }
+        evicted.forEach(entry -> overflow(entry.getKey(), entry.getValue()));
+        return stored;
+    }
+
+    Mono<Long> purgeExpired() {
+        long now = currentTimeMillis.getAsLong();
+        synchronized (memory) {
+            memory.values().removeIf(stored -> stored.isExpired(now));
+        }
+        return databaseClient.sql("DELETE FROM idempotency_keys WHERE expires_at <= :now")
+                .bind("now", now)
+                .fetch()
+                .rowsUpdated();
+    }
+
+    int memorySize() {
+        synchronized (memory) {
+            return memory.size();
+        }
+    }
+
+    private void overflow(String key, StoredResponse stored) {
+        overflowing.put(key, stored);
+        overflowed.increment();
+        var insert = databaseClient.sql("INSERT INTO idempotency_keys "
+                        + "(idempotency_key, fingerprint, status, content_type, body, expires_at) "
+                        + "VALUES (:key, :fingerprint, :status, :contentType, :body, :expiresAt)")
+                .bind("key", key)
+                .bind("fingerprint", stored.fingerprint())
+                .bind("status", stored.status())
+                .bind("body", stored.body())
+                .bind("expiresAt", stored.expiresAt());
+        insert = stored.contentType() != null
+                ? insert.bind("contentType", stored.contentType())
+                : insert.bindNull("contentType", String.class);
+        insert.then()
+                .doFinally(signal -> overflowing.remove(key, stored))
+                .subscribe(null, error -> logger.warn("Could not overflow idempotency key to the database: {}",
+                        error.toString()));
+    }
+}
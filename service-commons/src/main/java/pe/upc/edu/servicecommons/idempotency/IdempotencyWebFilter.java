@@ -0,0 +1,269 @@
+package pe.upc.edu.servicecommons.idempotency;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.reactivestreams.Publisher;
+import org.springframework.core.Ordered;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferLimitException;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpRequestDecorator;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.io.ByteArrayOutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * {@code Idempotency-Key} support for create endpoints: the first POST with a key runs normally
+ * and its response (anything below 500) is kept in the {@link IdempotencyStore}; a retry with the
+ * same key gets that response back, marked with {@value #REPLAYED_HEADER}, without reaching the
+ * handler. Duplicates arriving while the first one is still running wait for it instead of
+ * running in parallel, and run themselves only if it ends without a storable response.
+ * <p>
+ * Keys are scoped to the path and the caller, and bound to a SHA-256 of the request body: reusing
+ * a key for a different body is a 422. The caller is the bearer token, otherwise the client
+ * address; {@code X-Forwarded-For} is only used for it when {@code trustForwardedFor} says the
+ * service is reachable only through a proxy that sets the header. Request bodies are read into
+ * memory for that digest, so ones over {@code maxBodyBytes} are a 413; responses over the same
+ * size are passed through but not stored.
+ */
+public class IdempotencyWebFilter implements WebFilter, Ordered {
+
+    public static final String HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private final IdempotencyStore store;
+    private final Set<String> paths;
+    private final int maxBodyBytes;
+    private final boolean trustForwardedFor;
+    private final ConcurrentHashMap<String, Sinks.One<StoredResponse>> inFlight = new ConcurrentHashMap<>();
+    private final Counter executed;
+    private final Counter replayed;
+    private final Counter waited;
+    private final Counter conflicts;
+
+    public IdempotencyWebFilter(IdempotencyStore store, MeterRegistry meterRegistry, Set<String> paths, int maxBodyBytes,
+                                boolean trustForwardedFor) {
+        this.store = store;
+        this.paths = Set.copyOf(paths);
+        this.maxBodyBytes = maxBodyBytes;
+        this.trustForwardedFor = trustForwardedFor;
+        this.executed = requests(meterRegistry, "executed");
+        this.replayed = requests(meterRegistry, "replayed");
+        this.waited = requests(meterRegistry, "waited");
+        this.conflicts = requests(meterRegistry, "conflict");
+    }
+
+    private static Counter requests(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("idempotency.requests")
+                .description("Requests carrying an Idempotency-Key, by outcome")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        ServerHttpRequest request = exchange.getRequest();
+        String idempotencyKey = request.getHeaders().getFirst(HEADER);
+        if (idempotencyKey == null || request.getMethod() != HttpMethod.POST
+                || !paths.contains(request.getPath().pathWithinApplication().value())) {
+            return chain.filter(exchange);
+        }
+        if (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_KEY_LENGTH) {
+            return Mono.error(new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    HEADER + " must have between 1 and " + MAX_KEY_LENGTH + " characters"));
+        }
+        String key = sha256(String.join("\n", request.getPath().value(), caller(request), idempotencyKey)
+                .getBytes(StandardCharsets.UTF_8));
+        // El cuerpo se lee una vez: sirve para la huella y se vuelve a entregar al handler
+        return DataBufferUtils.join(request.getBody(), maxBodyBytes)
+                .onErrorMap(DataBufferLimitException.class, e -> new ResponseStatusException(HttpStatus.PAYLOAD_TOO_LARGE,
+                        "Requests with an " + HEADER + " cannot exceed " + maxBodyBytes + " bytes"))
+                .map(buffer -> {
+                    byte[] bytes = new byte[buffer.readableByteCount()];
+                    buffer.read(bytes);
+                    DataBufferUtils.release(buffer);
+                    return bytes;
+                })
+                .defaultIfEmpty(new byte[0])
+                .flatMap(body -> handle(exchange.mutate().request(withBody(request, body)).build(),
+                        chain, key, sha256(body)));
+    }
+
+    private Mono<Void> handle(ServerWebExchange exchange, WebFilterChain chain, String key, String fingerprint) {
+        Sinks.One<StoredResponse> sink = Sinks.one();
+        Sinks.One<StoredResponse> first = inFlight.putIfAbsent(key, sink);
+        if (first != null) {
+            waited.increment();
+            // Si la primera ejecución no dejó respuesta (error, 5xx, cancelación) se vuelve a intentar
+            return whenPresent(first.asMono(),
+                    stored -> replay(exchange, stored, fingerprint),
+                    () -> handle(exchange, chain, key, fingerprint));
+        }
+        // La respuesta se guarda antes de soltar la clave, así que quien la reclame después ya la encuentra
+        return whenPresent(store.find(key),
+                        stored -> {
+                            sink.tryEmitValue(stored);
+                            return replay(exchange, stored, fingerprint);
+                        },
+                        () -> execute(exchange, chain, key, fingerprint, sink))
+                .doFinally(signal -> {
+                    inFlight.remove(key, sink);
+                    sink.tryEmitEmpty();
+                });
+    }
+
+    private Mono<Void> execute(ServerWebExchange exchange, WebFilterChain chain, String key, String fingerprint,
+                               Sinks.One<StoredResponse> sink) {
+        executed.increment();
+        var response = new CapturingResponse(exchange.getResponse(), key, fingerprint, sink);
+        return chain.filter(exchange.mutate().response(response).build());
+    }
+
+    private Mono<Void> replay(ServerWebExchange exchange, StoredResponse stored, String fingerprint) {
+        if (!stored.fingerprint().equals(fingerprint)) {
+            conflicts.increment();
+            return Mono.error(new ResponseStatusException(HttpStatus.UNPROCESSABLE_ENTITY,
+                    HEADER + " was already used with a different request body"));
+        }
+        replayed.increment();
+        ServerHttpResponse response = exchange.getResponse();
+        response.setStatusCode(HttpStatusCode.valueOf(stored.status()));
+        if (stored.contentType() != null) {
+            response.getHeaders().set(HttpHeaders.CONTENT_TYPE, stored.contentType());
+        }
+        response.getHeaders().set(REPLAYED_HEADER, "true");
+        return response.writeWith(Mono.fromSupplier(() -> response.bufferFactory().wrap(stored.body())));
+    }
+
+    @Override
+    public int getOrder() {
+        // Después del limitador y del deadline: una repetición también cuenta como request en vuelo
+        return Ordered.HIGHEST_PRECEDENCE + 3;
+    }
+
+    private static Mono<Void> whenPresent(Mono<StoredResponse> lookup, Function<StoredResponse, Mono<Void>> present,
+                                          Supplier<Mono<Void>> absent) {
+        return lookup.map(Optional::of)
+                .defaultIfEmpty(Optional.empty())
+                .flatMap(found -> found.map(present).orElseGet(absent));
+    }
+
+    private static ServerHttpRequest withBody(ServerHttpRequest request, byte[] body) {
+        return new ServerHttpRequestDecorator(request) {
+            @Override
+            public Flux<DataBuffer> getBody() {
+                return Flux.defer(() -> Flux.just(DefaultDataBufferFactory.sharedInstance.wrap(body)));
+            }
+        };
+    }
+
+    private String caller(ServerHttpRequest request) {
+        String authorization = request.getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+        if (authorization != null && !authorization.isBlank()) {
+            return authorization;
+        }
+        if (trustForwardedFor) {
+            String forwardedFor = request.getHeaders().getFirst("X-Forwarded-For");
+            if (forwardedFor != null && !forwardedFor.isBlank()) {
+                return forwardedFor.split(",")[0].trim();
+            }
+        }
+        InetSocketAddress remote = request.getRemoteAddress();
+        return remote != null ? remote.getHostString() : "unknown";
+    }
+
+    private static String sha256(byte[] bytes) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(bytes));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private final class CapturingResponse extends ServerHttpResponseDecorator {
+        private final String key;
+        private final String fingerprint;
+        private final Sinks.One<StoredResponse> sink;
+        private final ByteArrayOutputStream captured = new ByteArrayOutputStream();
+        private boolean overflow;
+        private boolean published;
+
+        CapturingResponse(ServerHttpResponse delegate, String key, String fingerprint, Sinks.One<StoredResponse> sink) {
+            super(delegate);
+            this.key = key;
+            this.fingerprint = fingerprint;
+            this.sink = sink;
+        }
+
+        @Override
+        public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+            HttpStatusCode status = getStatusCode();
+            if (status != null && status.is5xxServerError()) {
+                return super.writeWith(body);
+            }
+            Flux<DataBuffer> copying = Flux.<DataBuffer>from(body).doOnNext(this::capture);
+            return super.writeWith(copying).doOnSuccess(done -> publish(status));
+        }
+
+        @Override
+        public Mono<Void> setComplete() {
+            HttpStatusCode status = getStatusCode();
+            if (status != null && status.is5xxServerError()) {
+                return super.setComplete();
+            }
+            return super.setComplete().doOnSuccess(done -> publish(status));
+        }
+
+        private void capture(DataBuffer buffer) {
+            if (overflow) {
+                return;
+            }
+            int length = buffer.readableByteCount();
+            if (captured.size() + length > maxBodyBytes) {
+                overflow = true;
+                return;
+            }
+            byte[] bytes = new byte[length];
+            int position = buffer.readPosition();
+            buffer.read(bytes);
+            buffer.readPosition(position);
+            captured.write(bytes, 0, length);
+        }
+
+        private void publish(HttpStatusCode status) {
+            if (overflow || published) {
+                return;
+            }
+            published = true;
+            MediaType contentType = getHeaders().getContentType();
+            sink.tryEmitValue(store.put(key, fingerprint, status != null ? status.value() : HttpStatus.OK.value(),
+                    contentType != null ? contentType.toString() : null, captured.toByteArray()));
+        }
+    }
+}
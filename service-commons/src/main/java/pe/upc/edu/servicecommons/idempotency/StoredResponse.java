@@ -0,0 +1,12 @@
+package pe.upc.edu.servicecommons.idempotency;
+
+/**
+ * Response recorded for an {@code Idempotency-Key}, replayed as is to later requests with the
+ * same key. {@code fingerprint} identifies the request body it was produced for.
+ */
+public record StoredResponse(String fingerprint, int status, String contentType, byte[] body, long expiresAt) {
+
+    boolean isExpired(long now) {
+        return now >= expiresAt;
+    }
+}
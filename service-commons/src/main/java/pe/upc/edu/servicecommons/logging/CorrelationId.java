@@ -0,0 +1,53 @@
+package pe.upc.edu.servicecommons.logging;
+
+import io.micrometer.context.ContextRegistry;
+import org.slf4j.MDC;
+import reactor.util.context.ContextView;
+
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.regex.Pattern;
+
+/**
+ * Correlation id of the current request, set by the gateway and forwarded between services in
+ * {@value #HEADER}. It travels in the Reactor context under {@value #KEY}; with
+ * {@code spring.reactor.context-propagation=auto} the same key is restored into the SLF4J MDC
+ * around every operator, so log lines carry it without touching the logging calls.
+ */
+public final class CorrelationId {
+
+    public static final String HEADER = "X-Correlation-Id";
+    public static final String KEY = "correlationId";
+
+    // Se acepta el id recibido solo si es corto y seguro de escribir en un log
+    private static final Pattern VALID = Pattern.compile("[A-Za-z0-9._-]{1,64}");
+
+    private CorrelationId() {
+    }
+
+    public static Optional<String> from(ContextView context) {
+        return context.getOrEmpty(KEY);
+    }
+
+    /**
+     * The incoming id when it is well formed, a new one otherwise.
+     */
+    public static String accept(String header) {
+        return header != null && VALID.matcher(header).matches() ? header : generate();
+    }
+
+    public static String generate() {
+        // 64 bits aleatorios en hex: suficiente para correlacionar, sin el coste de UUID.randomUUID()
+        return Long.toHexString(ThreadLocalRandom.current().nextLong() | Long.MIN_VALUE);
+    }
+
+    /**
+     * Registers the MDC bridge for {@value #KEY} with the context-propagation registry.
+     */
+    public static void registerMdcAccessor() {
+        ContextRegistry.getInstance().registerThreadLocalAccessor(KEY,
+                () -> MDC.get(KEY),
+                value -> MDC.put(KEY, value),
+                () -> MDC.remove(KEY));
+    }
+}
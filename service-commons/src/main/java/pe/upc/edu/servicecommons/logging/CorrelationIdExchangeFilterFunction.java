@@ -0,0 +1,22 @@
+package pe.upc.edu.servicecommons.logging;
+
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import reactor.core.publisher.Mono;
+
+/**
+ * Forwards the correlation id of the current request to the next service.
+ */
+public class CorrelationIdExchangeFilterFunction implements ExchangeFilterFunction {
+
+    @Override
+    public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+        return Mono.deferContextual(context -> CorrelationId.from(context)
+                .map(correlationId -> next.exchange(ClientRequest.from(request)
+                        .header(CorrelationId.HEADER, correlationId)
+                        .build()))
+                .orElseGet(() -> next.exchange(request)));
+    }
+}
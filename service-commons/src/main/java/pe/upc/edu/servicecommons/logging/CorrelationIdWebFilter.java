@@ -0,0 +1,32 @@
+package pe.upc.edu.servicecommons.logging;
+
+import org.springframework.core.Ordered;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+/**
+ * Takes the {@link CorrelationId#HEADER} sent by the gateway (or starts one for direct calls),
+ * echoes it in the response and publishes it in the Reactor context for logging and outbound
+ * calls.
+ */
+public class CorrelationIdWebFilter implements WebFilter, Ordered {
+
+    public CorrelationIdWebFilter() {
+        CorrelationId.registerMdcAccessor();
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        String correlationId = CorrelationId.accept(exchange.getRequest().getHeaders().getFirst(CorrelationId.HEADER));
+        exchange.getResponse().getHeaders().set(CorrelationId.HEADER, correlationId);
+        return chain.filter(exchange)
+                .contextWrite(context -> context.put(CorrelationId.KEY, correlationId));
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE; // por fuera de todo: también los 503 del limitador llevan el id
+    }
+}
@@ -0,0 +1,140 @@
+package pe.upc.edu.servicecommons.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import pe.upc.edu.servicecommons.warmup.WarmUpTraffic;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times every {@code handle(command)} / {@code handle(query)} call of the domain services as
+ * {@code handler.requests}, tagged with the message type ({@code handler}), its {@code kind} and
+ * the {@link HandlerOutcome}. Reactive results are timed from subscription to termination, so the
+ * timer covers the work itself rather than the assembly of the pipeline.
+ * <p>
+ * Timers are created once per message type and outcome and cached; the hot path is a map lookup
+ * and two {@code System.nanoTime()} calls. Calls made by the startup warm-up
+ * ({@link WarmUpTraffic}) are not timed.
+ */
+public class HandlerMetricsInterceptor implements MethodInterceptor {
+
+    public static final String METRIC_NAME = "handler.requests";
+
+    private final MeterRegistry meterRegistry;
+    private final Map<Class<?>, Timer[]> timers = new ConcurrentHashMap<>();
+
+    public HandlerMetricsInterceptor(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        Object[] arguments = invocation.getArguments();
+        if (!"handle".equals(invocation.getMethod().getName()) || arguments.length != 1 || arguments[0] == null) {
+            return invocation.proceed();
+        }
+        Class<?> message = arguments[0].getClass();
+        long start = System.nanoTime();
+        Object result;
+        try {
+            result = invocation.proceed();
+        } catch (Throwable error) {
+            record(message, HandlerOutcome.of(error), start);
+            throw error;
+        }
+        if (result instanceof Mono<?> mono) {
+            return timed(mono, message);
+        }
+        if (result instanceof Flux<?> flux) {
+            return timed(flux, message);
+        }
+        record(message, HandlerOutcome.SUCCESS, start);
+        return result;
+    }
+
+    private <T> Mono<T> timed(Mono<T> mono, Class<?> message) {
+        return Mono.deferContextual(context -> {
+            if (WarmUpTraffic.isWarmUp(context)) {
+                return mono;
+            }
+            var measurement = new Measurement(message);
+            return mono.doOnNext(value -> measurement.emitted = true)
+                    .doOnError(error -> measurement.error = error)
+                    .doFinally(measurement::record);
+        });
+    }
+
+    private <T> Flux<T> timed(Flux<T> flux, Class<?> message) {
+        return Flux.deferContextual(context -> {
+            if (WarmUpTraffic.isWarmUp(context)) {
+                return flux;
+            }
+            var measurement = new Measurement(message);
+            measurement.emitted = true; // un Flux vacío es un resultado válido
+            return flux.doOnError(error -> measurement.error = error)
+                    .doFinally(measurement::record);
+        });
+    }
+
+    private void record(Class<?> message, HandlerOutcome outcome, long start) {
+        Timer[] byOutcome = timers.computeIfAbsent(message, key -> new Timer[HandlerOutcome.values().length]);
+        Timer timer = byOutcome[outcome.ordinal()];
+        if (timer == null) {
+            timer = Timer.builder(METRIC_NAME)
+                    .description("Command and query handler latency")
+                    .tag("handler", message.getSimpleName())
+                    .tag("kind", kind(message))
+                    .tag("outcome", outcome.tag())
+                    .publishPercentileHistogram()
+                    .minimumExpectedValue(Duration.ofMillis(1))
+                    .maximumExpectedValue(Duration.ofSeconds(30))
+                    .register(meterRegistry);
+            byOutcome[outcome.ordinal()] = timer; // carrera benigna: register devuelve el mismo Timer
+        }
+        timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+
+    static String kind(Class<?> message) {
+        String packageName = message.getPackageName();
+        if (packageName.endsWith(".commands")) {
+            return "command";
+        }
+        if (packageName.endsWith(".queries")) {
+            return "query";
+        }
+        return "other";
+    }
+
+    private final class Measurement {
+        private final Class<?> message;
+        private final long start = System.nanoTime();
+        private boolean emitted;
+        private Throwable error;
+
+        private Measurement(Class<?> message) {
+            this.message = message;
+        }
+
+        private void record(SignalType signal) {
+            HandlerOutcome outcome;
+            if (signal == SignalType.CANCEL) {
+                outcome = HandlerOutcome.CANCELLED;
+            } else if (error != null) {
+                outcome = HandlerOutcome.of(error);
+            } else if (!emitted && "query".equals(kind(message))) {
+                outcome = HandlerOutcome.NOT_FOUND; // consulta de un solo elemento que terminó vacía
+            } else {
+                outcome = HandlerOutcome.SUCCESS;
+            }
+            HandlerMetricsInterceptor.this.record(message, outcome, start);
+        }
+    }
+}
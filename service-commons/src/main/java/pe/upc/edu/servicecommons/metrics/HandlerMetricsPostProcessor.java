@@ -0,0 +1,36 @@
+package pe.upc.edu.servicecommons.metrics;
+
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.util.ClassUtils;
+
+/**
+ * Puts a {@link HandlerMetricsInterceptor} in front of every bean implementing one of the
+ * {@code domain.services} interfaces, whichever persistence adapter provides it. Callers depend
+ * on the interfaces, so an interface (JDK) proxy is enough.
+ */
+public class HandlerMetricsPostProcessor implements BeanPostProcessor {
+
+    private static final String SERVICES_PACKAGE = ".domain.services";
+
+    private final ObjectProvider<HandlerMetricsInterceptor> interceptor;
+
+    public HandlerMetricsPostProcessor(ObjectProvider<HandlerMetricsInterceptor> interceptor) {
+        this.interceptor = interceptor;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        Class<?>[] services = ClassUtils.getAllInterfacesForClassAsSet(bean.getClass()).stream()
+                .filter(type -> type.getPackageName().endsWith(SERVICES_PACKAGE))
+                .toArray(Class<?>[]::new);
+        if (services.length == 0) {
+            return bean;
+        }
+        var proxyFactory = new ProxyFactory(bean);
+        proxyFactory.setInterfaces(services);
+        proxyFactory.addAdvice(interceptor.getObject());
+        return proxyFactory.getProxy(bean.getClass().getClassLoader());
+    }
+}
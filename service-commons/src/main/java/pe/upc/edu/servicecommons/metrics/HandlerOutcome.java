@@ -0,0 +1,92 @@
+package pe.upc.edu.servicecommons.metrics;
+
+import io.r2dbc.spi.R2dbcException;
+import org.springframework.dao.DataAccessException;
+import org.springframework.http.HttpStatus;
+import org.springframework.util.ClassUtils;
+import org.springframework.web.reactive.function.client.WebClientException;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.server.ServerWebInputException;
+import pe.upc.edu.servicecommons.deadline.DeadlineExceededException;
+
+import java.io.IOException;
+import java.util.NoSuchElementException;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * {@code outcome} tag of the {@code handler.requests} timer.
+ */
+public enum HandlerOutcome {
+    SUCCESS("success"),
+    VALIDATION_ERROR("validation_error"),
+    NOT_FOUND("not_found"),
+    DOWNSTREAM_ERROR("downstream_error"),
+    TIMEOUT("timeout"),
+    CANCELLED("cancelled"),
+    ERROR("error");
+
+    private static final int MAX_CAUSES = 10;
+    // rsocket-core solo está en el classpath de los servicios que lo usan
+    private static final Class<?> RSOCKET_ERROR = optionalClass("io.rsocket.RSocketErrorException");
+
+    private final String tag;
+
+    HandlerOutcome(String tag) {
+        this.tag = tag;
+    }
+
+    public String tag() {
+        return tag;
+    }
+
+    /**
+     * Classifies a handler failure by the first recognizable exception in its cause chain: the
+     * handlers usually wrap the original error in a generic RuntimeException.
+     */
+    public static HandlerOutcome of(Throwable error) {
+        Throwable current = error;
+        for (int i = 0; current != null && i < MAX_CAUSES; i++, current = current.getCause()) {
+            HandlerOutcome outcome = classify(current);
+            if (outcome != null) {
+                return outcome;
+            }
+        }
+        return ERROR;
+    }
+
+    private static HandlerOutcome classify(Throwable error) {
+        if (error instanceof DeadlineExceededException || error instanceof TimeoutException) {
+            return TIMEOUT;
+        }
+        if (error instanceof ResponseStatusException status) {
+            if (status.getStatusCode().isSameCodeAs(HttpStatus.NOT_FOUND)) {
+                return NOT_FOUND;
+            }
+            return status.getStatusCode().is4xxClientError() ? VALIDATION_ERROR : null;
+        }
+        if (error instanceof IllegalArgumentException || error instanceof ServerWebInputException) {
+            return VALIDATION_ERROR;
+        }
+        if (error instanceof NoSuchElementException || isNotFoundMessage(error)) {
+            return NOT_FOUND;
+        }
+        if (error instanceof WebClientException || error instanceof DataAccessException
+                || error instanceof R2dbcException || error instanceof IOException
+                || (RSOCKET_ERROR != null && RSOCKET_ERROR.isInstance(error))) {
+            return DOWNSTREAM_ERROR;
+        }
+        return null;
+    }
+
+    // Los servicios señalan "no encontrado" con RuntimeException("... not found ...")
+    private static boolean isNotFoundMessage(Throwable error) {
+        return error.getClass() == RuntimeException.class
+                && error.getMessage() != null
+                && error.getMessage().toLowerCase().contains("not found");
+    }
+
+    private static Class<?> optionalClass(String name) {
+        ClassLoader classLoader = HandlerOutcome.class.getClassLoader();
+        return ClassUtils.isPresent(name, classLoader) ? ClassUtils.resolveClassName(name, classLoader) : null;
+    }
+}
@@ -0,0 +1,34 @@
+package pe.upc.edu.servicecommons.persistence.r2dbc.instrumentation;
+
+import io.r2dbc.proxy.ProxyConnectionFactory;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.Wrapped;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+
+import java.lang.reflect.Proxy;
+
+/**
+ * Wraps the application's ConnectionFactory (auto-configured pool, replica routing or shard routing)
+ * in an r2dbc-proxy {@link ProxyConnectionFactory} reporting to {@link QueryMetricsListener}.
+ * Code that needs the concrete factory unwraps it through {@link Wrapped}.
+ */
+public class InstrumentedConnectionFactoryPostProcessor implements BeanPostProcessor {
+
+    private final ObjectProvider<QueryMetricsListener> listener;
+
+    public InstrumentedConnectionFactoryPostProcessor(ObjectProvider<QueryMetricsListener> listener) {
+        this.listener = listener;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        // r2dbc-proxy devuelve proxies JDK: no envolver dos veces
+        if (bean instanceof ConnectionFactory connectionFactory && !Proxy.isProxyClass(bean.getClass())) {
+            return ProxyConnectionFactory.builder(connectionFactory)
+                    .listener(listener.getObject())
+                    .build();
+        }
+        return bean;
+    }
+}
@@ -0,0 +1,50 @@
+package pe.upc.edu.servicecommons.persistence.r2dbc.instrumentation;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code /actuator/queries}: query shapes ordered by total time spent, plus the latest slow
+ * queries and repeated-query (N+1) findings. The same numbers are in {@code /actuator/metrics}
+ * under {@code r2dbc.query*} and {@code r2dbc.pool.acquire}.
+ */
+@Endpoint(id = "queries")
+public class QueriesEndpoint {
+
+    private final MeterRegistry meterRegistry;
+    private final QueryMetricsListener listener;
+
+    public QueriesEndpoint(MeterRegistry meterRegistry, QueryMetricsListener listener) {
+        this.meterRegistry = meterRegistry;
+        this.listener = listener;
+    }
+
+    @ReadOperation
+    public Map<String, Object> queries() {
+        List<ShapeStats> shapes = meterRegistry.find("r2dbc.query").tagKeys("shape").timers().stream()
+                .map(ShapeStats::of)
+                .sorted(Comparator.comparingDouble(ShapeStats::totalMillis).reversed())
+                .toList();
+        return Map.of(
+                "shapes", shapes,
+                "slowQueries", listener.recentSlowQueries(),
+                "repeatedQueries", listener.recentRepeatedQueries());
+    }
+
+    public record ShapeStats(String shape, String outcome, long count, double totalMillis,
+                             double meanMillis, double maxMillis) {
+
+        static ShapeStats of(Timer timer) {
+            return new ShapeStats(timer.getId().getTag("shape"), timer.getId().getTag("outcome"), timer.count(),
+                    timer.totalTime(TimeUnit.MILLISECONDS), timer.mean(TimeUnit.MILLISECONDS),
+                    timer.max(TimeUnit.MILLISECONDS));
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package pe.upc.edu.servicecommons.persistence.r2dbc.instrumentation;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.r2dbc.proxy.core.MethodExecutionInfo;
+import io.r2dbc.proxy.core.QueryExecutionInfo;
+import io.r2dbc.proxy.core.QueryInfo;
+import io.r2dbc.proxy.listener.ProxyMethodExecutionListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import pe.upc.edu.servicecommons.warmup.WarmUpTraffic;
+import reactor.util.context.ContextView;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Listener on the proxied ConnectionFactory. Times every statement into {@code r2dbc.query}
+ * (tagged by shape, operation and outcome), times connection acquisition into
+ * {@code r2dbc.pool.acquire}, logs a sample of statements slower than the threshold and counts
+ * per-request executions for {@link RepeatedQueryWebFilter}. Nothing here logs bind values.
+ * <p>
+ * Distinct shapes beyond {@code maxShapes} are tagged {@value #OTHER_SHAPE} to keep the number of
+ * meters bounded. Statements run by the startup warm-up ({@link WarmUpTraffic}) are not recorded.
+ */
+public class QueryMetricsListener implements ProxyMethodExecutionListener {
+    private static final Logger logger = LoggerFactory.getLogger(QueryMetricsListener.class);
+
+    static final String OTHER_SHAPE = "other";
+    private static final int RECENT_LIMIT = 50;
+
+    private final MeterRegistry meterRegistry;
+    private final Duration slowQueryThreshold;
+    private final double slowQuerySampleRate;
+    private final int maxShapes;
+    private final Set<String> shapes = ConcurrentHashMap.newKeySet();
+    private final Deque<SlowQuery> recentSlowQueries = new ArrayDeque<>();
+    private final Deque<RepeatedQuery> recentRepeatedQueries = new ArrayDeque<>();
+
+    public QueryMetricsListener(MeterRegistry meterRegistry, Duration slowQueryThreshold,
+                                double slowQuerySampleRate, int maxShapes) {
+        this.meterRegistry = meterRegistry;
+        this.slowQueryThreshold = slowQueryThreshold;
+        this.slowQuerySampleRate = slowQuerySampleRate;
+        this.maxShapes = maxShapes;
+    }
+
+    @Override
+    public void afterQuery(QueryExecutionInfo execution) {
+        Duration duration = execution.getExecuteDuration();
+        String outcome = execution.isSuccess() ? "success" : "error";
+        ContextView context = execution.getValueStore().get(ContextView.class, ContextView.class);
+        if (context != null && WarmUpTraffic.isWarmUp(context)) {
+            return;
+        }
+        QueryTracker tracker = context != null ? context.getOrDefault(QueryTracker.CONTEXT_KEY, null) : null;
+        for (QueryInfo query : execution.getQueries()) {
+            String shape = boundedShape(QueryShapes.shape(query.getQuery()));
+            Timer.builder("r2dbc.query")
+                    .description("Statement execution time by query shape")
+                    .tag("shape", shape)
+                    .tag("operation", QueryShapes.operation(shape))
+                    .tag("outcome", outcome)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry)
+                    .record(duration);
+            if (tracker != null) {
+                tracker.record(shape);
+            }
+            if (duration.compareTo(slowQueryThreshold) >= 0) {
+                slowQuery(shape, duration, execution.getBindingsSize());
+            }
+        }
+    }
+
+    @Override
+    public void afterCreateOnConnectionFactory(MethodExecutionInfo execution) {
+        Timer.builder("r2dbc.pool.acquire")
+                .description("Time to obtain a connection from the pool")
+                .tag("outcome", execution.getThrown() == null ? "success" : "error")
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(execution.getExecuteDuration());
+    }
+
+    /**
+     * Reports the shapes one request ran at least the configured number of times, the usual
+     * signature of a lookup per row (N+1).
+     */
+    void repeatedQueries(String request, Map<String, Integer> repeated) {
+        repeated.forEach((shape, count) -> {
+            Counter.builder("r2dbc.query.repeated")
+                    .description("Requests that ran the same query shape many times")
+                    .tag("shape", shape)
+                    .register(meterRegistry)
+                    .increment();
+            logger.warn("{} ran the same query {} times: {}", request, count, shape);
+            remember(recentRepeatedQueries, new RepeatedQuery(Instant.now(), request, shape, count));
+        });
+    }
+
+    public List<SlowQuery> recentSlowQueries() {
+        synchronized (recentSlowQueries) {
+            return List.copyOf(recentSlowQueries);
+        }
+    }
+
+    public List<RepeatedQuery> recentRepeatedQueries() {
+        synchronized (recentRepeatedQueries) {
+            return List.copyOf(recentRepeatedQueries);
+        }
+    }
+
+    private void slowQuery(String shape, Duration duration, int bindings) {
+        Counter.builder("r2dbc.query.slow")
+                .description("Statements slower than the slow-query threshold")
+                .tag("shape", shape)
+                .register(meterRegistry)
+                .increment();
+        if (ThreadLocalRandom.current().nextDouble() < slowQuerySampleRate) {
+            logger.warn("Slow query ({} ms, {} bindings): {}", duration.toMillis(), bindings, shape);
+            remember(recentSlowQueries, new SlowQuery(Instant.now(), shape, duration.toMillis()));
+        }
+    }
+
+    private String boundedShape(String shape) {
+        if (shapes.contains(shape)) {
+            return shape;
+        }
+        if (shapes.size() >= maxShapes) {
+            return OTHER_SHAPE;
+        }
+        shapes.add(shape);
+        return shape;
+    }
+
+    private static <T> void remember(Deque<T> recent, T entry) {
+        synchronized (recent) {
+            if (recent.size() == RECENT_LIMIT) {
+                recent.removeFirst();
+            }
+            recent.addLast(entry);
+        }
+    }
+
+    public record SlowQuery(Instant at, String shape, long millis) {
+    }
+
+    public record RepeatedQuery(Instant at, String request, String shape, int count) {
+    }
+}
@@ -0,0 +1,38 @@
+package pe.upc.edu.servicecommons.persistence.r2dbc.instrumentation;
+
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Reduces a SQL statement to its shape: literals and bind markers become {@code ?}, IN lists
+ * collapse to one element and whitespace is normalized, so statements that differ only in their
+ * values are counted and timed together.
+ */
+public final class QueryShapes {
+
+    static final int MAX_LENGTH = 200;
+
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern BIND_MARKER = Pattern.compile("\\$\\d+|:[A-Za-z_][A-Za-z0-9_]*|\\?");
+    private static final Pattern NUMBER = Pattern.compile("(?<![A-Za-z_0-9.])-?\\d+(?:\\.\\d+)?(?![A-Za-z_0-9])");
+    private static final Pattern IN_LIST = Pattern.compile("(?i)\\bIN\\s*\\(\\s*\\?(?:\\s*,\\s*\\?)*\\s*\\)");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private QueryShapes() {
+    }
+
+    public static String shape(String sql) {
+        String shape = STRING_LITERAL.matcher(sql).replaceAll("?");
+        shape = BIND_MARKER.matcher(shape).replaceAll("?");
+        shape = NUMBER.matcher(shape).replaceAll("?");
+        shape = IN_LIST.matcher(shape).replaceAll("IN (?)");
+        shape = WHITESPACE.matcher(shape).replaceAll(" ").trim();
+        return shape.length() > MAX_LENGTH ? shape.substring(0, MAX_LENGTH) + "..." : shape;
+    }
+
+    /** First keyword of the statement, lower case: select, insert, update, delete... */
+    public static String operation(String shape) {
+        int end = shape.indexOf(' ');
+        return (end < 0 ? shape : shape.substring(0, end)).toLowerCase(Locale.ROOT);
+    }
+}
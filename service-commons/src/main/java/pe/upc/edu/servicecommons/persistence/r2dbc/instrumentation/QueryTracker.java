@@ -0,0 +1,28 @@
+package pe.upc.edu.servicecommons.persistence.r2dbc.instrumentation;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Statements run on behalf of one HTTP request, counted by shape. Travels in the Reactor context
+ * under {@link #CONTEXT_KEY}, put there by {@link RepeatedQueryWebFilter}.
+ */
+public class QueryTracker {
+
+    public static final String CONTEXT_KEY = QueryTracker.class.getName();
+
+    private final Map<String, AtomicInteger> executions = new ConcurrentHashMap<>();
+
+    void record(String shape) {
+        executions.computeIfAbsent(shape, key -> new AtomicInteger()).incrementAndGet();
+    }
+
+    /** Shapes run at least {@code threshold} times, with their count. */
+    public Map<String, Integer> repeated(int threshold) {
+        return executions.entrySet().stream()
+                .filter(entry -> entry.getValue().get() >= threshold)
+                .collect(Collectors.toMap(Map.Entry::getKey, entry -> entry.getValue().get()));
+    }
+}
@@ -0,0 +1,37 @@
+package pe.upc.edu.servicecommons.persistence.r2dbc.instrumentation;
+
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+
+/**
+ * Gives each request a {@link QueryTracker} and, once it finishes, reports the query shapes it
+ * ran at least {@code threshold} times.
+ */
+public class RepeatedQueryWebFilter implements WebFilter {
+
+    private final QueryMetricsListener listener;
+    private final int threshold;
+
+    public RepeatedQueryWebFilter(QueryMetricsListener listener, int threshold) {
+        this.listener = listener;
+        this.threshold = threshold;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        var tracker = new QueryTracker();
+        return chain.filter(exchange)
+                .doFinally(signal -> {
+                    Map<String, Integer> repeated = tracker.repeated(threshold);
+                    if (!repeated.isEmpty()) {
+                        var request = exchange.getRequest();
+                        listener.repeatedQueries(request.getMethod() + " " + request.getPath().value(), repeated);
+                    }
+                })
+                .contextWrite(context -> context.put(QueryTracker.CONTEXT_KEY, tracker));
+    }
+}
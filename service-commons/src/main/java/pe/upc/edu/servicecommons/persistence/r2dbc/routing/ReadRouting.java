@@ -0,0 +1,34 @@
+package pe.upc.edu.servicecommons.persistence.r2dbc.routing;
+
+import reactor.util.context.Context;
+
+import java.util.function.Function;
+
+/**
+ * Reactor context markers read by {@link ReadWriteRoutingConnectionFactory}. Work is sent to the
+ * primary unless it is explicitly marked as a read; a pin to the primary (read-your-writes)
+ * wins over the read mark.
+ */
+public final class ReadRouting {
+
+    static final String READ_ONLY = ReadRouting.class.getName() + ".READ_ONLY";
+    static final String PRIMARY_PIN = ReadRouting.class.getName() + ".PRIMARY_PIN";
+
+    private ReadRouting() {
+    }
+
+    /**
+     * Marks the upstream query as safe to serve from a replica, e.g.
+     * {@code repository.findAll().contextWrite(ReadRouting.readOnly())}.
+     */
+    public static Function<Context, Context> readOnly() {
+        return context -> context.put(READ_ONLY, Boolean.TRUE);
+    }
+
+    /**
+     * Forces the upstream work onto the primary even when it is marked as a read.
+     */
+    public static Function<Context, Context> pinToPrimary() {
+        return context -> context.put(PRIMARY_PIN, Boolean.TRUE);
+    }
+}
@@ -0,0 +1,134 @@
+package pe.upc.edu.servicecommons.persistence.r2dbc.routing;
+
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.ConnectionFactoryMetadata;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.reactivestreams.Publisher;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.context.ContextView;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+/**
+ * Sends reads marked with {@link ReadRouting#readOnly()} to the replicas (round-robin) and
+ * everything else, transactions included, to the primary.
+ * <p>
+ * Every {@code lagCheckInterval} each replica runs {@code lagQuery}, which returns its replication
+ * lag in seconds. A replica whose lag is above {@code maxLag}, or whose check fails, stops
+ * receiving reads until a later check finds it caught up; with no usable replica the reads go to
+ * the primary.
+ */
+public class ReadWriteRoutingConnectionFactory implements ConnectionFactory {
+    private static final Logger logger = LoggerFactory.getLogger(ReadWriteRoutingConnectionFactory.class);
+
+    private final ConnectionFactory primary;
+    private final List<Replica> replicas;
+    private final String lagQuery;
+    private final Duration maxLag;
+    private final Duration lagCheckInterval;
+    private final AtomicInteger next = new AtomicInteger();
+    private Disposable lagChecks;
+
+    public ReadWriteRoutingConnectionFactory(ConnectionFactory primary, List<ConnectionFactory> replicas,
+                                             String lagQuery, Duration maxLag, Duration lagCheckInterval) {
+        this.primary = primary;
+        this.replicas = IntStream.range(0, replicas.size())
+                .mapToObj(i -> new Replica("replica-" + i, replicas.get(i)))
+                .toList();
+        this.lagQuery = lagQuery;
+        this.maxLag = maxLag;
+        this.lagCheckInterval = lagCheckInterval;
+    }
+
+    @Override
+    public Publisher<? extends Connection> create() {
+        return Mono.deferContextual(context -> Mono.from(select(context).create()));
+    }
+
+    @Override
+    public ConnectionFactoryMetadata getMetadata() {
+        return primary.getMetadata();
+    }
+
+    ConnectionFactory select(ContextView context) {
+        if (!context.getOrDefault(ReadRouting.READ_ONLY, false) || context.getOrDefault(ReadRouting.PRIMARY_PIN, false)) {
+            return primary;
+        }
+        int size = replicas.size();
+        int start = next.getAndIncrement();
+        for (int i = 0; i < size; i++) {
+            Replica replica = replicas.get(Math.floorMod(start + i, size));
+            if (replica.usable) {
+                return replica.connectionFactory;
+            }
+        }
+        return primary;
+    }
+
+    public void start() {
+        lagChecks = Flux.interval(Duration.ZERO, lagCheckInterval)
+                .onBackpressureDrop()
+                .concatMap(tick -> checkReplicas(), 1)
+                .subscribe();
+    }
+
+    public void stop() {
+        if (lagChecks != null) {
+            lagChecks.dispose();
+        }
+        dispose(primary);
+        replicas.forEach(replica -> dispose(replica.connectionFactory));
+    }
+
+    private static void dispose(ConnectionFactory connectionFactory) {
+        if (connectionFactory instanceof Disposable disposable) {
+            disposable.dispose();
+        }
+    }
+
+    /**
+     * Runs the lag query on every replica and updates which ones may serve reads.
+     */
+    public Mono<Void> checkReplicas() {
+        return Flux.fromIterable(replicas)
+                .flatMap(replica -> Mono.usingWhen(replica.connectionFactory.create(),
+                                connection -> Mono.from(connection.createStatement(lagQuery).execute())
+                                        .flatMap(result -> Mono.from(result.map((row, metadata) -> (Number) row.get(0)))),
+                                Connection::close)
+                        .timeout(lagCheckInterval)
+                        .map(lagSeconds -> Duration.ofMillis(Math.round(lagSeconds.doubleValue() * 1000)))
+                        .doOnNext(lag -> replica.update(lag.compareTo(maxLag) <= 0, "lag " + lag.toMillis() + " ms"))
+                        .onErrorResume(error -> {
+                            replica.update(false, "lag check failed: " + error.getMessage());
+                            return Mono.empty();
+                        }))
+                .then();
+    }
+
+    private static final class Replica {
+
+        private final String name;
+        private final ConnectionFactory connectionFactory;
+        private volatile boolean usable;
+
+        private Replica(String name, ConnectionFactory connectionFactory) {
+            this.name = name;
+            this.connectionFactory = connectionFactory;
+        }
+
+        private void update(boolean nowUsable, String reason) {
+            if (usable != nowUsable) {
+                logger.info("{} {} for reads ({})", name,
+                        nowUsable ? "enabled" : "disabled", reason);
+            }
+            usable = nowUsable;
+        }
+    }
+}
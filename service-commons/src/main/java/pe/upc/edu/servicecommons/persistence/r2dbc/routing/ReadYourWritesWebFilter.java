@@ -0,0 +1,120 @@
+package pe.upc.edu.servicecommons.persistence.r2dbc.routing;
+
+import org.springframework.http.HttpCookie;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseCookie;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Read-your-writes for replica routing: write requests run entirely on the primary, and after a
+ * caller's successful write its reads stay pinned to the primary for {@code window}, long enough
+ * for the replicas to catch up.
+ * <p>
+ * The write is marked in two places. The response sets a cookie holding the time (epoch millis)
+ * until which the caller's reads go to the primary, so a read load-balanced to another instance
+ * honours it too. This instance also remembers the caller (bearer token, or forwarded client
+ * address when there is none) for callers that do not keep cookies; those are only covered when
+ * their read lands on the instance that took the write.
+ */
+public class ReadYourWritesWebFilter implements WebFilter {
+
+    private static final int SWEEP_THRESHOLD = 10_000;
+
+    private final String cookieName;
+    private final Duration window;
+    private final long windowNanos;
+    private final ConcurrentHashMap<String, Long> lastWrites = new ConcurrentHashMap<>();
+
+    public ReadYourWritesWebFilter(String cookieName, Duration window) {
+        this.cookieName = cookieName;
+        this.window = window;
+        this.windowNanos = window.toNanos();
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        ServerHttpRequest request = exchange.getRequest();
+        String caller = caller(request);
+        if (isWrite(request.getMethod())) {
+            ServerHttpResponse response = exchange.getResponse();
+            response.beforeCommit(() -> {
+                var status = response.getStatusCode();
+                if (status == null || status.is2xxSuccessful()) {
+                    response.addCookie(ResponseCookie.from(cookieName,
+                                    String.valueOf(System.currentTimeMillis() + window.toMillis()))
+                            .maxAge(window)
+                            .path("/")
+                            .httpOnly(true)
+                            .sameSite("Lax")
+                            .build());
+                }
+                return Mono.empty();
+            });
+            // La propia escritura también lee del primario (p. ej. el recurso creado que se devuelve)
+            return chain.filter(exchange)
+                    .doOnSuccess(v -> {
+                        var status = exchange.getResponse().getStatusCode();
+                        if (status == null || status.is2xxSuccessful()) {
+                            recordWrite(caller, System.nanoTime());
+                        }
+                    })
+                    .contextWrite(ReadRouting.pinToPrimary());
+        }
+        if (wroteRecently(caller, System.nanoTime())
+                || pinnedByCookie(request.getCookies().getFirst(cookieName), System.currentTimeMillis())) {
+            return chain.filter(exchange).contextWrite(ReadRouting.pinToPrimary());
+        }
+        return chain.filter(exchange);
+    }
+
+    void recordWrite(String caller, long now) {
+        lastWrites.put(caller, now);
+        if (lastWrites.size() > SWEEP_THRESHOLD) {
+            lastWrites.values().removeIf(writtenAt -> now - writtenAt > windowNanos);
+        }
+    }
+
+    boolean wroteRecently(String caller, long now) {
+        Long writtenAt = lastWrites.get(caller);
+        return writtenAt != null && now - writtenAt <= windowNanos;
+    }
+
+    static boolean pinnedByCookie(HttpCookie cookie, long nowMillis) {
+        if (cookie == null) {
+            return false;
+        }
+        try {
+            return nowMillis <= Long.parseLong(cookie.getValue());
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    private static boolean isWrite(HttpMethod method) {
+        return method == HttpMethod.POST || method == HttpMethod.PUT
+                || method == HttpMethod.PATCH || method == HttpMethod.DELETE;
+    }
+
+    private static String caller(ServerHttpRequest request) {
+        String authorization = request.getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+        if (authorization != null && !authorization.isBlank()) {
+            return authorization;
+        }
+        String forwardedFor = request.getHeaders().getFirst("X-Forwarded-For");
+        if (forwardedFor != null && !forwardedFor.isBlank()) {
+            return forwardedFor.split(",")[0].trim();
+        }
+        InetSocketAddress remote = request.getRemoteAddress();
+        return remote != null ? remote.getHostString() : "unknown";
+    }
+}
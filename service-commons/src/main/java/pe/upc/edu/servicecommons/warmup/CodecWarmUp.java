@@ -0,0 +1,55 @@
+package pe.upc.edu.servicecommons.warmup;
+
+import org.springframework.core.ResolvableType;
+import org.springframework.core.codec.Decoder;
+import org.springframework.core.codec.Encoder;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.CodecConfigurer;
+import org.springframework.http.codec.DecoderHttpMessageReader;
+import org.springframework.http.codec.EncoderHttpMessageWriter;
+
+import java.util.Map;
+
+/**
+ * Encodes and decodes values with the very codec instances WebFlux uses for requests and
+ * responses, so their Jackson serializer and deserializer caches are filled during the warm-up.
+ */
+public class CodecWarmUp {
+
+    private final CodecConfigurer codecs;
+
+    public CodecWarmUp(CodecConfigurer codecs) {
+        this.codecs = codecs;
+    }
+
+    /**
+     * Writes the value as a response body would be written, then reads it back as a request body.
+     */
+    @SuppressWarnings("unchecked")
+    public void roundTrip(Object value, MediaType mediaType) {
+        ResolvableType type = ResolvableType.forInstance(value);
+        DataBuffer buffer = ((Encoder<Object>) encoder(type, mediaType))
+                .encodeValue(value, DefaultDataBufferFactory.sharedInstance, type, mediaType, Map.of());
+        decoder(type, mediaType).decode(buffer, type, mediaType, Map.of()); // libera el buffer
+    }
+
+    private Encoder<?> encoder(ResolvableType type, MediaType mediaType) {
+        return codecs.getWriters().stream()
+                .filter(EncoderHttpMessageWriter.class::isInstance)
+                .map(writer -> ((EncoderHttpMessageWriter<?>) writer).getEncoder())
+                .filter(encoder -> encoder.canEncode(type, mediaType))
+                .findFirst()
+                .orElseThrow(() -> new IllegalStateException("No encoder for " + type + " as " + mediaType));
+    }
+
+    private Decoder<?> decoder(ResolvableType type, MediaType mediaType) {
+        return codecs.getReaders().stream()
+                .filter(DecoderHttpMessageReader.class::isInstance)
+                .map(reader -> ((DecoderHttpMessageReader<?>) reader).getDecoder())
+                .filter(decoder -> decoder.canDecode(type, mediaType))
+                .findFirst()
+                .orElseThrow(() -> new IllegalStateException("No decoder for " + type + " as " + mediaType));
+    }
+}
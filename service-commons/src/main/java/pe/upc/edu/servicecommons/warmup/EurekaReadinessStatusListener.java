@@ -0,0 +1,32 @@
+package pe.upc.edu.servicecommons.warmup;
+
+import com.netflix.appinfo.ApplicationInfoManager;
+import com.netflix.appinfo.InstanceInfo.InstanceStatus;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.context.ApplicationListener;
+
+/**
+ * Mirrors Spring Boot's readiness into the instance status held by Eureka. The instance registers
+ * as STARTING ({@code eureka.instance.initial-status}), turns UP when readiness moves to
+ * ACCEPTING_TRAFFIC, after the {@link StartupWarmUp}, and OUT_OF_SERVICE when it moves back to
+ * REFUSING_TRAFFIC. Only UP instances are handed out to the gateway's load balancer.
+ */
+public class EurekaReadinessStatusListener implements ApplicationListener<AvailabilityChangeEvent<ReadinessState>> {
+
+    private final ObjectProvider<ApplicationInfoManager> applicationInfoManager;
+
+    public EurekaReadinessStatusListener(ObjectProvider<ApplicationInfoManager> applicationInfoManager) {
+        this.applicationInfoManager = applicationInfoManager;
+    }
+
+    @Override
+    public void onApplicationEvent(AvailabilityChangeEvent<ReadinessState> event) {
+        InstanceStatus status = event.getState() == ReadinessState.ACCEPTING_TRAFFIC
+                ? InstanceStatus.UP
+                : InstanceStatus.OUT_OF_SERVICE;
+        // Sin cliente Eureka (eureka.client.enabled=false) no hay nada que actualizar
+        applicationInfoManager.ifAvailable(manager -> manager.setInstanceStatus(status));
+    }
+}
@@ -0,0 +1,190 @@
+package pe.upc.edu.servicecommons.warmup;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.Timer;
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.ValidationDepth;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import reactor.core.Exceptions;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.context.Context;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Warms the instance up before it takes traffic. Spring Boot moves readiness to
+ * ACCEPTING_TRAFFIC only after every {@link ApplicationRunner} has returned, and
+ * {@link EurekaReadinessStatusListener} only turns the Eureka registration (made as STARTING) UP
+ * at that point, so neither the gateway nor {@code /actuator/health/readiness} send requests here
+ * while the pool is empty and the JIT cold.
+ * <p>
+ * Three steps: open {@code connections} pooled connections at once on every route the service
+ * passes in (primary, read replicas, shards) and validate them against the database,
+ * {@link WarmUpWorkload#prime()}, then {@code iterations} rounds of
+ * {@link WarmUpWorkload#iteration()}. The workload goes through the domain services under a
+ * {@link WarmUpTraffic} mark, so its calls stay out of {@code handler.requests} and
+ * {@code r2dbc.query}.
+ * <p>
+ * A warm-up that fails or exceeds {@code timeout} is logged and the instance goes ready anyway:
+ * a cold instance is better than one kept out of rotation. Published as {@code warmup.duration}
+ * (by outcome), {@code warmup.step} (by step), {@code warmup.connections},
+ * {@code warmup.iteration} (first and last round) and {@code warmup.speedup}, the first round's
+ * time over the last one's.
+ */
+public class StartupWarmUp implements ApplicationRunner {
+    private static final Logger logger = LoggerFactory.getLogger(StartupWarmUp.class);
+
+    public static final String COMPLETED = "completed";
+    public static final String TIMED_OUT = "timed_out";
+    public static final String FAILED = "failed";
+
+    private final ConnectionFactory connectionFactory;
+    private final List<Function<Context, Context>> routes;
+    private final WarmUpWorkload workload;
+    private final MeterRegistry meterRegistry;
+    private final int connections;
+    private final int iterations;
+    private final Duration timeout;
+    private final AtomicInteger validatedConnections = new AtomicInteger();
+    private volatile double firstIterationSeconds = Double.NaN;
+    private volatile double lastIterationSeconds = Double.NaN;
+
+    public StartupWarmUp(ConnectionFactory connectionFactory, List<Function<Context, Context>> routes,
+                         WarmUpWorkload workload, MeterRegistry meterRegistry,
+                         int connections, int iterations, Duration timeout) {
+        if (connections < 0 || iterations < 0) {
+            throw new IllegalArgumentException("Warm-up connections and iterations must not be negative");
+        }
+        this.connectionFactory = connectionFactory;
+        this.routes = routes;
+        this.workload = workload;
+        this.meterRegistry = meterRegistry;
+        this.connections = connections;
+        this.iterations = iterations;
+        this.timeout = timeout;
+
+        Gauge.builder("warmup.connections", validatedConnections, AtomicInteger::get)
+                .description("Pooled connections opened and validated during the startup warm-up")
+                .register(meterRegistry);
+        TimeGauge.builder("warmup.iteration", this, TimeUnit.SECONDS, warmUp -> warmUp.firstIterationSeconds)
+                .description("Duration of a warm-up round")
+                .tag("round", "first")
+                .register(meterRegistry);
+        TimeGauge.builder("warmup.iteration", this, TimeUnit.SECONDS, warmUp -> warmUp.lastIterationSeconds)
+                .description("Duration of a warm-up round")
+                .tag("round", "last")
+                .register(meterRegistry);
+        Gauge.builder("warmup.speedup", this, warmUp -> warmUp.firstIterationSeconds / warmUp.lastIterationSeconds)
+                .description("First warm-up round duration over the last one")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        warmUp();
+    }
+
+    /**
+     * Runs the warm-up, blocking, and returns its outcome.
+     */
+    public String warmUp() {
+        long start = System.nanoTime();
+        String outcome;
+        try {
+            timed("connections", openConnections())
+                    .then(timed("prime", workload.prime()))
+                    .then(timed("iterations", iterations()))
+                    .timeout(timeout)
+                    .contextWrite(WarmUpTraffic::mark)
+                    .block();
+            outcome = COMPLETED;
+        } catch (RuntimeException e) {
+            Throwable error = Exceptions.unwrap(e);
+            outcome = error instanceof TimeoutException ? TIMED_OUT : FAILED;
+            logger.warn("Startup warm-up {} after {} ms, taking traffic anyway: {}", outcome.replace('_', ' '),
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), error.toString());
+        }
+        long elapsed = System.nanoTime() - start;
+        Timer.builder("warmup.duration")
+                .description("Startup warm-up duration")
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .record(elapsed, TimeUnit.NANOSECONDS);
+        if (COMPLETED.equals(outcome)) {
+            logger.info("Startup warm-up completed in {} ms: {} connections, rounds {} ms -> {} ms",
+                    TimeUnit.NANOSECONDS.toMillis(elapsed), validatedConnections.get(),
+                    Math.round(firstIterationSeconds * 1000), Math.round(lastIterationSeconds * 1000));
+        }
+        return outcome;
+    }
+
+    private Mono<Void> openConnections() {
+        if (connections == 0) {
+            return Mono.empty();
+        }
+        // Todas abiertas a la vez: el pool crece hasta `connections` y las conserva ociosas
+        return Flux.fromIterable(routes)
+                .concatMap(route -> Mono.usingWhen(
+                        Mono.fromSupplier(() -> new CopyOnWriteArrayList<Connection>()),
+                        opened -> Flux.range(0, connections)
+                                .flatMap(i -> Mono.from(connectionFactory.create()).contextWrite(route), connections)
+                                .doOnNext(opened::add)
+                                .collectList()
+                                .flatMapMany(Flux::fromIterable)
+                                .flatMap(connection -> Mono.from(connection.validate(ValidationDepth.REMOTE)))
+                                .filter(Boolean::booleanValue)
+                                .doOnNext(valid -> validatedConnections.incrementAndGet())
+                                .then(),
+                        StartupWarmUp::close,
+                        (opened, error) -> close(opened),
+                        StartupWarmUp::close))
+                .then();
+    }
+
+    private static Mono<Void> close(List<Connection> connections) {
+        return Flux.fromIterable(connections)
+                .flatMap(connection -> Mono.from(connection.close()))
+                .then();
+    }
+
+    private Mono<Void> iterations() {
+        return Flux.range(0, iterations)
+                .concatMap(round -> Mono.defer(() -> {
+                    long start = System.nanoTime();
+                    return workload.iteration().doOnSuccess(done -> {
+                        double seconds = (System.nanoTime() - start) / 1e9;
+                        if (round == 0) {
+                            firstIterationSeconds = seconds;
+                        }
+                        lastIterationSeconds = seconds;
+                    });
+                }))
+                .then();
+    }
+
+    private Mono<Void> timed(String step, Mono<Void> work) {
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            // Antes de propagar la terminación: block() puede volver antes de un doFinally
+            Runnable record = () -> Timer.builder("warmup.step")
+                    .description("Duration of each startup warm-up step")
+                    .tag("step", step)
+                    .register(meterRegistry)
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return work.doOnTerminate(record).doOnCancel(record);
+        });
+    }
+}
@@ -0,0 +1,25 @@
+package pe.upc.edu.servicecommons.warmup;
+
+import reactor.util.context.Context;
+import reactor.util.context.ContextView;
+
+/**
+ * Reactor context mark on the work the {@link StartupWarmUp} runs itself. Request metrics skip
+ * marked work: the warm-up's deliberately cold first rounds are not traffic and would otherwise
+ * sit in the latency histograms of every freshly started instance.
+ */
+public final class WarmUpTraffic {
+
+    private static final String CONTEXT_KEY = WarmUpTraffic.class.getName();
+
+    private WarmUpTraffic() {
+    }
+
+    public static Context mark(Context context) {
+        return context.put(CONTEXT_KEY, Boolean.TRUE);
+    }
+
+    public static boolean isWarmUp(ContextView context) {
+        return context.hasKey(CONTEXT_KEY);
+    }
+}
@@ -0,0 +1,23 @@
+package pe.upc.edu.servicecommons.warmup;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * The service-specific part of the {@link StartupWarmUp}.
+ */
+public interface WarmUpWorkload {
+
+    /**
+     * Runs once, before the iterations: fills whatever the first requests would otherwise have
+     * to load. Should swallow failures of optional dependencies itself.
+     */
+    default Mono<Void> prime() {
+        return Mono.empty();
+    }
+
+    /**
+     * One round of representative requests: the queries, mapping and serialization of the hot
+     * endpoints. Run {@code warm-up.iterations} times in a row.
+     */
+    Mono<Void> iteration();
+}
@@ -0,0 +1,71 @@
+package pe.upc.edu.servicecommons.concurrency;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AdaptiveConcurrencyLimiterTests {
+
+    private static final long WINDOW = TimeUnit.MILLISECONDS.toNanos(100);
+    private static final long FAST = TimeUnit.MILLISECONDS.toNanos(5);
+
+    private final AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(20, 4, 200, 2.0, 0.5, WINDOW, 10);
+    private long now;
+
+    @Test
+    void rejectsBeyondTheLimitWithoutWaiting() {
+        for (int i = 0; i < 20; i++) {
+            assertThat(limiter.tryAcquire()).isTrue();
+        }
+        assertThat(limiter.tryAcquire()).isFalse();
+
+        limiter.release(FAST, AdaptiveConcurrencyLimiter.Outcome.IGNORED);
+        assertThat(limiter.tryAcquire()).isTrue();
+    }
+
+    @Test
+    void growsWhileBusyAndLatencyHolds() {
+        windows(10, FAST, 20);
+
+        assertThat(limiter.getLimit()).isGreaterThan(40);
+    }
+
+    @Test
+    void doesNotGrowWhenMostlyIdle() {
+        windows(10, FAST, 2);
+
+        assertThat(limiter.getLimit()).isEqualTo(20);
+    }
+
+    @Test
+    void shrinksWhenRequestsStartQueueing() {
+        windows(3, FAST, 20);
+        int before = limiter.getLimit();
+
+        windows(10, FAST * 20, 20); // la base de datos se ralentiza: la latencia se multiplica
+
+        assertThat(limiter.getLimit()).isLessThan(before / 2).isGreaterThanOrEqualTo(4);
+    }
+
+    @Test
+    void failuresCutTheLimit() {
+        windows(3, FAST, 20);
+        int before = limiter.getLimit();
+
+        now += WINDOW;
+        limiter.sample(FAST, 20, true, now);
+
+        assertThat(limiter.getLimit()).isLessThan(before);
+    }
+
+    private void windows(int count, long rtt, int inFlight) {
+        for (int w = 0; w < count; w++) {
+            now += WINDOW;
+            for (int i = 0; i < 10; i++) {
+                limiter.sample(rtt, inFlight, false, now + i);
+            }
+        }
+    }
+}
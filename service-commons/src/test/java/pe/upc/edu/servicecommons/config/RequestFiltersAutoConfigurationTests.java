@@ -0,0 +1,42 @@
+package pe.upc.edu.servicecommons.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.convert.ApplicationConversionService;
+import org.springframework.boot.test.context.runner.ReactiveWebApplicationContextRunner;
+import pe.upc.edu.servicecommons.concurrency.ConcurrencyLimitWebFilter;
+import pe.upc.edu.servicecommons.deadline.DeadlineWebFilter;
+import pe.upc.edu.servicecommons.logging.CorrelationIdWebFilter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * A service that depends on this module gets the request filters without declaring them.
+ */
+class RequestFiltersAutoConfigurationTests {
+
+    private final ReactiveWebApplicationContextRunner contextRunner = new ReactiveWebApplicationContextRunner()
+            // Como en la aplicación: "500ms" y "30s" se convierten a Duration
+            .withInitializer(context -> context.getBeanFactory()
+                    .setConversionService(ApplicationConversionService.getSharedInstance()))
+            .withConfiguration(AutoConfigurations.of(RequestFiltersAutoConfiguration.class))
+            .withBean(MeterRegistry.class, SimpleMeterRegistry::new);
+
+    @Test
+    void registersTheRequestFilters() {
+        contextRunner.run(context -> assertThat(context)
+                .hasSingleBean(CorrelationIdWebFilter.class)
+                .hasSingleBean(ConcurrencyLimitWebFilter.class)
+                .hasSingleBean(DeadlineWebFilter.class));
+    }
+
+    @Test
+    void theConcurrencyLimitCanBeTurnedOff() {
+        contextRunner.withPropertyValues("concurrency-limit.enabled=false")
+                .run(context -> assertThat(context)
+                        .doesNotHaveBean(ConcurrencyLimitWebFilter.class)
+                        .hasSingleBean(DeadlineWebFilter.class));
+    }
+}
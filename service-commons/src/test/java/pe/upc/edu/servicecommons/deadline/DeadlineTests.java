@@ -0,0 +1,87 @@
+package pe.upc.edu.servicecommons.deadline;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class DeadlineTests {
+
+    @Test
+    void outboundTimeoutShrinksToTheRemainingBudget() {
+        Mono<String> slowCall = Mono.delay(Duration.ofSeconds(5)).thenReturn("late");
+
+        long start = System.nanoTime();
+        assertThatThrownBy(() -> slowCall.transform(Deadline.timeout(Duration.ofSeconds(5)))
+                .contextWrite(context -> context.put(Deadline.CONTEXT_KEY, Deadline.after(Duration.ofMillis(100))))
+                .block())
+                .isInstanceOf(DeadlineExceededException.class);
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(2));
+    }
+
+    @Test
+    void outboundTimeoutKeepsItsOwnLimitWithoutDeadline() {
+        assertThatThrownBy(() -> Mono.never().transform(Deadline.timeout(Duration.ofMillis(50))).block())
+                .hasCauseInstanceOf(TimeoutException.class);
+    }
+
+    @Test
+    void retriesThatCannotFinishInTimeAreSkipped() {
+        AtomicInteger attempts = new AtomicInteger();
+        Mono<String> failing = Mono.defer(() -> {
+            attempts.incrementAndGet();
+            return Mono.error(new IllegalStateException("boom"));
+        });
+
+        assertThatThrownBy(() -> failing.retryWhen(Deadline.retry(Retry.backoff(2, Duration.ofMillis(500))))
+                .contextWrite(context -> context.put(Deadline.CONTEXT_KEY, Deadline.after(Duration.ofMillis(200))))
+                .block())
+                .isInstanceOf(IllegalStateException.class);
+        assertThat(attempts).hasValue(1);
+
+        attempts.set(0);
+        assertThatThrownBy(() -> failing.retryWhen(Deadline.retry(Retry.backoff(2, Duration.ofMillis(10)))).block())
+                .hasCauseInstanceOf(IllegalStateException.class);
+        assertThat(attempts).hasValue(3);
+    }
+
+    @Test
+    void webFilterCancelsTheExchangeWhenTheBudgetRunsOut() {
+        DeadlineWebFilter filter = new DeadlineWebFilter(Duration.ofSeconds(30));
+        AtomicBoolean cancelled = new AtomicBoolean();
+        var exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/v1/products")
+                .header(Deadline.HEADER, "50"));
+
+        assertThatThrownBy(() -> filter.filter(exchange, e -> Mono.deferContextual(context -> {
+                    assertThat(Deadline.from(context)).isPresent();
+                    return Mono.<Void>never().doOnCancel(() -> cancelled.set(true));
+                }))
+                .block(Duration.ofSeconds(5)))
+                .isInstanceOf(DeadlineExceededException.class);
+        assertThat(cancelled).isTrue();
+    }
+
+    @Test
+    void eventStreamsRequestedWithoutAcceptAreNotCutOff() {
+        DeadlineWebFilter filter = new DeadlineWebFilter(Duration.ofSeconds(30));
+        var exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/v1/products/client/1/stream")
+                .header(Deadline.HEADER, "50"));
+
+        filter.filter(exchange, e -> {
+            e.getResponse().getHeaders().setContentType(MediaType.TEXT_EVENT_STREAM);
+            return Mono.delay(Duration.ofMillis(150)).then();
+        }).block(Duration.ofSeconds(5));
+
+        assertThat(exchange.getResponse().getHeaders().getContentType()).isEqualTo(MediaType.TEXT_EVENT_STREAM);
+    }
+}
@@ -0,0 +1,240 @@
+package pe.upc.edu.servicecommons.idempotency;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.r2dbc.spi.ConnectionFactories;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.r2dbc.connection.init.ResourceDatabasePopulator;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Sends POSTs with an Idempotency-Key through the filter in front of a handler that counts its
+ * executions, with the store's database tier on an in-memory H2.
+ */
+class IdempotencyWebFilterTests {
+
+    private static final String BODY = "{\"clientId\":1,\"productType\":\"Ahorros\",\"name\":\"Cuenta\",\"balance\":10}";
+
+    private final AtomicLong clock = new AtomicLong(1_000_000L);
+    private final AtomicInteger executions = new AtomicInteger();
+    private DatabaseClient databaseClient;
+
+    @BeforeEach
+    void setUp() {
+        var connectionFactory = ConnectionFactories.get(
+                "r2dbc:h2:mem:///idempotency" + UUID.randomUUID() + "?options=MODE=PostgreSQL;DB_CLOSE_DELAY=-1");
+        new ResourceDatabasePopulator(new ClassPathResource("schema.sql")).populate(connectionFactory).block();
+        databaseClient = DatabaseClient.create(connectionFactory);
+    }
+
+    @Test
+    void retryGetsTheStoredResponseWithoutRunningTheHandler() {
+        var filter = filter(store(100));
+        WebFilterChain handler = handler(Duration.ZERO, HttpStatus.CREATED);
+
+        var first = post("key-1", BODY);
+        filter.filter(first, handler).block();
+        var retry = post("key-1", BODY);
+        filter.filter(retry, handler).block();
+
+        assertThat(executions).hasValue(1);
+        assertThat(retry.getResponse().getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        assertThat(retry.getResponse().getHeaders().getFirst(IdempotencyWebFilter.REPLAYED_HEADER)).isEqualTo("true");
+        assertThat(retry.getResponse().getHeaders().getContentType()).isEqualTo(MediaType.APPLICATION_JSON);
+        assertThat(retry.getResponse().getBodyAsString().block())
+                .isEqualTo(first.getResponse().getBodyAsString().block());
+    }
+
+    @Test
+    void anUntrustedForwardedForCannotReachAnotherCallersKeys() {
+        var filter = filter(store(100));
+        WebFilterChain handler = handler(Duration.ZERO, HttpStatus.CREATED);
+
+        filter.filter(post("key-1", "10.0.0.1", "203.0.113.7"), handler).block();
+        var other = post("key-1", "10.0.0.2", "203.0.113.7");
+        filter.filter(other, handler).block();
+
+        assertThat(executions).hasValue(2);
+        assertThat(other.getResponse().getHeaders()).doesNotContainKey(IdempotencyWebFilter.REPLAYED_HEADER);
+    }
+
+    @Test
+    void aTrustedForwardedForSeparatesCallersBehindTheSameProxy() {
+        var filter = filter(store(100), true);
+        WebFilterChain handler = handler(Duration.ZERO, HttpStatus.CREATED);
+
+        filter.filter(post("key-1", "10.0.0.1", "203.0.113.7"), handler).block();
+        filter.filter(post("key-1", "10.0.0.1", "203.0.113.8"), handler).block();
+        var retry = post("key-1", "10.0.0.1", "203.0.113.8, 10.0.0.9");
+        filter.filter(retry, handler).block();
+
+        assertThat(executions).hasValue(2);
+        assertThat(retry.getResponse().getHeaders().getFirst(IdempotencyWebFilter.REPLAYED_HEADER)).isEqualTo("true");
+    }
+
+    @Test
+    void concurrentDuplicatesWaitForTheFirstExecution() {
+        var filter = filter(store(100));
+        WebFilterChain handler = handler(Duration.ofMillis(200), HttpStatus.CREATED);
+
+        List<MockServerWebExchange> exchanges = Flux.range(0, 5).map(i -> post("key-1", BODY)).collectList().block();
+        Flux.fromIterable(exchanges)
+                .flatMap(exchange -> filter.filter(exchange, handler))
+                .blockLast();
+
+        assertThat(executions).hasValue(1);
+        assertThat(exchanges)
+                .extracting(exchange -> exchange.getResponse().getBodyAsString().block())
+                .containsOnly("{\"execution\":1}");
+    }
+
+    @Test
+    void reusingAKeyForAnotherBodyIsRejected() {
+        var filter = filter(store(100));
+        WebFilterChain handler = handler(Duration.ZERO, HttpStatus.CREATED);
+        filter.filter(post("key-1", BODY), handler).block();
+
+        assertThatThrownBy(() -> filter.filter(post("key-1", BODY.replace("Cuenta", "Otra")), handler).block())
+                .isInstanceOfSatisfying(ResponseStatusException.class,
+                        e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.UNPROCESSABLE_ENTITY));
+        assertThat(executions).hasValue(1);
+    }
+
+    @Test
+    void oversizedBodiesAreRejectedBeforeReachingTheHandler() {
+        var filter = filter(store(100));
+
+        assertThatThrownBy(() -> filter.filter(post("key-1", "x".repeat(16_385)),
+                        handler(Duration.ZERO, HttpStatus.CREATED)).block())
+                .isInstanceOfSatisfying(ResponseStatusException.class,
+                        e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.PAYLOAD_TOO_LARGE));
+        assertThat(executions).hasValue(0);
+    }
+
+    @Test
+    void serverErrorsAreNotStored() {
+        var filter = filter(store(100));
+
+        filter.filter(post("key-1", BODY), handler(Duration.ZERO, HttpStatus.SERVICE_UNAVAILABLE)).block();
+        var retry = post("key-1", BODY);
+        filter.filter(retry, handler(Duration.ZERO, HttpStatus.CREATED)).block();
+
+        assertThat(executions).hasValue(2);
+        assertThat(retry.getResponse().getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        assertThat(retry.getResponse().getHeaders().containsKey(IdempotencyWebFilter.REPLAYED_HEADER)).isFalse();
+    }
+
+    @Test
+    void keysEvictedFromMemoryAreReplayedFromTheDatabase() throws InterruptedException {
+        var filter = filter(store(1));
+        WebFilterChain handler = handler(Duration.ZERO, HttpStatus.CREATED);
+        filter.filter(post("key-1", BODY), handler).block();
+        filter.filter(post("key-2", BODY), handler).block();
+        awaitRows(1);
+
+        // Otra instancia del filtro, con la memoria vacía: solo puede encontrarla en la base
+        var retry = post("key-1", BODY);
+        filter(store(1)).filter(retry, handler).block();
+
+        assertThat(executions).hasValue(2);
+        assertThat(retry.getResponse().getBodyAsString().block()).isEqualTo("{\"execution\":1}");
+    }
+
+    @Test
+    void expiredKeysArePurgedAndRunAgain() throws InterruptedException {
+        var store = store(1);
+        var filter = filter(store);
+        WebFilterChain handler = handler(Duration.ZERO, HttpStatus.CREATED);
+        filter.filter(post("key-1", BODY), handler).block();
+        filter.filter(post("key-2", BODY), handler).block();
+        awaitRows(1);
+
+        clock.addAndGet(Duration.ofHours(25).toMillis());
+        assertThat(store.purgeExpired().block()).isEqualTo(1L);
+        assertThat(store.memorySize()).isZero();
+        filter.filter(post("key-1", BODY), handler).block();
+
+        assertThat(executions).hasValue(3);
+    }
+
+    private IdempotencyStore store(int maxEntries) {
+        return new IdempotencyStore(databaseClient, new SimpleMeterRegistry(), maxEntries,
+                Duration.ofHours(24), Duration.ofMinutes(10), clock::get);
+    }
+
+    private static IdempotencyWebFilter filter(IdempotencyStore store) {
+        return filter(store, false);
+    }
+
+    private static IdempotencyWebFilter filter(IdempotencyStore store, boolean trustForwardedFor) {
+        return new IdempotencyWebFilter(store, new SimpleMeterRegistry(), Set.of("/api/v1/products"), 16_384,
+                trustForwardedFor);
+    }
+
+    private WebFilterChain handler(Duration latency, HttpStatus status) {
+        return exchange -> DataBufferUtils.join(exchange.getRequest().getBody())
+                .doOnNext(DataBufferUtils::release)
+                .then(Mono.delay(latency))
+                .flatMap(ignored -> {
+                    int execution = executions.incrementAndGet();
+                    var response = exchange.getResponse();
+                    response.setStatusCode(status);
+                    response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+                    byte[] body = ("{\"execution\":" + execution + "}").getBytes(StandardCharsets.UTF_8);
+                    return response.writeWith(Mono.just(response.bufferFactory().wrap(body)));
+                });
+    }
+
+    private static MockServerWebExchange post(String idempotencyKey, String body) {
+        return MockServerWebExchange.from(MockServerHttpRequest.post("/api/v1/products")
+                .header(IdempotencyWebFilter.HEADER, idempotencyKey)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(body));
+    }
+
+    private static MockServerWebExchange post(String idempotencyKey, String remoteAddress, String forwardedFor) {
+        return MockServerWebExchange.from(MockServerHttpRequest.post("/api/v1/products")
+                .remoteAddress(new InetSocketAddress(remoteAddress, 40_000))
+                .header(IdempotencyWebFilter.HEADER, idempotencyKey)
+                .header("X-Forwarded-For", forwardedFor)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(BODY));
+    }
+
+    private void awaitRows(long expected) throws InterruptedException {
+        // El desalojo escribe en la base sin bloquear el request que lo provocó
+        for (int i = 0; i < 100; i++) {
+            Long rows = databaseClient.sql("SELECT COUNT(*) AS total FROM idempotency_keys")
+                    .map(row -> row.get("total", Long.class))
+                    .one()
+                    .block();
+            if (rows != null && rows == expected) {
+                return;
+            }
+            Thread.sleep(20);
+        }
+        throw new AssertionError("idempotency_keys never reached " + expected + " rows");
+    }
+}
@@ -0,0 +1,108 @@
+package pe.upc.edu.servicecommons.logging;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+import org.springframework.core.annotation.AnnotationAwareOrderComparator;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebHandler;
+import org.springframework.web.server.handler.DefaultWebFilterChain;
+import pe.upc.edu.servicecommons.concurrency.ConcurrencyLimitWebFilter;
+import reactor.core.publisher.Hooks;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Correlation id from the incoming header to the MDC and to outbound WebClient calls.
+ */
+class CorrelationIdTests {
+
+    private final CorrelationIdWebFilter filter = new CorrelationIdWebFilter();
+
+    @BeforeEach
+    void enableContextPropagation() {
+        Hooks.enableAutomaticContextPropagation(); // lo que hace spring.reactor.context-propagation=auto
+    }
+
+    @AfterEach
+    void disableContextPropagation() {
+        Hooks.disableAutomaticContextPropagation();
+    }
+
+    @Test
+    void theIdFromTheGatewayReachesTheMdcOnOtherThreads() {
+        AtomicReference<String> logged = new AtomicReference<>();
+        var exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/v1/products")
+                .header(CorrelationId.HEADER, "gw-42"));
+
+        filter.filter(exchange, e -> Mono.delay(Duration.ofMillis(5))
+                        .publishOn(Schedulers.boundedElastic())
+                        .doOnNext(tick -> logged.set(MDC.get(CorrelationId.KEY)))
+                        .then())
+                .block();
+
+        assertThat(logged.get()).isEqualTo("gw-42");
+        assertThat(exchange.getResponse().getHeaders().getFirst(CorrelationId.HEADER)).isEqualTo("gw-42");
+    }
+
+    @Test
+    void requestsRejectedByTheConcurrencyLimitStillGetTheId() {
+        var limit = new ConcurrencyLimitWebFilter(new SimpleMeterRegistry(), 1, 1, 1, 2.0, 0.2,
+                Duration.ofMillis(500), 10);
+        List<WebFilter> filters = new ArrayList<>(List.of(limit, filter));
+        AnnotationAwareOrderComparator.sort(filters);
+        WebHandler handler = exchange -> Mono.never();
+        var busy = MockServerWebExchange.from(MockServerHttpRequest.get("/api/v1/products"));
+        var rejected = MockServerWebExchange.from(MockServerHttpRequest.get("/api/v1/products")
+                .header(CorrelationId.HEADER, "gw-43"));
+
+        var inFlight = new DefaultWebFilterChain(handler, filters).filter(busy).subscribe();
+        try {
+            new DefaultWebFilterChain(handler, filters).filter(rejected).block(Duration.ofSeconds(5));
+        } finally {
+            inFlight.dispose();
+        }
+
+        assertThat(rejected.getResponse().getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+        assertThat(rejected.getResponse().getHeaders().getFirst(CorrelationId.HEADER)).isEqualTo("gw-43");
+    }
+
+    @Test
+    void outboundCallsCarryTheIdOfTheCurrentRequest() {
+        AtomicReference<ClientRequest> sent = new AtomicReference<>();
+        var request = ClientRequest.create(HttpMethod.GET, URI.create("http://customer-service/api/v1/clients/id/1")).build();
+
+        new CorrelationIdExchangeFilterFunction()
+                .filter(request, r -> {
+                    sent.set(r);
+                    return Mono.just(ClientResponse.create(HttpStatus.OK).build());
+                })
+                .contextWrite(context -> context.put(CorrelationId.KEY, "gw-42"))
+                .block();
+
+        assertThat(sent.get().headers().getFirst(CorrelationId.HEADER)).isEqualTo("gw-42");
+    }
+
+    @Test
+    void malformedIdsAreReplaced() {
+        assertThat(CorrelationId.accept("ok_id.1-2")).isEqualTo("ok_id.1-2");
+        assertThat(CorrelationId.accept("x".repeat(65))).matches("[0-9a-f]{16}");
+        assertThat(CorrelationId.accept(null)).matches("[0-9a-f]{16}");
+    }
+}
@@ -0,0 +1,104 @@
+package pe.upc.edu.servicecommons.persistence.r2dbc.instrumentation;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.Wrapped;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.r2dbc.connection.init.ResourceDatabasePopulator;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs statements through the instrumented ConnectionFactory against an in-memory H2 database.
+ */
+class QueryInstrumentationTests {
+
+    private static final String BY_ID = "SELECT * FROM clients WHERE id = ?";
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final QueryMetricsListener listener = new QueryMetricsListener(meterRegistry, Duration.ZERO, 1.0, 200);
+    private ConnectionFactory target;
+    private ConnectionFactory connectionFactory;
+    private DatabaseClient databaseClient;
+
+    @BeforeEach
+    void setUp() {
+        target = ConnectionFactories.get(
+                "r2dbc:h2:mem:///" + UUID.randomUUID() + "?options=MODE=PostgreSQL;DB_CLOSE_DELAY=-1");
+        new ResourceDatabasePopulator(new ClassPathResource("schema.sql")).populate(target).block();
+        connectionFactory = (ConnectionFactory) new InstrumentedConnectionFactoryPostProcessor(provider())
+                .postProcessAfterInitialization(target, "connectionFactory");
+        databaseClient = DatabaseClient.create(connectionFactory);
+    }
+
+    @Test
+    void shapesIgnoreLiteralsAndBindMarkers() {
+        assertThat(QueryShapes.shape("SELECT * FROM clients  WHERE id = $1 AND name = 'Ana'"))
+                .isEqualTo("SELECT * FROM clients WHERE id = ? AND name = ?");
+        assertThat(QueryShapes.shape("select id from t where id in (1, 2, 3) limit 10"))
+                .isEqualTo("select id from t where id IN (?) limit ?");
+        assertThat(QueryShapes.shape("SELECT * FROM product_outbox WHERE id > :after"))
+                .isEqualTo("SELECT * FROM product_outbox WHERE id > ?");
+        assertThat(QueryShapes.operation("SELECT * FROM t")).isEqualTo("select");
+    }
+
+    @Test
+    void timesStatementsByShapeAndConnectionAcquisition() {
+        findClient(1).then(findClient(2)).block();
+
+        assertThat(meterRegistry.get("r2dbc.query").tag("shape", BY_ID).tag("outcome", "success").timer().count())
+                .isEqualTo(2);
+        assertThat(meterRegistry.get("r2dbc.pool.acquire").timer().count()).isGreaterThanOrEqualTo(2);
+        assertThat(listener.recentSlowQueries()).extracting(QueryMetricsListener.SlowQuery::shape).contains(BY_ID);
+    }
+
+    @Test
+    void reportsQueriesRepeatedWithinOneRequest() {
+        var filter = new RepeatedQueryWebFilter(listener, 3);
+        var exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/v1/clients"));
+
+        filter.filter(exchange, e -> Flux.range(1, 4).concatMap(this::findClient).then()).block();
+
+        assertThat(listener.recentRepeatedQueries()).singleElement().satisfies(repeated -> {
+            assertThat(repeated.request()).isEqualTo("GET /api/v1/clients");
+            assertThat(repeated.shape()).isEqualTo(BY_ID);
+            assertThat(repeated.count()).isEqualTo(4);
+        });
+        assertThat(meterRegistry.get("r2dbc.query.repeated").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void proxiedFactoryUnwrapsToTheOriginal() {
+        assertThat(connectionFactory).isInstanceOf(Wrapped.class);
+        assertThat(((Wrapped<?>) connectionFactory).unwrap()).isSameAs(target);
+        assertThat(new InstrumentedConnectionFactoryPostProcessor(provider())
+                .postProcessAfterInitialization(connectionFactory, "connectionFactory")).isSameAs(connectionFactory);
+    }
+
+    private ObjectProvider<QueryMetricsListener> provider() {
+        return new StaticListableBeanFactory(Map.of("queryMetricsListener", listener))
+                .getBeanProvider(QueryMetricsListener.class);
+    }
+
+    private Mono<Void> findClient(long id) {
+        return databaseClient.sql("SELECT * FROM clients WHERE id = $1")
+                .bind(0, id)
+                .fetch()
+                .all()
+                .then();
+    }
+}
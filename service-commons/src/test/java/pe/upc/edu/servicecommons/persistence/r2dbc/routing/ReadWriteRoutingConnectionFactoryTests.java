@@ -0,0 +1,149 @@
+package pe.upc.edu.servicecommons.persistence.r2dbc.routing;
+
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpCookie;
+import org.springframework.http.ResponseCookie;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Mono;
+import reactor.util.context.Context;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Routes between two in-memory H2 databases standing in for the primary and a replica; each one
+ * answers with its own name, and the replica reports whatever lag the test stores in it.
+ */
+class ReadWriteRoutingConnectionFactoryTests {
+
+    private static final String COOKIE = "customer-service-primary-until";
+
+    private ConnectionFactory replica;
+    private ReadWriteRoutingConnectionFactory routing;
+    private DatabaseClient client;
+
+    @BeforeEach
+    void setUp() {
+        ConnectionFactory primary = database("primary");
+        replica = database("replica");
+        routing = new ReadWriteRoutingConnectionFactory(primary, List.of(replica),
+                "SELECT lag_seconds FROM replica_status", Duration.ofSeconds(1), Duration.ofSeconds(1));
+        client = DatabaseClient.create(routing);
+    }
+
+    @Test
+    void sendsMarkedReadsToTheReplicaAndEverythingElseToThePrimary() {
+        routing.checkReplicas().block();
+
+        assertThat(whoAnswers(ReadRouting.readOnly())).isEqualTo("replica");
+        assertThat(client.sql("SELECT name FROM whoami").map(row -> row.get(0, String.class)).one().block())
+                .isEqualTo("primary");
+    }
+
+    @Test
+    void pinnedReadsStayOnThePrimary() {
+        routing.checkReplicas().block();
+
+        assertThat(whoAnswers(ReadRouting.readOnly().andThen(ReadRouting.pinToPrimary()))).isEqualTo("primary");
+    }
+
+    @Test
+    void laggingReplicaIsSkippedUntilItCatchesUp() {
+        setReplicaLag(5.0);
+        routing.checkReplicas().block();
+        assertThat(whoAnswers(ReadRouting.readOnly())).isEqualTo("primary");
+
+        setReplicaLag(0.2);
+        routing.checkReplicas().block();
+        assertThat(whoAnswers(ReadRouting.readOnly())).isEqualTo("replica");
+    }
+
+    @Test
+    void readsGoToThePrimaryBeforeTheFirstLagCheck() {
+        assertThat(whoAnswers(ReadRouting.readOnly())).isEqualTo("primary");
+    }
+
+    @Test
+    void callerReadsItsOwnWritesFromThePrimaryWithinTheWindow() {
+        routing.checkReplicas().block();
+        var filter = new ReadYourWritesWebFilter(COOKIE, Duration.ofSeconds(5));
+        var write = MockServerWebExchange.from(MockServerHttpRequest.post("/api/v1/clients").header("X-Forwarded-For", "10.0.0.1"));
+
+        assertThat(answerThrough(filter, write)).isEqualTo("primary");
+        assertThat(answerThrough(filter, MockServerWebExchange.from(
+                MockServerHttpRequest.get("/api/v1/clients").header("X-Forwarded-For", "10.0.0.1"))))
+                .isEqualTo("primary");
+        assertThat(answerThrough(filter, MockServerWebExchange.from(
+                MockServerHttpRequest.get("/api/v1/clients").header("X-Forwarded-For", "10.0.0.2"))))
+                .isEqualTo("replica");
+
+        long later = System.nanoTime() + Duration.ofSeconds(6).toNanos();
+        assertThat(filter.wroteRecently("10.0.0.1", later)).isFalse();
+    }
+
+    @Test
+    void theWriteCookiePinsReadsOnAnotherInstance() {
+        routing.checkReplicas().block();
+        var write = MockServerWebExchange.from(MockServerHttpRequest.post("/api/v1/clients"));
+        answerThrough(new ReadYourWritesWebFilter(COOKIE, Duration.ofSeconds(5)), write);
+        ResponseCookie marker = write.getResponse().getCookies().getFirst(COOKIE);
+        assertThat(marker).isNotNull();
+
+        var otherInstance = new ReadYourWritesWebFilter(COOKIE, Duration.ofSeconds(5));
+        assertThat(answerThrough(otherInstance, MockServerWebExchange.from(MockServerHttpRequest.get("/api/v1/clients")
+                .cookie(new HttpCookie(COOKIE, marker.getValue())))))
+                .isEqualTo("primary");
+        assertThat(answerThrough(otherInstance, MockServerWebExchange.from(MockServerHttpRequest.get("/api/v1/clients"))))
+                .isEqualTo("replica");
+        assertThat(ReadYourWritesWebFilter.pinnedByCookie(marker, System.currentTimeMillis() + 6_000)).isFalse();
+    }
+
+    private String answerThrough(ReadYourWritesWebFilter filter, MockServerWebExchange exchange) {
+        String[] answer = new String[1];
+        filter.filter(exchange, e -> client.sql("SELECT name FROM whoami")
+                        .map(row -> row.get(0, String.class))
+                        .one()
+                        .contextWrite(ReadRouting.readOnly())
+                        .doOnNext(name -> answer[0] = name)
+                        .then(e.getResponse().setComplete()))
+                .block();
+        return answer[0];
+    }
+
+    private String whoAnswers(Function<Context, Context> marker) {
+        return client.sql("SELECT name FROM whoami")
+                .map(row -> row.get(0, String.class))
+                .one()
+                .contextWrite(marker)
+                .block();
+    }
+
+    private void setReplicaLag(double seconds) {
+        DatabaseClient.create(replica).sql("UPDATE replica_status SET lag_seconds = :lag")
+                .bind("lag", seconds)
+                .then()
+                .block();
+    }
+
+    private static ConnectionFactory database(String name) {
+        ConnectionFactory connectionFactory = ConnectionFactories.get(
+                "r2dbc:h2:mem:///" + name + "-" + UUID.randomUUID() + "?options=DB_CLOSE_DELAY=-1");
+        DatabaseClient database = DatabaseClient.create(connectionFactory);
+        Mono.when(
+                database.sql("CREATE TABLE whoami (name VARCHAR(20))").then()
+                        .then(database.sql("INSERT INTO whoami VALUES ('" + name + "')").then()),
+                database.sql("CREATE TABLE replica_status (lag_seconds DOUBLE)").then()
+                        .then(database.sql("INSERT INTO replica_status VALUES (0)").then()))
+                .block();
+        return connectionFactory;
+    }
+}